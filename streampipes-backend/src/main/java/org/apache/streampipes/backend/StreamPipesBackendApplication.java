@@ -175,10 +175,8 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
     LOG.info("Found {} orphaned pipelines", orphanedPipelines.size());
 
-    orphanedPipelines.forEach(pipeline -> {
-      LOG.info("Restoring orphaned pipeline {}", pipeline.getName());
-      startPipeline(pipeline, false);
-    });
+    orphanedPipelines.forEach(pipeline -> LOG.info("Restoring orphaned pipeline {}", pipeline.getName()));
+    startPipelines(orphanedPipelines, false);
 
     LOG.info("Checking for gracefully shut down pipelines to be restarted...");
 
@@ -190,15 +188,23 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
     LOG.info("Found {} pipelines that we are attempting to restart...", pipelinesToRestart.size());
 
-    pipelinesToRestart.forEach(pipeline -> {
-      startPipeline(pipeline, false);
-    });
+    startPipelines(pipelinesToRestart, false);
 
     LOG.info("No more pipelines to restore...");
   }
 
+  private void startPipelines(List<Pipeline> pipelines, boolean restartOnReboot) {
+    List<PipelineOperationStatus> status = Operations.startPipelines(pipelines);
+    for (int i = 0; i < pipelines.size(); i++) {
+      handleStartStatus(pipelines.get(i), status.get(i), restartOnReboot);
+    }
+  }
+
   private void startPipeline(Pipeline pipeline, boolean restartOnReboot) {
-    PipelineOperationStatus status = Operations.startPipeline(pipeline);
+    handleStartStatus(pipeline, Operations.startPipeline(pipeline), restartOnReboot);
+  }
+
+  private void handleStartStatus(Pipeline pipeline, PipelineOperationStatus status, boolean restartOnReboot) {
     if (status.isSuccess()) {
       LOG.info("Pipeline {} successfully restarted", status.getPipelineName());
       Pipeline storedPipeline = getPipelineStorage().getPipeline(pipeline.getPipelineId());
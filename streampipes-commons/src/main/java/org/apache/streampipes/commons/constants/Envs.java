@@ -23,6 +23,9 @@ public enum Envs {
   SP_PORT("SP_PORT"),
   SP_CONSUL_LOCATION("CONSUL_LOCATION"),
   SP_KAFKA_RETENTION_MS("SP_KAFKA_RETENTION_MS"),
+  SP_KAFKA_PARTITIONS("SP_KAFKA_PARTITIONS"),
+  SP_IN_JVM_QUEUE_SIZE("SP_IN_JVM_QUEUE_SIZE"),
+  SP_IN_JVM_TRANSPORT_ENABLED("SP_IN_JVM_TRANSPORT_ENABLED"),
   SP_JWT_SECRET("JWT_SECRET"),
   SP_INITIAL_ADMIN_EMAIL("SP_INITIAL_ADMIN_EMAIL"),
   SP_INITIAL_ADMIN_PASSWORD("SP_INITIAL_ADMIN_PASSWORD"),
@@ -32,7 +35,21 @@ public enum Envs {
   SP_CLIENT_USER("SP_CLIENT_USER"),
   SP_CLIENT_SECRET("SP_CLIENT_SECRET"),
   SP_ENCRYPTION_PASSCODE("SP_ENCRYPTION_PASSCODE"),
-  SP_DEBUG("SP_DEBUG");
+  SP_DEBUG("SP_DEBUG"),
+  SP_STANDALONE_BUFFER_SIZE("SP_STANDALONE_BUFFER_SIZE"),
+  SP_STANDALONE_BACKPRESSURE_POLICY("SP_STANDALONE_BACKPRESSURE_POLICY"),
+  SP_STANDALONE_PARALLELISM("SP_STANDALONE_PARALLELISM"),
+  SP_DUPLICATE_FILTER_MODE("SP_DUPLICATE_FILTER_MODE"),
+  SP_DUPLICATE_FILTER_MAX_MEMORY_MB("SP_DUPLICATE_FILTER_MAX_MEMORY_MB"),
+  SP_INFLUX_MAX_CONNECTIONS("SP_INFLUX_MAX_CONNECTIONS"),
+  SP_INFLUX_QUERY_CHUNK_SIZE("SP_INFLUX_QUERY_CHUNK_SIZE"),
+  SP_DATA_EXPLORER_CACHE_SIZE("SP_DATA_EXPLORER_CACHE_SIZE"),
+  SP_DATA_EXPLORER_CACHE_TTL_SECONDS("SP_DATA_EXPLORER_CACHE_TTL_SECONDS"),
+  SP_DATA_LAKE_ROLLUPS_ENABLED("SP_DATA_LAKE_ROLLUPS_ENABLED"),
+  SP_DATA_LAKE_ROLLUP_TIERS("SP_DATA_LAKE_ROLLUP_TIERS"),
+  SP_COUCHDB_MAX_CONNECTIONS("SP_COUCHDB_MAX_CONNECTIONS"),
+  SP_PIPELINE_SUBMISSION_PARALLELISM("SP_PIPELINE_SUBMISSION_PARALLELISM"),
+  SP_PIPELINE_MONITORING_INTERVAL_SECONDS("SP_PIPELINE_MONITORING_INTERVAL_SECONDS");
 
   private final String envVariableName;
 
@@ -18,6 +18,18 @@
 
 package org.apache.streampipes.connect.api;
 
+import java.util.Map;
+
 public interface EmitBinaryEvent {
     Boolean emit(byte[] event);
+
+    /**
+     * Emits an event which has already been decoded by the parser, so that it does not need to be
+     * encoded and parsed again by the format. Parsers may only use this method if the map equals
+     * the result of parsing the encoded event with the corresponding format.
+     * By default, the event is encoded as JSON and emitted as bytes.
+     */
+    default Boolean emit(Map<String, Object> event) {
+        return emit(DecodedEventEncoder.encode(event));
+    }
 }
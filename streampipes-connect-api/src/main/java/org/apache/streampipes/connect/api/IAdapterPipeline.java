@@ -31,4 +31,14 @@ public interface IAdapterPipeline {
   void changePipelineSink(IAdapterPipelineElement pipelineSink);
 
   IAdapterPipelineElement getPipelineSink();
+
+  /**
+   * Closes all elements and the sink of this pipeline after the adapter has been stopped.
+   */
+  default void close() {
+    getPipelineElements().forEach(IAdapterPipelineElement::close);
+    if (getPipelineSink() != null) {
+      getPipelineSink().close();
+    }
+  }
 }
@@ -24,4 +24,10 @@ public interface IAdapterPipelineElement {
 
     Map<String, Object> process(Map<String, Object> event);
 
+    /**
+     * Releases the resources of this element after the adapter has been stopped.
+     */
+    default void close() {
+    }
+
 }
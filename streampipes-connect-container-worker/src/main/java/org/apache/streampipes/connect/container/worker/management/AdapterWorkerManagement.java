@@ -19,6 +19,7 @@
 package org.apache.streampipes.connect.container.worker.management;
 
 import org.apache.streampipes.connect.RunningAdapterInstances;
+import org.apache.streampipes.connect.adapter.Adapter;
 import org.apache.streampipes.connect.api.IAdapter;
 import org.apache.streampipes.connect.api.exception.AdapterException;
 import org.apache.streampipes.connect.container.worker.utils.AdapterUtils;
@@ -85,6 +86,9 @@ public class AdapterWorkerManagement {
         }
 
         adapter.stopAdapter();
+        if (adapter instanceof Adapter) {
+            ((Adapter<?>) adapter).closeAdapterPipeline();
+        }
     }
 
 }
@@ -19,19 +19,24 @@
 package org.apache.streampipes.connect;
 
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.connect.api.EmitBinaryEvent;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class GetNEvents implements EmitBinaryEvent {
 
     private int n;
     private List<byte[]> events;
+    private JsonDataFormatDefinition jsonDefinition;
 
     public GetNEvents(int n) {
         this.n = n;
         this.events = new ArrayList<>();
+        this.jsonDefinition = new JsonDataFormatDefinition();
     }
 
     @Override
@@ -43,6 +48,20 @@ public class GetNEvents implements EmitBinaryEvent {
         return n != 0;
     }
 
+    /**
+     * Structured events are collected as JSON, which is the encoding expected by
+     * {@link org.apache.streampipes.connect.api.IParser#getEventSchema(List)} of all parsers which
+     * emit structured events.
+     */
+    @Override
+    public Boolean emit(Map<String, Object> event) {
+        try {
+            return emit(jsonDefinition.fromMap(event));
+        } catch (SpRuntimeException e) {
+            throw new IllegalArgumentException("Could not encode event", e);
+        }
+    }
+
     public List<byte[]> getEvents() {
         return events;
     }
@@ -45,4 +45,10 @@ public class SendToPipeline implements EmitBinaryEvent {
         }
         return true;
     }
+
+    @Override
+    public Boolean emit(Map<String, Object> event) {
+        adapterPipeline.process(event);
+        return true;
+    }
 }
@@ -26,6 +26,8 @@ import org.apache.streampipes.connect.api.IAdapterPipelineElement;
 import org.apache.streampipes.connect.adapter.preprocessing.elements.*;
 import org.apache.streampipes.connect.api.IAdapter;
 import org.apache.streampipes.model.connect.adapter.AdapterDescription;
+import org.apache.streampipes.model.connect.adapter.AdapterSetDescription;
+import org.apache.streampipes.model.connect.adapter.AdapterStreamDescription;
 import org.apache.streampipes.model.connect.rules.TransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.stream.RemoveDuplicatesTransformationRuleDescription;
@@ -36,6 +38,7 @@ import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -119,29 +122,37 @@ public abstract class Adapter<T extends AdapterDescription> implements IAdapter<
 
         // first transform schema before transforming vales
         // value rules should use unique keys for of new schema
-        pipelineElements.add(new TransformSchemaAdapterPipelineElement(adapterDescription.getSchemaRules()));
-        pipelineElements.add(new TransformValueAdapterPipelineElement(adapterDescription.getValueRules()));
+        pipelineElements.add(new CompiledTransformationAdapterPipelineElement(adapterDescription.getSchemaRules(),
+                adapterDescription.getValueRules()));
 
 
         RemoveDuplicatesTransformationRuleDescription duplicatesTransformationRuleDescription = getRemoveDuplicateRule(adapterDescription);
         if (duplicatesTransformationRuleDescription != null) {
-            pipelineElements.add(new DuplicateFilterPipelineElement(duplicatesTransformationRuleDescription.getFilterTimeWindow()));
+            pipelineElements.add(new DuplicateFilterPipelineElement(duplicatesTransformationRuleDescription.getFilterTimeWindow(),
+                    adapterDescription.getElementId()));
         }
 
-        TransformStreamAdapterElement transformStreamAdapterElement = new TransformStreamAdapterElement();
+        TransformStreamAdapterElement transformStreamAdapterElement = new TransformStreamAdapterElement(getEventSchema(adapterDescription));
         EventRateTransformationRuleDescription eventRateTransformationRuleDescription = getEventRateTransformationRule(adapterDescription);
         if (eventRateTransformationRuleDescription != null) {
             transformStreamAdapterElement.addStreamTransformationRuleDescription(eventRateTransformationRuleDescription);
         }
         pipelineElements.add(transformStreamAdapterElement);
 
+        AdapterPipeline pipeline;
         // Needed when adapter is (
         if (adapterDescription.getEventGrounding() != null && adapterDescription.getEventGrounding().getTransportProtocol() != null
                 && adapterDescription.getEventGrounding().getTransportProtocol().getBrokerHostname() != null) {
-            return new AdapterPipeline(pipelineElements, getAdapterSink(adapterDescription));
+            pipeline = new AdapterPipeline(pipelineElements, getAdapterSink(adapterDescription));
+        } else {
+            pipeline = new AdapterPipeline(pipelineElements);
         }
 
-        return new AdapterPipeline(pipelineElements);
+        if (eventRateTransformationRuleDescription != null) {
+            // the stream transformation is the last element, so flushed windows go directly to the sink
+            transformStreamAdapterElement.setFlushTarget(pipeline::sendToSink);
+        }
+        return pipeline;
     }
 
     private SendToBrokerAdapterSink<?> getAdapterSink(AdapterDescription adapterDescription) {
@@ -159,6 +170,17 @@ public abstract class Adapter<T extends AdapterDescription> implements IAdapter<
         }
     }
 
+    private EventSchema getEventSchema(T adapterDescription) {
+        if (adapterDescription instanceof AdapterStreamDescription
+                && ((AdapterStreamDescription) adapterDescription).getDataStream() != null) {
+            return ((AdapterStreamDescription) adapterDescription).getDataStream().getEventSchema();
+        } else if (adapterDescription instanceof AdapterSetDescription
+                && ((AdapterSetDescription) adapterDescription).getDataSet() != null) {
+            return ((AdapterSetDescription) adapterDescription).getDataSet().getEventSchema();
+        }
+        return null;
+    }
+
     private RemoveDuplicatesTransformationRuleDescription getRemoveDuplicateRule(T adapterDescription) {
         return getRule(adapterDescription, RemoveDuplicatesTransformationRuleDescription.class);
     }
@@ -192,6 +214,16 @@ public abstract class Adapter<T extends AdapterDescription> implements IAdapter<
         return null;
     }
 
+    /**
+     * Releases the resources of the adapter pipeline, e.g., timers and metrics, once the adapter
+     * has been stopped.
+     */
+    public void closeAdapterPipeline() {
+        if (adapterPipeline != null) {
+            adapterPipeline.close();
+        }
+    }
+
     @Override
     public boolean isDebug() {
         return debug;
@@ -19,7 +19,6 @@
 package org.apache.streampipes.connect.adapter.format.csv;
 
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.streampipes.connect.api.IFormat;
 import org.apache.streampipes.connect.adapter.sdk.ParameterExtractor;
 import org.apache.streampipes.connect.api.exception.ParseException;
@@ -40,6 +39,7 @@ public class CsvFormat implements IFormat {
     private String[] keyValues = null;
     private String delimiter;
     private Boolean header;
+    private CsvRecordDecoder decoder;
 
     public static final String ID = "https://streampipes.org/vocabulary/v1/format/csv";
 
@@ -71,49 +71,30 @@ public class CsvFormat implements IFormat {
 
     @Override
     public Map<String,Object> parse(byte[] object) throws ParseException {
-        String[] arr = CsvParser.parseLine(new String(object), delimiter);
+        if (decoder == null) {
+            decoder = new CsvRecordDecoder(delimiter);
+        }
+
+        int columnCount = decoder.split(object);
         Map<String, Object> map =  new HashMap<>();
 
         if (keyValues == null && !header) {
-            keyValues = new String[arr.length];
-            for (int i = 0; i < arr.length; i++) {
+            keyValues = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
                 keyValues[i] = "key_" + i;
             }
         }
 
         if (keyValues == null) {
-            keyValues = new String[arr.length];
-            for (int i = 0; i < arr.length; i++) {
-                keyValues[i] = arr[i];
+            keyValues = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                keyValues[i] = decoder.getString(i);
             }
 
         } else {
-            for (int i = 0; i <= arr.length - 1; i++) {
-
-                if (!arr[i].equals("") && StringUtils.isNumeric(arr[i])) {
-                    // If there is a number format exception for long, transform it to a dauble
-                    try {
-                        map.put(keyValues[i], Long.parseLong(arr[i]));
-                    } catch (NumberFormatException e) {
-                        // If not a double use string as fallback type
-                        map.put(keyValues[i], Double.parseDouble(arr[i]));
-                    }
-                } else if ("true".equals(arr[i].toLowerCase()) || "false".equals(arr[i].toLowerCase())) {
-                    map.put(keyValues[i], Boolean.parseBoolean(arr[i]));
-                } else {
-
-                    try {
-                        Double doubleValue = Double.parseDouble(arr[i]);
-                        map.put(keyValues[i], doubleValue);
-
-                    } catch (NumberFormatException e) {
-                        // If not a double use string as fallback type
-                        map.put(keyValues[i], arr[i]);
-                    }
-
-                }
+            for (int i = 0; i < columnCount; i++) {
+                map.put(keyValues[i], decoder.getValue(i));
             }
-
         }
 
         if (map.keySet().size() == 0) {
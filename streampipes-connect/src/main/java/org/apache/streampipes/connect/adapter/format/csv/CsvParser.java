@@ -28,10 +28,8 @@ import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.vocabulary.XSD;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,6 +47,10 @@ public class CsvParser extends Parser {
         this.header = header;
     }
 
+    public String getDelimiter() {
+        return delimiter;
+    }
+
     @Override
     public Parser getInstance(FormatDescription formatDescription) throws ParseException {
         ParameterExtractor extractor = new ParameterExtractor(formatDescription.getConfig());
@@ -62,17 +64,14 @@ public class CsvParser extends Parser {
 
     @Override
     public void parse(InputStream data, EmitBinaryEvent emitBinaryEvent) {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(data));
+        CsvRecordReader reader = new CsvRecordReader(data, delimiter);
 
         boolean result = true;
 
         try {
-            while (reader.ready() && result) {
-                String s = reader.readLine();
-                byte[] parseResult = s.getBytes();
-                if (parseResult != null) {
-                    result = emitBinaryEvent.emit(parseResult);
-                }
+            byte[] record;
+            while (result && (record = reader.next()) != null) {
+                result = emitBinaryEvent.emit(record);
             }
         } catch (IOException e) {
             throw new ParseException(e.getMessage());
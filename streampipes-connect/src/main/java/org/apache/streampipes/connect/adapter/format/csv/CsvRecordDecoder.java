@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.csv;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Splits a CSV record into columns and converts the column values without decoding the whole
+ * record into a String first. Quotes are handled like in {@link CsvParser#parseLine(String, String)}
+ * and values are typed like before, so that events match the schema guessed from them.
+ * The decoder reuses its buffers and is not thread-safe.
+ */
+public class CsvRecordDecoder {
+
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+
+    private final String delimiter;
+    private final boolean byteDelimiter;
+    private final Charset charset = Charset.defaultCharset();
+
+    private byte[] values = new byte[256];
+    private int[] columnEnds = new int[16];
+    private int columnCount;
+    private String[] decodedColumns;
+
+    public CsvRecordDecoder(String delimiter) {
+        this.delimiter = delimiter;
+        // only single-byte delimiters can be matched on the encoded record
+        this.byteDelimiter = delimiter.charAt(0) < 0x80;
+    }
+
+    /**
+     * Splits the record into columns and returns the number of columns.
+     */
+    public int split(byte[] record) {
+        if (!byteDelimiter) {
+            decodedColumns = CsvParser.parseLine(new String(record, charset), delimiter);
+            return decodedColumns.length;
+        }
+        byte delimiter = (byte) this.delimiter.charAt(0);
+        if (values.length < record.length) {
+            values = new byte[Math.max(record.length, values.length * 2)];
+        }
+        columnCount = 0;
+        int length = 0;
+        boolean inQuotes = false;
+        boolean quotedChars = false;
+
+        for (byte b : record) {
+            if (inQuotes) {
+                quotedChars = true;
+                if (b == '"') {
+                    inQuotes = false;
+                } else {
+                    values[length++] = b;
+                }
+            } else if (b == '"') {
+                inQuotes = true;
+                // an escaped quote inside a quoted value
+                if (quotedChars) {
+                    values[length++] = '"';
+                }
+            } else if (b == delimiter) {
+                endColumn(length);
+                quotedChars = false;
+            } else if (b == '\n') {
+                break;
+            } else if (b != '\r') {
+                values[length++] = b;
+            }
+        }
+        endColumn(length);
+        return columnCount;
+    }
+
+    public String getString(int column) {
+        if (!byteDelimiter) {
+            return decodedColumns[column];
+        }
+        int start = getStart(column);
+        return new String(values, start, columnEnds[column] - start, charset);
+    }
+
+    /**
+     * Returns the value of the column as Long, Double, Boolean or String.
+     */
+    public Object getValue(int column) {
+        if (!byteDelimiter) {
+            return toValue(decodedColumns[column]);
+        }
+        int start = getStart(column);
+        int end = columnEnds[column];
+
+        boolean digits = end > start;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = values[i];
+            digits &= b >= '0' && b <= '9';
+            ascii &= b >= 0;
+        }
+
+        if (!ascii) {
+            return toValue(getString(column));
+        } else if (digits && end - start <= MAX_SAFE_LONG_DIGITS) {
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                value = value * 10 + (values[i] - '0');
+            }
+            return value;
+        } else if (digits) {
+            return toValue(getString(column));
+        } else if (equalsIgnoreCase(start, end, "true")) {
+            return Boolean.TRUE;
+        } else if (equalsIgnoreCase(start, end, "false")) {
+            return Boolean.FALSE;
+        } else if (mayBeNumber(start, end)) {
+            String value = getString(column);
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        } else {
+            return getString(column);
+        }
+    }
+
+    private static Object toValue(String value) {
+        if (!value.equals("") && StringUtils.isNumeric(value)) {
+            // If there is a number format exception for long, transform it to a double
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return Double.parseDouble(value);
+            }
+        } else if ("true".equals(value.toLowerCase()) || "false".equals(value.toLowerCase())) {
+            return Boolean.parseBoolean(value);
+        } else {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                // If not a double use string as fallback type
+                return value;
+            }
+        }
+    }
+
+    private void endColumn(int length) {
+        if (columnCount == columnEnds.length) {
+            columnEnds = Arrays.copyOf(columnEnds, columnCount * 2);
+        }
+        columnEnds[columnCount++] = length;
+    }
+
+    private int getStart(int column) {
+        return column == 0 ? 0 : columnEnds[column - 1];
+    }
+
+    private boolean equalsIgnoreCase(int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if ((values[i] | 0x20) != value.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rejects values which cannot be parsed by {@link Double#parseDouble(String)}, which would
+     * otherwise cost an exception for every text column.
+     */
+    private boolean mayBeNumber(int start, int end) {
+        int i = start;
+        while (i < end && values[i] <= ' ') {
+            i++;
+        }
+        if (i == end) {
+            return false;
+        }
+        byte b = values[i];
+        return (b >= '0' && b <= '9') || b == '+' || b == '-' || b == '.' || b == 'N' || b == 'I';
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads the records of a CSV stream as byte arrays without decoding them. Records end at a line
+ * break (LF, CR or CRLF) outside of a quoted value, so that quoted values may contain line breaks
+ * as allowed by RFC 4180. A quote only starts a quoted value at the beginning of a value, so a
+ * stray quote in an unquoted value does not swallow the following lines.
+ */
+public class CsvRecordReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream data;
+    private final int delimiter;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private long bufferOffset;
+    private long recordOffset;
+
+    public CsvRecordReader(InputStream data, String delimiter) {
+        this.data = data;
+        this.delimiter = delimiter != null && !delimiter.isEmpty() && delimiter.charAt(0) < 0x80
+                ? delimiter.charAt(0) : -1;
+    }
+
+    /**
+     * Returns the offset of the last record returned by {@link #next()} in the stream.
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * Returns the next record without its line break, or null at the end of the stream.
+     */
+    public byte[] next() throws IOException {
+        int length = 0;
+        boolean valueStart = true;
+        boolean inQuotes = false;
+        boolean afterQuote = false;
+
+        while (true) {
+            while (position + length < limit) {
+                byte b = buffer[position + length];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (b == '\n') {
+                        position++;
+                        continue;
+                    }
+                }
+                if (inQuotes) {
+                    if (b == '"') {
+                        inQuotes = false;
+                        afterQuote = true;
+                    }
+                } else if (b == '"' && (valueStart || afterQuote)) {
+                    inQuotes = true;
+                    afterQuote = false;
+                } else if (b == '\n' || b == '\r') {
+                    byte[] record = Arrays.copyOfRange(buffer, position, position + length);
+                    recordOffset = bufferOffset + position;
+                    position += length + 1;
+                    skipLineFeed = b == '\r';
+                    return record;
+                } else {
+                    afterQuote = false;
+                }
+                valueStart = !inQuotes && b == delimiter;
+                length++;
+            }
+
+            if (!fill()) {
+                if (length == 0) {
+                    return null;
+                }
+                byte[] record = Arrays.copyOfRange(buffer, position, position + length);
+                recordOffset = bufferOffset + position;
+                position += length;
+                return record;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            bufferOffset += position;
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = data.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.connect.api.EmitBinaryEvent;
 import org.apache.streampipes.connect.adapter.model.generic.Parser;
 import org.apache.streampipes.connect.adapter.format.util.JsonEventProperty;
+import org.apache.streampipes.connect.adapter.format.util.JsonNumbers;
 import org.apache.streampipes.connect.adapter.sdk.ParameterExtractor;
 import org.apache.streampipes.connect.api.exception.ParseException;
 import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
@@ -97,22 +98,14 @@ public class JsonParser extends Parser {
     }
 
     // Parse all events
-    JsonDataFormatDefinition jsonDefinition = new JsonDataFormatDefinition();
     boolean isEvent = true;
     boolean result = true;
     int objectCount = 0;
     while (jsonParser.hasNext() && isEvent && result) {
       Map<String, Object> objectMap = parseObject(jsonParser, true, 1);
       if (objectMap != null) {
-        byte[] tmp = new byte[0];
-        try {
-          tmp = jsonDefinition.fromMap(objectMap);
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
-//                    handleEvent(new EventObjectEndEvent(parseObject(tmp)));
         // TODO decide what happens id emit returns false
-        result = emitBinaryEvent.emit(tmp);
+        result = emitBinaryEvent.emit(objectMap);
       } else {
         isEvent = false;
       }
@@ -214,9 +207,9 @@ public class JsonParser extends Parser {
           break;
         case VALUE_NUMBER:
           if (arr == null) {
-            result.put(mapKey, jsonParser.getBigDecimal());
+            result.put(mapKey, JsonNumbers.getNumber(jsonParser));
           } else {
-            arr.add(jsonParser.getBigDecimal());
+            arr.add(JsonNumbers.getNumber(jsonParser));
           }
           logger.debug("value number: " + jsonParser.getBigDecimal());
           break;
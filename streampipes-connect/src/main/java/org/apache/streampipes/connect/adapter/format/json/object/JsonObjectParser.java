@@ -44,7 +44,6 @@ public class JsonObjectParser extends Parser {
     private static final Logger logger = LoggerFactory.getLogger(JsonObjectParser.class);
 
     private ObjectMapper mapper;
-    private JsonDataFormatDefinition jsonDefinition;
 
     @Override
     public Parser getInstance(FormatDescription formatDescription) {
@@ -56,7 +55,6 @@ public class JsonObjectParser extends Parser {
      */
     public JsonObjectParser() {
         mapper = new ObjectMapper();
-        jsonDefinition = new JsonDataFormatDefinition();
     }
 
     @Override
@@ -64,11 +62,9 @@ public class JsonObjectParser extends Parser {
 
         try {
             Map<String, Object> map = mapper.readValue(data, HashMap.class);
-            emitBinaryEvent.emit(jsonDefinition.fromMap(map));
+            emitBinaryEvent.emit(map);
         } catch (IOException e) {
             e.printStackTrace();
-        } catch (SpRuntimeException e) {
-            e.printStackTrace();
         }
 
     }
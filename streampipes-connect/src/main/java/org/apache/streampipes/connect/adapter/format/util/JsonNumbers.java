@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.util;
+
+import javax.json.stream.JsonParser;
+import java.math.BigDecimal;
+
+public class JsonNumbers {
+
+  private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+  private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+  /**
+   * Returns the current number of the parser with the same type Jackson would use when reading
+   * the number into a map, i.e., Integer or Long for integral numbers and Double otherwise.
+   */
+  public static Number getNumber(JsonParser jsonParser) {
+    BigDecimal value = jsonParser.getBigDecimal();
+    if (jsonParser.isIntegralNumber()) {
+      if (value.compareTo(MIN_LONG) < 0 || value.compareTo(MAX_LONG) > 0) {
+        return value.toBigInteger();
+      }
+      long longValue = value.longValue();
+      if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+        return (int) longValue;
+      }
+      return longValue;
+    }
+    return value.doubleValue();
+  }
+}
@@ -29,6 +29,8 @@ public class AdapterPipeline implements IAdapterPipeline {
     private List<IAdapterPipelineElement> pipelineElements;
     private IAdapterPipelineElement pipelineSink;
 
+    // sinks are not thread-safe, but events are also emitted by timers of the pipeline elements
+    private final Object sinkLock = new Object();
 
     public AdapterPipeline(List<IAdapterPipelineElement> pipelineElements) {
         this.pipelineElements = pipelineElements;
@@ -51,10 +53,19 @@ public class AdapterPipeline implements IAdapterPipeline {
         for (IAdapterPipelineElement pipelineElement : pipelineElements) {
             event = pipelineElement.process(event);
         }
-        if (pipelineSink != null) {
-            pipelineSink.process(event);
-        }
+        sendToSink(event);
+    }
 
+    /**
+     * Passes an event to the sink of the pipeline. Calls are serialized, so that events may also
+     * be sent from other threads than the one processing the events of the adapter.
+     */
+    public void sendToSink(Map<String, Object> event) {
+        synchronized (sinkLock) {
+            if (pipelineSink != null) {
+                pipelineSink.process(event);
+            }
+        }
     }
 
     @Override
@@ -69,11 +80,15 @@ public class AdapterPipeline implements IAdapterPipeline {
 
     @Override
     public void changePipelineSink(IAdapterPipelineElement pipelineSink) {
-        this.pipelineSink = pipelineSink;
+        synchronized (sinkLock) {
+            this.pipelineSink = pipelineSink;
+        }
     }
 
     @Override
     public IAdapterPipelineElement getPipelineSink() {
-        return pipelineSink;
+        synchronized (sinkLock) {
+            return pipelineSink;
+        }
     }
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.elements;
+
+import org.apache.streampipes.connect.adapter.preprocessing.transform.compiled.CompiledEventTransformer;
+import org.apache.streampipes.connect.api.IAdapterPipelineElement;
+import org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the {@link TransformSchemaAdapterPipelineElement} and the subsequent
+ * {@link TransformValueAdapterPipelineElement} with a single element which applies the compiled
+ * schema and value rules.
+ */
+public class CompiledTransformationAdapterPipelineElement implements IAdapterPipelineElement {
+
+    private final CompiledEventTransformer eventTransformer;
+
+    public CompiledTransformationAdapterPipelineElement(List<SchemaTransformationRuleDescription> schemaRules,
+                                                        List<ValueTransformationRuleDescription> valueRules) {
+        this.eventTransformer = CompiledEventTransformer.compile(schemaRules, valueRules);
+    }
+
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) {
+        return eventTransformer.transform(event);
+    }
+}
@@ -27,20 +27,31 @@ import org.apache.streampipes.connect.adapter.preprocessing.transform.stream.Str
 import org.apache.streampipes.model.connect.rules.stream.EventRateTransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.stream.StreamTransformationRuleDescription;
 import org.apache.streampipes.model.connect.rules.TransformationRuleDescription;
+import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class TransformStreamAdapterElement implements IAdapterPipelineElement {
 
     private StreamEventTransformer eventTransformer;
+    private EventSchema eventSchema;
     Logger logger = LoggerFactory.getLogger(TransformStreamAdapterElement.class);
 
     public TransformStreamAdapterElement() {
         eventTransformer = new StreamEventTransformer();
     }
 
+    /**
+     * @param eventSchema schema of the transformed events, which determines the fields to aggregate
+     */
+    public TransformStreamAdapterElement(EventSchema eventSchema) {
+        this();
+        this.eventSchema = eventSchema;
+    }
+
     public TransformStreamAdapterElement(List<StreamTransformationRuleDescription> transformationRuleDescriptions) {
         List<TransformationRule> rules = new ArrayList<>();
 
@@ -58,12 +69,25 @@ public class TransformStreamAdapterElement implements IAdapterPipelineElement {
     public void addStreamTransformationRuleDescription(StreamTransformationRuleDescription ruleDescription) {
         if (ruleDescription instanceof EventRateTransformationRuleDescription) {
             EventRateTransformationRuleDescription tmp = (EventRateTransformationRuleDescription) ruleDescription;
-            eventTransformer.addEventRateTransformationRule(new EventRateTransformationRule(tmp.getAggregationTimeWindow(), tmp.getAggregationType()));
+            eventTransformer.addEventRateTransformationRule(new EventRateTransformationRule(tmp.getAggregationTimeWindow(),
+                    tmp.getAggregationType(), eventSchema));
         }
     }
 
+    /**
+     * Sets the consumer which receives time windows that are emitted after the stream has stopped.
+     */
+    public void setFlushTarget(Consumer<Map<String, Object>> flushTarget) {
+        eventTransformer.setFlushTarget(flushTarget);
+    }
+
     @Override
     public Map<String, Object> process(Map<String, Object> event) {
         return eventTransformer.transform(event);
     }
+
+    @Override
+    public void close() {
+        eventTransformer.close();
+    }
 }
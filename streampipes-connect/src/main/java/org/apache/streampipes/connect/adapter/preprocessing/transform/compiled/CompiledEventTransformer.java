@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.compiled;
+
+import com.github.jqudt.Unit;
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.TransformationRule;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.value.TimestampTranformationRuleMode;
+import org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription;
+import org.apache.streampipes.units.UnitProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies all schema and value transformation rules of an adapter in one step. The rules are
+ * compiled when the adapter starts: key paths are resolved into {@link FieldPath}s and unit
+ * conversions into a linear function, so that transforming an event only requires direct map
+ * lookups. The rules are applied in the same order as by the
+ * {@link org.apache.streampipes.connect.adapter.preprocessing.transform.schema.SchemaEventTransformer}
+ * followed by the
+ * {@link org.apache.streampipes.connect.adapter.preprocessing.transform.value.ValueEventTransformer}.
+ */
+public class CompiledEventTransformer implements TransformationRule {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledEventTransformer.class);
+
+    private final FieldOperation[] operations;
+
+    private CompiledEventTransformer(List<FieldOperation> operations) {
+        this.operations = operations.toArray(new FieldOperation[0]);
+    }
+
+    public static CompiledEventTransformer compile(List<SchemaTransformationRuleDescription> schemaRules,
+                                                   List<ValueTransformationRuleDescription> valueRules) {
+        List<FieldOperation> operations = new ArrayList<>();
+
+        schemaRules.stream()
+                .filter(RenameRuleDescription.class::isInstance)
+                .map(RenameRuleDescription.class::cast)
+                .forEach(rule -> operations.add(new Rename(path(rule.getOldRuntimeKey()),
+                        Util.getLastKey(rule.getNewRuntimeKey()))));
+        schemaRules.stream()
+                .filter(CreateNestedRuleDescription.class::isInstance)
+                .map(CreateNestedRuleDescription.class::cast)
+                .forEach(rule -> operations.add(new CreateNested(path(rule.getRuntimeKey()))));
+        schemaRules.stream()
+                .filter(MoveRuleDescription.class::isInstance)
+                .map(MoveRuleDescription.class::cast)
+                .forEach(rule -> operations.add(new Move(path(rule.getOldRuntimeKey()),
+                        Util.toKeyArray(rule.getNewRuntimeKey()))));
+        schemaRules.stream()
+                .filter(DeleteRuleDescription.class::isInstance)
+                .map(DeleteRuleDescription.class::cast)
+                .forEach(rule -> operations.add(new Delete(path(rule.getRuntimeKey()))));
+
+        valueRules.stream()
+                .filter(UnitTransformRuleDescription.class::isInstance)
+                .map(UnitTransformRuleDescription.class::cast)
+                .forEach(rule -> addUnitConversion(operations, rule));
+        valueRules.stream()
+                .filter(TimestampTranfsformationRuleDescription.class::isInstance)
+                .map(TimestampTranfsformationRuleDescription.class::cast)
+                .forEach(rule -> addTimestampConversion(operations, rule));
+        valueRules.stream()
+                .filter(CorrectionValueTransformationRuleDescription.class::isInstance)
+                .map(CorrectionValueTransformationRuleDescription.class::cast)
+                .forEach(rule -> operations.add(new Correction(path(rule.getRuntimeKey()),
+                        rule.getCorrectionValue(), rule.getOperator())));
+
+        return new CompiledEventTransformer(operations);
+    }
+
+    @Override
+    public Map<String, Object> transform(Map<String, Object> event) {
+        for (FieldOperation operation : operations) {
+            operation.apply(event);
+        }
+        return event;
+    }
+
+    public int getOperationCount() {
+        return operations.length;
+    }
+
+    private static FieldPath path(String runtimeKey) {
+        return new FieldPath(Util.toKeyArray(runtimeKey));
+    }
+
+    private static void addUnitConversion(List<FieldOperation> operations, UnitTransformRuleDescription rule) {
+        Unit from = UnitProvider.INSTANCE.getUnit(rule.getFromUnitRessourceURL());
+        Unit to = UnitProvider.INSTANCE.getUnit(rule.getToUnitRessourceURL());
+        if (from == null || to == null) {
+            LOG.error("Unknown unit in conversion from {} to {}, values of {} are not converted",
+                    rule.getFromUnitRessourceURL(), rule.getToUnitRessourceURL(), rule.getRuntimeKey());
+        } else if (from.getResource().equals(to.getResource())) {
+            operations.add(new UnitConversion(path(rule.getRuntimeKey()), 1, 0, 0, 1));
+        } else if (!from.getType().equals(to.getType())) {
+            LOG.error("Cannot convert {} to {}, values of {} are not converted",
+                    from.getResource(), to.getResource(), rule.getRuntimeKey());
+        } else {
+            operations.add(new UnitConversion(path(rule.getRuntimeKey()),
+                    from.getMultiplier().getMultiplier(), from.getMultiplier().getOffset(),
+                    to.getMultiplier().getOffset(), to.getMultiplier().getMultiplier()));
+        }
+    }
+
+    private static void addTimestampConversion(List<FieldOperation> operations,
+                                               TimestampTranfsformationRuleDescription rule) {
+        if ("formatString".equals(rule.getMode())) {
+            operations.add(new TimestampConversion(path(rule.getRuntimeKey()),
+                    TimestampTranformationRuleMode.FORMAT_STRING, rule.getFormatString(), rule.getMultiplier()));
+        } else if ("timeUnit".equals(rule.getMode())) {
+            operations.add(new TimestampConversion(path(rule.getRuntimeKey()),
+                    TimestampTranformationRuleMode.TIME_UNIT, null, rule.getMultiplier()));
+        } else {
+            LOG.error("Unknown timestamp transformation mode {}", rule.getMode());
+        }
+    }
+
+    private interface FieldOperation {
+        void apply(Map<String, Object> event);
+    }
+
+    private static class Rename implements FieldOperation {
+
+        private final FieldPath path;
+        private final String newKey;
+
+        Rename(FieldPath path, String newKey) {
+            this.path = path;
+            this.newKey = newKey;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent != null) {
+                parent.put(newKey, parent.remove(path.getKey()));
+            }
+        }
+    }
+
+    private static class CreateNested implements FieldOperation {
+
+        private final FieldPath path;
+
+        CreateNested(FieldPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent != null) {
+                parent.put(path.getKey(), new HashMap<>());
+            }
+        }
+    }
+
+    private static class Move implements FieldOperation {
+
+        private final FieldPath path;
+        private final FieldPath targetPath;
+
+        Move(FieldPath path, List<String> targetKeys) {
+            this.path = path;
+            this.targetPath = new FieldPath(targetKeys);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            Map<String, Object> targetParent = targetPath.getParent(event);
+            if (parent == null || targetParent == null) {
+                return;
+            }
+            Object value = parent.get(path.getKey());
+            String targetKey = targetPath.getKey();
+            if ("".equals(targetKey)) {
+                targetParent.put(path.getKey(), value);
+            } else if (targetParent.get(targetKey) instanceof Map) {
+                ((Map<String, Object>) targetParent.get(targetKey)).put(path.getKey(), value);
+            } else {
+                Map<String, Object> target = new HashMap<>();
+                target.put(path.getKey(), value);
+                targetParent.put(targetKey, target);
+            }
+            // the parent is resolved again, as the target might have replaced it
+            parent = path.getParent(event);
+            if (parent != null) {
+                parent.remove(path.getKey());
+            }
+        }
+    }
+
+    private static class Delete implements FieldOperation {
+
+        private final FieldPath path;
+
+        Delete(FieldPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent != null) {
+                parent.remove(path.getKey());
+            }
+        }
+    }
+
+    private static class UnitConversion implements FieldOperation {
+
+        private final FieldPath path;
+        private final double fromMultiplier;
+        private final double fromOffset;
+        private final double toOffset;
+        private final double toMultiplier;
+
+        UnitConversion(FieldPath path, double fromMultiplier, double fromOffset, double toOffset, double toMultiplier) {
+            this.path = path;
+            this.fromMultiplier = fromMultiplier;
+            this.fromOffset = fromOffset;
+            this.toOffset = toOffset;
+            this.toMultiplier = toMultiplier;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent != null) {
+                double value = toDouble(parent.get(path.getKey()));
+                // same order of operations as Quantity.convertTo
+                parent.put(path.getKey(), ((value * fromMultiplier + fromOffset) - toOffset) / toMultiplier);
+            }
+        }
+
+        private double toDouble(Object value) {
+            if (value instanceof Double || value instanceof Integer || value instanceof Long) {
+                return ((Number) value).doubleValue();
+            }
+            return Double.parseDouble(String.valueOf(value));
+        }
+    }
+
+    private static class TimestampConversion implements FieldOperation {
+
+        private final FieldPath path;
+        private final TimestampTranformationRuleMode mode;
+        private final SimpleDateFormat dateFormatter;
+        private final long multiplier;
+
+        TimestampConversion(FieldPath path, TimestampTranformationRuleMode mode, String formatString, long multiplier) {
+            this.path = path;
+            this.mode = mode;
+            this.dateFormatter = mode == TimestampTranformationRuleMode.FORMAT_STRING ?
+                    new SimpleDateFormat(formatString) : null;
+            this.multiplier = multiplier;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent == null) {
+                return;
+            }
+            Object value = parent.get(path.getKey());
+            if (mode == TimestampTranformationRuleMode.TIME_UNIT) {
+                long time = value instanceof Long || value instanceof Integer ?
+                        ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+                parent.put(path.getKey(), time * multiplier);
+            } else {
+                parent.put(path.getKey(), parseDate(String.valueOf(value)));
+            }
+        }
+
+        private long parseDate(String date) {
+            try {
+                return dateFormatter.parse(date).getTime();
+            } catch (ParseException e) {
+                LOG.error(e.toString());
+            }
+            return 0;
+        }
+    }
+
+    private static class Correction implements FieldOperation {
+
+        private final FieldPath path;
+        private final double correctionValue;
+        private final String operator;
+
+        Correction(FieldPath path, double correctionValue, String operator) {
+            this.path = path;
+            this.correctionValue = correctionValue;
+            this.operator = operator;
+        }
+
+        @Override
+        public void apply(Map<String, Object> event) {
+            Map<String, Object> parent = path.getParent(event);
+            if (parent == null) {
+                return;
+            }
+            Object value = parent.get(path.getKey());
+            double old = value instanceof Number ? ((Number) value).doubleValue() : 0d;
+            double corrected;
+            switch (operator) {
+                case "MULTIPLY":
+                    corrected = old * correctionValue;
+                    break;
+                case "ADD":
+                    corrected = old + correctionValue;
+                    break;
+                case "SUBSTRACT":
+                    corrected = old - correctionValue;
+                    break;
+                default:
+                    corrected = old;
+                    break;
+            }
+            parent.put(path.getKey(), corrected);
+        }
+    }
+}
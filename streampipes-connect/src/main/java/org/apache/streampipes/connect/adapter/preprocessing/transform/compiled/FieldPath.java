@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.compiled;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A key path of an event which has been resolved once when the adapter starts. The maps on the
+ * way to the field are looked up directly, without copying the key list on every level.
+ */
+public class FieldPath {
+
+    private final String[] parentKeys;
+    private final String key;
+
+    public FieldPath(List<String> keys) {
+        this.parentKeys = keys.subList(0, keys.size() - 1).toArray(new String[0]);
+        this.key = keys.get(keys.size() - 1);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the map which contains the field, or null if one of the parent fields is missing or
+     * is not a nested field.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getParent(Map<String, Object> event) {
+        Map<String, Object> current = event;
+        for (String parentKey : parentKeys) {
+            Object child = current.get(parentKey);
+            if (!(child instanceof Map)) {
+                return null;
+            }
+            current = (Map<String, Object>) child;
+        }
+        return current;
+    }
+}
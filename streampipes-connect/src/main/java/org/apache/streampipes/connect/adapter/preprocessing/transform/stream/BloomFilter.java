@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import java.util.Arrays;
+
+/**
+ * A Bloom filter over 64-bit hashes, sized for a given false positive rate once it is full, e.g.,
+ * 10 bits per entry and 7 hash functions for 1%. A word is only valid if its stamp equals the
+ * current generation, so that clearing the filter only increments the generation.
+ */
+public class BloomFilter implements DuplicateSet {
+
+    private static final int BYTES_PER_WORD = Long.BYTES + Integer.BYTES;
+
+    private final long[] words;
+    private final int[] stamps;
+    private final long bitMask;
+    private final int hashFunctions;
+    private final int capacity;
+
+    private int generation = 1;
+    private int size;
+
+    public BloomFilter(long maxMemoryBytes, double falsePositiveRate) {
+        double bitsPerEntry = Math.ceil(-Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.max(1, Integer.highestOneBit((int) Math.min(1 << 30, maxMemoryBytes / BYTES_PER_WORD)));
+        this.words = new long[wordCount];
+        this.stamps = new int[wordCount];
+        this.bitMask = (long) wordCount * Long.SIZE - 1;
+        this.hashFunctions = Math.max(1, (int) Math.round(bitsPerEntry * Math.log(2)));
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, (long) (wordCount * Long.SIZE / bitsPerEntry));
+    }
+
+    @Override
+    public boolean contains(long hash) {
+        long step = EventHash.mix(hash) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (hash + i * step) & bitMask;
+            int word = (int) (bit >>> 6);
+            if (stamps[word] != generation || (words[word] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(long hash) {
+        if (isFull()) {
+            return;
+        }
+        long step = EventHash.mix(hash) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (hash + i * step) & bitMask;
+            int word = (int) (bit >>> 6);
+            if (stamps[word] != generation) {
+                words[word] = 0;
+                stamps[word] = generation;
+            }
+            words[word] |= 1L << bit;
+        }
+        size++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        generation++;
+        if (generation == 0) {
+            // the stamps of an earlier generation could be taken as current after an overflow
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    @Override
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (long) words.length * BYTES_PER_WORD;
+    }
+}
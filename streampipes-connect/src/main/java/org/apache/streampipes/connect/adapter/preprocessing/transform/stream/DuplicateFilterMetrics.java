@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class DuplicateFilterMetrics implements DuplicateFilterMetricsMBean {
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder earlyRotations = new LongAdder();
+
+    private final LongSupplier entries;
+    private final LongSupplier memoryBytes;
+
+    public DuplicateFilterMetrics(LongSupplier entries, LongSupplier memoryBytes) {
+        this.entries = entries;
+        this.memoryBytes = memoryBytes;
+    }
+
+    public void event(boolean duplicate) {
+        events.increment();
+        if (duplicate) {
+            duplicates.increment();
+        }
+    }
+
+    public void earlyRotation() {
+        earlyRotations.increment();
+    }
+
+    @Override
+    public long getEvents() {
+        return events.sum();
+    }
+
+    @Override
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long count = events.sum();
+        return count == 0 ? 0 : (double) duplicates.sum() / count;
+    }
+
+    @Override
+    public long getEntries() {
+        return entries.getAsLong();
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return memoryBytes.getAsLong();
+    }
+
+    @Override
+    public long getEarlyRotations() {
+        return earlyRotations.sum();
+    }
+}
@@ -18,60 +18,158 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
 
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.commons.metrics.MetricsRegistry;
 import org.apache.streampipes.connect.api.IAdapterPipelineElement;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  *  A hash of events is stored to check if event was already sent
  *  If the same event is sent multiple times the timer is always reseted to cover polling of rest endpoints
  *  User can configure how long events are stored in cache, it should be minimum 2x the polling intervall
+ *
+ *  Hashes are stored in a ring of sets, each covering a sub-window. When the current sub-window
+ *  ends, the oldest set is cleared as a whole, so events are kept at least for the filter time
+ *  window. If a set reaches its share of the memory cap before its sub-window ends, the ring is
+ *  rotated early, which shortens the time events are kept instead of exceeding the cap.
  */
 public class DuplicateFilterPipelineElement implements IAdapterPipelineElement {
 
+    public enum Mode {
+        /**
+         * Exact set of 64-bit hashes
+         */
+        EXACT,
+        /**
+         * Bloom filters, which keep more events within the same memory. An event is checked against the
+         * Bloom filters of all sub-windows, so each is sized for a quarter of the combined false positive
+         * rate of about 1%.
+         */
+        PROBABILISTIC
+    }
+
+    private static final String METRICS_TYPE = "DuplicateFilter";
+
+    private static final int SUB_WINDOWS = 4;
+    private static final long MIN_SUB_WINDOW_MILLI_SEC = 1000;
+    private static final int DEFAULT_MAX_MEMORY_MB = 16;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final long subWindowMillis;
+    private final DuplicateSet[] sets;
+    private final DuplicateFilterMetrics metrics;
+    private final String metricsName;
+
+    private int current;
+    private long currentEnd;
+
+    public DuplicateFilterPipelineElement(String filterTimeWindow) {
+        this(filterTimeWindow, null);
+    }
+
     /**
-     * Lifetime of events
+     * @param metricsName name of the metrics bean of this filter, or null if no metrics are published
      */
-    private long filterTimeWindow;
+    public DuplicateFilterPipelineElement(String filterTimeWindow, String metricsName) {
+        this(filterTimeWindow,
+                Mode.valueOf(Envs.SP_DUPLICATE_FILTER_MODE.getValueOrDefault(Mode.EXACT.name())),
+                1024L * 1024 * (Envs.SP_DUPLICATE_FILTER_MAX_MEMORY_MB.exists()
+                        ? Envs.SP_DUPLICATE_FILTER_MAX_MEMORY_MB.getValueAsInt() : DEFAULT_MAX_MEMORY_MB),
+                metricsName);
+    }
 
-    public DuplicateFilterPipelineElement(String filterTimeWindow) {
+    public DuplicateFilterPipelineElement(String filterTimeWindow, Mode mode, long maxMemoryBytes, String metricsName) {
         // convert it to seconds
-        this.filterTimeWindow = 1000 * Long.parseLong(filterTimeWindow);
+        long windowMillis = 1000 * Long.parseLong(filterTimeWindow);
+        // the oldest set is cleared after all others, so that events are kept for at least the window
+        this.subWindowMillis = Math.max(MIN_SUB_WINDOW_MILLI_SEC, (windowMillis + SUB_WINDOWS - 2) / (SUB_WINDOWS - 1));
+        this.sets = new DuplicateSet[SUB_WINDOWS];
+        for (int i = 0; i < SUB_WINDOWS; i++) {
+            sets[i] = mode == Mode.PROBABILISTIC
+                    ? new BloomFilter(maxMemoryBytes / SUB_WINDOWS, FALSE_POSITIVE_RATE / SUB_WINDOWS)
+                    : new LongHashSet(maxMemoryBytes / SUB_WINDOWS);
+        }
+        this.currentEnd = System.currentTimeMillis() + subWindowMillis;
+        this.metrics = new DuplicateFilterMetrics(this::getEntries, this::getMemoryBytes);
+        this.metricsName = metricsName;
+        if (metricsName != null) {
+            MetricsRegistry.register(METRICS_TYPE, metricsName, metrics);
+        }
     }
 
-    // Trade of between computation and storage, maybe change value in future
-    private static final long CLEAN_UP_INTERVAL_MILLI_SEC = 10000   ; //10 seconds
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) {
+        rotate(System.currentTimeMillis());
 
-    private Map<Integer, Long> eventState = new HashMap<>();
-    private long lastCleanUpTimestamp = System.currentTimeMillis();
+        long hash = EventHash.hash(event);
+        boolean duplicate = isDuplicatedEvent(hash);
+        metrics.event(duplicate);
+
+        saveEvent(hash);
+        return duplicate ? null : event;
+    }
 
     @Override
-    public Map<String, Object> process(Map<String, Object> event) {
-        cleanUpEvenState();
+    public void close() {
+        if (metricsName != null) {
+            MetricsRegistry.unregister(METRICS_TYPE, metricsName);
+        }
+    }
 
-        int hash = event.hashCode();
+    public DuplicateFilterMetrics getMetrics() {
+        return metrics;
+    }
 
-        if (isDuplicatedEvent(hash)) {
-            saveEvent(hash);
-            return null;
+    private boolean isDuplicatedEvent(long hash) {
+        for (int i = 0; i < SUB_WINDOWS; i++) {
+            // start with the current set, which contains repeatedly sent events
+            if (sets[(current + SUB_WINDOWS - i) % SUB_WINDOWS].contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void saveEvent(long hash) {
+        if (sets[current].contains(hash)) {
+            return;
+        }
+        if (sets[current].isFull()) {
+            metrics.earlyRotation();
+            next();
+        }
+        sets[current].add(hash);
+    }
+
+    private void rotate(long now) {
+        for (int i = 0; i < SUB_WINDOWS && now >= currentEnd; i++) {
+            next();
+            currentEnd += subWindowMillis;
+        }
+        if (now >= currentEnd) {
+            currentEnd = now + subWindowMillis;
         }
-        saveEvent(hash);
-        return event;
     }
 
-    private boolean isDuplicatedEvent(int key) {
-        return eventState.containsKey(key);
+    private void next() {
+        current = (current + 1) % SUB_WINDOWS;
+        sets[current].clear();
     }
 
-    private void saveEvent(int key) {
-        eventState.put(key, System.currentTimeMillis());
+    private long getEntries() {
+        long entries = 0;
+        for (DuplicateSet set : sets) {
+            entries += set.size();
+        }
+        return entries;
     }
 
-    private void cleanUpEvenState() {
-        if (System.currentTimeMillis() > lastCleanUpTimestamp + CLEAN_UP_INTERVAL_MILLI_SEC) {
-           eventState.entrySet().removeIf(entry -> entry.getValue() + filterTimeWindow < System.currentTimeMillis());
-           lastCleanUpTimestamp = System.currentTimeMillis();
+    private long getMemoryBytes() {
+        long memoryBytes = 0;
+        for (DuplicateSet set : sets) {
+            memoryBytes += set.getMemoryBytes();
         }
+        return memoryBytes;
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+/**
+ * A set of 64-bit event hashes of one sub-window of the duplicate filter.
+ */
+public interface DuplicateSet {
+
+    boolean contains(long hash);
+
+    void add(long hash);
+
+    /**
+     * Removes all hashes in constant time.
+     */
+    void clear();
+
+    /**
+     * Returns true if no further hash can be added without exceeding the memory cap.
+     */
+    boolean isFull();
+
+    int size();
+
+    long getMemoryBytes();
+}
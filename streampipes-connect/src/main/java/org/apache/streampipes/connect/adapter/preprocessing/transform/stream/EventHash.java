@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a 64-bit hash of an event, so that distinct events within a filter window practically
+ * never collide, unlike with the 32-bit {@link Map#hashCode()}.
+ */
+public class EventHash {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    public static long hash(Map<String, Object> event) {
+        return hashValue(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long hashValue(Object value) {
+        if (value == null) {
+            return SEED;
+        } else if (value instanceof String) {
+            return hashString((String) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()) ^ 0x3L);
+        } else if (value instanceof Number) {
+            return mix(((Number) value).longValue() ^ 0x5L);
+        } else if (value instanceof Map) {
+            // entries are combined independently of their order, like in Map#hashCode
+            long result = 0x7L;
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                result += mix(hashString(entry.getKey()) * 31 + hashValue(entry.getValue()));
+            }
+            return mix(result);
+        } else if (value instanceof List) {
+            long result = 0xBL;
+            for (Object item : (List<Object>) value) {
+                result = result * 31 + hashValue(item);
+            }
+            return mix(result);
+        } else {
+            return mix(value.hashCode());
+        }
+    }
+
+    private static long hashString(String value) {
+        long result = SEED;
+        for (int i = 0; i < value.length(); i++) {
+            result = (result ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(result);
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
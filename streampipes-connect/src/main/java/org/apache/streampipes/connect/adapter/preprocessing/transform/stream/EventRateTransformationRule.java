@@ -18,39 +18,301 @@
 
 package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
 
-import java.util.LinkedList;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
+/**
+ * Emits at most one event per time window. If a flush target is set, an aggregated window which
+ * ends without a further event, e.g., because the stream has stopped, is emitted by a timer. Without
+ * aggregation ("none"), events arriving within a window are dropped and never emitted by the timer.
+ */
 public class EventRateTransformationRule implements StreamTransformationRule {
 
+    private static final ScheduledExecutorService FLUSH_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "event-rate-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final List<String> INTEGRAL_TYPES = Arrays.asList(XSD._integer.toString(),
+            XSD._long.toString(), XSD._int.toString(), XSD._short.toString(), XSD._byte.toString());
+    private static final List<String> DECIMAL_TYPES = Arrays.asList(XSD._float.toString(),
+            XSD._double.toString(), XSD._decimal.toString());
+
     private long aggregationTimeWindow;
 
     //none (Values from last event), max, min, mean, sum (of the values in the time window)
     private String aggregationType;
 
-    private long lastSentToPipelineTimestamp = System.currentTimeMillis();
+    private final LongSupplier clock;
+
+    private long lastSentToPipelineTimestamp;
+
+    // numeric fields of the event schema, which are aggregated over the time window
+    private final List<Accumulator> accumulators = new ArrayList<>();
+
+    // the last event of the current window, which has not been emitted yet
+    private Map<String, Object> pendingEvent;
+    private Consumer<Map<String, Object>> flushTarget;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
 
     public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType) {
+        this(aggregationTimeWindow, aggregationType, null);
+    }
+
+    public EventRateTransformationRule(long aggregationTimeWindow, String aggregationType, EventSchema eventSchema) {
+        this(aggregationTimeWindow, aggregationType, eventSchema, System::currentTimeMillis);
+    }
+
+    EventRateTransformationRule(long aggregationTimeWindow,
+                                String aggregationType,
+                                EventSchema eventSchema,
+                                LongSupplier clock) {
         this.aggregationTimeWindow = aggregationTimeWindow;
         this.aggregationType = aggregationType;
+        this.clock = clock;
+        this.lastSentToPipelineTimestamp = clock.getAsLong();
+        if (eventSchema != null && !"none".equals(aggregationType)) {
+            addAccumulators(eventSchema.getEventProperties(), new ArrayList<>());
+        }
+    }
+
+    /**
+     * Sets the consumer which receives windows emitted by the timer.
+     */
+    public synchronized void setFlushTarget(Consumer<Map<String, Object>> flushTarget) {
+        this.flushTarget = flushTarget;
     }
 
     @Override
-    public Map<String, Object> transform(Map<String, Object> event) {
-        if (System.currentTimeMillis() > lastSentToPipelineTimestamp + aggregationTimeWindow) {
-            switch (aggregationType) {
-                case "none":
-                    lastSentToPipelineTimestamp = System.currentTimeMillis();
-                    return event;
-//                case "max":
-//                case "min":
-//                case "mean":
-//                case "sum":
+    public synchronized Map<String, Object> transform(Map<String, Object> event) {
+        if (event == null) {
+            return null;
+        }
+        for (Accumulator accumulator : accumulators) {
+            accumulator.add(event);
+        }
+        long now = clock.getAsLong();
+        if (isWindowEnded(now)) {
+            return emit(event, now);
+        }
+        if (!"none".equals(aggregationType)) {
+            pendingEvent = event;
+            scheduleFlush(now);
+        }
+        return null;
+    }
 
+    /**
+     * Emits the pending event if its window has ended, otherwise waits for the end of the window.
+     * The flush target is called without holding the lock of the rule.
+     */
+    void flush() {
+        Map<String, Object> event;
+        Consumer<Map<String, Object>> target;
+        synchronized (this) {
+            scheduledFlush = null;
+            if (pendingEvent == null || flushTarget == null || closed) {
+                return;
             }
+            long now = clock.getAsLong();
+            if (!isWindowEnded(now)) {
+                scheduleFlush(now);
+                return;
+            }
+            event = emit(pendingEvent, now);
+            target = flushTarget;
         }
-        return null;
+        if (event != null) {
+            target.accept(event);
+        }
+    }
+
+    /**
+     * Stops the timer, so that pending windows are no longer emitted.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    private boolean isWindowEnded(long now) {
+        return now > lastSentToPipelineTimestamp + aggregationTimeWindow;
     }
 
+    private Map<String, Object> emit(Map<String, Object> event, long now) {
+        switch (aggregationType) {
+            case "none":
+                break;
+            case "max":
+            case "min":
+            case "mean":
+            case "sum":
+                // the values of all other fields are taken from the last event of the time window
+                for (Accumulator accumulator : accumulators) {
+                    accumulator.emit(event, aggregationType);
+                }
+                break;
+            default:
+                return null;
+        }
+        lastSentToPipelineTimestamp = now;
+        pendingEvent = null;
+        return event;
+    }
 
+    private void scheduleFlush(long now) {
+        if (flushTarget != null && scheduledFlush == null && !closed) {
+            long delay = lastSentToPipelineTimestamp + aggregationTimeWindow - now + 1;
+            scheduledFlush = FLUSH_TIMER.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void addAccumulators(List<EventProperty> properties, List<String> parentKeys) {
+        for (EventProperty property : properties) {
+            if (property instanceof EventPropertyNested) {
+                List<String> keys = new ArrayList<>(parentKeys);
+                keys.add(property.getRuntimeName());
+                addAccumulators(((EventPropertyNested) property).getEventProperties(), keys);
+            } else if (property instanceof EventPropertyPrimitive && !isTimestamp(property)) {
+                String runtimeType = ((EventPropertyPrimitive) property).getRuntimeType();
+                if (INTEGRAL_TYPES.contains(runtimeType) || DECIMAL_TYPES.contains(runtimeType)) {
+                    accumulators.add(new Accumulator(parentKeys.toArray(new String[0]), property.getRuntimeName(),
+                            INTEGRAL_TYPES.contains(runtimeType)));
+                }
+            }
+        }
+    }
+
+    private boolean isTimestamp(EventProperty property) {
+        return property.getDomainProperties() != null
+                && property.getDomainProperties().contains(URI.create(SO.DateTime));
+    }
+
+    /**
+     * Incrementally aggregates the values of one numeric field. Integral fields are aggregated
+     * as longs, so that their aggregates keep the type of the schema, and the mean is rounded.
+     */
+    private static class Accumulator {
+
+        private final String[] parentKeys;
+        private final String key;
+        private final boolean integral;
+
+        private long count;
+        private double sum;
+        private double min;
+        private double max;
+        private long longSum;
+        private long longMin;
+        private long longMax;
+
+        Accumulator(String[] parentKeys, String key, boolean integral) {
+            this.parentKeys = parentKeys;
+            this.key = key;
+            this.integral = integral;
+            reset();
+        }
+
+        void add(Map<String, Object> event) {
+            Map<String, Object> parent = getParent(event);
+            Object value = parent != null ? parent.get(key) : null;
+            if (!(value instanceof Number)) {
+                return;
+            }
+            count++;
+            if (integral && !(value instanceof Double || value instanceof Float)) {
+                long longValue = ((Number) value).longValue();
+                longSum += longValue;
+                longMin = Math.min(longMin, longValue);
+                longMax = Math.max(longMax, longValue);
+            } else {
+                double doubleValue = ((Number) value).doubleValue();
+                sum += doubleValue;
+                min = Math.min(min, doubleValue);
+                max = Math.max(max, doubleValue);
+            }
+        }
+
+        void emit(Map<String, Object> event, String aggregationType) {
+            Map<String, Object> parent = getParent(event);
+            if (count > 0 && parent != null) {
+                if (integral) {
+                    parent.put(key, getLongResult(aggregationType));
+                } else {
+                    parent.put(key, getDoubleResult(aggregationType));
+                }
+            }
+            reset();
+        }
+
+        private long getLongResult(String aggregationType) {
+            // values which could not be read as longs are aggregated as doubles
+            switch (aggregationType) {
+                case "max":
+                    return Math.max(longMax, (long) Math.ceil(max));
+                case "min":
+                    return Math.min(longMin, (long) Math.floor(min));
+                case "sum":
+                    return longSum + Math.round(sum);
+                default:
+                    return Math.round((longSum + sum) / count);
+            }
+        }
+
+        private double getDoubleResult(String aggregationType) {
+            switch (aggregationType) {
+                case "max":
+                    return max;
+                case "min":
+                    return min;
+                case "sum":
+                    return sum;
+                default:
+                    return sum / count;
+            }
+        }
+
+        private void reset() {
+            count = 0;
+            sum = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            longSum = 0;
+            longMin = Long.MAX_VALUE;
+            longMax = Long.MIN_VALUE;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> getParent(Map<String, Object> event) {
+            Object current = event;
+            for (String parentKey : parentKeys) {
+                if (!(current instanceof Map)) {
+                    return null;
+                }
+                current = ((Map<String, Object>) current).get(parentKey);
+            }
+            return current instanceof Map ? (Map<String, Object>) current : null;
+        }
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import java.util.Arrays;
+
+/**
+ * An exact set of 64-bit hashes with open addressing. A slot is only occupied if its stamp equals
+ * the current generation of the set, so that clearing the set only increments the generation.
+ */
+public class LongHashSet implements DuplicateSet {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_CAPACITY = 4;
+    private static final int BYTES_PER_SLOT = Long.BYTES + Integer.BYTES;
+
+    private final int maxCapacity;
+
+    private long[] hashes;
+    private int[] stamps;
+    private int generation = 1;
+    private int size;
+
+    /**
+     * @param maxMemoryBytes memory the slots of the set may take up at most, rounded down to a power of two slots
+     */
+    public LongHashSet(long maxMemoryBytes) {
+        if (maxMemoryBytes < (long) MIN_CAPACITY * BYTES_PER_SLOT) {
+            throw new IllegalArgumentException("The memory limit of " + maxMemoryBytes
+                    + " bytes is below the minimum of " + MIN_CAPACITY * BYTES_PER_SLOT + " bytes");
+        }
+        this.maxCapacity = Integer.highestOneBit((int) Math.min(1 << 30, maxMemoryBytes / BYTES_PER_SLOT));
+        int initialCapacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+        this.hashes = new long[initialCapacity];
+        this.stamps = new int[initialCapacity];
+    }
+
+    @Override
+    public boolean contains(long hash) {
+        int mask = hashes.length - 1;
+        for (int i = index(hash, mask); stamps[i] == generation; i = (i + 1) & mask) {
+            if (hashes[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(long hash) {
+        if (isOverloaded(size + 1, hashes.length)) {
+            if (hashes.length == maxCapacity) {
+                return;
+            }
+            grow();
+        }
+        if (insert(hashes, stamps, hash)) {
+            size++;
+        }
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        generation++;
+        if (generation == 0) {
+            // the stamps of an earlier generation could be taken as current after an overflow
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    @Override
+    public boolean isFull() {
+        return hashes.length == maxCapacity && isOverloaded(size + 1, hashes.length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return (long) hashes.length * BYTES_PER_SLOT;
+    }
+
+    private boolean insert(long[] hashes, int[] stamps, long hash) {
+        int mask = hashes.length - 1;
+        int i = index(hash, mask);
+        while (stamps[i] == generation) {
+            if (hashes[i] == hash) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        hashes[i] = hash;
+        stamps[i] = generation;
+        return true;
+    }
+
+    private void grow() {
+        long[] newHashes = new long[hashes.length * 2];
+        int[] newStamps = new int[stamps.length * 2];
+        for (int i = 0; i < hashes.length; i++) {
+            if (stamps[i] == generation) {
+                insert(newHashes, newStamps, hashes[i]);
+            }
+        }
+        hashes = newHashes;
+        stamps = newStamps;
+    }
+
+    private static boolean isOverloaded(int size, int capacity) {
+        return size > capacity - (capacity >>> 2);
+    }
+
+    private static int index(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
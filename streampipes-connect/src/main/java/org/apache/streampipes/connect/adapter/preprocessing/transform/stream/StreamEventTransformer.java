@@ -23,6 +23,7 @@ import org.apache.streampipes.connect.adapter.preprocessing.transform.Transforma
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class StreamEventTransformer implements StreamTransformationRule {
 
@@ -54,11 +55,34 @@ public class StreamEventTransformer implements StreamTransformationRule {
         this.eventRateTransformationRules.add(rule);
     }
 
+    /**
+     * Passes events which are emitted by the timer of a rule through the following rules to the
+     * given consumer.
+     */
+    public void setFlushTarget(Consumer<Map<String, Object>> flushTarget) {
+        for (int i = 0; i < eventRateTransformationRules.size(); i++) {
+            int next = i + 1;
+            eventRateTransformationRules.get(i).setFlushTarget(event -> {
+                Map<String, Object> result = transform(event, next);
+                if (result != null) {
+                    flushTarget.accept(result);
+                }
+            });
+        }
+    }
+
     @Override
     public Map<String, Object> transform(Map<String, Object> event) {
+        return transform(event, 0);
+    }
+
+    public void close() {
+        eventRateTransformationRules.forEach(EventRateTransformationRule::close);
+    }
 
-        for (EventRateTransformationRule rateRule : eventRateTransformationRules) {
-            event = rateRule.transform(event);
+    private Map<String, Object> transform(Map<String, Object> event, int firstRule) {
+        for (int i = firstRule; i < eventRateTransformationRules.size(); i++) {
+            event = eventRateTransformationRules.get(i).transform(event);
         }
 
         return event;
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.format.csv;
+
+import org.apache.streampipes.connect.api.EmitBinaryEvent;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CsvParserTest {
+
+  @Test
+  public void parseRecords() {
+    String csv = "id;text\r\n1;\"multi\nline\"\n2;5\" display\r3;\"a\"\"b\"";
+
+    List<String> records = parse(csv, ";");
+
+    assertEquals(4, records.size());
+    assertEquals("id;text", records.get(0));
+    assertEquals("1;\"multi\nline\"", records.get(1));
+    assertEquals("2;5\" display", records.get(2));
+    assertEquals("3;\"a\"\"b\"", records.get(3));
+  }
+
+  @Test
+  public void parseEmptyLines() {
+    List<String> records = parse("a\n\nb\n", ";");
+
+    assertEquals(3, records.size());
+    assertEquals("", records.get(1));
+    assertEquals("b", records.get(2));
+  }
+
+  @Test
+  public void formatValues() {
+    CsvFormat format = new CsvFormat(";", true);
+    assertNull(format.parse(bytes("a;b;c;d;e;f;g;h;i;j")));
+
+    Map<String, Object> event = format.parse(
+            bytes("12;-5;1.5;TRUE;abc;;99999999999999999999;9223372036854775807; 7;\"x;\"\"y\"\"\""));
+
+    assertEquals(12L, event.get("a"));
+    assertEquals(-5.0, event.get("b"));
+    assertEquals(1.5, event.get("c"));
+    assertEquals(true, event.get("d"));
+    assertEquals("abc", event.get("e"));
+    assertEquals("", event.get("f"));
+    assertEquals(1e20, event.get("g"));
+    assertEquals(Long.MAX_VALUE, event.get("h"));
+    assertEquals(7.0, event.get("i"));
+    assertEquals("x;\"y\"", event.get("j"));
+  }
+
+  private List<String> parse(String csv, String delimiter) {
+    List<String> records = new ArrayList<>();
+    new CsvParser(delimiter, true).parse(new ByteArrayInputStream(bytes(csv)), new EmitBinaryEvent() {
+      @Override
+      public Boolean emit(byte[] event) {
+        records.add(new String(event, StandardCharsets.UTF_8));
+        return true;
+      }
+    });
+    return records;
+  }
+
+  private byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -20,12 +20,15 @@ package org.apache.streampipes.connect.adapter.format.json.arraynokey;
 
 import com.google.gson.JsonArray;
 import org.apache.commons.io.IOUtils;
+import org.apache.streampipes.connect.api.EmitBinaryEvent;
 import org.apache.streampipes.connect.api.exception.AdapterException;
 import org.junit.Test;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.streampipes.connect.adapter.TestUtils.getJsonArrayWithThreeElements;
 import static org.apache.streampipes.connect.adapter.TestUtils.makeJsonObject;
@@ -85,6 +88,41 @@ public class JsonArrayParserTest {
     assertEquals("{\"one\":1}", parsedStringEventOne);
   }
 
+  @Test
+  public void parseEmitsDecodedEvents() throws AdapterException {
+    String event = "{\"int\":1,\"long\":10000000000,\"double\":2.5,\"string\":\"a\","
+            + "\"list\":[1,2],\"nested\":{\"boolean\":true}}";
+    List<Map<String, Object>> emittedEvents = new ArrayList<>();
+
+    new JsonArrayParser().parse(getInputStream("[" + event + "]"), new EmitBinaryEvent() {
+      @Override
+      public Boolean emit(byte[] event) {
+        throw new AssertionError("Parser should emit decoded events");
+      }
+
+      @Override
+      public Boolean emit(Map<String, Object> event) {
+        emittedEvents.add(event);
+        return true;
+      }
+    });
+
+    assertEquals(1, emittedEvents.size());
+    assertEquals(new JsonArrayFormat().parse(event.getBytes(StandardCharsets.UTF_8)), emittedEvents.get(0));
+  }
+
+  @Test
+  public void parseEncodesDecodedEventsForByteEmitters() throws AdapterException {
+    List<String> emittedEvents = new ArrayList<>();
+
+    new JsonArrayParser().parse(getInputStream("[{\"one\":1},{\"one\":2}]"),
+            event -> emittedEvents.add(new String(event, StandardCharsets.UTF_8)));
+
+    assertEquals(2, emittedEvents.size());
+    assertEquals("{\"one\":1}", emittedEvents.get(0));
+    assertEquals("{\"one\":2}", emittedEvents.get(1));
+  }
+
   private InputStream getInputStream(String s) {
     return IOUtils.toInputStream(s, "UTF-8");
   }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.compiled;
+
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformSchemaAdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformValueAdapterPipelineElement;
+import org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompiledEventTransformerTest {
+
+    private static final String CELSIUS = "http://qudt.org/vocab/unit#DegreeCelsius";
+    private static final String KELVIN = "http://qudt.org/vocab/unit#Kelvin";
+
+    @Test
+    public void transformLikeRuleChain() {
+        List<SchemaTransformationRuleDescription> schemaRules = Arrays.asList(
+                new RenameRuleDescription("a", "a1"),
+                new RenameRuleDescription("b", "b1"),
+                new RenameRuleDescription("c", "c1"),
+                new RenameRuleDescription("c1.d", "c1.d1"),
+                new CreateNestedRuleDescription("c1.f"),
+                new MoveRuleDescription("b1", "c1.f"),
+                new MoveRuleDescription("c1.temperature", ""),
+                new DeleteRuleDescription("e"));
+
+        List<ValueTransformationRuleDescription> valueRules = Arrays.asList(
+                new UnitTransformRuleDescription("temperature", CELSIUS, KELVIN),
+                new UnitTransformRuleDescription("c1.pressure", CELSIUS, CELSIUS),
+                new TimestampTranfsformationRuleDescription("ts", "timeUnit", null, 1000L),
+                new CorrectionValueTransformationRuleDescription("a1", 1.5, "ADD"));
+
+        Map<String, Object> expected = new TransformValueAdapterPipelineElement(valueRules)
+                .process(new TransformSchemaAdapterPipelineElement(schemaRules).process(makeEvent()));
+
+        CompiledEventTransformer transformer = CompiledEventTransformer.compile(schemaRules, valueRules);
+
+        assertEquals(expected, transformer.transform(makeEvent()));
+        assertEquals(expected, transformer.transform(makeEvent()));
+    }
+
+    @Test
+    public void skipMissingParent() {
+        CompiledEventTransformer transformer = CompiledEventTransformer.compile(
+                Arrays.asList(new RenameRuleDescription("x.y", "x.z")),
+                Arrays.asList(new CorrectionValueTransformationRuleDescription("x.y", 1, "ADD")));
+
+        Map<String, Object> event = makeEvent();
+
+        assertEquals(makeEvent(), transformer.transform(event));
+    }
+
+    private Map<String, Object> makeEvent() {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("d", "z");
+        nested.put("temperature", 21.5);
+        nested.put("pressure", 3);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("a", 1);
+        event.put("b", "z");
+        event.put("e", "z");
+        event.put("ts", 1650000000L);
+        event.put("c", nested);
+
+        return event;
+    }
+}
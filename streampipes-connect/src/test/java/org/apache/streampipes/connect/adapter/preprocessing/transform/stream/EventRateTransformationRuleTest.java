@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventRateTransformationRuleTest {
+
+    private final AtomicLong clock = new AtomicLong(1000);
+
+    @Test
+    public void aggregateMean() {
+        Map<String, Object> result = aggregate("mean");
+
+        assertEquals(2.5, result.get("temperature"));
+        assertEquals(3L, result.get("count"));
+        assertEquals(4L, result.get("timestamp"));
+        assertEquals("d", result.get("name"));
+        assertEquals(25.0, ((Map) result.get("nested")).get("pressure"));
+    }
+
+    @Test
+    public void aggregateMinMaxSum() {
+        assertEquals(1.0, aggregate("min").get("temperature"));
+        assertEquals(4L, aggregate("max").get("count"));
+        assertEquals(10.0, aggregate("sum").get("temperature"));
+        assertEquals(10L, aggregate("sum").get("count"));
+    }
+
+    @Test
+    public void flushEmitsLastWindowAfterStreamStops() {
+        List<Map<String, Object>> flushed = new ArrayList<>();
+        EventRateTransformationRule rule = makeRule("sum");
+        rule.setFlushTarget(flushed::add);
+
+        assertNull(rule.transform(makeEvent(1, "a")));
+        assertNull(rule.transform(makeEvent(2, "b")));
+        rule.flush();
+        assertTrue(flushed.isEmpty());
+
+        clock.addAndGet(150);
+        rule.flush();
+        assertEquals(1, flushed.size());
+        assertEquals(3.0, flushed.get(0).get("temperature"));
+        assertEquals("b", flushed.get(0).get("name"));
+
+        // the flushed window is not emitted again
+        rule.flush();
+        assertEquals(1, flushed.size());
+    }
+
+    @Test
+    public void flushStartsNewWindow() {
+        List<Map<String, Object>> flushed = new ArrayList<>();
+        EventRateTransformationRule rule = makeRule("sum");
+        rule.setFlushTarget(flushed::add);
+
+        rule.transform(makeEvent(1, "a"));
+        clock.addAndGet(150);
+        rule.flush();
+
+        assertNull(rule.transform(makeEvent(5, "b")));
+        clock.addAndGet(150);
+        assertEquals(12.0, rule.transform(makeEvent(7, "c")).get("temperature"));
+    }
+
+    @Test
+    public void closedRuleDoesNotFlush() {
+        List<Map<String, Object>> flushed = new ArrayList<>();
+        EventRateTransformationRule rule = makeRule("sum");
+        rule.setFlushTarget(flushed::add);
+
+        rule.transform(makeEvent(1, "a"));
+        rule.close();
+        clock.addAndGet(150);
+        rule.flush();
+
+        assertTrue(flushed.isEmpty());
+    }
+
+    @Test
+    public void withoutAggregationEventsWithinWindowAreDropped() {
+        List<Map<String, Object>> flushed = new ArrayList<>();
+        EventRateTransformationRule rule = makeRule("none");
+        rule.setFlushTarget(flushed::add);
+
+        assertNull(rule.transform(makeEvent(1, "a")));
+        clock.addAndGet(150);
+        rule.flush();
+        assertTrue(flushed.isEmpty());
+
+        assertEquals("b", rule.transform(makeEvent(2, "b")).get("name"));
+    }
+
+    @Test(timeout = 5000)
+    public void timerFlushesPendingWindow() throws InterruptedException {
+        List<Map<String, Object>> flushed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        EventRateTransformationRule rule = new EventRateTransformationRule(20, "sum", makeSchema());
+        rule.setFlushTarget(event -> {
+            flushed.add(event);
+            latch.countDown();
+        });
+
+        assertNull(rule.transform(makeEvent(1, "a")));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("a", flushed.get(0).get("name"));
+        rule.close();
+    }
+
+    private Map<String, Object> aggregate(String aggregationType) {
+        EventRateTransformationRule rule = makeRule(aggregationType);
+
+        assertNull(rule.transform(makeEvent(1, "a")));
+        assertNull(rule.transform(makeEvent(2, "b")));
+        assertNull(rule.transform(makeEvent(3, "c")));
+        clock.addAndGet(150);
+        return rule.transform(makeEvent(4, "d"));
+    }
+
+    private EventRateTransformationRule makeRule(String aggregationType) {
+        return new EventRateTransformationRule(100, aggregationType, makeSchema(), clock::get);
+    }
+
+    private EventSchema makeSchema() {
+        EventPropertyPrimitive timestamp = makePrimitive("timestamp", XSD._long.toString());
+        timestamp.setDomainProperties(Collections.singletonList(URI.create(SO.DateTime)));
+
+        EventPropertyNested nested = new EventPropertyNested("nested",
+                Collections.singletonList(makePrimitive("pressure", XSD._float.toString())));
+
+        EventSchema eventSchema = new EventSchema();
+        eventSchema.setEventProperties(Arrays.<EventProperty>asList(timestamp,
+                makePrimitive("temperature", XSD._double.toString()),
+                makePrimitive("count", XSD._integer.toString()),
+                makePrimitive("name", XSD._string.toString()),
+                nested));
+        return eventSchema;
+    }
+
+    private EventPropertyPrimitive makePrimitive(String runtimeName, String runtimeType) {
+        EventPropertyPrimitive property = new EventPropertyPrimitive();
+        property.setRuntimeName(runtimeName);
+        property.setRuntimeType(runtimeType);
+        return property;
+    }
+
+    private Map<String, Object> makeEvent(int value, String name) {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("pressure", value * 10.0);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("timestamp", (long) value);
+        event.put("temperature", (double) value);
+        event.put("count", value);
+        event.put("name", name);
+        event.put("nested", nested);
+        return event;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.adapter.preprocessing.transform.stream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongHashSetTest {
+
+    @Test
+    public void honorSmallMemoryLimit() {
+        LongHashSet set = new LongHashSet(8 * 12);
+
+        for (long i = 0; i < 6; i++) {
+            assertFalse(set.isFull());
+            set.add(i);
+        }
+
+        assertTrue(set.isFull());
+        assertEquals(6, set.size());
+        assertEquals(8 * 12, set.getMemoryBytes());
+    }
+
+    @Test
+    public void keepAddedHashesAfterGrowing() {
+        LongHashSet set = new LongHashSet(1024L * 1024);
+
+        for (long i = 0; i < 5000; i++) {
+            set.add(i * 31);
+        }
+
+        assertEquals(5000, set.size());
+        assertTrue(set.contains(4999 * 31));
+        assertFalse(set.contains(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectMemoryLimitBelowMinimum() {
+        new LongHashSet(12);
+    }
+}
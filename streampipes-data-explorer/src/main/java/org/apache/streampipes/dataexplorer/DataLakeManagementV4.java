@@ -18,7 +18,6 @@
 
 package org.apache.streampipes.dataexplorer;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.dataexplorer.param.RetentionPolicyQueryParams;
@@ -28,9 +27,14 @@ import org.apache.streampipes.dataexplorer.query.ShowRetentionPolicyQuery;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.dataexplorer.v4.AutoAggregationHandler;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
-import org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters;
+import org.apache.streampipes.dataexplorer.v4.cache.QueryResultCache;
+import org.apache.streampipes.dataexplorer.v4.export.CsvExportWriter;
+import org.apache.streampipes.dataexplorer.v4.export.DataLakeExport;
+import org.apache.streampipes.dataexplorer.v4.export.ExportWriter;
+import org.apache.streampipes.dataexplorer.v4.export.JsonExportWriter;
 import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
 import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.rollup.RollupManager;
 import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
 import org.apache.streampipes.model.datalake.DataLakeConfiguration;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
@@ -44,15 +48,6 @@ import org.lightcouch.CouchDbClient;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.temporal.ChronoField;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAccessor;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -63,12 +58,6 @@ import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParam
 
 public class DataLakeManagementV4 {
 
-    private static final DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-            .appendPattern("uuuu[-MM[-dd]]['T'HH[:mm[:ss[.SSSSSSSSS][.SSSSSSSS][.SSSSSSS][.SSSSSS][.SSSSS][.SSSS][.SSS][.SS][.S]]]][XXX]")
-            .parseDefaulting(ChronoField.NANO_OF_SECOND, 0)
-            .parseDefaulting(ChronoField.OFFSET_SECONDS, 0)
-            .toFormatter();
-
     public List<DataLakeMeasure> getAllMeasurements() {
         return DataExplorerUtils.getInfos();
     }
@@ -77,6 +66,10 @@ public class DataLakeManagementV4 {
         if (queryParams.has(QP_AUTO_AGGREGATE)) {
             queryParams = new AutoAggregationHandler(queryParams).makeAutoAggregationQueryParams();
         }
+        return QueryResultCache.getInstance().getData(queryParams, this::queryData);
+    }
+
+    private SpQueryResult queryData(ProvidedQueryParams queryParams) {
         Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getSelectQueryParams(queryParams);
 
         if (queryParams.getProvidedParams().containsKey(QP_MAXIMUM_AMOUNT_OF_EVENTS)) {
@@ -87,118 +80,29 @@ public class DataLakeManagementV4 {
         return new DataExplorerQueryV4(queryParts).executeQuery();
     }
 
-    public void getDataAsStream(ProvidedQueryParams params, String format, OutputStream outputStream) throws IOException {
-        if (!params.has(QP_LIMIT)) {
-            params.update(QP_LIMIT, 500000);
-        }
-
-        SpQueryResult dataResult;
-        //JSON
-        if (format.equals("json")) {
-
-            Gson gson = new Gson();
-            int i = 0;
-            if (params.has(QP_PAGE)) {
-                i = params.getAsInt(QP_PAGE);
-            }
-
-            boolean isFirstDataObject = true;
-
-            outputStream.write(toBytes("["));
-            do {
-                params.update(SupportedDataLakeQueryParameters.QP_PAGE, String.valueOf(i));
-                dataResult = getData(params);
-
-                if (dataResult.getTotal() > 0) {
-                    for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-                        if (!isFirstDataObject) {
-                            outputStream.write(toBytes(","));
-                        }
-
-                        //produce one json object
-                        boolean isFirstElementInRow = true;
-                        outputStream.write(toBytes("{"));
-                        for (int i1 = 0; i1 < row.size(); i1++) {
-                            Object element = row.get(i1);
-                            if (!isFirstElementInRow) {
-                                outputStream.write(toBytes(","));
-                            }
-                            isFirstElementInRow = false;
-                            if (i1 == 0) {
-                                element = parseTime(element.toString());
-                            }
-                            //produce json e.g. "name": "Pipes" or "load": 42
-                            outputStream.write(toBytes("\"" + dataResult.getHeaders().get(i1) + "\": "
-                                    + gson.toJson(element)));
-                        }
-                        outputStream.write(toBytes("}"));
-                        isFirstDataObject = false;
-                    }
-
-                    i++;
-                }
-            } while (dataResult.getTotal() > 0);
-            outputStream.write(toBytes("]"));
-
-            //CSV
-        } else if (format.equals("csv")) {
-            int i = 0;
-            if (params.has(QP_PAGE)) {
-                i = params.getAsInt(QP_PAGE);
-            }
-
-            boolean isFirstDataObject = true;
-
-            do {
-                params.update(SupportedDataLakeQueryParameters.QP_PAGE, String.valueOf(i));
-                dataResult = getData(params);
-                //Send first header
-                if (dataResult.getTotal() > 0) {
-                    if (isFirstDataObject) {
-                        boolean isFirst = true;
-                        for (int i1 = 0; i1 < dataResult.getHeaders().size(); i1++) {
-                            if (!isFirst) {
-                                outputStream.write(toBytes(";"));
-                            }
-                            isFirst = false;
-                            outputStream.write(toBytes(dataResult.getHeaders().get(i1)));
-                        }
-                    }
-                    outputStream.write(toBytes("\n"));
-                    isFirstDataObject = false;
-                }
+    public boolean isSupportedExportFormat(String format) {
+        return "json".equals(format) || "csv".equals(format);
+    }
 
-                if (dataResult.getTotal() > 0) {
-                    for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-                        boolean isFirstInRow = true;
-                        for (int i1 = 0; i1 < row.size(); i1++) {
-                            Object element = row.get(i1);
-                            if (!isFirstInRow) {
-                                outputStream.write(toBytes(";"));
-                            }
-                            isFirstInRow = false;
-                            if (i1 == 0) {
-                                element = parseTime(element.toString());
-                            }
-                            if (element == null) {
-                                outputStream.write(toBytes(""));
-                            } else {
-                                outputStream.write(toBytes(element.toString()));
-                            }
-                        }
-                        outputStream.write(toBytes("\n"));
-                    }
-                }
-                i++;
-            } while (dataResult.getTotal() > 0);
+    public void getDataAsStream(ProvidedQueryParams params, String format, OutputStream outputStream) throws IOException {
+        ExportWriter writer;
+        if ("json".equals(format)) {
+            writer = new JsonExportWriter(outputStream);
+        } else if ("csv".equals(format)) {
+            writer = new CsvExportWriter(outputStream);
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
         }
+        new DataLakeExport(params).writeTo(writer);
     }
 
     public boolean removeAllMeasurements() {
         List<DataLakeMeasure> allMeasurements = getAllMeasurements();
 
+        QueryResultCache.getInstance().invalidateAll();
         for (DataLakeMeasure measure : allMeasurements) {
             QueryResult queryResult = new DeleteDataQuery(measure).executeQuery();
+            RollupManager.getInstance().dropRollups(measure.getMeasureName());
             if (queryResult.hasError() || queryResult.getResults().get(0).getError() != null) {
                 return false;
             }
@@ -211,6 +115,8 @@ public class DataLakeManagementV4 {
         for (DataLakeMeasure measure : allMeasurements) {
             if (measure.getMeasureName().equals(measurementID)) {
                 QueryResult queryResult = new DeleteDataQuery(new DataLakeMeasure(measurementID, null)).executeQuery();
+                RollupManager.getInstance().dropRollups(measurementID);
+                QueryResultCache.getInstance().invalidate(measurementID);
 
                 return !queryResult.hasError() && queryResult.getResults().get(0).getError() == null;
             }
@@ -224,7 +130,10 @@ public class DataLakeManagementV4 {
 
     public SpQueryResult deleteData(String measurementID, Long startDate, Long endDate) {
         Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getDeleteQueryParams(measurementID, startDate, endDate);
-        return new DataExplorerQueryV4(queryParts).executeQuery();
+        SpQueryResult result = new DataExplorerQueryV4(queryParts).executeQuery();
+        RollupManager.getInstance().deleteRollupData(measurementID, startDate, endDate);
+        QueryResultCache.getInstance().invalidate(measurementID);
+        return result;
     }
 
     public DataLakeConfiguration getDataLakeConfiguration() {
@@ -281,28 +190,9 @@ public class DataLakeManagementV4 {
             }
         }
 
-        try {
-            couchDbClient.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
         return isSuccess;
     }
 
-    private byte[] toBytes(String value) {
-        return value.getBytes();
-    }
-
-    private static Long parseTime(String v) {
-        TemporalAccessor temporalAccessor = formatter.parseBest(v,
-                ZonedDateTime::from,
-                LocalDateTime::from,
-                LocalDate::from);
-
-        Instant instant = Instant.from(temporalAccessor);
-        return Instant.EPOCH.until(instant, ChronoUnit.MILLIS);
-    }
-
     public Map<String, Object> getTagValues(String measurementId,
                                             String fields) {
         InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
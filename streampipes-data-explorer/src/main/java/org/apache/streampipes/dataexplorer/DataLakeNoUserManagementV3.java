@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.dataexplorer;
 
+import org.apache.streampipes.dataexplorer.v4.rollup.RollupManager;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.schema.*;
 import org.apache.streampipes.storage.api.IDataLakeStorage;
@@ -41,6 +42,7 @@ public class DataLakeNoUserManagementV3 {
     } else {
       getDataLakeStorage().storeDataLakeMeasure(new DataLakeMeasure(measure, eventSchema));
     }
+    RollupManager.getInstance().ensureRollups(measure, eventSchema);
     return true;
   }
 
@@ -42,10 +42,7 @@ public abstract class DataExplorerQuery<OUT> {
       result = influxDB.query(query);
     }
 
-    OUT dataResult = postQuery(result);
-    influxDB.close();
-
-    return dataResult;
+    return postQuery(result);
   }
 
   protected SpQueryResult convertResult(org.influxdb.dto.QueryResult result) {
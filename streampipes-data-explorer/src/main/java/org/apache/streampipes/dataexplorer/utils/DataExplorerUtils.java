@@ -17,18 +17,31 @@
  */
 package org.apache.streampipes.dataexplorer.utils;
 
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class DataExplorerUtils {
 
+  private static final int DEFAULT_MAX_CONNECTIONS = 32;
+  private static final int DEFAULT_QUERY_CHUNK_SIZE = 10000;
+
+  private static volatile SharedClient sharedClient;
+
   public static List<DataLakeMeasure> getInfos() {
     return StorageDispatcher.INSTANCE
             .getNoSqlStore()
@@ -36,12 +49,116 @@ public class DataExplorerUtils {
             .getAllDataLakeMeasures();
   }
 
+  /**
+   * Returns the InfluxDB client shared by all queries, which reuses its pooled connections.
+   * The client must not be closed by callers.
+   */
   public static InfluxDB getInfluxDBClient() {
+    String url = BackendConfig.INSTANCE.getInfluxUrl();
+    SharedClient client = sharedClient;
+    if (client == null || !client.url.equals(url)) {
+      synchronized (DataExplorerUtils.class) {
+        client = sharedClient;
+        if (client == null || !client.url.equals(url)) {
+          SharedClient previousClient = client;
+          client = new SharedClient(url, makeInfluxDBClient(url));
+          sharedClient = client;
+          if (previousClient != null) {
+            // closing stops accepting new requests and releases idle connections, while
+            // in-flight queries of the previous client still complete
+            previousClient.influxDB.close();
+          }
+        }
+      }
+    }
+    return client.influxDB;
+  }
+
+  /**
+   * Chunk size for streamed query results, or a value <= 0 if chunking is disabled.
+   */
+  public static int getQueryChunkSize() {
+    return Envs.SP_INFLUX_QUERY_CHUNK_SIZE.exists()
+            ? Envs.SP_INFLUX_QUERY_CHUNK_SIZE.getValueAsInt() : DEFAULT_QUERY_CHUNK_SIZE;
+  }
+
+  /**
+   * Runs the query as a chunked query and blocks until all chunks have been passed to the consumer.
+   * A runtime exception thrown by the consumer cancels the query and is rethrown to the caller.
+   */
+  public static void queryInChunks(InfluxDB influxDB,
+                                   Query query,
+                                   int chunkSize,
+                                   Consumer<QueryResult> onChunk) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+
+    influxDB.query(query, chunkSize, (cancellable, chunk) -> {
+      if (future.isDone()) {
+        return;
+      }
+      String error = getError(chunk);
+      if (error != null) {
+        cancellable.cancel();
+        future.completeExceptionally(new RuntimeException("Data lake query failed: " + error));
+      } else {
+        try {
+          onChunk.accept(chunk);
+        } catch (RuntimeException e) {
+          cancellable.cancel();
+          future.completeExceptionally(e);
+        }
+      }
+    }, () -> future.complete(null), future::completeExceptionally);
+
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Data lake query was interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static String getError(QueryResult chunk) {
+    if (chunk.getError() != null) {
+      return chunk.getError();
+    } else if (chunk.getResults() != null && !chunk.getResults().isEmpty()) {
+      return chunk.getResults().get(0).getError();
+    } else {
+      return null;
+    }
+  }
+
+  private static InfluxDB makeInfluxDBClient(String url) {
+    int maxConnections = Envs.SP_INFLUX_MAX_CONNECTIONS.exists()
+            ? Envs.SP_INFLUX_MAX_CONNECTIONS.getValueAsInt() : DEFAULT_MAX_CONNECTIONS;
+
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(maxConnections);
+    dispatcher.setMaxRequestsPerHost(maxConnections);
+
     OkHttpClient.Builder okHttpClientBuilder = new OkHttpClient().newBuilder()
+            .connectionPool(new ConnectionPool(maxConnections, 5, TimeUnit.MINUTES))
+            .dispatcher(dispatcher)
             .connectTimeout(120, TimeUnit.SECONDS)
             .readTimeout(120, TimeUnit.SECONDS)
             .writeTimeout(120, TimeUnit.SECONDS);
 
-    return InfluxDBFactory.connect(BackendConfig.INSTANCE.getInfluxUrl(), okHttpClientBuilder);
+    return InfluxDBFactory.connect(url, okHttpClientBuilder);
+  }
+
+  private static class SharedClient {
+
+    private final String url;
+    private final InfluxDB influxDB;
+
+    SharedClient(String url, InfluxDB influxDB) {
+      this.url = url;
+      this.influxDB = influxDB;
+    }
   }
 }
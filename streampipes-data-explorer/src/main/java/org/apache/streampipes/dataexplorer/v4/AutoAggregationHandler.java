@@ -29,6 +29,7 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
@@ -39,6 +40,16 @@ public class AutoAggregationHandler {
   private static final double MAX_RETURN_LIMIT = 2000;
   private static final String TIMESTAMP_FIELD = "time";
   private static final String COMMA = ",";
+  private static final int[] SUB_SECOND_STEPS = {1, 2, 5, 10, 20, 50, 100, 200, 500};
+
+  // multiples of the rollup tiers (1s, 1m, 1h), so that aggregations can be read from a tier
+  private static final long[] AGGREGATION_STEPS = {
+          TimeUnit.SECONDS.toMillis(1), TimeUnit.SECONDS.toMillis(2), TimeUnit.SECONDS.toMillis(5),
+          TimeUnit.SECONDS.toMillis(10), TimeUnit.SECONDS.toMillis(15), TimeUnit.SECONDS.toMillis(30),
+          TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(2), TimeUnit.MINUTES.toMillis(5),
+          TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(15), TimeUnit.MINUTES.toMillis(30),
+          TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(2), TimeUnit.HOURS.toMillis(3),
+          TimeUnit.HOURS.toMillis(6), TimeUnit.HOURS.toMillis(12), TimeUnit.DAYS.toMillis(1)};
 
   private final SimpleDateFormat dateFormat1 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
   private final SimpleDateFormat dateFormat2 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
@@ -65,7 +76,7 @@ public class AutoAggregationHandler {
         } else {
           LOG.debug("Performing auto-aggregation");
 
-          int aggValue = getAggregationValue(newest, oldest);
+          long aggValue = getAggregationValue(newest, oldest);
           LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
           queryParams.update(QP_TIME_INTERVAL, aggValue + "ms");
           return disableAutoAgg(queryParams);
@@ -106,10 +117,30 @@ public class AutoAggregationHandler {
     return dataLakeManagement.getData(params);
   }
 
-  private int getAggregationValue(SpQueryResult newest, SpQueryResult oldest) throws ParseException {
+  private long getAggregationValue(SpQueryResult newest, SpQueryResult oldest) throws ParseException {
     long timerange = extractTimestamp(newest) - extractTimestamp(oldest);
     double v = timerange / MAX_RETURN_LIMIT;
-    return Double.valueOf(v).intValue();
+    return roundUpToStep((long) v);
+  }
+
+  // snap to fixed steps, so that consecutive refreshes of a moving time window use the
+  // same buckets and can be served from the query cache and the rollup tiers
+  static long roundUpToStep(long value) {
+    if (value <= 1) {
+      return value;
+    }
+    for (int step : SUB_SECOND_STEPS) {
+      if (step >= value) {
+        return step;
+      }
+    }
+    for (long step : AGGREGATION_STEPS) {
+      if (step >= value) {
+        return step;
+      }
+    }
+    long day = TimeUnit.DAYS.toMillis(1);
+    return (value + day - 1) / day * day;
   }
 
   private SpQueryResult getSingleRecord(Order order) throws ParseException {
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.cache;
+
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.commons.metrics.MetricsRegistry;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.params.WhereCondition;
+import org.apache.streampipes.dataexplorer.v4.params.WhereStatementParams;
+import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
+
+/**
+ * Caches data lake query results for repeated dashboard queries.
+ *
+ * <p>Queries aggregated by a time interval are cached per bucket: buckets that lie completely in
+ * the past are immutable and kept, so a refresh of a sliding time window only queries the buckets
+ * that are still open. The start of such a query is aligned to its bucket, so that the first bucket
+ * is always complete. Other queries are only cached as a whole if their time range is closed.
+ * Entries expire after a TTL, so that late data and deletions show up eventually.
+ */
+public class QueryResultCache {
+
+    private static final String METRICS_TYPE = "DataExplorer";
+    private static final String METRICS_NAME = "queryCache";
+
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+    private static final int DEFAULT_TTL_SECONDS = 300;
+
+    // buckets younger than this may still receive data and are not treated as closed
+    static final long LATE_DATA_GRACE_MS = 10000;
+
+    private static final String TIME = "time";
+
+    private static final QueryResultCache INSTANCE = new QueryResultCache(
+            Envs.SP_DATA_EXPLORER_CACHE_SIZE.exists()
+                    ? Envs.SP_DATA_EXPLORER_CACHE_SIZE.getValueAsInt() : DEFAULT_MAX_ENTRIES,
+            TimeUnit.SECONDS.toMillis(Envs.SP_DATA_EXPLORER_CACHE_TTL_SECONDS.exists()
+                    ? Envs.SP_DATA_EXPLORER_CACHE_TTL_SECONDS.getValueAsInt() : DEFAULT_TTL_SECONDS));
+
+    private final Map<String, Entry> entries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final RangeQuery rangeQuery;
+    private final QueryResultCacheMetrics metrics;
+
+    public static QueryResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    private QueryResultCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis, QueryResultCache::queryRange);
+        MetricsRegistry.register(METRICS_TYPE, METRICS_NAME, metrics);
+    }
+
+    QueryResultCache(int maxEntries, long ttlMillis, LongSupplier clock, RangeQuery rangeQuery) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.rangeQuery = rangeQuery;
+        this.metrics = new QueryResultCacheMetrics(this::size);
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    metrics.eviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the result of the query, using the loader for queries that cannot be answered from
+     * the cache.
+     */
+    public SpQueryResult getData(ProvidedQueryParams params,
+                                 Function<ProvidedQueryParams, SpQueryResult> loader) {
+        if (ttlMillis <= 0) {
+            return loader.apply(params);
+        }
+
+        long now = clock.getAsLong();
+        long interval = getBucketInterval(params);
+        if (interval > 0) {
+            return getBucketedData(params, interval, now, loader);
+        } else if (isClosedRange(params, now)) {
+            return getClosedRangeData(params, now, loader);
+        } else {
+            return loader.apply(params);
+        }
+    }
+
+    public synchronized void invalidate(String measurementId) {
+        entries.values().removeIf(e -> e.measurementId.equals(measurementId));
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    private synchronized long size() {
+        return entries.size();
+    }
+
+    QueryResultCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private SpQueryResult getClosedRangeData(ProvidedQueryParams params,
+                                             long now,
+                                             Function<ProvidedQueryParams, SpQueryResult> loader) {
+        String key = makeKey(params, false);
+        synchronized (this) {
+            Entry entry = get(key, now);
+            if (entry instanceof ResultEntry) {
+                metrics.hit();
+                return ((ResultEntry) entry).result;
+            }
+        }
+
+        metrics.miss();
+        SpQueryResult result = loader.apply(params);
+        synchronized (this) {
+            entries.put(key, new ResultEntry(params.getMeasurementId(), now + ttlMillis, result));
+        }
+        return result;
+    }
+
+    private SpQueryResult getBucketedData(ProvidedQueryParams params,
+                                          long interval,
+                                          long now,
+                                          Function<ProvidedQueryParams, SpQueryResult> loader) {
+        long start = params.getAsLong(QP_START_DATE);
+        long end = params.getAsLong(QP_END_DATE);
+        long alignedStart = Math.floorDiv(start, interval) * interval;
+        long closedEnd = Math.max(alignedStart,
+                Math.floorDiv(Math.min(end, now - LATE_DATA_GRACE_MS), interval) * interval);
+        String key = makeKey(params, true);
+
+        BucketEntry entry;
+        List<List<Object>> rows;
+        long queryFrom;
+        synchronized (this) {
+            Entry cached = get(key, now);
+            if (cached instanceof BucketEntry && ((BucketEntry) cached).covers(alignedStart)) {
+                metrics.hit();
+                entry = (BucketEntry) cached;
+                queryFrom = Math.min(entry.completeUntil, closedEnd);
+                rows = new ArrayList<>(entry.buckets.subMap(alignedStart, queryFrom).values());
+            } else {
+                metrics.miss();
+                entry = new BucketEntry(params.getMeasurementId(), now + ttlMillis, alignedStart);
+                queryFrom = alignedStart;
+                rows = new ArrayList<>();
+            }
+        }
+
+        List<String> headers = entry.headers;
+        List<List<Object>> fresh = Collections.emptyList();
+        if (queryFrom < end) {
+            QueryResult result = rangeQuery.query(params, queryFrom, end);
+            if (result.hasError() || result.getResults().get(0).hasError()) {
+                return loader.apply(params);
+            }
+            List<QueryResult.Series> series = result.getResults().get(0).getSeries();
+            if (series != null && series.size() > 1) {
+                return loader.apply(params);
+            } else if (series != null && !series.isEmpty() && series.get(0).getValues() != null) {
+                headers = series.get(0).getColumns();
+                fresh = series.get(0).getValues();
+            }
+        }
+
+        synchronized (this) {
+            if (entry.headers == null) {
+                entry.headers = headers;
+            }
+            for (List<Object> row : fresh) {
+                long bucket = Instant.parse(row.get(0).toString()).toEpochMilli();
+                if (bucket < closedEnd) {
+                    entry.buckets.put(bucket, row);
+                }
+            }
+            // the window of a dashboard only moves forward, older buckets are not needed anymore
+            entry.buckets.headMap(alignedStart).clear();
+            entry.from = alignedStart;
+            entry.completeUntil = Math.max(entry.completeUntil, closedEnd);
+            entries.put(key, entry);
+        }
+
+        rows.addAll(fresh);
+        return toResult(headers, rows);
+    }
+
+    private SpQueryResult toResult(List<String> headers, List<List<Object>> rows) {
+        SpQueryResult result = new SpQueryResult();
+        if (!rows.isEmpty()) {
+            List<List<Object>> values = rows.stream()
+                    .filter(v -> !v.contains(null))
+                    .collect(Collectors.toList());
+            result.setTotal(1);
+            result.setHeaders(headers);
+            result.addDataResult(new DataSeries(rows.size(), values, headers, null));
+        }
+        return result;
+    }
+
+    private static QueryResult queryRange(ProvidedQueryParams params, long from, long to) {
+        return DataExplorerUtils.getInfluxDBClient().query(makeRangeQuery(params, from, to));
+    }
+
+    private static Query makeRangeQuery(ProvidedQueryParams params, long from, long to) {
+        ProvidedQueryParams rangeParams = new ProvidedQueryParams(params);
+        rangeParams.remove(QP_START_DATE);
+        rangeParams.remove(QP_END_DATE);
+        Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getSelectQueryParams(rangeParams);
+
+        WhereStatementParams where = (WhereStatementParams) queryParts.get(DataLakeManagementUtils.WHERE);
+        if (where == null) {
+            where = WhereStatementParams.from(params.getMeasurementId(), (String) null);
+            queryParts.put(DataLakeManagementUtils.WHERE, where);
+        }
+        where.addCondition(new WhereCondition(TIME, ">=", String.valueOf(from * 1000000)));
+        where.addCondition(new WhereCondition(TIME, "<", String.valueOf(to * 1000000)));
+
+        return new DataExplorerQueryV4(queryParts).toQuery();
+    }
+
+    private Entry get(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= now) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the bucket length in milliseconds if the query can be cached per bucket, or -1.
+     */
+    private long getBucketInterval(ProvidedQueryParams params) {
+        if (!params.has(QP_TIME_INTERVAL)
+                || !params.has(QP_START_DATE)
+                || !params.has(QP_END_DATE)
+                || params.has(QP_GROUP_BY)
+                || params.has(QP_LIMIT)
+                || params.has(QP_OFFSET)
+                || params.has(QP_PAGE)
+                || params.has(QP_MAXIMUM_AMOUNT_OF_EVENTS)
+                || params.getAsBoolean(QP_COUNT_ONLY)
+                || DataLakeManagementUtils.ORDER_DESCENDING.equals(params.getAsString(QP_ORDER))) {
+            return -1;
+        }
+
+        return DataLakeManagementUtils.parseTimeInterval(params.getAsString(QP_TIME_INTERVAL));
+    }
+
+    private boolean isClosedRange(ProvidedQueryParams params, long now) {
+        return params.has(QP_END_DATE) && params.getAsLong(QP_END_DATE) <= now - LATE_DATA_GRACE_MS;
+    }
+
+    private String makeKey(ProvidedQueryParams params, boolean bucketed) {
+        Map<String, String> normalized = new TreeMap<>(params.getProvidedParams());
+        if (bucketed) {
+            normalized.remove(QP_START_DATE);
+            normalized.remove(QP_END_DATE);
+        }
+        return params.getMeasurementId() + (bucketed ? "|buckets|" : "|result|") + normalized;
+    }
+
+    /**
+     * Queries the buckets of an aggregation query in the time range [from, to).
+     */
+    interface RangeQuery {
+
+        QueryResult query(ProvidedQueryParams params, long from, long to);
+    }
+
+    private abstract static class Entry {
+
+        final String measurementId;
+        final long expiresAt;
+
+        Entry(String measurementId, long expiresAt) {
+            this.measurementId = measurementId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class ResultEntry extends Entry {
+
+        final SpQueryResult result;
+
+        ResultEntry(String measurementId, long expiresAt, SpQueryResult result) {
+            super(measurementId, expiresAt);
+            this.result = result;
+        }
+    }
+
+    private static class BucketEntry extends Entry {
+
+        // rows of closed buckets by bucket start, all buckets in [from, completeUntil) are present
+        final TreeMap<Long, List<Object>> buckets = new TreeMap<>();
+        List<String> headers;
+        long from;
+        long completeUntil;
+
+        BucketEntry(String measurementId, long expiresAt, long from) {
+            super(measurementId, expiresAt);
+            this.from = from;
+            this.completeUntil = from;
+        }
+
+        boolean covers(long start) {
+            return from <= start && start <= completeUntil;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.v4.AutoAggregationHandler;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.params.OffsetParams;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.params.WhereCondition;
+import org.apache.streampipes.dataexplorer.v4.params.WhereStatementParams;
+import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
+
+/**
+ * Exports a measurement page by page. Pages continue after the timestamp of the last exported row
+ * (keyset paging), so every page query costs the same instead of scanning all previous pages as
+ * an increasing OFFSET does. Rows are handed to the writer while the page is still being received.
+ */
+public class DataLakeExport {
+
+    private static final int DEFAULT_PAGE_SIZE = 500000;
+    private static final String TIME = "time";
+
+    private static final DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+            .appendPattern("uuuu[-MM[-dd]]['T'HH[:mm[:ss[.SSSSSSSSS][.SSSSSSSS][.SSSSSSS][.SSSSSS][.SSSSS][.SSSS][.SSS][.SS][.S]]]][XXX]")
+            .parseDefaulting(ChronoField.NANO_OF_SECOND, 0)
+            .parseDefaulting(ChronoField.OFFSET_SECONDS, 0)
+            .toFormatter();
+
+    private ProvidedQueryParams params;
+    private final int pageSize;
+    private final int initialOffset;
+    private final boolean descending;
+    private final boolean cursorPaging;
+
+    private boolean headersWritten;
+    private long readRows;
+    private boolean hasCursor;
+    private long cursor;
+    private int cursorTies;
+
+    public DataLakeExport(ProvidedQueryParams providedParams) {
+        this.params = new ProvidedQueryParams(providedParams);
+        this.pageSize = params.has(QP_LIMIT) ? params.getAsInt(QP_LIMIT) : DEFAULT_PAGE_SIZE;
+
+        if (params.has(QP_OFFSET)) {
+            this.initialOffset = params.getAsInt(QP_OFFSET);
+        } else if (params.has(QP_PAGE)) {
+            this.initialOffset = params.getAsInt(QP_PAGE) * pageSize;
+        } else {
+            this.initialOffset = 0;
+        }
+        params.remove(QP_OFFSET);
+        params.remove(QP_PAGE);
+        params.update(QP_LIMIT, pageSize);
+
+        this.descending = DataLakeManagementUtils.ORDER_DESCENDING.equals(params.getAsString(QP_ORDER));
+        // LIMIT and OFFSET apply per series when grouping by tags, so pages of a grouped
+        // export are still addressed by offset
+        this.cursorPaging = !params.has(QP_GROUP_BY);
+    }
+
+    public void writeTo(ExportWriter writer) throws IOException {
+        if (params.has(QP_AUTO_AGGREGATE)) {
+            params = new AutoAggregationHandler(params).makeAutoAggregationQueryParams();
+        }
+
+        InfluxDB influxDB = DataExplorerUtils.getInfluxDBClient();
+        int chunkSize = DataExplorerUtils.getQueryChunkSize();
+
+        writeTo(writer, BackendConfig.INSTANCE.getInfluxDatabaseName(), (query, page) -> {
+            if (chunkSize > 0) {
+                DataExplorerUtils.queryInChunks(influxDB, query, chunkSize, page);
+            } else {
+                page.accept(influxDB.query(query));
+            }
+        });
+    }
+
+    /**
+     * Exports all pages, each page query passing its results to the given consumer.
+     */
+    void writeTo(ExportWriter writer,
+                 String databaseName,
+                 BiConsumer<Query, Consumer<QueryResult>> pageQuery) throws IOException {
+        writer.start();
+        try {
+            PageReader page = null;
+            do {
+                Query query = makePageQuery(databaseName, page != null);
+                page = new PageReader(writer);
+                pageQuery.accept(query, page);
+                advance(page);
+            } while (pageSize > 0 && page.rows == pageSize);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    private Query makePageQuery(String databaseName, boolean isFollowUpPage) {
+        String measurementId = params.getMeasurementId();
+        Map<String, QueryParamsV4> queryParts =
+                DataLakeManagementUtils.getSelectQueryParams(new ProvidedQueryParams(params));
+
+        int offset = initialOffset;
+        if (isFollowUpPage) {
+            if (cursorPaging) {
+                WhereStatementParams where = (WhereStatementParams) queryParts.get(DataLakeManagementUtils.WHERE);
+                if (where == null) {
+                    where = WhereStatementParams.from(measurementId, (String) null);
+                    queryParts.put(DataLakeManagementUtils.WHERE, where);
+                }
+                where.addCondition(new WhereCondition(TIME, descending ? "<=" : ">=", String.valueOf(cursor)));
+                // rows sharing the cursor timestamp that were already exported
+                offset = cursorTies;
+            } else {
+                offset = (int) (initialOffset + readRows);
+            }
+        }
+        if (offset > 0) {
+            queryParts.put(DataLakeManagementUtils.OFFSET, OffsetParams.from(measurementId, offset));
+        }
+
+        return new DataExplorerQueryV4(queryParts).toQuery(databaseName);
+    }
+
+    private void advance(PageReader page) {
+        if (page.rows > 0) {
+            // if the page ends at the cursor timestamp, the whole page consisted of rows sharing it
+            cursorTies = hasCursor && page.lastTimestamp == cursor ? cursorTies + page.lastTies : page.lastTies;
+            cursor = page.lastTimestamp;
+            hasCursor = true;
+        }
+        readRows += page.rows;
+    }
+
+    private static Instant parseTime(String v) {
+        try {
+            return Instant.parse(v);
+        } catch (DateTimeParseException e) {
+            TemporalAccessor temporalAccessor = formatter.parseBest(v,
+                    ZonedDateTime::from,
+                    LocalDateTime::from,
+                    LocalDate::from);
+            return Instant.from(temporalAccessor);
+        }
+    }
+
+    private class PageReader implements Consumer<QueryResult> {
+
+        private final ExportWriter writer;
+
+        private String seriesKey;
+        private int rows;
+        private long lastTimestamp;
+        private int lastTies;
+
+        PageReader(ExportWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void accept(QueryResult result) {
+            if (result.getResults() == null || result.getResults().isEmpty()
+                    || result.getResults().get(0).getSeries() == null) {
+                return;
+            }
+            try {
+                for (QueryResult.Series series : result.getResults().get(0).getSeries()) {
+                    // only the first series is exported, as before
+                    String key = series.getName() + series.getTags();
+                    if (seriesKey == null) {
+                        seriesKey = key;
+                    } else if (!seriesKey.equals(key)) {
+                        continue;
+                    }
+                    if (series.getValues() != null) {
+                        readSeries(series);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readSeries(QueryResult.Series series) throws IOException {
+            if (!headersWritten) {
+                writer.writeHeaders(series.getColumns());
+                headersWritten = true;
+            }
+            for (List<Object> row : series.getValues()) {
+                Instant time = parseTime(row.get(0).toString());
+                long timestamp = time.getEpochSecond() * 1_000_000_000L + time.getNano();
+                if (rows > 0 && timestamp == lastTimestamp) {
+                    lastTies++;
+                } else {
+                    lastTimestamp = timestamp;
+                    lastTies = 1;
+                }
+                rows++;
+                // rows with missing values still move the cursor, but are not exported
+                if (!row.contains(null)) {
+                    writer.writeRow(time.toEpochMilli(), row);
+                }
+            }
+        }
+    }
+}
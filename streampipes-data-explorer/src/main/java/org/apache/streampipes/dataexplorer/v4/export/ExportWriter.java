@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the rows of a data lake export in order.
+ */
+public interface ExportWriter {
+
+    void start() throws IOException;
+
+    /**
+     * Called once before the first row, with the column names of the exported series.
+     */
+    void writeHeaders(List<String> headers) throws IOException;
+
+    /**
+     * Writes a row whose first column is the timestamp, given in epoch milliseconds.
+     */
+    void writeRow(long timestamp, List<Object> row) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class JsonExportWriter implements ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JsonWriter writer;
+    private List<String> headers;
+
+    public JsonExportWriter(OutputStream outputStream) {
+        this.writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    @Override
+    public void start() throws IOException {
+        writer.beginArray();
+    }
+
+    @Override
+    public void writeHeaders(List<String> headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public void writeRow(long timestamp, List<Object> row) throws IOException {
+        writer.beginObject();
+        writer.name(headers.get(0)).value(timestamp);
+        for (int i = 1; i < row.size(); i++) {
+            writer.name(headers.get(i));
+            writeValue(row.get(i));
+        }
+        writer.endObject();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null || isNonFinite(value)) {
+            // JSON has no NaN and infinite values
+            writer.nullValue();
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        } else {
+            writer.value(String.valueOf(value));
+        }
+    }
+
+    private boolean isNonFinite(Object value) {
+        if (value instanceof Double) {
+            return ((Double) value).isNaN() || ((Double) value).isInfinite();
+        } else if (value instanceof Float) {
+            return ((Float) value).isNaN() || ((Float) value).isInfinite();
+        }
+        return false;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.endArray();
+        writer.flush();
+    }
+}
@@ -54,6 +54,13 @@ public class SelectColumn {
     this.originalField = originalField;
   }
 
+  public SelectColumn(String originalField,
+                      String targetField) {
+    this(originalField);
+    this.targetField = targetField;
+    this.rename = true;
+  }
+
   public SelectColumn(String originalField,
                       ColumnFunction columnFunction) {
     this(originalField);
@@ -89,4 +96,17 @@ public class SelectColumn {
   public String getOriginalField() {
     return originalField;
   }
+
+  public ColumnFunction getColumnFunction() {
+    return columnFunction;
+  }
+
+  public String getTargetField() {
+    if (rename) {
+      return targetField;
+    } else {
+      // default column name of an aggregation in InfluxDB
+      return simpleField ? originalField : columnFunction.name().toLowerCase();
+    }
+  }
 }
@@ -40,6 +40,14 @@ public class SelectFromStatementParams extends QueryParamsV4 {
         return new SelectFromStatementParams(measurementId, columns, countOnly);
     }
 
+    public static SelectFromStatementParams from(String measurementId,
+                                                 List<SelectColumn> selectedColumns) {
+        SelectFromStatementParams params = new SelectFromStatementParams(measurementId);
+        params.selectWildcard = false;
+        params.selectedColumns = selectedColumns;
+        return params;
+    }
+
     public SelectFromStatementParams(String measurementID) {
         super(measurementID);
         this.selectWildcard = true;
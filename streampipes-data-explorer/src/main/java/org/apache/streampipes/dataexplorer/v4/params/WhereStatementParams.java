@@ -109,6 +109,10 @@ public class WhereStatementParams extends QueryParamsV4 {
 
   }
 
+  public void addCondition(WhereCondition condition) {
+    this.whereConditions.add(condition);
+  }
+
   public List<WhereCondition> getWhereConditions() {
     return whereConditions;
   }
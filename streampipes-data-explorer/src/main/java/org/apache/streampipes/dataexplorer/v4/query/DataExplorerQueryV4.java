@@ -33,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -66,22 +67,44 @@ public class DataExplorerQueryV4 {
                 SpQueryResult tooMuchData = new SpQueryResult();
                 tooMuchData.setSpQueryStatus(SpQueryStatus.TOO_MUCH_DATA);
                 tooMuchData.setTotal(amountOfQueryResults.intValue());
-                influxDB.close();
-               return tooMuchData;
+                return tooMuchData;
             }
         }
 
-        QueryBuilder queryBuilder = QueryBuilder.create(BackendConfig.INSTANCE.getInfluxDatabaseName());
-        Query query = queryBuilder.build(queryElements, false);
+        Query query = toQuery(queryElements);
         LOG.debug("Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
 
+        int chunkSize = DataExplorerUtils.getQueryChunkSize();
+        if (chunkSize > 0 && this.params.containsKey(DataLakeManagementUtils.SELECT_FROM)) {
+            return executeChunkedQuery(influxDB, query, chunkSize);
+        }
+
         QueryResult result = influxDB.query(query);
         LOG.debug("Data Lake Query Result: " + result.toString());
 
-        SpQueryResult dataResult = postQuery(result);
+        return postQuery(result);
+    }
+
+    public Query toQuery() {
+        return toQuery(getQueryElements());
+    }
+
+    public Query toQuery(String databaseName) {
+        return QueryBuilder.create(databaseName).build(getQueryElements(), false);
+    }
 
-        influxDB.close();
-        return dataResult;
+    private Query toQuery(List<QueryElement<?>> queryElements) {
+        return QueryBuilder.create(BackendConfig.INSTANCE.getInfluxDatabaseName()).build(queryElements, false);
+    }
+
+    /**
+     * Streams the result in chunks, so that rows are added to the series as they arrive instead
+     * of parsing the whole response into one result object first.
+     */
+    private SpQueryResult executeChunkedQuery(InfluxDB influxDB, Query query, int chunkSize) {
+        ChunkedResultCollector collector = new ChunkedResultCollector();
+        DataExplorerUtils.queryInChunks(influxDB, query, chunkSize, collector::add);
+        return collector.toResult();
     }
 
     private double getAmountOfResults(QueryResult countQueryResult) {
@@ -98,15 +121,10 @@ public class DataExplorerQueryV4 {
         List<String> columns = series.getColumns();
         List<List<Object>> values = series.getValues();
 
-        List<List<Object>> resultingValues = new ArrayList<>();
-
-        values.forEach(v -> {
-            if (!v.contains(null)) {
-                resultingValues.add(v);
-            }
-        });
+        int total = values.size();
+        values.removeIf(v -> v.contains(null));
 
-        return new DataSeries(values.size(), resultingValues, columns, series.getTags());
+        return new DataSeries(total, values, columns, series.getTags());
     }
 
     protected SpQueryResult postQuery(QueryResult queryResult) throws RuntimeException {
@@ -123,6 +141,55 @@ public class DataExplorerQueryV4 {
         return result;
     }
 
+    static class ChunkedResultCollector {
+
+        private final Map<String, SeriesRows> series = new LinkedHashMap<>();
+
+        void add(QueryResult chunk) {
+            if (chunk.getResults() == null || chunk.getResults().isEmpty()
+                    || chunk.getResults().get(0).getSeries() == null) {
+                return;
+            }
+            for (QueryResult.Series s : chunk.getResults().get(0).getSeries()) {
+                String key = s.getName() + s.getTags();
+                SeriesRows rows = series.computeIfAbsent(key, k -> new SeriesRows(s.getColumns(), s.getTags()));
+                if (s.getValues() != null) {
+                    for (List<Object> v : s.getValues()) {
+                        rows.total++;
+                        if (!v.contains(null)) {
+                            rows.rows.add(v);
+                        }
+                    }
+                }
+            }
+        }
+
+        SpQueryResult toResult() {
+            SpQueryResult result = new SpQueryResult();
+            if (!series.isEmpty()) {
+                result.setTotal(series.size());
+                series.values().forEach(rs -> {
+                    result.setHeaders(rs.columns);
+                    result.addDataResult(new DataSeries(rs.total, rs.rows, rs.columns, rs.tags));
+                });
+            }
+            return result;
+        }
+    }
+
+    private static class SeriesRows {
+
+        private final List<String> columns;
+        private final Map<String, String> tags;
+        private final List<List<Object>> rows = new ArrayList<>();
+        private int total;
+
+        SeriesRows(List<String> columns, Map<String, String> tags) {
+            this.columns = columns;
+            this.tags = tags;
+        }
+    }
+
     protected List<QueryElement<?>> getQueryElements() {
         List<QueryElement<?>> queryElements = new ArrayList<>();
 
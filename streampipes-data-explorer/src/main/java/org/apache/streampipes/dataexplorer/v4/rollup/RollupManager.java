@@ -0,0 +1,488 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.rollup;
+
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.params.ColumnFunction;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.params.SelectColumn;
+import org.apache.streampipes.dataexplorer.v4.params.SelectFromStatementParams;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
+
+/**
+ * Maintains the rollup tiers of data lake measurements as InfluxDB continuous queries and
+ * rewrites aggregation queries to read from the coarsest tier that matches their resolution.
+ * Continuous queries only aggregate recent buckets, so the data lake sink reports points which
+ * were written too late for a tier. The affected buckets are aggregated again in the background
+ * and queries overlapping them read from the raw measurement until then.
+ */
+public class RollupManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RollupManager.class);
+
+    private static final long REFRESH_INTERVAL_MS = 60000;
+
+    // a continuous query writes a bucket only after it has ended, so queries reaching up to the
+    // present only use tiers that lag behind by less than this
+    private static final long LIVE_LAG_MS = 10000;
+
+    // written by the data lake sink (DataLakeInfluxDbClient in streampipes-sinks-internal-jvm)
+    private static final String LATE_DATA_MEASUREMENT = "sp_rollup_late_data";
+    private static final long LATE_DATA_CHECK_INTERVAL_MS = 10000;
+    // reports younger than this are left for the next check as their writes might still be in flight
+    private static final long LATE_DATA_SETTLE_MS = 5000;
+
+    private static final String DEFAULT_TIERS = "1m,1h";
+
+    private static final Set<ColumnFunction> SUPPORTED_FUNCTIONS = EnumSet.of(
+            ColumnFunction.MEAN, ColumnFunction.MIN, ColumnFunction.MAX, ColumnFunction.COUNT, ColumnFunction.SUM);
+
+    private static final List<String> NUMERIC_TYPES = Arrays.asList(
+            XSD._integer.toString(), XSD._long.toString(), XSD._float.toString(), XSD._double.toString());
+
+    private static final Pattern ROLLUP_FIELD = Pattern.compile("sum\\(\"?([^\")]+)\"?\\) AS", Pattern.CASE_INSENSITIVE);
+
+    private static final RollupManager INSTANCE = new RollupManager();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "data-lake-rollups");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean lateDataCheckScheduled = new AtomicBoolean();
+
+    // time ranges whose rollup buckets are outdated until they have been aggregated again
+    private final Set<PendingRange> pendingRanges = ConcurrentHashMap.newKeySet();
+    // late data ranges of the last check which could not be aggregated again, only used by the executor
+    private List<PendingRange> unresolvedLateRanges = Collections.emptyList();
+
+    private volatile Map<String, Rollups> rollups = Collections.emptyMap();
+    private volatile long refreshedAt;
+
+    public static RollupManager getInstance() {
+        return INSTANCE;
+    }
+
+    private RollupManager() {
+    }
+
+    /**
+     * Creates the missing rollup tiers of a measurement in the background. Existing data is
+     * aggregated into a tier before its continuous query is created, so that a tier is only
+     * used by queries once it is complete.
+     */
+    public void ensureRollups(String measureName, EventSchema eventSchema) {
+        if (!Boolean.parseBoolean(Envs.SP_DATA_LAKE_ROLLUPS_ENABLED.getValueOrDefault("true"))) {
+            return;
+        }
+        List<String> fields = getNumericFields(eventSchema);
+        if (fields.isEmpty()) {
+            return;
+        }
+        executor.submit(() -> {
+            try {
+                createRollups(measureName, fields);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not create rollups of measurement {}", measureName, e);
+            }
+        });
+    }
+
+    public void dropRollups(String measureName) {
+        for (RollupTier tier : RollupTier.values()) {
+            String rollupName = tier.toRollupName(measureName);
+            execute("DROP CONTINUOUS QUERY " + quote(rollupName) + " ON " + quote(getDatabaseName()));
+            execute("DROP MEASUREMENT " + quote(rollupName));
+        }
+        refresh();
+    }
+
+    /**
+     * Removes the rollup buckets overlapping the deleted time range and aggregates the remaining
+     * raw data of these buckets again in the background.
+     */
+    public void deleteRollupData(String measureName, Long startDate, Long endDate) {
+        Rollups measureRollups = getRollups(measureName);
+        if (measureRollups == null) {
+            return;
+        }
+        PendingRange range = new PendingRange(measureName, startDate, endDate);
+        pendingRanges.add(range);
+        executor.submit(() -> {
+            try {
+                for (RollupTier tier : measureRollups.tiers) {
+                    rebuildBuckets(measureName, tier, measureRollups.fields, startDate, endDate);
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Could not delete rollup data of measurement {}", measureName, e);
+            } finally {
+                pendingRanges.remove(range);
+            }
+        });
+    }
+
+    /**
+     * Replaces the selected measurement of an aggregation query by a rollup tier, if all selected
+     * columns can be computed from the tier.
+     */
+    public void rewriteSelect(ProvidedQueryParams params, Map<String, QueryParamsV4> queryParts) {
+        if (!params.has(QP_TIME_INTERVAL) || params.has(QP_FILTER) || params.getAsBoolean(QP_COUNT_ONLY)) {
+            return;
+        }
+        SelectFromStatementParams select = (SelectFromStatementParams) queryParts.get(DataLakeManagementUtils.SELECT_FROM);
+        long interval = DataLakeManagementUtils.parseTimeInterval(params.getAsString(QP_TIME_INTERVAL));
+        if (select == null || select.isSelectWildcard() || interval <= 0) {
+            return;
+        }
+        Rollups measureRollups = getRollups(params.getMeasurementId());
+        if (measureRollups == null) {
+            return;
+        }
+        long start = params.has(QP_START_DATE) ? params.getAsLong(QP_START_DATE) : Long.MIN_VALUE;
+        long end = params.has(QP_END_DATE) ? params.getAsLong(QP_END_DATE) : Long.MAX_VALUE;
+        if (isPending(params.getMeasurementId(), start, end)) {
+            return;
+        }
+        for (SelectColumn column : select.getSelectedColumns()) {
+            if (!SUPPORTED_FUNCTIONS.contains(column.getColumnFunction())
+                    || !measureRollups.fields.contains(column.getOriginalField())) {
+                return;
+            }
+        }
+
+        RollupTier selectedTier = selectTier(measureRollups.tiers, interval, end, System.currentTimeMillis());
+        if (selectedTier != null) {
+            List<SelectColumn> rollupColumns = select.getSelectedColumns()
+                    .stream()
+                    .map(this::toRollupColumn)
+                    .collect(Collectors.toList());
+            queryParts.put(DataLakeManagementUtils.SELECT_FROM,
+                    SelectFromStatementParams.from(selectedTier.toRollupName(params.getMeasurementId()), rollupColumns));
+        }
+    }
+
+    /**
+     * Returns the coarsest of the given tiers whose buckets add up to the buckets of the interval
+     * and which is complete until the end of the query, or null if there is none.
+     */
+    static RollupTier selectTier(Iterable<RollupTier> tiers, long interval, long end, long now) {
+        RollupTier selectedTier = null;
+        for (RollupTier tier : tiers) {
+            long lag = 2 * tier.getDurationMillis();
+            if (interval % tier.getDurationMillis() == 0 && (lag <= LIVE_LAG_MS || end <= now - lag)) {
+                selectedTier = tier;
+            }
+        }
+        return selectedTier;
+    }
+
+    private SelectColumn toRollupColumn(SelectColumn column) {
+        String field = column.getOriginalField();
+        String expression;
+        switch (column.getColumnFunction()) {
+            case MEAN:
+                expression = "SUM(sum_" + field + ") / SUM(count_" + field + ")";
+                break;
+            case MIN:
+                expression = "MIN(min_" + field + ")";
+                break;
+            case MAX:
+                expression = "MAX(max_" + field + ")";
+                break;
+            case COUNT:
+                expression = "SUM(count_" + field + ")";
+                break;
+            default:
+                expression = "SUM(sum_" + field + ")";
+        }
+        return new SelectColumn(expression, column.getTargetField());
+    }
+
+    private boolean isPending(String measureName, long start, long end) {
+        return pendingRanges.stream().anyMatch(range -> range.overlaps(measureName, start, end));
+    }
+
+    /**
+     * Aggregates the buckets of a tier which overlap the given time range again. Returns false if
+     * one of the statements failed.
+     */
+    private boolean rebuildBuckets(String measureName, RollupTier tier, Iterable<String> fields, Long startDate, Long endDate) {
+        long duration = tier.getDurationMillis();
+        Long from = startDate == null ? null : Math.floorDiv(startDate, duration) * duration;
+        Long to = endDate == null ? null : (Math.floorDiv(endDate, duration) + 1) * duration;
+        String timeRange = makeTimeRange(from, to);
+
+        boolean succeeded = execute("DELETE FROM " + quote(tier.toRollupName(measureName)) + timeRange) != null;
+        if (!timeRange.isEmpty()) {
+            succeeded &= execute(makeRollupSelect(measureName, tier, fields) + timeRange + makeGroupBy(tier)) != null;
+        }
+        return succeeded;
+    }
+
+    private void scheduleLateDataCheck() {
+        if (lateDataCheckScheduled.compareAndSet(false, true)) {
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    processLateData();
+                } catch (RuntimeException e) {
+                    LOG.warn("Could not process late data of rollups", e);
+                }
+            }, LATE_DATA_CHECK_INTERVAL_MS, LATE_DATA_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Aggregates the buckets reported by the data lake sink again. A tier only misses a point if it
+     * was written more than the duration of the tier after its timestamp. The reports are removed
+     * once all affected buckets have been aggregated again, otherwise they are retried.
+     */
+    private void processLateData() {
+        String timeRange = makeTimeRange(null, System.currentTimeMillis() - LATE_DATA_SETTLE_MS);
+        QueryResult result = execute("SELECT * FROM " + quote(LATE_DATA_MEASUREMENT) + timeRange);
+        if (result == null || result.getResults().get(0).getSeries() == null) {
+            return;
+        }
+        List<PendingRange> ranges = new ArrayList<>();
+        boolean succeeded = true;
+        try {
+            for (QueryResult.Series series : result.getResults().get(0).getSeries()) {
+                List<String> columns = series.getColumns();
+                for (List<Object> row : series.getValues()) {
+                    String measureName = String.valueOf(row.get(columns.indexOf("measure")));
+                    Rollups measureRollups = getRollups(measureName);
+                    if (measureRollups == null) {
+                        continue;
+                    }
+                    long from = ((Number) row.get(columns.indexOf("min_time"))).longValue();
+                    long to = ((Number) row.get(columns.indexOf("max_time"))).longValue();
+                    long lateness = ((Number) row.get(columns.indexOf("lateness"))).longValue();
+                    PendingRange range = new PendingRange(measureName, from, to);
+                    ranges.add(range);
+                    pendingRanges.add(range);
+                    for (RollupTier tier : measureRollups.tiers) {
+                        if (lateness > tier.getDurationMillis()) {
+                            succeeded &= rebuildBuckets(measureName, tier, measureRollups.fields, from, to);
+                        }
+                    }
+                }
+            }
+            if (succeeded) {
+                succeeded = execute("DELETE FROM " + quote(LATE_DATA_MEASUREMENT) + timeRange) != null;
+            }
+        } catch (RuntimeException e) {
+            succeeded = false;
+            throw e;
+        } finally {
+            // ranges which are still reported are part of the current check
+            pendingRanges.removeAll(unresolvedLateRanges);
+            if (succeeded) {
+                pendingRanges.removeAll(ranges);
+                unresolvedLateRanges = Collections.emptyList();
+            } else {
+                unresolvedLateRanges = ranges;
+            }
+        }
+    }
+
+    private void createRollups(String measureName, List<String> fields) {
+        Rollups existing = getRollups(measureName);
+        for (RollupTier tier : getConfiguredTiers()) {
+            if (existing != null && existing.tiers.contains(tier)) {
+                continue;
+            }
+            String select = makeRollupSelect(measureName, tier, fields);
+            long backfilledUntil = System.currentTimeMillis();
+            execute(select + makeTimeRange(null, backfilledUntil) + makeGroupBy(tier));
+            execute("CREATE CONTINUOUS QUERY " + quote(tier.toRollupName(measureName))
+                    + " ON " + quote(getDatabaseName())
+                    + " RESAMPLE FOR " + 2 * tier.getDurationMillis() + "ms"
+                    + " BEGIN " + select + makeGroupBy(tier) + " END");
+            // data that arrived while the existing data was aggregated
+            long duration = tier.getDurationMillis();
+            execute(select + makeTimeRange(Math.floorDiv(backfilledUntil, duration) * duration, null) + makeGroupBy(tier));
+        }
+        refresh();
+    }
+
+    private String makeRollupSelect(String measureName, RollupTier tier, Iterable<String> fields) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (String field : fields) {
+            for (String function : Arrays.asList("sum", "count", "min", "max")) {
+                columns.add(function + "(" + quote(field) + ") AS " + quote(function + "_" + field));
+            }
+        }
+        return "SELECT " + columns
+                + " INTO " + quote(tier.toRollupName(measureName))
+                + " FROM " + quote(measureName);
+    }
+
+    private String makeGroupBy(RollupTier tier) {
+        return " GROUP BY time(" + tier.getInterval() + "), * fill(none)";
+    }
+
+    private String makeTimeRange(Long from, Long to) {
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("time >= " + from * 1000000);
+        }
+        if (to != null) {
+            conditions.add("time < " + to * 1000000);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private List<String> getNumericFields(EventSchema eventSchema) {
+        List<String> fields = new ArrayList<>();
+        for (EventProperty property : eventSchema.getEventProperties()) {
+            if (property instanceof EventPropertyPrimitive
+                    && !"DIMENSION_PROPERTY".equals(property.getPropertyScope())
+                    && NUMERIC_TYPES.contains(((EventPropertyPrimitive) property).getRuntimeType())) {
+                fields.add(property.getRuntimeName());
+            }
+        }
+        return fields;
+    }
+
+    private List<RollupTier> getConfiguredTiers() {
+        List<RollupTier> tiers = new ArrayList<>();
+        for (String interval : Envs.SP_DATA_LAKE_ROLLUP_TIERS.getValueOrDefault(DEFAULT_TIERS).split(",")) {
+            Arrays.stream(RollupTier.values())
+                    .filter(tier -> tier.getInterval().equals(interval.trim()))
+                    .findFirst()
+                    .ifPresent(tiers::add);
+        }
+        return tiers;
+    }
+
+    private Rollups getRollups(String measureName) {
+        scheduleLateDataCheck();
+        if (System.currentTimeMillis() - refreshedAt > REFRESH_INTERVAL_MS) {
+            refresh();
+        }
+        return rollups.get(measureName);
+    }
+
+    private synchronized void refresh() {
+        Map<String, Rollups> current = new HashMap<>();
+        QueryResult result = execute("SHOW CONTINUOUS QUERIES");
+        if (result != null && result.getResults().get(0).getSeries() != null) {
+            result.getResults().get(0).getSeries()
+                    .stream()
+                    .filter(series -> getDatabaseName().equals(series.getName()) && series.getValues() != null)
+                    .flatMap(series -> series.getValues().stream())
+                    .forEach(row -> addRollup(current, row.get(0).toString(), row.get(1).toString()));
+        }
+        this.rollups = current;
+        this.refreshedAt = System.currentTimeMillis();
+    }
+
+    private void addRollup(Map<String, Rollups> current, String name, String query) {
+        for (RollupTier tier : RollupTier.values()) {
+            String suffix = tier.toRollupName("");
+            if (name.endsWith(suffix)) {
+                String measureName = name.substring(0, name.length() - suffix.length());
+                Rollups measureRollups = current.computeIfAbsent(measureName, k -> new Rollups());
+                measureRollups.tiers.add(tier);
+                Matcher matcher = ROLLUP_FIELD.matcher(query);
+                while (matcher.find()) {
+                    measureRollups.fields.add(matcher.group(1));
+                }
+            }
+        }
+    }
+
+    private QueryResult execute(String statement) {
+        try {
+            QueryResult result = DataExplorerUtils.getInfluxDBClient()
+                    .query(new Query(statement, getDatabaseName(), true));
+            if (result.hasError() || result.getResults().get(0).hasError()) {
+                LOG.debug("Rollup statement failed: {}", statement);
+                return null;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            LOG.warn("Could not execute rollup statement {}", statement, e);
+            return null;
+        }
+    }
+
+    private String quote(String identifier) {
+        return "\"" + identifier + "\"";
+    }
+
+    private String getDatabaseName() {
+        return BackendConfig.INSTANCE.getInfluxDatabaseName();
+    }
+
+    private static class PendingRange {
+
+        private final String measureName;
+        private final long from;
+        private final long to;
+
+        PendingRange(String measureName, Long from, Long to) {
+            this.measureName = measureName;
+            this.from = from == null ? Long.MIN_VALUE : from;
+            this.to = to == null ? Long.MAX_VALUE : to;
+        }
+
+        boolean overlaps(String measureName, long start, long end) {
+            return this.measureName.equals(measureName) && from <= end && to >= start;
+        }
+    }
+
+    private static class Rollups {
+
+        // ordered from the finest to the coarsest tier
+        private final Set<RollupTier> tiers = EnumSet.noneOf(RollupTier.class);
+        private final Set<String> fields = new HashSet<>();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.rollup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-aggregated tiers that are maintained for each data lake measurement. Each tier stores the
+ * sum, count, minimum and maximum of every numeric field per time bucket.
+ */
+public enum RollupTier {
+
+    SECOND("1s", TimeUnit.SECONDS.toMillis(1)),
+    MINUTE("1m", TimeUnit.MINUTES.toMillis(1)),
+    HOUR("1h", TimeUnit.HOURS.toMillis(1));
+
+    private static final String ROLLUP_INFIX = "_rollup_";
+
+    private final String interval;
+    private final long durationMillis;
+
+    RollupTier(String interval, long durationMillis) {
+        this.interval = interval;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Name of the measurement holding this tier, which is also used as the name of the
+     * continuous query maintaining it.
+     */
+    public String toRollupName(String measureName) {
+        return measureName + ROLLUP_INFIX + interval;
+    }
+}
@@ -20,8 +20,12 @@ package org.apache.streampipes.dataexplorer.v4.utils;
 
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.params.*;
+import org.apache.streampipes.dataexplorer.v4.rollup.RollupManager;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
 
@@ -43,6 +47,8 @@ public class DataLakeManagementUtils {
 
   public static final String DELETE_FROM = "DELETE";
 
+  private static final Pattern TIME_INTERVAL = Pattern.compile("(\\d+)(ms|s|m|h|d|w)");
+
   public static Map<String, QueryParamsV4> getSelectQueryParams(ProvidedQueryParams params) {
     Map<String, QueryParamsV4> queryParts = new HashMap<>();
     String measurementId = params.getMeasurementId();
@@ -98,6 +104,8 @@ public class DataLakeManagementUtils {
               params.getAsInt(QP_PAGE) * params.getAsInt(QP_LIMIT)));
     }
 
+    RollupManager.getInstance().rewriteSelect(params, queryParts);
+
     return queryParts;
   }
 
@@ -112,6 +120,32 @@ public class DataLakeManagementUtils {
     return queryParts;
   }
 
+  /**
+   * Returns the length of a single-unit InfluxDB duration such as 5m in milliseconds, or -1 if
+   * the interval has a different format.
+   */
+  public static long parseTimeInterval(String timeInterval) {
+    Matcher matcher = TIME_INTERVAL.matcher(timeInterval);
+    if (!matcher.matches()) {
+      return -1;
+    }
+    long value = Long.parseLong(matcher.group(1));
+    switch (matcher.group(2)) {
+      case "ms":
+        return value;
+      case "s":
+        return TimeUnit.SECONDS.toMillis(value);
+      case "m":
+        return TimeUnit.MINUTES.toMillis(value);
+      case "h":
+        return TimeUnit.HOURS.toMillis(value);
+      case "d":
+        return TimeUnit.DAYS.toMillis(value);
+      default:
+        return TimeUnit.DAYS.toMillis(7 * value);
+    }
+  }
+
   private static boolean hasTimeParams(ProvidedQueryParams params) {
     return params.has(QP_START_DATE) ||
             params.has(QP_END_DATE);
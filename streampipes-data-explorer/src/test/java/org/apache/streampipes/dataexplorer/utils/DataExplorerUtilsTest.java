@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.utils;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DataExplorerUtilsTest {
+
+    private final InfluxDB.Cancellable cancellable = mock(InfluxDB.Cancellable.class);
+
+    @Test
+    public void chunksArePassedInOrder() {
+        QueryResult first = chunk(null);
+        QueryResult second = chunk(null);
+        List<QueryResult> received = new ArrayList<>();
+
+        DataExplorerUtils.queryInChunks(clientReturning(cancellable, first, second), new Query("q"), 2, received::add);
+
+        assertEquals(Arrays.asList(first, second), received);
+        verify(cancellable, never()).cancel();
+    }
+
+    @Test
+    public void errorChunkCancelsQuery() {
+        List<QueryResult> received = new ArrayList<>();
+        InfluxDB influxDB = clientReturning(cancellable, chunk(null), chunk("database not found"), chunk(null));
+
+        try {
+            DataExplorerUtils.queryInChunks(influxDB, new Query("q"), 2, received::add);
+            fail("Expected the error of the query");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("database not found"));
+        }
+        assertEquals(1, received.size());
+        verify(cancellable).cancel();
+    }
+
+    @Test
+    public void consumerExceptionCancelsQuery() {
+        IllegalStateException failure = new IllegalStateException("client gone");
+        InfluxDB influxDB = clientReturning(cancellable, chunk(null));
+
+        try {
+            DataExplorerUtils.queryInChunks(influxDB, new Query("q"), 2, chunk -> {
+                throw failure;
+            });
+            fail("Expected the exception of the consumer");
+        } catch (RuntimeException e) {
+            assertSame(failure, e);
+        }
+        verify(cancellable).cancel();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failedRequestIsRethrown() {
+        IOException failure = new IOException("connection refused");
+        InfluxDB influxDB = mock(InfluxDB.class);
+        doAnswer(invocation -> {
+            ((Consumer<Throwable>) invocation.getArgument(4)).accept(failure);
+            return null;
+        }).when(influxDB).query(any(Query.class), anyInt(), any(BiConsumer.class), any(Runnable.class), any(Consumer.class));
+
+        try {
+            DataExplorerUtils.queryInChunks(influxDB, new Query("q"), 2, chunk -> {
+            });
+            fail("Expected the failure of the request");
+        } catch (RuntimeException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    /**
+     * Returns a client which passes the given chunks to the callback of a chunked query and then
+     * completes the query.
+     */
+    @SuppressWarnings("unchecked")
+    static InfluxDB clientReturning(InfluxDB.Cancellable cancellable, QueryResult... chunks) {
+        InfluxDB influxDB = mock(InfluxDB.class);
+        doAnswer(invocation -> {
+            BiConsumer<InfluxDB.Cancellable, QueryResult> onNext = invocation.getArgument(2);
+            for (QueryResult chunk : chunks) {
+                onNext.accept(cancellable, chunk);
+            }
+            ((Runnable) invocation.getArgument(3)).run();
+            return null;
+        }).when(influxDB).query(any(Query.class), anyInt(), any(BiConsumer.class), any(Runnable.class), any(Consumer.class));
+        return influxDB;
+    }
+
+    private QueryResult chunk(String error) {
+        QueryResult.Result result = new QueryResult.Result();
+        result.setError(error);
+        QueryResult chunk = new QueryResult();
+        chunk.setResults(Collections.singletonList(result));
+        return chunk;
+    }
+}
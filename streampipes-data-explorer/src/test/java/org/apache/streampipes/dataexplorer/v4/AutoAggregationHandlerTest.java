@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4;
+
+import org.apache.streampipes.dataexplorer.v4.rollup.RollupTier;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AutoAggregationHandlerTest {
+
+  @Test
+  public void roundsSubSecondIntervalsToOneTwoFiveSteps() {
+    assertEquals(1, AutoAggregationHandler.roundUpToStep(1));
+    assertEquals(5, AutoAggregationHandler.roundUpToStep(3));
+    assertEquals(200, AutoAggregationHandler.roundUpToStep(101));
+    assertEquals(1000, AutoAggregationHandler.roundUpToStep(501));
+  }
+
+  @Test
+  public void roundsToMultiplesOfSecondsMinutesAndHours() {
+    assertEquals(TimeUnit.SECONDS.toMillis(30), AutoAggregationHandler.roundUpToStep(TimeUnit.SECONDS.toMillis(20)));
+    assertEquals(TimeUnit.MINUTES.toMillis(1), AutoAggregationHandler.roundUpToStep(TimeUnit.SECONDS.toMillis(31)));
+    assertEquals(TimeUnit.MINUTES.toMillis(10), AutoAggregationHandler.roundUpToStep(TimeUnit.MINUTES.toMillis(6)));
+    assertEquals(TimeUnit.HOURS.toMillis(1), AutoAggregationHandler.roundUpToStep(TimeUnit.MINUTES.toMillis(31)));
+    assertEquals(TimeUnit.HOURS.toMillis(12), AutoAggregationHandler.roundUpToStep(TimeUnit.HOURS.toMillis(7)));
+  }
+
+  @Test
+  public void roundsLongIntervalsToWholeDays() {
+    long day = TimeUnit.DAYS.toMillis(1);
+
+    assertEquals(day, AutoAggregationHandler.roundUpToStep(day));
+    assertEquals(3 * day, AutoAggregationHandler.roundUpToStep(2 * day + 1));
+  }
+
+  @Test
+  public void stepsOfAtLeastOneTierAreMultiplesOfThatTier() {
+    for (long value = 501; value < TimeUnit.DAYS.toMillis(3); value = value * 11 / 10) {
+      long step = AutoAggregationHandler.roundUpToStep(value);
+      for (RollupTier tier : RollupTier.values()) {
+        if (step >= tier.getDurationMillis()) {
+          assertTrue(step + " is no multiple of " + tier, step % tier.getDurationMillis() == 0);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.cache;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.influxdb.dto.QueryResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.*;
+import static org.junit.Assert.assertEquals;
+
+public class QueryResultCacheTest {
+
+    private static final String MEASUREMENT = "measurement";
+    private static final long MINUTE = 60000;
+    private static final long BASE = 26_666_700L * MINUTE;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<long[]> rangeQueries = new ArrayList<>();
+    private QueryResultCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new QueryResultCache(10, 300000, clock::get, this::queryRange);
+    }
+
+    @Test
+    public void slidingWindowOnlyQueriesOpenBuckets() {
+        clock.set(BASE + 10 * MINUTE + 30000);
+        SpQueryResult first = query(BASE, clock.get());
+
+        assertRangeQuery(0, BASE, BASE + 10 * MINUTE + 30000);
+        assertEquals(bucketsBetween(BASE, BASE + 10 * MINUTE), bucketsOf(first));
+
+        clock.addAndGet(MINUTE);
+        SpQueryResult second = query(BASE + MINUTE, clock.get());
+
+        // buckets that ended more than the grace period before the first query are reused
+        assertRangeQuery(1, BASE + 10 * MINUTE, BASE + 11 * MINUTE + 30000);
+        assertEquals(bucketsBetween(BASE + MINUTE, BASE + 11 * MINUTE), bucketsOf(second));
+        assertEquals(1, cache.getMetrics().getHits());
+        assertEquals(1, cache.getMetrics().getMisses());
+    }
+
+    @Test
+    public void firstBucketIsWidenedToAlignedStart() {
+        clock.set(BASE + 20 * MINUTE);
+        SpQueryResult result = query(BASE + 20000, BASE + 5 * MINUTE);
+
+        assertRangeQuery(0, BASE, BASE + 5 * MINUTE);
+        assertEquals(bucketsBetween(BASE, BASE + 4 * MINUTE), bucketsOf(result));
+    }
+
+    @Test
+    public void windowStartingBeforeCachedBucketsIsQueriedAgain() {
+        clock.set(BASE + 20 * MINUTE);
+        query(BASE + 2 * MINUTE, clock.get());
+        SpQueryResult result = query(BASE, clock.get());
+
+        assertRangeQuery(1, BASE, BASE + 20 * MINUTE);
+        assertEquals(bucketsBetween(BASE, BASE + 19 * MINUTE), bucketsOf(result));
+        assertEquals(0, cache.getMetrics().getHits());
+        assertEquals(2, cache.getMetrics().getMisses());
+    }
+
+    @Test
+    public void invalidateRemovesBucketsOfMeasurement() {
+        clock.set(BASE + 20 * MINUTE);
+        query(BASE, clock.get());
+
+        cache.invalidate("other");
+        query(BASE, clock.get());
+        assertEquals(1, cache.getMetrics().getHits());
+
+        cache.invalidate(MEASUREMENT);
+        query(BASE, clock.get());
+        assertRangeQuery(2, BASE, BASE + 20 * MINUTE);
+        assertEquals(2, cache.getMetrics().getMisses());
+    }
+
+    @Test
+    public void bucketEndingExactlyAtGracePeriodIsClosed() {
+        clock.set(BASE + 5 * MINUTE + QueryResultCache.LATE_DATA_GRACE_MS);
+        query(BASE, clock.get());
+        query(BASE, clock.get());
+
+        assertRangeQuery(1, BASE + 5 * MINUTE, clock.get());
+    }
+
+    @Test
+    public void bucketEndingWithinGracePeriodIsQueriedAgain() {
+        clock.set(BASE + 5 * MINUTE + QueryResultCache.LATE_DATA_GRACE_MS - 1);
+        query(BASE, clock.get());
+        query(BASE, clock.get());
+
+        assertRangeQuery(1, BASE + 4 * MINUTE, clock.get());
+    }
+
+    private SpQueryResult query(long start, long end) {
+        Map<String, String> params = new HashMap<>();
+        params.put(QP_COLUMNS, "value");
+        params.put(QP_AGGREGATION_FUNCTION, "MEAN");
+        params.put(QP_TIME_INTERVAL, "1m");
+        params.put(QP_START_DATE, String.valueOf(start));
+        params.put(QP_END_DATE, String.valueOf(end));
+        return cache.getData(new ProvidedQueryParams(MEASUREMENT, params), p -> {
+            throw new AssertionError("Query should be answered per bucket");
+        });
+    }
+
+    private QueryResult queryRange(ProvidedQueryParams params, long from, long to) {
+        rangeQueries.add(new long[]{from, to});
+        List<List<Object>> values = new ArrayList<>();
+        for (long bucket = Math.floorDiv(from, MINUTE) * MINUTE; bucket < to; bucket += MINUTE) {
+            values.add(Arrays.asList(Instant.ofEpochMilli(bucket).toString(), (double) bucket));
+        }
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName(MEASUREMENT);
+        series.setColumns(Arrays.asList("time", "mean_value"));
+        series.setValues(values);
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(Collections.singletonList(series));
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(Collections.singletonList(result));
+        return queryResult;
+    }
+
+    private void assertRangeQuery(int index, long from, long to) {
+        assertEquals(index + 1, rangeQueries.size());
+        assertEquals(from, rangeQueries.get(index)[0]);
+        assertEquals(to, rangeQueries.get(index)[1]);
+    }
+
+    private List<Long> bucketsOf(SpQueryResult result) {
+        return result.getAllDataSeries().get(0).getRows()
+                .stream()
+                .map(row -> Instant.parse(row.get(0).toString()).toEpochMilli())
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> bucketsBetween(long first, long last) {
+        List<Long> buckets = new ArrayList<>();
+        for (long bucket = first; bucket <= last; bucket += MINUTE) {
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+}
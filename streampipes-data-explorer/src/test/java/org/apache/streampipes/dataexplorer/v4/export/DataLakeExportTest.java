@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_ORDER;
+import static org.junit.Assert.assertEquals;
+
+public class DataLakeExportTest {
+
+    private static final Pattern CURSOR = Pattern.compile("time ([<>]=) (\\d+)");
+    private static final Pattern OFFSET = Pattern.compile("OFFSET (\\d+)");
+
+    private final List<String> queries = new ArrayList<>();
+
+    @Test
+    public void tiesStraddlingPageBoundaryAreExportedOnce() throws IOException {
+        List<Long> timestamps = Arrays.asList(1L, 2L, 2L, 2L, 3L, 4L);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), export(timestamps, 2, false));
+    }
+
+    @Test
+    public void pageOfTiesOnlyIsFollowedByRemainingTies() throws IOException {
+        List<Long> timestamps = Arrays.asList(5L, 5L, 5L, 5L, 5L, 6L);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), export(timestamps, 2, false));
+    }
+
+    @Test
+    public void descendingPagesContinueBeforeCursor() throws IOException {
+        List<Long> timestamps = Arrays.asList(4L, 3L, 3L, 3L, 1L);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), export(timestamps, 2, true));
+    }
+
+    @Test
+    public void emptyLastPageEndsExport() throws IOException {
+        List<Long> timestamps = Arrays.asList(1L, 2L, 3L, 4L);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), export(timestamps, 2, false));
+        assertEquals(3, queries.size());
+    }
+
+    @Test
+    public void emptyMeasurementExportsNothing() throws IOException {
+        assertEquals(Collections.emptyList(), export(Collections.emptyList(), 2, false));
+        assertEquals(1, queries.size());
+    }
+
+    /**
+     * Exports rows with the given timestamps, which are stored in query order, and returns the
+     * indices of the exported rows.
+     */
+    private List<Integer> export(List<Long> timestamps, int pageSize, boolean descending) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        params.put(QP_LIMIT, String.valueOf(pageSize));
+        if (descending) {
+            params.put(QP_ORDER, "DESC");
+        }
+        RecordingWriter writer = new RecordingWriter();
+        new DataLakeExport(new ProvidedQueryParams("m", params))
+                .writeTo(writer, "sp", (query, page) -> page.accept(query(query, timestamps, pageSize)));
+        return writer.rows;
+    }
+
+    private QueryResult query(Query query, List<Long> timestamps, int pageSize) {
+        String command = query.getCommand();
+        queries.add(command);
+
+        List<Integer> matching = new ArrayList<>();
+        Matcher cursor = CURSOR.matcher(command);
+        for (int i = 0; i < timestamps.size(); i++) {
+            long timestamp = toNanos(timestamps.get(i));
+            if (!cursor.find(0) || (cursor.group(1).equals(">=")
+                    ? timestamp >= Long.parseLong(cursor.group(2))
+                    : timestamp <= Long.parseLong(cursor.group(2)))) {
+                matching.add(i);
+            }
+        }
+        Matcher offset = OFFSET.matcher(command);
+        int from = Math.min(offset.find() ? Integer.parseInt(offset.group(1)) : 0, matching.size());
+        List<List<Object>> values = matching
+                .subList(from, Math.min(from + pageSize, matching.size()))
+                .stream()
+                .map(i -> Arrays.<Object>asList(Instant.ofEpochMilli(timestamps.get(i)).toString(), i))
+                .collect(Collectors.toList());
+
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName("m");
+        series.setColumns(Arrays.asList("time", "index"));
+        series.setValues(values);
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(values.isEmpty() ? null : Collections.singletonList(series));
+        QueryResult queryResult = new QueryResult();
+        queryResult.setResults(Collections.singletonList(result));
+        return queryResult;
+    }
+
+    private long toNanos(long millis) {
+        return millis * 1_000_000L;
+    }
+
+    private static class RecordingWriter implements ExportWriter {
+
+        private final List<Integer> rows = new ArrayList<>();
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void writeHeaders(List<String> headers) {
+        }
+
+        @Override
+        public void writeRow(long timestamp, List<Object> row) {
+            rows.add((Integer) row.get(1));
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.export;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonExportWriterTest {
+
+    @Test
+    public void writesRowsAsObjects() throws IOException {
+        String json = export(Arrays.asList("time", 2.5, true, "on"));
+
+        assertEquals("[{\"time\":1000,\"a\":2.5,\"b\":true,\"c\":\"on\"}]", json);
+    }
+
+    @Test
+    public void writesNonFiniteValuesAsNull() throws IOException {
+        String json = export(Arrays.asList("time", Double.NaN, Double.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY));
+
+        assertEquals("[{\"time\":1000,\"a\":null,\"b\":null,\"c\":null}]", json);
+    }
+
+    @Test
+    public void writesMissingValuesAsNull() throws IOException {
+        String json = export(Arrays.asList("time", null, 1, null));
+
+        assertEquals("[{\"time\":1000,\"a\":null,\"b\":1,\"c\":null}]", json);
+    }
+
+    private String export(List<Object> row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonExportWriter writer = new JsonExportWriter(out);
+        writer.start();
+        writer.writeHeaders(Arrays.asList("time", "a", "b", "c"));
+        writer.writeRow(1000L, row);
+        writer.finish();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
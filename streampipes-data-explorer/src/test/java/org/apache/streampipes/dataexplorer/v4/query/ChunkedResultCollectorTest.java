@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ChunkedResultCollectorTest {
+
+    @Test
+    public void mergesChunksPerSeries() {
+        SpQueryResult result = collect(
+                chunk(series("a", row(1L, 1.0), row(2L, 2.0)), series("b", row(1L, 5.0))),
+                chunk(series("a", row(3L, null), row(4L, 4.0))));
+
+        assertEquals(2, result.getTotal());
+        DataSeries a = result.getAllDataSeries().get(0);
+        assertEquals("a", a.getTags().get("sensor"));
+        assertEquals(4, a.getTotal());
+        assertEquals(Arrays.asList(row(1L, 1.0), row(2L, 2.0), row(4L, 4.0)), a.getRows());
+        DataSeries b = result.getAllDataSeries().get(1);
+        assertEquals(1, b.getTotal());
+        assertEquals(Arrays.asList("time", "value"), result.getHeaders());
+    }
+
+    @Test
+    public void emptyResultHasNoSeries() {
+        SpQueryResult result = collect(chunk());
+
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getAllDataSeries().isEmpty());
+        assertNull(result.getHeaders());
+    }
+
+    @Test
+    public void errorResultFailsQuery() {
+        QueryResult error = new QueryResult();
+        error.setError("query timeout");
+        DataExplorerQueryV4.ChunkedResultCollector collector = new DataExplorerQueryV4.ChunkedResultCollector();
+
+        try {
+            DataExplorerUtils.queryInChunks(clientReturning(chunk(series("a", row(1L, 1.0))), error),
+                    new Query("q"), 2, collector::add);
+            fail("Expected the error of the query");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("query timeout"));
+        }
+    }
+
+    private SpQueryResult collect(QueryResult... chunks) {
+        DataExplorerQueryV4.ChunkedResultCollector collector = new DataExplorerQueryV4.ChunkedResultCollector();
+        DataExplorerUtils.queryInChunks(clientReturning(chunks), new Query("q"), 2, collector::add);
+        return collector.toResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private InfluxDB clientReturning(QueryResult... chunks) {
+        InfluxDB influxDB = mock(InfluxDB.class);
+        doAnswer(invocation -> {
+            BiConsumer<InfluxDB.Cancellable, QueryResult> onNext = invocation.getArgument(2);
+            for (QueryResult chunk : chunks) {
+                onNext.accept(mock(InfluxDB.Cancellable.class), chunk);
+            }
+            ((Runnable) invocation.getArgument(3)).run();
+            return null;
+        }).when(influxDB).query(any(Query.class), anyInt(), any(BiConsumer.class), any(Runnable.class), any(Consumer.class));
+        return influxDB;
+    }
+
+    private QueryResult chunk(QueryResult.Series... series) {
+        QueryResult.Result result = new QueryResult.Result();
+        result.setSeries(series.length == 0 ? null : Arrays.asList(series));
+        QueryResult chunk = new QueryResult();
+        chunk.setResults(Collections.singletonList(result));
+        return chunk;
+    }
+
+    @SafeVarargs
+    private final QueryResult.Series series(String sensor, List<Object>... rows) {
+        Map<String, String> tags = Collections.singletonMap("sensor", sensor);
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName("m");
+        series.setTags(tags);
+        series.setColumns(Arrays.asList("time", "value"));
+        series.setValues(Arrays.asList(rows));
+        return series;
+    }
+
+    private List<Object> row(Long time, Double value) {
+        return Arrays.asList(time, value);
+    }
+}
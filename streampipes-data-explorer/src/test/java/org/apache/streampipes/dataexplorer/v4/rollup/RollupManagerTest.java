@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.rollup;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RollupManagerTest {
+
+    private static final Set<RollupTier> ALL_TIERS = EnumSet.allOf(RollupTier.class);
+    private static final long NOW = 1600000000000L;
+    private static final long PAST = NOW - TimeUnit.DAYS.toMillis(1);
+
+    @Test
+    public void selectsCoarsestTierDividingInterval() {
+        assertEquals(RollupTier.SECOND, RollupManager.selectTier(ALL_TIERS, TimeUnit.SECONDS.toMillis(30), PAST, NOW));
+        assertEquals(RollupTier.SECOND, RollupManager.selectTier(ALL_TIERS, TimeUnit.SECONDS.toMillis(90), PAST, NOW));
+        assertEquals(RollupTier.MINUTE, RollupManager.selectTier(ALL_TIERS, TimeUnit.MINUTES.toMillis(5), PAST, NOW));
+        assertEquals(RollupTier.HOUR, RollupManager.selectTier(ALL_TIERS, TimeUnit.HOURS.toMillis(6), PAST, NOW));
+    }
+
+    @Test
+    public void selectsNoTierForSubSecondInterval() {
+        assertNull(RollupManager.selectTier(ALL_TIERS, 500, PAST, NOW));
+    }
+
+    @Test
+    public void selectsOnlyExistingTiers() {
+        Set<RollupTier> tiers = EnumSet.of(RollupTier.SECOND);
+
+        assertEquals(RollupTier.SECOND, RollupManager.selectTier(tiers, TimeUnit.HOURS.toMillis(1), PAST, NOW));
+    }
+
+    @Test
+    public void selectsTiersThatAreCompleteUntilEndOfQuery() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+
+        assertEquals(RollupTier.SECOND, RollupManager.selectTier(ALL_TIERS, hour, Long.MAX_VALUE, NOW));
+        assertEquals(RollupTier.MINUTE, RollupManager.selectTier(ALL_TIERS, hour, NOW - TimeUnit.MINUTES.toMillis(3), NOW));
+        assertEquals(RollupTier.HOUR, RollupManager.selectTier(ALL_TIERS, hour, NOW - 2 * hour, NOW));
+    }
+}
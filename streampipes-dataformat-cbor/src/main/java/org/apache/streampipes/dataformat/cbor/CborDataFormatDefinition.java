@@ -17,11 +17,16 @@
  */
 package org.apache.streampipes.dataformat.cbor;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.JacksonEventReader;
+import org.apache.streampipes.dataformat.JacksonEventWriter;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -52,4 +57,22 @@ public class CborDataFormatDefinition implements SpDataFormatDefinition {
       throw new SpRuntimeException("Could not convert map data structure to JSON string");
     }
   }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout eventLayout) throws SpRuntimeException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      return JacksonEventReader.read(parser, eventLayout);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure");
+    }
+  }
+
+  @Override
+  public byte[] fromEvent(Event event) throws SpRuntimeException {
+    try {
+      return JacksonEventWriter.write(objectMapper.getFactory(), event);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to byte array");
+    }
+  }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventAssembler;
+import org.apache.streampipes.model.runtime.EventLayout;
+
+import java.io.IOException;
+
+/**
+ * Builds events from the tokens of a Jackson parser, shared by all Jackson-based data formats.
+ */
+public class JacksonEventReader {
+
+  public static Event read(JsonParser parser, EventLayout eventLayout) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Event is not an object");
+    }
+
+    EventAssembler assembler = eventLayout.newAssembler();
+    String key = null;
+    int depth = 0;
+    JsonToken token;
+
+    while ((token = parser.nextToken()) != null) {
+      switch (token) {
+        case FIELD_NAME:
+          key = parser.getCurrentName();
+          break;
+        case START_OBJECT:
+          assembler.beginObject(key);
+          depth++;
+          break;
+        case START_ARRAY:
+          assembler.beginList(key);
+          depth++;
+          break;
+        case END_OBJECT:
+        case END_ARRAY:
+          if (depth == 0) {
+            return assembler.build();
+          }
+          assembler.end();
+          depth--;
+          break;
+        case VALUE_STRING:
+          assembler.value(key, parser.getText());
+          break;
+        case VALUE_NUMBER_INT:
+        case VALUE_NUMBER_FLOAT:
+          assembler.value(key, parser.getNumberValue());
+          break;
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+          assembler.value(key, parser.getBooleanValue());
+          break;
+        case VALUE_NULL:
+          assembler.value(key, null);
+          break;
+        case VALUE_EMBEDDED_OBJECT:
+          assembler.value(key, parser.getEmbeddedObject());
+          break;
+        default:
+          throw new IOException("Unexpected token " + token);
+      }
+    }
+    throw new IOException("Unexpected end of event");
+  }
+}
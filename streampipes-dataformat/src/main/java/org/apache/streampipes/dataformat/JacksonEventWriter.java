@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes events with a Jackson generator, shared by all Jackson-based data formats. The output
+ * buffer is reused per thread.
+ */
+public class JacksonEventWriter {
+
+  private static final ThreadLocal<ByteArrayBuilder> buffers =
+          ThreadLocal.withInitial(ByteArrayBuilder::new);
+
+  private static final ThreadLocal<Set<String>> fieldNames =
+          ThreadLocal.withInitial(HashSet::new);
+
+  public static byte[] write(JsonFactory factory, Event event) throws IOException {
+    ByteArrayBuilder buffer = buffers.get();
+    buffer.reset();
+    try (JsonGenerator generator = factory.createGenerator(buffer)) {
+      writeFields(generator, event.getFields());
+    }
+    return buffer.toByteArray();
+  }
+
+  private static void writeFields(JsonGenerator generator,
+                                  Map<String, AbstractField> fields) throws IOException {
+    generator.writeStartObject();
+    for (AbstractField field : getOutputFields(fields)) {
+      generator.writeFieldName(field.getFieldNameOut());
+      writeField(generator, field);
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Renamed output fields may collide. As in the map produced by the EventConverter, the last field with a
+   * given output name wins.
+   */
+  private static Collection<AbstractField> getOutputFields(Map<String, AbstractField> fields) {
+    Set<String> names = fieldNames.get();
+    names.clear();
+    for (AbstractField field : fields.values()) {
+      if (!names.add(field.getFieldNameOut())) {
+        Map<String, AbstractField> lastWins = new LinkedHashMap<>();
+        fields.values().forEach(f -> lastWins.put(f.getFieldNameOut(), f));
+        return lastWins.values();
+      }
+    }
+    return fields.values();
+  }
+
+  private static void writeField(JsonGenerator generator, AbstractField field) throws IOException {
+    if (field instanceof PrimitiveField) {
+      writeValue(generator, field.getRawValue());
+    } else if (field instanceof ListField) {
+      generator.writeStartArray();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        writeField(generator, item);
+      }
+      generator.writeEndArray();
+    } else {
+      writeFields(generator, field.getAsComposite().getRawValue());
+    }
+  }
+
+  private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    } else {
+      generator.writeObject(value);
+    }
+  }
+}
@@ -19,6 +19,9 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import java.io.Serializable;
 import java.util.Map;
@@ -28,4 +31,20 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  /**
+   * Decodes an event directly into the given event layout. Formats that support streaming
+   * decoding override this method to skip the intermediate map.
+   */
+  default Event toEvent(byte[] event, EventLayout eventLayout) throws SpRuntimeException {
+    return eventLayout.makeEvent(toMap(event));
+  }
+
+  /**
+   * Encodes an event using the output names of its fields. Formats that support streaming
+   * encoding override this method to skip the intermediate map.
+   */
+  default byte[] fromEvent(Event event) throws SpRuntimeException {
+    return fromMap(new EventConverter(event).toMap());
+  }
 }
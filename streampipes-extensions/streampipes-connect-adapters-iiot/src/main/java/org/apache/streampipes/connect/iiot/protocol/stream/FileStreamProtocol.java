@@ -18,17 +18,18 @@
 
 package org.apache.streampipes.connect.iiot.protocol.stream;
 
-import org.apache.streampipes.connect.SendToPipeline;
+import org.apache.streampipes.connect.adapter.format.csv.CsvParser;
 import org.apache.streampipes.connect.adapter.guess.SchemaGuesser;
 import org.apache.streampipes.connect.adapter.model.generic.Protocol;
-import org.apache.streampipes.connect.adapter.preprocessing.elements.SendToBrokerReplayAdapterSink;
-import org.apache.streampipes.connect.adapter.preprocessing.elements.SendToJmsAdapterSink;
-import org.apache.streampipes.connect.adapter.preprocessing.elements.SendToKafkaAdapterSink;
-import org.apache.streampipes.connect.adapter.preprocessing.elements.SendToMqttAdapterSink;
 import org.apache.streampipes.connect.api.IAdapterPipeline;
 import org.apache.streampipes.connect.api.IFormat;
 import org.apache.streampipes.connect.api.IParser;
 import org.apache.streampipes.connect.api.exception.ParseException;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.FileReplayEngine;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.FileReplayIndex;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.MappedFile;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayAdapterSink;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.TimestampField;
 import org.apache.streampipes.connect.iiot.utils.FileProtocolUtils;
 import org.apache.streampipes.model.AdapterType;
 import org.apache.streampipes.model.connect.grounding.ProtocolDescription;
@@ -60,9 +61,13 @@ public class FileStreamProtocol extends Protocol {
   private boolean replaceTimestamp;
   private float speedUp;
   private int timeBetweenReplay;
+  private int startRecord;
+  private Long fromTimestamp;
+  private Long toTimestamp;
 
   private Thread task;
-  private boolean running;
+  private volatile boolean running;
+  private ReplayAdapterSink replaySink;
 
 
   public FileStreamProtocol() {
@@ -77,57 +82,55 @@ public class FileStreamProtocol extends Protocol {
     this.timeBetweenReplay = timeBetweenReplay;
   }
 
+  /**
+   * Replays a slice of the file, e.g., for load tests.
+   *
+   * @param startRecord   the number of records to skip at the start of the file
+   * @param fromTimestamp the earliest event timestamp to replay, or null
+   * @param toTimestamp   the latest event timestamp to replay, or null
+   */
+  public FileStreamProtocol(IParser parser, IFormat format, String selectedFileName,
+                            boolean replaceTimestamp, float speedUp, int timeBetweenReplay,
+                            int startRecord, Long fromTimestamp, Long toTimestamp) {
+    this(parser, format, selectedFileName, replaceTimestamp, speedUp, timeBetweenReplay);
+    this.startRecord = startRecord;
+    this.fromTimestamp = fromTimestamp;
+    this.toTimestamp = toTimestamp;
+  }
+
   @Override
   public void run(IAdapterPipeline adapterPipeline) {
     String timestampKey = getTimestampKey(eventSchema.getEventProperties(), "");
+    TimestampField timestampField = timestampKey != null ? new TimestampField(timestampKey) : null;
 
-    // exchange adapter pipeline sink with special purpose replay sink for file replay
-    if (adapterPipeline.getPipelineSink() instanceof SendToKafkaAdapterSink) {
-        adapterPipeline.changePipelineSink(new SendToBrokerReplayAdapterSink(
-                (SendToKafkaAdapterSink) adapterPipeline.getPipelineSink(),
-                timestampKey,
-                replaceTimestamp,
-                speedUp));
-
-    } else if (adapterPipeline.getPipelineSink() instanceof SendToMqttAdapterSink) {
-        adapterPipeline.changePipelineSink(new SendToBrokerReplayAdapterSink(
-                (SendToMqttAdapterSink) adapterPipeline.getPipelineSink(),
-                timestampKey,
-                replaceTimestamp,
-                speedUp));
-
-    } else if (adapterPipeline.getPipelineSink() instanceof SendToJmsAdapterSink) {
-        adapterPipeline.changePipelineSink(new SendToBrokerReplayAdapterSink(
-                (SendToJmsAdapterSink) adapterPipeline.getPipelineSink(),
-                timestampKey,
-                replaceTimestamp,
-                speedUp));
-    }
+    ReplayAdapterSink sink = new ReplayAdapterSink(adapterPipeline.getPipelineSink(), timestampField,
+            replaceTimestamp, speedUp, fromTimestamp, toTimestamp);
+    adapterPipeline.changePipelineSink(sink);
+    replaySink = sink;
 
     running = true;
     task = new Thread() {
         @Override
         public void run() {
-          while (running) {
-
-            format.reset();
-            SendToPipeline stk = new SendToPipeline(format, adapterPipeline);
-            InputStream dataInputStream = getDataFromEndpoint();
-            try {
-              if(dataInputStream != null) {
-                parser.parse(dataInputStream, stk);
-              } else {
-                logger.warn("Could not read data from file.");
-              }
-            } catch (ParseException e) {
-              logger.error("Error while parsing: " + e.getMessage());
-            }
+          try (MappedFile file = MappedFile.open(FileProtocolUtils.getFile(selectedFileName))) {
+            FileReplayIndex index = FileReplayIndex.isSeekable(parser)
+                    ? FileReplayIndex.build(file, ((CsvParser) parser).getDelimiter()) : null;
+            FileReplayEngine engine = new FileReplayEngine(file, index, parser, format, startRecord);
 
+            while (running) {
+              sink.startRound();
               try {
-                  Thread.sleep(timeBetweenReplay * 1000);
-              } catch (InterruptedException e) {
-                  logger.error("Error while waiting for next replay round" + e.getMessage());
+                engine.replay(adapterPipeline, () -> running && !sink.isRangeEnded());
+              } catch (ParseException e) {
+                logger.error("Error while parsing: " + e.getMessage());
               }
+
+              Thread.sleep(timeBetweenReplay * 1000L);
+            }
+          } catch (IOException | ParseException e) {
+            logger.warn("Could not read data from file " + selectedFileName, e);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
           }
         }
     };
@@ -138,6 +141,12 @@ public class FileStreamProtocol extends Protocol {
   @Override
   public void stop() {
     running = false;
+    if (replaySink != null) {
+      replaySink.stop();
+    }
+    if (task != null) {
+      task.interrupt();
+    }
   }
 
   private InputStream getDataFromEndpoint() throws ParseException {
@@ -162,8 +171,25 @@ public class FileStreamProtocol extends Protocol {
 
     int timeBetweenReplay = 1;
 
+    int startRecord = (int) longParameter(protocolDescription, extractor, "startRecord");
+    long fromTimestamp = longParameter(protocolDescription, extractor, "fromTimestamp");
+    long toTimestamp = longParameter(protocolDescription, extractor, "toTimestamp");
+
     String fileName = extractor.selectedFilename("filePath");
-    return new FileStreamProtocol(parser, format, fileName, replaceTimestamp, speedUp, timeBetweenReplay);
+    return new FileStreamProtocol(parser, format, fileName, replaceTimestamp, speedUp, timeBetweenReplay,
+            startRecord, fromTimestamp > 0 ? fromTimestamp : null, toTimestamp > 0 ? toTimestamp : null);
+  }
+
+  /**
+   * Returns the value of a replay parameter, or 0 for adapters created before it was added.
+   * Parameters declared as integer by earlier versions are parsed as long as well.
+   */
+  private long longParameter(ProtocolDescription protocolDescription,
+                             StaticPropertyExtractor extractor,
+                             String internalName) {
+    boolean present = protocolDescription.getConfig().stream()
+            .anyMatch(sp -> internalName.equals(sp.getInternalName()));
+    return present ? extractor.singleValueParameter(internalName, Long.class) : 0;
   }
 
   private String getTimestampKey(List<EventProperty> eventProperties, String prefixKey) {
@@ -202,6 +228,9 @@ public class FileStreamProtocol extends Protocol {
             .requiredMultiValueSelection(Labels.withId("replaceTimestamp"),
                     Options.from(""))
             .requiredFloatParameter(Labels.withId("speed"))
+            .requiredIntegerParameter(Labels.withId("startRecord"), 0)
+            .requiredLongParameter(Labels.withId("fromTimestamp"), 0L)
+            .requiredLongParameter(Labels.withId("toTimestamp"), 0L)
             .build();
   }
 
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.adapter.format.csv.CsvParser;
+import org.apache.streampipes.connect.adapter.format.csv.CsvRecordReader;
+import org.apache.streampipes.connect.api.EmitBinaryEvent;
+import org.apache.streampipes.connect.api.IAdapterPipeline;
+import org.apache.streampipes.connect.api.IFormat;
+import org.apache.streampipes.connect.api.IParser;
+import org.apache.streampipes.connect.api.exception.ParseException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Replays the records of a memory-mapped file into an adapter pipeline, starting at a given
+ * record. CSV files are read from the nearest checkpoint of the {@link FileReplayIndex}, other
+ * files are parsed from the start and the records before the start record are skipped without
+ * decoding them.
+ *
+ * <p>The engine emits records as fast as the pipeline accepts them. Pacing happens in the
+ * {@link ReplayAdapterSink}, after the transformation rules of the adapter.</p>
+ */
+public class FileReplayEngine {
+
+    private final MappedFile file;
+    private final FileReplayIndex index;
+    private final IParser parser;
+    private final IFormat format;
+    private final int startRecord;
+
+    /**
+     * @param index       the index of a CSV file, or null if the file is not seekable
+     * @param startRecord the number of records to skip at the start of the file
+     */
+    public FileReplayEngine(MappedFile file,
+                            FileReplayIndex index,
+                            IParser parser,
+                            IFormat format,
+                            int startRecord) {
+        this.file = file;
+        this.index = index;
+        this.parser = parser;
+        this.format = format;
+        this.startRecord = Math.max(startRecord, 0);
+    }
+
+    /**
+     * Replays the records once, as long as the given condition holds.
+     *
+     * @param proceed checked before each record
+     * @return false if the round was ended by the condition
+     */
+    public boolean replay(IAdapterPipeline adapterPipeline, BooleanSupplier proceed) {
+        format.reset();
+        if (index != null) {
+            return replaySeekable(adapterPipeline, proceed);
+        } else {
+            RecordEmitter emitter = new RecordEmitter(adapterPipeline, proceed);
+            parser.parse(file.newInputStream(0), emitter);
+            return !emitter.ended;
+        }
+    }
+
+    private boolean replaySeekable(IAdapterPipeline adapterPipeline, BooleanSupplier proceed) {
+        if (startRecord >= index.size()) {
+            return true;
+        }
+        String delimiter = ((CsvParser) parser).getDelimiter();
+        try {
+            if (startRecord > 0) {
+                // the first record may be a header which initializes the format
+                format.parse(new CsvRecordReader(file.newInputStream(0), delimiter).next());
+            }
+            int record = index.getCheckpoint(startRecord);
+            CsvRecordReader reader = new CsvRecordReader(file.newInputStream(index.getOffset(record)), delimiter);
+            byte[] data;
+            while ((data = reader.next()) != null) {
+                if (record++ < startRecord) {
+                    continue;
+                }
+                if (!proceed.getAsBoolean()) {
+                    return false;
+                }
+                process(adapterPipeline, format.parse(data));
+            }
+        } catch (IOException e) {
+            throw new ParseException(e.getMessage());
+        }
+        return true;
+    }
+
+    private void process(IAdapterPipeline adapterPipeline, Map<String, Object> event) {
+        if (event != null) {
+            adapterPipeline.process(event);
+        }
+    }
+
+    private class RecordEmitter implements EmitBinaryEvent {
+
+        private final IAdapterPipeline adapterPipeline;
+        private final BooleanSupplier proceed;
+        private int record;
+        private boolean ended;
+
+        RecordEmitter(IAdapterPipeline adapterPipeline, BooleanSupplier proceed) {
+            this.adapterPipeline = adapterPipeline;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public Boolean emit(byte[] event) {
+            if (skip()) {
+                return !ended;
+            }
+            process(adapterPipeline, format.parse(event));
+            return true;
+        }
+
+        @Override
+        public Boolean emit(Map<String, Object> event) {
+            if (skip()) {
+                return !ended;
+            }
+            process(adapterPipeline, event);
+            return true;
+        }
+
+        /**
+         * @return true if the record is before the start record or the round has ended
+         */
+        private boolean skip() {
+            if (ended || record++ < startRecord) {
+                return true;
+            }
+            ended = !proceed.getAsBoolean();
+            return ended;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.adapter.format.csv.CsvParser;
+import org.apache.streampipes.connect.adapter.format.csv.CsvRecordReader;
+import org.apache.streampipes.connect.api.IParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A sparse index over the records of a CSV replay file, built once without decoding the records.
+ * It stores the offset of every {@link #CHECKPOINT_INTERVAL}th record, so that a replay can seek
+ * close to its start record and only needs to skip the records after the nearest checkpoint.
+ */
+public class FileReplayIndex {
+
+    public static final int CHECKPOINT_INTERVAL = 1024;
+
+    private final long[] checkpoints;
+    private final int size;
+
+    private FileReplayIndex(long[] checkpoints, int size) {
+        this.checkpoints = checkpoints;
+        this.size = size;
+    }
+
+    public static FileReplayIndex build(MappedFile file, String delimiter) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(file.newInputStream(0), delimiter);
+        long[] checkpoints = new long[16];
+        int checkpointCount = 0;
+        int count = 0;
+        while (reader.next() != null) {
+            if (count % CHECKPOINT_INTERVAL == 0) {
+                if (checkpointCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                }
+                checkpoints[checkpointCount++] = reader.getRecordOffset();
+            }
+            count++;
+        }
+        return new FileReplayIndex(Arrays.copyOf(checkpoints, checkpointCount), count);
+    }
+
+    /**
+     * CSV records can be read without the parser, so a replay can seek to any record.
+     */
+    public static boolean isSeekable(IParser parser) {
+        return parser instanceof CsvParser;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the last checkpoint record at or before the given record.
+     */
+    public int getCheckpoint(int record) {
+        return (Math.min(Math.max(record, 0), size - 1) / CHECKPOINT_INTERVAL) * CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Returns the offset of a checkpoint record in the file.
+     */
+    public long getOffset(int checkpoint) {
+        return checkpoints[checkpoint / CHECKPOINT_INTERVAL];
+    }
+}
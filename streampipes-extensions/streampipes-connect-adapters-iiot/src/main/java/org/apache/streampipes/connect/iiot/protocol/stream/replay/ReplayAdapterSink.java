@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.api.IAdapterPipelineElement;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces replayed events before handing them to the actual sink of the adapter pipeline. As the
+ * sink runs after the transformation rules, the timestamp is read from the final event schema.
+ *
+ * <p>Each event is forwarded at a deadline derived from its timestamp relative to the first event
+ * of the round, divided by the speed-up. Deadlines are absolute, so the delay of one event does
+ * not add up over the replay as with per-event sleeps, and all events which are due within the
+ * same tick are forwarded without parking the thread. A speed-up of zero or below replays the file
+ * as fast as possible.</p>
+ *
+ * <p>Events before the start of the time range are dropped. The first event after its end ends
+ * the round, so the time range expects a file ordered by timestamp.</p>
+ */
+public class ReplayAdapterSink implements IAdapterPipelineElement {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final IAdapterPipelineElement sink;
+    private final TimestampField timestampField;
+    private final boolean replaceTimestamp;
+    private final float speedUp;
+    private final Long fromTimestamp;
+    private final Long toTimestamp;
+
+    private long firstTimestamp = TimestampField.NO_TIMESTAMP;
+    private long firstNanos;
+    private volatile boolean rangeEnded;
+    private volatile boolean stopped;
+
+    /**
+     * @param sink           the sink of the adapter pipeline, or null
+     * @param timestampField the timestamp of the events, or null if the events have none
+     * @param fromTimestamp  the earliest event timestamp to replay, or null
+     * @param toTimestamp    the latest event timestamp to replay, or null
+     */
+    public ReplayAdapterSink(IAdapterPipelineElement sink,
+                             TimestampField timestampField,
+                             boolean replaceTimestamp,
+                             float speedUp,
+                             Long fromTimestamp,
+                             Long toTimestamp) {
+        this.sink = sink;
+        this.timestampField = timestampField;
+        this.replaceTimestamp = replaceTimestamp;
+        this.speedUp = speedUp;
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+    }
+
+    /**
+     * Restarts pacing at the next event, which is the first event of a new round.
+     */
+    public void startRound() {
+        firstTimestamp = TimestampField.NO_TIMESTAMP;
+        rangeEnded = false;
+    }
+
+    /**
+     * @return true if an event after the end of the time range has been seen in this round
+     */
+    public boolean isRangeEnded() {
+        return rangeEnded;
+    }
+
+    /**
+     * Drops all further events and wakes up a waiting replay once it is interrupted.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) {
+        if (event == null || stopped || rangeEnded) {
+            return null;
+        }
+        long timestamp = timestampField != null ? timestampField.get(event) : TimestampField.NO_TIMESTAMP;
+        if (timestamp != TimestampField.NO_TIMESTAMP) {
+            if (fromTimestamp != null && timestamp < fromTimestamp) {
+                return null;
+            }
+            if (toTimestamp != null && timestamp > toTimestamp) {
+                rangeEnded = true;
+                return null;
+            }
+            if (speedUp > 0 && !awaitDeadline(timestamp)) {
+                return null;
+            }
+        }
+        if (replaceTimestamp && timestampField != null) {
+            timestampField.set(event, System.currentTimeMillis());
+        }
+        return sink != null ? sink.process(event) : event;
+    }
+
+    private boolean awaitDeadline(long timestamp) {
+        if (firstTimestamp == TimestampField.NO_TIMESTAMP) {
+            firstTimestamp = timestamp;
+            firstNanos = System.nanoTime();
+            return true;
+        }
+        long deadline = firstNanos + (long) (TimeUnit.MILLISECONDS.toNanos(timestamp - firstTimestamp) / speedUp);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > TICK_NANOS) {
+            LockSupport.parkNanos(this, remaining);
+            if (stopped || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
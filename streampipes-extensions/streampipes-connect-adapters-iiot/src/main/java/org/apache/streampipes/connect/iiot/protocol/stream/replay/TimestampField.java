@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.adapter.preprocessing.Util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and replaces the timestamp of a replayed event, which may be nested in the event.
+ */
+public class TimestampField {
+
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE + 1;
+
+    private final String[] parentKeys;
+    private final String key;
+
+    public TimestampField(String timestampKey) {
+        List<String> keys = Util.toKeyArray(timestampKey);
+        this.parentKeys = keys.subList(0, keys.size() - 1).toArray(new String[0]);
+        this.key = keys.get(keys.size() - 1);
+    }
+
+    public long get(Map<String, Object> event) {
+        Map<String, Object> parent = getParent(event);
+        Object value = parent != null ? parent.get(key) : null;
+        return value instanceof Number ? ((Number) value).longValue() : NO_TIMESTAMP;
+    }
+
+    public void set(Map<String, Object> event, long timestamp) {
+        Map<String, Object> parent = getParent(event);
+        if (parent != null) {
+            parent.put(key, timestamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getParent(Map<String, Object> event) {
+        Object current = event;
+        for (String parentKey : parentKeys) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<String, Object>) current).get(parentKey);
+        }
+        return current instanceof Map ? (Map<String, Object>) current : null;
+    }
+}
@@ -28,6 +28,10 @@ import java.io.*;
 public class FileProtocolUtils {
 
     public static InputStream getFileInputStream(String selectedFilename) throws FileNotFoundException {
+        return new FileInputStream(getFile(selectedFilename));
+    }
+
+    public static File getFile(String selectedFilename) {
         if (!isFilePresent(selectedFilename)) {
             try {
                 storeFileLocally(selectedFilename);
@@ -36,7 +40,7 @@ public class FileProtocolUtils {
             }
         }
 
-        return new FileInputStream(makeFileLoc(selectedFilename));
+        return new File(makeFileLoc(selectedFilename));
     }
 
     private static boolean isFilePresent(String selectedFilename) {
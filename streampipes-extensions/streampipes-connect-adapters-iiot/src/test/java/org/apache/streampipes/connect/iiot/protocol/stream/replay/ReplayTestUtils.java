@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.api.IAdapterPipeline;
+import org.apache.streampipes.connect.api.IAdapterPipelineElement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ReplayTestUtils {
+
+    public static File writeFile(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Returns a CSV file with a header and the given number of rows, where each row contains its
+     * number and a timestamp of 1000 times its number.
+     */
+    public static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("id,timestamp\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i).append(',').append(i * 1000L).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public static class RecordingPipeline implements IAdapterPipeline {
+
+        private final List<Map<String, Object>> events = new ArrayList<>();
+
+        @Override
+        public void process(Map<String, Object> event) {
+            events.add(event);
+        }
+
+        public List<Map<String, Object>> getEvents() {
+            return events;
+        }
+
+        @Override
+        public List<IAdapterPipelineElement> getPipelineElements() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void setPipelineElements(List<IAdapterPipelineElement> pipelineElements) {
+        }
+
+        @Override
+        public void changePipelineSink(IAdapterPipelineElement pipelineSink) {
+        }
+
+        @Override
+        public IAdapterPipelineElement getPipelineSink() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.adapter.format.csv.CsvFormat;
+import org.apache.streampipes.connect.adapter.format.csv.CsvParser;
+import org.apache.streampipes.connect.adapter.format.json.arraynokey.JsonArrayFormat;
+import org.apache.streampipes.connect.adapter.format.json.arraynokey.JsonArrayParser;
+import org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayTestUtils.RecordingPipeline;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayTestUtils.csv;
+import static org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayTestUtils.writeFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestFileReplayEngine {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReplayWholeCsvFile() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = csvFile(3000)) {
+            assertTrue(csvEngine(file, 0).replay(pipeline, () -> true));
+        }
+
+        assertEquals(3000, pipeline.getEvents().size());
+        assertEquals(0L, ((Number) pipeline.getEvents().get(0).get("id")).longValue());
+        assertEquals(2999L, ((Number) pipeline.getEvents().get(2999).get("id")).longValue());
+    }
+
+    @Test
+    public void testCsvReplaySeeksToStartRecordAndKeepsHeader() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = csvFile(3000)) {
+            assertTrue(csvEngine(file, 2501).replay(pipeline, () -> true));
+        }
+
+        assertEquals(500, pipeline.getEvents().size());
+        assertEquals(2500L, ((Number) pipeline.getEvents().get(0).get("id")).longValue());
+        assertEquals(2500000L, ((Number) pipeline.getEvents().get(0).get("timestamp")).longValue());
+    }
+
+    @Test
+    public void testStartRecordAfterEndReplaysNothing() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = csvFile(10)) {
+            assertTrue(csvEngine(file, 100).replay(pipeline, () -> true));
+        }
+
+        assertTrue(pipeline.getEvents().isEmpty());
+    }
+
+    @Test
+    public void testCsvReplayEndsWhenConditionFails() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        AtomicInteger checks = new AtomicInteger();
+        try (MappedFile file = csvFile(100)) {
+            assertFalse(csvEngine(file, 0).replay(pipeline, () -> checks.incrementAndGet() <= 10));
+        }
+
+        // the header is the first record
+        assertEquals(9, pipeline.getEvents().size());
+    }
+
+    @Test
+    public void testReplayParsedFileSkipsStartRecords() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), "[{\"id\":0},{\"id\":1},{\"id\":2}]"))) {
+            FileReplayEngine engine = new FileReplayEngine(file, null, new JsonArrayParser(), new JsonArrayFormat(), 1);
+            assertTrue(engine.replay(pipeline, () -> true));
+        }
+
+        assertEquals(2, pipeline.getEvents().size());
+        assertEquals(1, pipeline.getEvents().get(0).get("id"));
+        assertEquals(2, pipeline.getEvents().get(1).get("id"));
+    }
+
+    @Test
+    public void testParsedReplayEndsWhenConditionFails() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), "[{\"id\":0},{\"id\":1},{\"id\":2}]"))) {
+            FileReplayEngine engine = new FileReplayEngine(file, null, new JsonArrayParser(), new JsonArrayFormat(), 0);
+            assertFalse(engine.replay(pipeline, () -> pipeline.getEvents().isEmpty()));
+        }
+
+        assertEquals(1, pipeline.getEvents().size());
+    }
+
+    @Test
+    public void testRepeatedRoundsResetTheFormat() throws IOException {
+        RecordingPipeline pipeline = new RecordingPipeline();
+        try (MappedFile file = csvFile(5)) {
+            FileReplayEngine engine = csvEngine(file, 0);
+            engine.replay(pipeline, () -> true);
+            engine.replay(pipeline, () -> true);
+        }
+
+        assertEquals(10, pipeline.getEvents().size());
+        assertEquals(0L, ((Number) pipeline.getEvents().get(5).get("id")).longValue());
+    }
+
+    private MappedFile csvFile(int rows) throws IOException {
+        return MappedFile.open(writeFile(folder.newFile(), csv(rows)));
+    }
+
+    private FileReplayEngine csvEngine(MappedFile file, int startRecord) throws IOException {
+        return new FileReplayEngine(file, FileReplayIndex.build(file, ","), new CsvParser(",", true),
+                new CsvFormat(",", true), startRecord);
+    }
+}
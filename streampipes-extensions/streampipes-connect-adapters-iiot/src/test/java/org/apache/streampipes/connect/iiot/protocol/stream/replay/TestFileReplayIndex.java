@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.apache.streampipes.connect.adapter.format.csv.CsvRecordReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayTestUtils.csv;
+import static org.apache.streampipes.connect.iiot.protocol.stream.replay.ReplayTestUtils.writeFile;
+import static org.junit.Assert.assertEquals;
+
+public class TestFileReplayIndex {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIndexCountsRecords() throws IOException {
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), csv(3000)))) {
+            assertEquals(3001, FileReplayIndex.build(file, ",").size());
+        }
+    }
+
+    @Test
+    public void testCheckpointsPointToRecordStarts() throws IOException {
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), csv(3000)))) {
+            FileReplayIndex index = FileReplayIndex.build(file, ",");
+
+            assertEquals(0, index.getCheckpoint(0));
+            assertEquals(0, index.getCheckpoint(FileReplayIndex.CHECKPOINT_INTERVAL - 1));
+            assertEquals(2048, index.getCheckpoint(2500));
+            assertEquals(2048, index.getCheckpoint(10000));
+
+            assertEquals("id,timestamp", readRecord(file, index.getOffset(0)));
+            // record 1024 is the row with id 1023, as the header is the first record
+            assertEquals("1023,1023000", readRecord(file, index.getOffset(1024)));
+            assertEquals("2047,2047000", readRecord(file, index.getOffset(2048)));
+        }
+    }
+
+    @Test
+    public void testQuotedLineBreaksDoNotStartRecords() throws IOException {
+        String csv = "id,text\n1,\"first\nline\"\n2,second\n";
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), csv))) {
+            assertEquals(3, FileReplayIndex.build(file, ",").size());
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        try (MappedFile file = MappedFile.open(writeFile(folder.newFile(), ""))) {
+            assertEquals(0, FileReplayIndex.build(file, ",").size());
+        }
+    }
+
+    private String readRecord(MappedFile file, long offset) throws IOException {
+        return new String(new CsvRecordReader(file.newInputStream(offset), ",").next(), StandardCharsets.UTF_8);
+    }
+}
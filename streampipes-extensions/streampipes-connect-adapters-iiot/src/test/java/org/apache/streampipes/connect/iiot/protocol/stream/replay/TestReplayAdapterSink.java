@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.connect.iiot.protocol.stream.replay;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestReplayAdapterSink {
+
+    private static final TimestampField TIMESTAMP = new TimestampField("timestamp");
+
+    private final List<Map<String, Object>> forwarded = new ArrayList<>();
+
+    @Test
+    public void testEventsArePacedByTimestamp() {
+        ReplayAdapterSink sink = makeSink(false, 2, null, null);
+
+        long start = System.nanoTime();
+        sink.process(event(1000));
+        sink.process(event(1050));
+        sink.process(event(1100));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(3, forwarded.size());
+        assertTrue("elapsed " + elapsedMillis, elapsedMillis >= 45);
+    }
+
+    @Test(timeout = 2000)
+    public void testEventsAreNotPacedWithoutSpeedUp() {
+        ReplayAdapterSink sink = makeSink(false, 0, null, null);
+
+        sink.process(event(0));
+        sink.process(event(TimeUnit.HOURS.toMillis(1)));
+
+        assertEquals(2, forwarded.size());
+    }
+
+    @Test(timeout = 2000)
+    public void testEventsWithoutTimestampAreNotPaced() {
+        ReplayAdapterSink sink = makeSink(false, 1, null, null);
+
+        sink.process(event(0));
+        sink.process(new HashMap<>());
+        sink.process(new HashMap<>());
+
+        assertEquals(3, forwarded.size());
+    }
+
+    @Test(timeout = 2000)
+    public void testNewRoundRestartsPacing() {
+        ReplayAdapterSink sink = makeSink(false, 1, null, null);
+
+        sink.process(event(TimeUnit.HOURS.toMillis(1)));
+        sink.startRound();
+        sink.process(event(0));
+
+        assertEquals(2, forwarded.size());
+    }
+
+    @Test
+    public void testTimeRangeDropsEventsAndEndsRound() {
+        ReplayAdapterSink sink = makeSink(false, 0, 2000L, 3000L);
+
+        sink.process(event(1000));
+        sink.process(event(2000));
+        sink.process(event(3000));
+        assertFalse(sink.isRangeEnded());
+        sink.process(event(4000));
+        assertTrue(sink.isRangeEnded());
+        sink.process(event(2500));
+
+        assertEquals(2, forwarded.size());
+        assertEquals(2000L, forwarded.get(0).get("timestamp"));
+        assertEquals(3000L, forwarded.get(1).get("timestamp"));
+
+        sink.startRound();
+        assertFalse(sink.isRangeEnded());
+    }
+
+    @Test
+    public void testTimestampIsReplacedAfterTransformation() {
+        ReplayAdapterSink sink = new ReplayAdapterSink(this::forward, new TimestampField("nested.time"),
+                true, 0, null, null);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("time", 0L);
+        Map<String, Object> event = new HashMap<>();
+        event.put("nested", nested);
+
+        long before = System.currentTimeMillis();
+        sink.process(event);
+
+        assertTrue((Long) nested.get("time") >= before);
+    }
+
+    @Test
+    public void testEventIsReturnedWithoutSink() {
+        ReplayAdapterSink sink = new ReplayAdapterSink(null, TIMESTAMP, false, 0, null, null);
+        Map<String, Object> event = event(0);
+
+        assertSame(event, sink.process(event));
+        assertNull(sink.process(null));
+    }
+
+    @Test(timeout = 5000)
+    public void testStopEndsWaitingReplay() throws InterruptedException {
+        ReplayAdapterSink sink = makeSink(false, 1, null, null);
+        sink.process(event(0));
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicReference<Map<String, Object>> result = new AtomicReference<>(event(0));
+        Thread replay = new Thread(() -> {
+            waiting.countDown();
+            result.set(sink.process(event(TimeUnit.HOURS.toMillis(1))));
+        });
+        replay.start();
+        waiting.await();
+
+        sink.stop();
+        replay.interrupt();
+        replay.join();
+
+        assertNull(result.get());
+        assertEquals(1, forwarded.size());
+        assertNull(sink.process(event(0)));
+    }
+
+    private ReplayAdapterSink makeSink(boolean replaceTimestamp, float speedUp, Long from, Long to) {
+        return new ReplayAdapterSink(this::forward, TIMESTAMP, replaceTimestamp, speedUp, from, to);
+    }
+
+    private Map<String, Object> forward(Map<String, Object> event) {
+        forwarded.add(event);
+        return event;
+    }
+
+    private Map<String, Object> event(long timestamp) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("timestamp", timestamp);
+        return event;
+    }
+}
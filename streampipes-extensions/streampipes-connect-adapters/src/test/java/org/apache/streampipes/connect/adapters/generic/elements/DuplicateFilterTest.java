@@ -19,12 +19,16 @@
 package org.apache.streampipes.connect.adapters.generic.elements;
 
 import org.junit.Test;
+import org.apache.streampipes.connect.adapter.preprocessing.transform.stream.BloomFilter;
 import org.apache.streampipes.connect.adapter.preprocessing.transform.stream.DuplicateFilterPipelineElement;
 
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -58,6 +62,70 @@ public class DuplicateFilterTest {
     }
 
 
+    @Test
+    public void duplicateProbabilistic() {
+        DuplicateFilterPipelineElement duplicateFilter = new DuplicateFilterPipelineElement("0",
+                DuplicateFilterPipelineElement.Mode.PROBABILISTIC, 1024 * 1024, null);
+        List<Map> events = generateEvents();
+
+        for (Map event : events) {
+            assertNotNull(duplicateFilter.process(event));
+        }
+        assertNull(duplicateFilter.process(events.get(0)));
+        assertEquals(0.1, duplicateFilter.getMetrics().getHitRate(), 0.001);
+    }
+
+    @Test
+    public void memoryIsBounded() {
+        long maxMemoryBytes = 4 * 1024 * 12;
+        DuplicateFilterPipelineElement duplicateFilter = new DuplicateFilterPipelineElement("60",
+                DuplicateFilterPipelineElement.Mode.EXACT, maxMemoryBytes, null);
+
+        for (int i = 0; i < 10000; i++) {
+            assertNotNull(duplicateFilter.process(makeMap("Test", i)));
+        }
+        assertNull(duplicateFilter.process(makeMap("Test", 9999)));
+        assertTrue(duplicateFilter.getMetrics().getMemoryBytes() <= maxMemoryBytes);
+        assertTrue(duplicateFilter.getMetrics().getEarlyRotations() > 0);
+    }
+
+    @Test
+    public void combinedFalsePositiveRateOfFullBloomFilters() {
+        Random random = new Random(42);
+        BloomFilter[] filters = new BloomFilter[4];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = new BloomFilter(64 * 1024, 0.01 / filters.length);
+            while (!filters[i].isFull()) {
+                filters[i].add(random.nextLong());
+            }
+        }
+
+        int falsePositives = 0;
+        int checks = 100000;
+        for (int i = 0; i < checks; i++) {
+            long hash = random.nextLong();
+            for (BloomFilter filter : filters) {
+                if (filter.contains(hash)) {
+                    falsePositives++;
+                    break;
+                }
+            }
+        }
+        assertTrue((double) falsePositives / checks <= 0.01);
+    }
+
+    @Test
+    public void closeUnregistersMetrics() throws Exception {
+        ObjectName objectName = new ObjectName("org.apache.streampipes:type=DuplicateFilter,name="
+                + ObjectName.quote("duplicate-filter-test"));
+        DuplicateFilterPipelineElement duplicateFilter = new DuplicateFilterPipelineElement("0",
+                DuplicateFilterPipelineElement.Mode.EXACT, 1024 * 1024, "duplicate-filter-test");
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+
+        duplicateFilter.close();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
     /* TODO: To stir up the test, adjust the static parameters in the class
             CLEAN_UP_INTERVAL_MILLI_SEC = 1000 * 5; //5 Sec
             LIFE_TIME_EVENT_DUPLICATE = 1000 * 1; //1 Sec
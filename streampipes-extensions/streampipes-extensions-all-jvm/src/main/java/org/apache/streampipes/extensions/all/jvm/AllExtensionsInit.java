@@ -25,6 +25,7 @@ import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
 import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
 import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.injvm.SpInJvmProtocolFactory;
 import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 import org.apache.streampipes.messaging.mqtt.SpMqttProtocolFactory;
@@ -53,7 +54,8 @@ public class AllExtensionsInit extends ExtensionsModelSubmitter {
                 .registerMessagingProtocols(
                         new SpKafkaProtocolFactory(),
                         new SpJmsProtocolFactory(),
-                        new SpMqttProtocolFactory())
+                        new SpMqttProtocolFactory(),
+                        new SpInJvmProtocolFactory())
                 .build();
     }
 }
@@ -24,6 +24,7 @@ import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
 import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
 import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
 import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.injvm.SpInJvmProtocolFactory;
 import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 import org.apache.streampipes.messaging.mqtt.SpMqttProtocolFactory;
@@ -72,7 +73,8 @@ public class AllPipelineElementsInit extends StandaloneModelSubmitter {
             .registerMessagingProtocols(
                     new SpKafkaProtocolFactory(),
                     new SpJmsProtocolFactory(),
-                    new SpMqttProtocolFactory())
+                    new SpMqttProtocolFactory(),
+                    new SpInJvmProtocolFactory())
             .build();
   }
 }
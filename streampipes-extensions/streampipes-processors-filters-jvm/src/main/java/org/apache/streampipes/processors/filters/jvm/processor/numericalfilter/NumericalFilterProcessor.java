@@ -33,10 +33,15 @@ import org.apache.streampipes.sdk.helpers.OutputStrategies;
 import org.apache.streampipes.sdk.utils.Assets;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.PartitionParallelProcessor;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
-public class NumericalFilterProcessor extends StreamPipesDataProcessor {
+import java.util.function.Supplier;
+
+public class NumericalFilterProcessor extends StreamPipesDataProcessor
+        implements PartitionParallelProcessor<ProcessorParams> {
 
   private static final String NUMBER_MAPPING = "number-mapping";
   private static final String VALUE = "value";
@@ -93,10 +98,10 @@ public class NumericalFilterProcessor extends StreamPipesDataProcessor {
   public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
     Boolean satisfiesFilter = false;
 
-    Double value = event.getFieldBySelector(this.filterProperty).getAsPrimitive()
-            .getAsDouble();
+    double value = event.getFieldBySelector(this.filterProperty).getAsPrimitive()
+            .doubleValue();
 
-    Double threshold = this.threshold;
+    double threshold = this.threshold;
 
     if (this.numericalOperator == NumericalOperator.EQ) {
       satisfiesFilter = (Math.abs(value - threshold) < 0.000001);
@@ -121,4 +126,9 @@ public class NumericalFilterProcessor extends StreamPipesDataProcessor {
   public void onDetach() throws SpRuntimeException {
 
   }
+
+  @Override
+  public Supplier<EventProcessor<ProcessorParams>> getReplicaSupplier() {
+    return NumericalFilterProcessor::new;
+  }
 }
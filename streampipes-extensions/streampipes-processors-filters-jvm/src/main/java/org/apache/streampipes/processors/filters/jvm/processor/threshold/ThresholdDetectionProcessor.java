@@ -96,10 +96,10 @@ public class ThresholdDetectionProcessor extends StreamPipesDataProcessor {
   public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
     Boolean satisfiesFilter = false;
 
-    Double value = event.getFieldBySelector(this.filterProperty).getAsPrimitive()
-            .getAsDouble();
+    double value = event.getFieldBySelector(this.filterProperty).getAsPrimitive()
+            .doubleValue();
 
-    Double threshold = this.threshold;
+    double threshold = this.threshold;
 
     if (this.numericalOperator == ThresholdDetectionOperator.EQ) {
       satisfiesFilter = (Math.abs(value - threshold) < 0.000001);
@@ -107,26 +107,38 @@ public class DataLake implements EventSink<DataLakeParameters> {
   @Override
   public void onEvent(Event event) {
     try {
-
-      this.imageProperties.forEach(eventProperty -> {
-        String imageDocId = UUID.randomUUID().toString();
-        String image = event.getFieldByRuntimeName(eventProperty.getRuntimeName()).getAsPrimitive().getAsString();
-
-        this.writeToImageFile(image, imageDocId);
-        event.updateFieldBySelector("s0::" + eventProperty.getRuntimeName(), imageDocId);
-      });
-
+      storeImages(event);
       influxDbClient.save(event, this.eventSchema);
     } catch (SpRuntimeException e) {
       LOG.error(e.getMessage());
     }
   }
 
+  @Override
+  public void onEventBatch(List<Event> events) {
+    try {
+      events.forEach(this::storeImages);
+      influxDbClient.saveAll(events, this.eventSchema);
+    } catch (SpRuntimeException e) {
+      LOG.error(e.getMessage());
+    }
+  }
+
   @Override
   public void onDetach() throws SpRuntimeException {
     influxDbClient.stop();
   }
 
+  private void storeImages(Event event) {
+    this.imageProperties.forEach(eventProperty -> {
+      String imageDocId = UUID.randomUUID().toString();
+      String image = event.getFieldByRuntimeName(eventProperty.getRuntimeName()).getAsPrimitive().getAsString();
+
+      this.writeToImageFile(image, imageDocId);
+      event.updateFieldBySelector("s0::" + eventProperty.getRuntimeName(), imageDocId);
+    });
+  }
+
   private void writeToImageFile(String image, String imageDocId) {
     byte[] data = Base64.decodeBase64(image);
     this.imageStore.storeImage(data, imageDocId);
@@ -26,7 +26,9 @@ import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.vocabulary.XSD;
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBException;
 import org.influxdb.InfluxDBFactory;
+import org.influxdb.dto.BatchPoints;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -46,6 +49,13 @@ public class DataLakeInfluxDbClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataLakeInfluxDbClient.class);
 
+    // the rollup tiers of the data lake (RollupManager in streampipes-data-explorer) miss points
+    // which are written later than the duration of a tier after their timestamp, so time ranges of
+    // such points are reported to this measurement to get the affected buckets aggregated again
+    private static final String LATE_DATA_MEASUREMENT = "sp_rollup_late_data";
+    private static final long LATE_DATA_THRESHOLD_MS = 1000;
+    private static final long LATE_DATA_REPORT_INTERVAL_MS = 1000;
+
     private final String measureName;
     private final String timestampField;
     private final Integer batchSize;
@@ -57,6 +67,12 @@ public class DataLakeInfluxDbClient {
 
     Map<String, String> targetRuntimeNames = new HashMap<>();
 
+    private final String writerId = UUID.randomUUID().toString();
+    private long lateFrom = Long.MAX_VALUE;
+    private long lateTo = Long.MIN_VALUE;
+    private long maxLateness;
+    private long lateDataReportedAt;
+
     DataLakeInfluxDbClient(InfluxDbConnectionSettings settings,
                            String timestampField,
                            Integer batchSize,
@@ -145,6 +161,54 @@ public class DataLakeInfluxDbClient {
      * @throws SpRuntimeException If the column name (key-value of the event map) is not allowed
      */
     void save(Event event, EventSchema schema) throws SpRuntimeException {
+        influxDb.write(makePoint(event, schema));
+        reportLateData(false);
+    }
+
+    /**
+     * Saves a batch of events to the connected InfluxDB database. Batches which are at least as
+     * large as the configured batch size are written with a single request, smaller batches are
+     * added to the client-side batch buffer. Events which cannot be converted are logged and skipped.
+     *
+     * @param events The events which should be saved
+     * @throws SpRuntimeException If the batch could not be written
+     */
+    void saveAll(List<Event> events, EventSchema schema) throws SpRuntimeException {
+        if (events.size() < batchSize) {
+            for (Event event : events) {
+                Point point = makePointOrSkip(event, schema);
+                if (point != null) {
+                    influxDb.write(point);
+                }
+            }
+        } else {
+            BatchPoints batchPoints = BatchPoints.database(settings.getDatabaseName()).build();
+            for (Event event : events) {
+                Point point = makePointOrSkip(event, schema);
+                if (point != null) {
+                    batchPoints.point(point);
+                }
+            }
+            try {
+                influxDb.write(batchPoints);
+            } catch (InfluxDBException e) {
+                throw new SpRuntimeException("Could not write batch of " + batchPoints.getPoints().size()
+                        + " events to measurement " + measureName + ": " + e.getMessage());
+            }
+        }
+        reportLateData(false);
+    }
+
+    private Point makePointOrSkip(Event event, EventSchema schema) {
+        try {
+            return makePoint(event, schema);
+        } catch (RuntimeException e) {
+            LOG.warn("Skipping event which could not be stored in measurement {}: {}", measureName, e.getMessage());
+            return null;
+        }
+    }
+
+    private Point makePoint(Event event, EventSchema schema) throws SpRuntimeException {
         if (event == null) {
             throw new SpRuntimeException("event is null");
         }
@@ -188,13 +252,48 @@ public class DataLakeInfluxDbClient {
             }
         }
 
-        influxDb.write(p.build());
+        Point point = p.build();
+        trackLateness(timestampValue);
+        return point;
+    }
+
+    private synchronized void trackLateness(long timestamp) {
+        long lateness = System.currentTimeMillis() - timestamp;
+        if (lateness > LATE_DATA_THRESHOLD_MS) {
+            lateFrom = Math.min(lateFrom, timestamp);
+            lateTo = Math.max(lateTo, timestamp);
+            maxLateness = Math.max(maxLateness, lateness);
+        }
+    }
+
+    /**
+     * Reports the time range of the late points written since the last report, at most once per
+     * report interval unless forced. The report is written after the points it covers.
+     */
+    private synchronized void reportLateData(boolean force) {
+        long now = System.currentTimeMillis();
+        if (maxLateness == 0 || (!force && now - lateDataReportedAt < LATE_DATA_REPORT_INTERVAL_MS)) {
+            return;
+        }
+        influxDb.write(Point.measurement(LATE_DATA_MEASUREMENT)
+                .time(now, TimeUnit.MILLISECONDS)
+                .tag("measure", measureName)
+                .tag("writer", writerId)
+                .addField("min_time", lateFrom)
+                .addField("max_time", lateTo)
+                .addField("lateness", maxLateness)
+                .build());
+        lateFrom = Long.MAX_VALUE;
+        lateTo = Long.MIN_VALUE;
+        maxLateness = 0;
+        lateDataReportedAt = now;
     }
 
     /**
      * Shuts down the connection to the InfluxDB server
      */
     void stop() {
+        reportLateData(true);
         influxDb.flush();
         try {
             Thread.sleep(1000);
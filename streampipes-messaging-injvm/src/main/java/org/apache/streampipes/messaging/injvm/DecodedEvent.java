@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.injvm;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import java.util.Map;
+
+/**
+ * An event passed through an in-JVM channel without serialization, together with the data format of its producer,
+ * which subscribers use if they need the encoded event.
+ */
+class DecodedEvent {
+
+  private final Map<String, Object> event;
+  private final SpDataFormatDefinition dataFormatDefinition;
+
+  DecodedEvent(Map<String, Object> event,
+               SpDataFormatDefinition dataFormatDefinition) {
+    this.event = event;
+    this.dataFormatDefinition = dataFormatDefinition;
+  }
+
+  Map<String, Object> getEvent() {
+    return event;
+  }
+
+  SpDataFormatDefinition getDataFormatDefinition() {
+    return dataFormatDefinition;
+  }
+}
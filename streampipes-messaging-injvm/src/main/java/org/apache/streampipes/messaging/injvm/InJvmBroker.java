@@ -0,0 +1,47 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.apache.streampipes.messaging.injvm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the channels of all in-JVM topics. A channel lives as long as a producer or consumer is
+ * connected to its topic.
+ */
+public enum InJvmBroker {
+
+  INSTANCE;
+
+  private final Map<String, InJvmChannel> channels = new HashMap<>();
+  private final Map<String, Integer> references = new HashMap<>();
+
+  public synchronized InJvmChannel acquire(String topic) {
+    references.merge(topic, 1, Integer::sum);
+    return channels.computeIfAbsent(topic, InJvmChannel::new);
+  }
+
+  public synchronized void release(String topic) {
+    Integer remaining = references.computeIfPresent(topic, (key, count) -> count > 1 ? count - 1 : null);
+    if (remaining == null) {
+      InJvmChannel channel = channels.remove(topic);
+      if (channel != null) {
+        channel.close();
+      }
+    }
+  }
+}
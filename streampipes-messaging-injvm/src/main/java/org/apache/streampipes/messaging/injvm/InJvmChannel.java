@@ -0,0 +1,146 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.apache.streampipes.messaging.injvm;
+
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of a single in-JVM topic. A dispatcher thread hands queued events to all
+ * subscribers, so that producers are decoupled from consumers as with a message broker. Producers
+ * block while the queue is full. Events published while no consumer is subscribed are discarded.
+ */
+public class InJvmChannel implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InJvmChannel.class);
+
+  private static final int DEFAULT_QUEUE_SIZE = 10000;
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
+  private final String topic;
+  private final BlockingQueue<Object> queue;
+  private final List<InternalEventProcessor<byte[]>> subscribers = new CopyOnWriteArrayList<>();
+
+  private volatile Thread dispatcher;
+
+  public InJvmChannel(String topic) {
+    this.topic = topic;
+    this.queue = new ArrayBlockingQueue<>(Envs.SP_IN_JVM_QUEUE_SIZE.exists()
+            ? Envs.SP_IN_JVM_QUEUE_SIZE.getValueAsInt() : DEFAULT_QUEUE_SIZE);
+  }
+
+  public synchronized void subscribe(InternalEventProcessor<byte[]> subscriber) {
+    subscribers.add(subscriber);
+    if (dispatcher == null) {
+      Thread thread = new Thread(this, "sp-injvm-" + topic);
+      thread.setDaemon(true);
+      this.dispatcher = thread;
+      thread.start();
+    }
+  }
+
+  public synchronized void unsubscribe(InternalEventProcessor<byte[]> subscriber) {
+    subscribers.remove(subscriber);
+    if (subscribers.isEmpty()) {
+      close();
+    }
+  }
+
+  public synchronized void close() {
+    this.dispatcher = null;
+  }
+
+  public void publish(Object event) {
+    try {
+      while (!subscribers.isEmpty()) {
+        if (queue.offer(event, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void run() {
+    List<Object> batch = new ArrayList<>();
+    while (dispatcher == Thread.currentThread()) {
+      try {
+        Object event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (event != null) {
+          batch.add(event);
+          queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+          dispatch(batch);
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not dispatch events of topic {}", topic, e);
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Hands the batch to all subscribers in runs of consecutive events of the same kind, so that encoded and decoded
+   * events keep their order.
+   */
+  private void dispatch(List<Object> batch) {
+    int start = 0;
+    for (int i = 1; i <= batch.size(); i++) {
+      if (i == batch.size() || !sameKind(batch.get(start), batch.get(i))) {
+        dispatchRun(batch.subList(start, i));
+        start = i;
+      }
+    }
+  }
+
+  private void dispatchRun(List<Object> run) {
+    if (run.get(0) instanceof byte[]) {
+      List<byte[]> events = new ArrayList<>(run.size());
+      run.forEach(event -> events.add((byte[]) event));
+      subscribers.forEach(subscriber -> subscriber.onEvents(events));
+    } else {
+      List<Map<String, Object>> events = new ArrayList<>(run.size());
+      run.forEach(event -> events.add(((DecodedEvent) event).getEvent()));
+      SpDataFormatDefinition dataFormatDefinition = ((DecodedEvent) run.get(0)).getDataFormatDefinition();
+      subscribers.forEach(subscriber -> subscriber.onDecodedEvents(events, dataFormatDefinition));
+    }
+  }
+
+  private boolean sameKind(Object first, Object second) {
+    if (first instanceof DecodedEvent && second instanceof DecodedEvent) {
+      return ((DecodedEvent) first).getDataFormatDefinition() == ((DecodedEvent) second).getDataFormatDefinition();
+    }
+    return first.getClass() == second.getClass();
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.apache.streampipes.messaging.injvm;
+
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class InJvmConsumer implements EventConsumer<InJvmTransportProtocol> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InJvmConsumer.class);
+
+  private String topic;
+  private InJvmChannel channel;
+  private InternalEventProcessor<byte[]> eventProcessor;
+  private volatile boolean connected = false;
+
+  @Override
+  public void connect(InJvmTransportProtocol protocolSettings,
+                      InternalEventProcessor<byte[]> eventProcessor) {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.eventProcessor = eventProcessor;
+    this.channel = InJvmBroker.INSTANCE.acquire(topic);
+    this.channel.subscribe(eventProcessor);
+    this.connected = true;
+    LOG.info("In-JVM consumer: Connected to " + topic);
+  }
+
+  @Override
+  public void disconnect() {
+    if (connected) {
+      this.connected = false;
+      channel.unsubscribe(eventProcessor);
+      InJvmBroker.INSTANCE.release(topic);
+      LOG.info("In-JVM consumer: Disconnected from " + topic);
+    }
+  }
+
+  @Override
+  public Boolean isConnected() {
+    return connected;
+  }
+}
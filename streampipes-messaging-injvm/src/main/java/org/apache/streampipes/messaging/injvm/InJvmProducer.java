@@ -0,0 +1,70 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.apache.streampipes.messaging.injvm;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+public class InJvmProducer implements EventProducer<InJvmTransportProtocol> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InJvmProducer.class);
+
+  private String topic;
+  private transient InJvmChannel channel;
+  private boolean connected = false;
+
+  @Override
+  public void connect(InJvmTransportProtocol protocolSettings) {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.channel = InJvmBroker.INSTANCE.acquire(topic);
+    this.connected = true;
+    LOG.info("In-JVM producer: Connected to " + topic);
+  }
+
+  @Override
+  public void publish(byte[] event) {
+    if (connected) {
+      channel.publish(event);
+    }
+  }
+
+  @Override
+  public void publish(Map<String, Object> event, SpDataFormatDefinition dataFormatDefinition) {
+    if (connected) {
+      channel.publish(new DecodedEvent(event, dataFormatDefinition));
+    }
+  }
+
+  @Override
+  public void disconnect() {
+    if (connected) {
+      this.connected = false;
+      InJvmBroker.INSTANCE.release(topic);
+      LOG.info("In-JVM producer: Disconnected from " + topic);
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    return connected;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.injvm;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class InJvmTestUtils {
+
+  public static final long TIMEOUT_MILLIS = 5000;
+
+  /**
+   * Encodes events as the string representation of their map.
+   */
+  public static class StringDataFormat implements SpDataFormatDefinition {
+
+    @Override
+    public Map<String, Object> toMap(byte[] event) {
+      return Collections.singletonMap("value", new String(event, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public byte[] fromMap(Map<String, Object> event) {
+      return event.toString().getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Records encoded events, relying on the default handling of decoded events.
+   */
+  public static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void onEvent(byte[] event) {
+      events.add(new String(event, StandardCharsets.UTF_8));
+    }
+
+    public List<String> awaitEvents(int count) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+      while (events.size() < count && System.currentTimeMillis() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(5);
+      }
+      synchronized (events) {
+        return new ArrayList<>(events);
+      }
+    }
+  }
+
+  public static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
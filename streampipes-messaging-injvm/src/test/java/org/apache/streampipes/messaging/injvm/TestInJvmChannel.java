@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.injvm;
+
+import static org.apache.streampipes.messaging.injvm.InJvmTestUtils.bytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.messaging.injvm.InJvmTestUtils.RecordingProcessor;
+import org.apache.streampipes.messaging.injvm.InJvmTestUtils.StringDataFormat;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestInJvmChannel {
+
+  @Test
+  public void testEventsAreDeliveredToAllSubscribersInOrder() throws InterruptedException {
+    InJvmChannel channel = new InJvmChannel("fan-out");
+    RecordingProcessor first = new RecordingProcessor();
+    RecordingProcessor second = new RecordingProcessor();
+    channel.subscribe(first);
+    channel.subscribe(second);
+
+    for (int i = 0; i < 100; i++) {
+      channel.publish(bytes("event-" + i));
+    }
+
+    assertEquals(100, first.awaitEvents(100).size());
+    assertEquals(first.awaitEvents(100), second.awaitEvents(100));
+    assertEquals("event-0", first.awaitEvents(100).get(0));
+    assertEquals("event-99", first.awaitEvents(100).get(99));
+    channel.close();
+  }
+
+  @Test
+  public void testDecodedEventsAreEncodedForByteSubscribers() throws InterruptedException {
+    InJvmChannel channel = new InJvmChannel("decoded");
+    RecordingProcessor subscriber = new RecordingProcessor();
+    channel.subscribe(subscriber);
+
+    channel.publish(bytes("encoded"));
+    channel.publish(new DecodedEvent(Collections.singletonMap("value", 1), new StringDataFormat()));
+
+    assertEquals(Arrays.asList("encoded", "{value=1}"), subscriber.awaitEvents(2));
+    channel.close();
+  }
+
+  @Test
+  public void testUnsubscribedProcessorReceivesNoEvents() throws InterruptedException {
+    InJvmChannel channel = new InJvmChannel("unsubscribe");
+    RecordingProcessor remaining = new RecordingProcessor();
+    RecordingProcessor removed = new RecordingProcessor();
+    channel.subscribe(remaining);
+    channel.subscribe(removed);
+    channel.unsubscribe(removed);
+
+    channel.publish(bytes("event"));
+
+    assertEquals(1, remaining.awaitEvents(1).size());
+    assertTrue(removed.awaitEvents(0).isEmpty());
+    channel.close();
+  }
+
+  @Test(timeout = 5000)
+  public void testPublishWithoutSubscribersDoesNotBlock() {
+    InJvmChannel channel = new InJvmChannel("no-subscribers");
+    for (int i = 0; i < 20000; i++) {
+      channel.publish(bytes("event"));
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.injvm;
+
+import static org.apache.streampipes.messaging.injvm.InJvmTestUtils.bytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.messaging.injvm.InJvmTestUtils.RecordingProcessor;
+import org.apache.streampipes.messaging.injvm.InJvmTestUtils.StringDataFormat;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestInJvmProducerConsumer {
+
+  @Test
+  public void testProducerAndConsumerShareChannelUntilBothDisconnect() {
+    String topic = "lifecycle";
+    InJvmProducer producer = new InJvmProducer();
+    InJvmConsumer consumer = new InJvmConsumer();
+    producer.connect(new InJvmTransportProtocol(topic));
+    consumer.connect(new InJvmTransportProtocol(topic), new RecordingProcessor());
+
+    InJvmChannel channel = InJvmBroker.INSTANCE.acquire(topic);
+    InJvmBroker.INSTANCE.release(topic);
+
+    consumer.disconnect();
+    assertSame(channel, InJvmBroker.INSTANCE.acquire(topic));
+    InJvmBroker.INSTANCE.release(topic);
+
+    producer.disconnect();
+    assertNotSame(channel, InJvmBroker.INSTANCE.acquire(topic));
+    InJvmBroker.INSTANCE.release(topic);
+  }
+
+  @Test
+  public void testEventsFlowFromProducerToConsumer() throws InterruptedException {
+    String topic = "flow";
+    InJvmProducer producer = new InJvmProducer();
+    InJvmConsumer consumer = new InJvmConsumer();
+    RecordingProcessor processor = new RecordingProcessor();
+    consumer.connect(new InJvmTransportProtocol(topic), processor);
+    producer.connect(new InJvmTransportProtocol(topic));
+    assertTrue(producer.isConnected());
+    assertTrue(consumer.isConnected());
+
+    producer.publish(bytes("encoded"));
+    producer.publish(Collections.singletonMap("value", 1), new StringDataFormat());
+
+    assertEquals(Arrays.asList("encoded", "{value=1}"), processor.awaitEvents(2));
+
+    producer.disconnect();
+    consumer.disconnect();
+    assertFalse(producer.isConnected());
+    assertFalse(consumer.isConnected());
+  }
+
+  @Test
+  public void testDisconnectedProducerDropsEvents() throws InterruptedException {
+    String topic = "disconnected";
+    InJvmProducer producer = new InJvmProducer();
+    InJvmConsumer consumer = new InJvmConsumer();
+    RecordingProcessor processor = new RecordingProcessor();
+    consumer.connect(new InJvmTransportProtocol(topic), processor);
+    producer.connect(new InJvmTransportProtocol(topic));
+
+    producer.disconnect();
+    producer.publish(bytes("dropped"));
+    producer.disconnect();
+
+    assertTrue(processor.awaitEvents(0).isEmpty());
+    consumer.disconnect();
+  }
+}
@@ -96,9 +96,12 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     Duration duration = Duration.of(100, ChronoUnit.MILLIS);
     while (isRunning) {
       ConsumerRecords<byte[], byte[]> records = consumer.poll(duration);
-      records.forEach(record -> {
-        eventProcessor.onEvent(record.value());
-      });
+      for (TopicPartition partition : records.partitions()) {
+        List<ConsumerRecord<byte[], byte[]>> partitionRecords = records.records(partition);
+        List<byte[]> events = new ArrayList<>(partitionRecords.size());
+        partitionRecords.forEach(record -> events.add(record.value()));
+        eventProcessor.onEvents(partition.partition(), events);
+      }
     }
     LOG.info("Closing Kafka Consumer.");
     consumer.close();
@@ -41,6 +41,7 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
   private static final String COLON = ":";
   private static final String SP_KAFKA_RETENTION_MS_DEFAULT = "600000";
+  private static final int SP_KAFKA_PARTITIONS_DEFAULT = 1;
 
   private String brokerUrl;
   private String topic;
@@ -75,6 +76,13 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     }
   }
 
+  @Override
+  public void publish(String key, byte[] message) {
+    if (connected) {
+      producer.send(new ProducerRecord<>(topic, key, message));
+    }
+  }
+
   private Properties makeProperties(KafkaTransportProtocol protocol,
                                     List<KafkaConfigAppender> appenders) {
     return new ProducerConfigFactory(protocol).buildProperties(appenders);
@@ -118,7 +126,9 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
       String retentionTime = Envs.SP_KAFKA_RETENTION_MS.exists() ? Envs.SP_KAFKA_RETENTION_MS.getValue() : SP_KAFKA_RETENTION_MS_DEFAULT;
       topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, retentionTime);
 
-      final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
+      int partitions = Envs.SP_KAFKA_PARTITIONS.exists() ? Envs.SP_KAFKA_PARTITIONS.getValueAsInt() : SP_KAFKA_PARTITIONS_DEFAULT;
+
+      final NewTopic newTopic = new NewTopic(topic, partitions, (short) 1);
       newTopic.configs(topicConfig);
 
       final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
@@ -19,9 +19,11 @@
 package org.apache.streampipes.messaging;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
+import java.util.Map;
 
 public interface EventProducer<TP extends TransportProtocol> extends Serializable {
 
@@ -29,6 +31,22 @@ public interface EventProducer<TP extends TransportProtocol> extends Serializabl
 
     void publish(byte[] event);
 
+    /**
+     * Publishes an event with a partition key, so that events with the same key keep their order.
+     * Protocols without partitions ignore the key.
+     */
+    default void publish(String key, byte[] event) {
+        publish(event);
+    }
+
+    /**
+     * Publishes a decoded event. In-JVM transports hand the event over without serializing it, all other
+     * protocols publish it encoded with the given data format.
+     */
+    default void publish(Map<String, Object> event, SpDataFormatDefinition dataFormatDefinition) {
+        publish(dataFormatDefinition.fromMap(event));
+    }
+
     void disconnect() throws SpRuntimeException;
 
     boolean isConnected();
@@ -18,7 +18,42 @@
 
 package org.apache.streampipes.messaging;
 
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  /**
+   * Receives all events a consumer fetched at once, e.g., the records of a single Kafka poll.
+   */
+  default void onEvents(List<T> events) {
+    events.forEach(this::onEvent);
+  }
+
+  /**
+   * Receives the events of a single partition of a partitioned topic, in partition order.
+   */
+  default void onEvents(int partition, List<T> events) {
+    onEvents(events);
+  }
+
+  /**
+   * Receives events which have not been serialized, as handed over by in-JVM transports. By default, the events
+   * are encoded with the data format of their producer and passed to {@link #onEvents(List)}, as consumers of all
+   * protocols hand over events as byte arrays.
+   */
+  @SuppressWarnings("unchecked")
+  default void onDecodedEvents(List<Map<String, Object>> events,
+                               SpDataFormatDefinition dataFormatDefinition) {
+    List<byte[]> encodedEvents = new ArrayList<>(events.size());
+    for (Map<String, Object> event : events) {
+      encodedEvents.add(dataFormatDefinition.fromMap(event));
+    }
+    onEvents((List<T>) encodedEvents);
+  }
 }
@@ -31,8 +31,11 @@ public class PipelineElementMonitoringInfo {
   private List<ConsumedMessagesInfo> consumedMessagesInfos;
   private ProducedMessagesInfo producedMessagesInfo;
 
+  private List<PipelineElementMonitoringSample> history;
+
   public PipelineElementMonitoringInfo() {
     this.consumedMessagesInfos = new ArrayList<>();
+    this.history = new ArrayList<>();
   }
 
   public String getPipelineElementId() {
@@ -83,4 +86,11 @@ public class PipelineElementMonitoringInfo {
     this.producedMessageInfoExists = producedMessageInfoExists;
   }
 
+  public List<PipelineElementMonitoringSample> getHistory() {
+    return history;
+  }
+
+  public void setHistory(List<PipelineElementMonitoringSample> history) {
+    this.history = history;
+  }
 }
@@ -31,6 +31,7 @@ public class Event {
   private SourceInfo sourceInfo;
   private SchemaInfo schemaInfo;
   private Map<String, AbstractField> fieldMap;
+  private EventLayout eventLayout;
 
   public Event(Map<String, AbstractField> fieldMap, SourceInfo
           sourceInfo, SchemaInfo schemaInfo) {
@@ -39,6 +40,12 @@ public class Event {
     this.schemaInfo = schemaInfo;
   }
 
+  Event(Map<String, AbstractField> fieldMap, SourceInfo sourceInfo, SchemaInfo schemaInfo,
+        EventLayout eventLayout) {
+    this(fieldMap, sourceInfo, schemaInfo);
+    this.eventLayout = eventLayout;
+  }
+
   public Event() {
     this.fieldMap = new HashMap<>();
   }
@@ -59,6 +66,10 @@ public class Event {
     return schemaInfo;
   }
 
+  EventLayout getEventLayout() {
+    return eventLayout;
+  }
+
   public Event merge(Event otherEvent, EventSchema outputSchema) {
     return EventFactory.fromEvents(this, otherEvent, outputSchema);
   }
@@ -79,7 +90,28 @@ public class Event {
   }
 
   public AbstractField getFieldBySelector(String fieldSelector) {
-    return getFieldBySelector(fieldSelector, fieldMap);
+    AbstractField field = fieldMap.get(fieldSelector);
+    if (field == null) {
+      Map<String, AbstractField> parentFieldMap = getParentFieldMap(fieldSelector);
+      field = parentFieldMap != null ? parentFieldMap.get(fieldSelector) : null;
+    }
+    return field != null ? field : getFieldBySelector(fieldSelector, fieldMap);
+  }
+
+  private Map<String, AbstractField> getParentFieldMap(String fieldSelector) {
+    String[] path = eventLayout != null ? eventLayout.getPath(fieldSelector) : null;
+    if (path == null) {
+      return null;
+    }
+    Map<String, AbstractField> currentFieldMap = fieldMap;
+    for (int i = 0; i < path.length - 1; i++) {
+      AbstractField field = currentFieldMap.get(path[i]);
+      if (field == null || !field.isComposite()) {
+        return null;
+      }
+      currentFieldMap = field.getAsComposite().getRawValue();
+    }
+    return currentFieldMap;
   }
 
   private AbstractField getFieldBySelector(String fieldSelector, Map<String, AbstractField>
@@ -99,8 +131,12 @@ public class Event {
   }
 
   public void updateFieldBySelector(String selector, AbstractField field) {
+    Map<String, AbstractField> parentFieldMap;
     if (fieldMap.containsKey(selector)) {
       fieldMap.put(selector, field);
+    } else if ((parentFieldMap = getParentFieldMap(selector)) != null
+            && parentFieldMap.containsKey(selector)) {
+      parentFieldMap.put(selector, field);
     } else {
       updateFieldMap(fieldMap.get(makeSelector(selector, 2))
               .getAsComposite()
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a single event from a sequence of structural tokens. Keys are ignored for items that are
+ * added to a list.
+ */
+public class EventAssembler {
+
+  private static final int DEFAULT_SIZE = 16;
+
+  private final EventLayout eventLayout;
+  private final Deque<Frame> frames;
+  private final Frame rootFrame;
+
+  EventAssembler(EventLayout eventLayout) {
+    this.eventLayout = eventLayout;
+    this.frames = new ArrayDeque<>();
+    this.rootFrame = new Frame(eventLayout.getRoot(), EventLayout.makeFieldMap(DEFAULT_SIZE), null);
+    this.frames.push(rootFrame);
+  }
+
+  public void beginObject(String key) {
+    frames.push(new Frame(childSlot(key), EventLayout.makeFieldMap(DEFAULT_SIZE), null));
+  }
+
+  public void beginList(String key) {
+    frames.push(new Frame(childSlot(key), null, new ArrayList<>()));
+  }
+
+  public void end() {
+    if (frames.size() == 1) {
+      throw new IllegalStateException("No nested object or list to end");
+    }
+    Frame frame = frames.pop();
+    EventLayout.Slot slot = frame.slot;
+    if (frame.fields != null) {
+      add(slot, new NestedField(slot.runtimeNameIn, slot.runtimeNameOut, frame.fields));
+    } else {
+      add(slot, new ListField(slot.runtimeNameIn, slot.runtimeNameOut, frame.items));
+    }
+  }
+
+  public void value(String key, Object value) {
+    EventLayout.Slot slot = childSlot(key);
+    add(slot, new PrimitiveField(slot.runtimeNameIn, slot.runtimeNameOut, value));
+  }
+
+  public Event build() {
+    if (frames.size() != 1) {
+      throw new IllegalStateException("Event contains unfinished nested objects or lists");
+    }
+    return new Event(rootFrame.fields, eventLayout.getSourceInfo(), eventLayout.getSchemaInfo(),
+            eventLayout);
+  }
+
+  private EventLayout.Slot childSlot(String key) {
+    Frame current = frames.peek();
+    return current.items != null
+            ? current.slot.listItem(current.items.size())
+            : current.slot.child(key);
+  }
+
+  private void add(EventLayout.Slot slot, AbstractField field) {
+    Frame current = frames.peek();
+    if (current.items != null) {
+      current.items.add(field);
+    } else {
+      current.fields.put(slot.selector, field);
+    }
+  }
+
+  private static class Frame {
+
+    private final EventLayout.Slot slot;
+    private final Map<String, AbstractField> fields;
+    private final List<AbstractField> items;
+
+    private Frame(EventLayout.Slot slot, Map<String, AbstractField> fields,
+                  List<AbstractField> items) {
+      this.slot = slot;
+      this.fields = fields;
+      this.items = items;
+    }
+  }
+}
@@ -28,8 +28,10 @@ import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class EventFactory {
 
@@ -76,9 +78,15 @@ public class EventFactory {
     return new Event(fields, sourceInfo, schemaInfo);
   }
 
+  public static Event fromMap(Map<String, Object> event, EventLayout eventLayout) {
+    return eventLayout.makeEvent(event);
+  }
+
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
-    Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
-    return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
+    Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(),
+            new HashSet<>(fieldSelectors));
+    return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo(),
+            event.getEventLayout());
   }
 
   private static Map<String, Object> makeRuntimeMapSubset(Map<String, Object> event, List<String>
@@ -99,10 +107,10 @@ public class EventFactory {
   }
 
   private static Map<String, AbstractField> makeFieldMap(Map<String, AbstractField> fields,
-                                                         List<String> fieldSelectors) {
+                                                         Set<String> fieldSelectors) {
     Map<String, AbstractField> outMap = new HashMap<>();
     for (String key : fields.keySet()) {
-      if (contains(key, fieldSelectors)) {
+      if (fieldSelectors.contains(key)) {
         AbstractField field = fields.get(key);
         if (PrimitiveField.class.isInstance(field) || ListField.class.isInstance(field)) {
           outMap.put(key, field);
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A layout of an input stream compiled once per {@link SourceInfo} and {@link SchemaInfo}.
+ * Field selectors and rename rules are resolved ahead of time, so that creating an event only
+ * requires hash lookups instead of building selector strings and evaluating rename rules for
+ * every incoming message. Keys that are not part of the event schema are compiled on first sight.
+ */
+public class EventLayout {
+
+  private static final int MAX_SLOTS = 10000;
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final Map<String, String> renameIndex;
+  private final Map<String, Slot> selectorIndex;
+  private final Slot root;
+  private final AtomicInteger slotCount;
+
+  public EventLayout(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.renameIndex = makeRenameIndex(schemaInfo.getRenameRules());
+    this.selectorIndex = new ConcurrentHashMap<>();
+    this.slotCount = new AtomicInteger(0);
+    this.root = new Slot(sourceInfo.getSelectorPrefix(), null, null, new String[0], true);
+    if (schemaInfo.getEventSchema() != null) {
+      compile(root, schemaInfo.getEventSchema().getEventProperties());
+    }
+  }
+
+  public Event makeEvent(Map<String, Object> event) {
+    return new Event(makeFieldMap(root, event), sourceInfo, schemaInfo, this);
+  }
+
+  /**
+   * Creates an assembler which builds a single event from a stream of keys and values, e.g.,
+   * emitted by a streaming parser, without creating an intermediate map.
+   */
+  public EventAssembler newAssembler() {
+    return new EventAssembler(this);
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  /**
+   * Returns the keys of all field maps on the way from the top-level field map to the field
+   * identified by the given selector, or null if the selector is not part of this layout.
+   */
+  public String[] getPath(String selector) {
+    Slot slot = selectorIndex.get(selector);
+    return slot != null ? slot.path : null;
+  }
+
+  private Map<String, AbstractField> makeFieldMap(Slot parent, Map<String, Object> items) {
+    Map<String, AbstractField> fields = makeFieldMap(items.size());
+    items.forEach((key, value) -> {
+      Slot slot = parent.child(key);
+      fields.put(slot.selector, makeField(slot, value));
+    });
+    return fields;
+  }
+
+  Slot getRoot() {
+    return root;
+  }
+
+  static Map<String, AbstractField> makeFieldMap(int expectedSize) {
+    return new LinkedHashMap<>(capacity(expectedSize));
+  }
+
+  private AbstractField makeField(Slot slot, Object o) {
+    if (o instanceof Map) {
+      return new NestedField(slot.runtimeNameIn, slot.runtimeNameOut,
+              makeFieldMap(slot, (Map<String, Object>) o));
+    } else if (o instanceof List) {
+      List<?> values = (List<?>) o;
+      List<AbstractField> items = new ArrayList<>(values.size());
+      for (int i = 0; i < values.size(); i++) {
+        items.add(makeField(slot.listItem(i), values.get(i)));
+      }
+      return new ListField(slot.runtimeNameIn, slot.runtimeNameOut, items);
+    } else {
+      return new PrimitiveField(slot.runtimeNameIn, slot.runtimeNameOut, o);
+    }
+  }
+
+  private void compile(Slot parent, List<EventProperty> eventProperties) {
+    for (EventProperty property : eventProperties) {
+      Slot slot = parent.child(property.getRuntimeName());
+      if (property instanceof EventPropertyNested) {
+        compile(slot, ((EventPropertyNested) property).getEventProperties());
+      }
+    }
+  }
+
+  private Map<String, String> makeRenameIndex(List<PropertyRenameRule> renameRules) {
+    Map<String, String> index = new HashMap<>();
+    // the first matching rule wins, as in the map-based event factory
+    renameRules.forEach(rule -> index.putIfAbsent(rule.getRuntimeId(), rule.getNewRuntimeName()));
+    return index;
+  }
+
+  private static int capacity(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+
+  private static String makeSelector(String prefix, String key) {
+    return prefix + PropertySelectorConstants.PROPERTY_DELIMITER + key;
+  }
+
+  final class Slot {
+
+    final String selector;
+    final String runtimeNameIn;
+    final String runtimeNameOut;
+    private final String[] path;
+    private final boolean indexed;
+    private final Map<String, Slot> children;
+
+    private Slot(String selector,
+                 String runtimeNameIn,
+                 String runtimeNameOut,
+                 String[] path,
+                 boolean indexed) {
+      this.selector = selector;
+      this.runtimeNameIn = runtimeNameIn;
+      this.runtimeNameOut = runtimeNameOut;
+      this.path = path;
+      this.indexed = indexed;
+      this.children = new ConcurrentHashMap<>();
+    }
+
+    Slot child(String key) {
+      Slot slot = children.get(key);
+      if (slot == null) {
+        boolean cacheable = indexed && slotCount.get() < MAX_SLOTS;
+        slot = makeChild(key, makeSelector(selector, key), cacheable);
+        if (cacheable) {
+          Slot existing = children.putIfAbsent(key, slot);
+          if (existing != null) {
+            slot = existing;
+          } else {
+            slotCount.incrementAndGet();
+            selectorIndex.putIfAbsent(slot.selector, slot);
+          }
+        }
+      }
+      return slot;
+    }
+
+    Slot listItem(int index) {
+      // list items are not indexed, their number is not bounded by the schema
+      String itemSelector = makeSelector(selector, String.valueOf(index));
+      return new Slot(itemSelector, "", renameIndex.getOrDefault(itemSelector, ""), null, false);
+    }
+
+    private Slot makeChild(String key, String childSelector, boolean cacheable) {
+      String[] childPath = null;
+      if (cacheable) {
+        childPath = new String[path.length + 1];
+        System.arraycopy(path, 0, childPath, 0, path.length);
+        childPath[path.length] = childSelector;
+      }
+      return new Slot(childSelector, key, renameIndex.getOrDefault(childSelector, key), childPath,
+              cacheable);
+    }
+  }
+}
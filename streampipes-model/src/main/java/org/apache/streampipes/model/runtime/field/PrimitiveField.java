@@ -28,23 +28,63 @@ public class PrimitiveField extends AbstractField<Object> {
   }
 
   public Long getAsLong() {
-    return Long.parseLong(asString(value));
+    return longValue();
   }
 
   public Integer getAsInt() {
-    return Integer.parseInt(asString(value));
+    return intValue();
   }
 
   public Float getAsFloat() {
-    return Float.parseFloat(asString(value));
+    return floatValue();
   }
 
   public Boolean getAsBoolean() {
-    return Boolean.parseBoolean(asString(value));
+    return booleanValue();
   }
 
   public Double getAsDouble() {
-    return Double.parseDouble(asString(value));
+    return doubleValue();
+  }
+
+  public long longValue() {
+    return isIntegral(value) ? ((Number) value).longValue() : Long.parseLong(asString(value));
+  }
+
+  public int intValue() {
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).intValue();
+    } else {
+      return Integer.parseInt(asString(value));
+    }
+  }
+
+  public float floatValue() {
+    if (value instanceof Float || isIntegral(value)) {
+      return ((Number) value).floatValue();
+    } else {
+      return Float.parseFloat(asString(value));
+    }
+  }
+
+  public double doubleValue() {
+    // floats are still parsed from their string representation to keep their decimal value
+    if (value instanceof Double || isIntegral(value)) {
+      return ((Number) value).doubleValue();
+    } else {
+      return Double.parseDouble(asString(value));
+    }
+  }
+
+  public boolean booleanValue() {
+    return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(asString(value));
+  }
+
+  private boolean isIntegral(Object value) {
+    return value instanceof Long
+            || value instanceof Integer
+            || value instanceof Short
+            || value instanceof Byte;
   }
 
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class TestEventLayout {
+
+  @Test
+  public void testLayoutMatchesFactory() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    SourceInfo sourceInfo = RuntimeTestUtils.getSourceInfo();
+    SchemaInfo schemaInfo = new SchemaInfo(null, Collections.emptyList());
+
+    Event expected = EventFactory.fromMap(runtimeMap, sourceInfo, schemaInfo);
+    Event event = new EventLayout(sourceInfo, schemaInfo).makeEvent(runtimeMap);
+
+    assertEquals(new EventConverter(expected).toMap(), new EventConverter(event).toMap());
+    assertEquals(expected.getFields().keySet(), event.getFields().keySet());
+  }
+
+  @Test
+  public void testRenameRules() {
+    PropertyRenameRule rule = new PropertyRenameRule("s0::nested", "ns");
+    PropertyRenameRule rule2 = new PropertyRenameRule("s0::nested::timestamp2", "ts2");
+    EventLayout layout = new EventLayout(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Arrays.asList(rule, rule2)));
+
+    Event event = layout.makeEvent(RuntimeTestUtils.nestedMap());
+
+    assertEquals("ns", event.getFieldBySelector("s0::nested").getFieldNameOut());
+    assertEquals("ts2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameOut());
+    assertEquals("timestamp", event.getFieldBySelector("s0::timestamp").getFieldNameOut());
+  }
+
+  @Test
+  public void testNestedFieldUpdate() {
+    EventLayout layout = new EventLayout(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Collections.emptyList()));
+
+    for (int i = 0; i < 2; i++) {
+      Event event = layout.makeEvent(RuntimeTestUtils.nestedMap());
+
+      assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+              .getAsPrimitive()
+              .getAsInt());
+
+      event.updateFieldBySelector("s0::nested::timestamp2",
+              new PrimitiveField("timestamp2", "timestamp2", 6));
+
+      assertEquals(Integer.valueOf(6), event.getFieldBySelector("s0::nested::timestamp2")
+              .getAsPrimitive()
+              .getAsInt());
+    }
+  }
+
+  @Test
+  public void testSubsetKeepsLayout() {
+    EventLayout layout = new EventLayout(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Collections.emptyList()));
+    Event event = layout.makeEvent(RuntimeTestUtils.nestedMap());
+
+    Event subset = event.getSubset(Arrays.asList("s0::nested", "s0::nested::timestamp2"));
+
+    assertEquals(1, subset.getFields().size());
+    assertEquals(Integer.valueOf(2), subset.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+
+  @Test
+  public void testAssemblerMatchesMap() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("list", Arrays.asList(1, 2));
+    EventLayout layout = new EventLayout(RuntimeTestUtils.getSourceInfo(),
+            new SchemaInfo(null, Collections.emptyList()));
+
+    EventAssembler assembler = layout.newAssembler();
+    assembler.value("timestamp", 1);
+    assembler.beginObject("nested");
+    assembler.value("timestamp", 1);
+    assembler.value("timestamp2", 2);
+    assembler.end();
+    assembler.beginList("list");
+    assembler.value(null, 1);
+    assembler.value(null, 2);
+    assembler.end();
+    Event event = assembler.build();
+
+    assertEquals(new EventConverter(layout.makeEvent(runtimeMap)).toMap(),
+            new EventConverter(event).toMap());
+    assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+            .getAsPrimitive()
+            .getAsInt());
+  }
+}
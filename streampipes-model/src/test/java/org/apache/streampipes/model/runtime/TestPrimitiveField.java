@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.junit.Test;
+
+public class TestPrimitiveField {
+
+  @Test
+  public void testNumericValues() {
+    assertEquals(2.5, new PrimitiveField("a", "a", 2.5).doubleValue(), 0.0);
+    assertEquals(3.0, new PrimitiveField("a", "a", 3L).doubleValue(), 0.0);
+    assertEquals(0.1f, new PrimitiveField("a", "a", 0.1f).floatValue(), 0.0f);
+    assertEquals(0.1, new PrimitiveField("a", "a", 0.1f).doubleValue(), 0.0);
+    assertEquals(1650000000000L, new PrimitiveField("a", "a", 1650000000000L).longValue());
+    assertEquals(42, new PrimitiveField("a", "a", 42).intValue());
+    assertEquals(Integer.valueOf(42), new PrimitiveField("a", "a", 42L).getAsInt());
+  }
+
+  @Test
+  public void testStringValues() {
+    assertEquals(2.5, new PrimitiveField("a", "a", "2.5").doubleValue(), 0.0);
+    assertEquals(7L, new PrimitiveField("a", "a", "7").longValue());
+    assertTrue(new PrimitiveField("a", "a", "true").booleanValue());
+    assertTrue(new PrimitiveField("a", "a", true).getAsBoolean());
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testDecimalAsLong() {
+    new PrimitiveField("a", "a", 2.5).longValue();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.connect.adapter.preprocessing.elements.CompiledTransformationAdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformSchemaAdapterPipelineElement;
+import org.apache.streampipes.connect.adapter.preprocessing.elements.TransformValueAdapterPipelineElement;
+import org.apache.streampipes.connect.api.IAdapterPipelineElement;
+import org.apache.streampipes.model.connect.rules.schema.CreateNestedRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.DeleteRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.MoveRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.SchemaTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.UnitTransformRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.ValueTransformationRuleDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the schema and value transformation of adapter events by the chain of rule based
+ * pipeline elements with the compiled transformation. As the transformations modify the event,
+ * each invocation works on a fresh copy, the cost of which is measured by {@link #copyOnly()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdapterTransformationBenchmark {
+
+  private static final String CELSIUS = "http://qudt.org/vocab/unit#DegreeCelsius";
+  private static final String KELVIN = "http://qudt.org/vocab/unit#Kelvin";
+
+  private List<IAdapterPipelineElement> ruleChain;
+  private IAdapterPipelineElement compiled;
+  private Map<String, Object> event;
+
+  @Setup
+  public void setup() {
+    List<SchemaTransformationRuleDescription> schemaRules = Arrays.asList(
+            new RenameRuleDescription("sensorId", "id"),
+            new RenameRuleDescription("measurement.temp", "measurement.temperature"),
+            new CreateNestedRuleDescription("location"),
+            new MoveRuleDescription("latitude", "location"),
+            new MoveRuleDescription("longitude", "location"),
+            new DeleteRuleDescription("debug"));
+    List<ValueTransformationRuleDescription> valueRules = Arrays.asList(
+            new UnitTransformRuleDescription("measurement.temperature", CELSIUS, KELVIN),
+            new TimestampTranfsformationRuleDescription("timestamp", "timeUnit", null, 1000L),
+            new CorrectionValueTransformationRuleDescription("measurement.pressure", 1.5, "ADD"));
+
+    ruleChain = Arrays.asList(new TransformSchemaAdapterPipelineElement(schemaRules),
+            new TransformValueAdapterPipelineElement(valueRules));
+    compiled = new CompiledTransformationAdapterPipelineElement(schemaRules, valueRules);
+
+    Map<String, Object> measurement = new HashMap<>();
+    measurement.put("temp", 21.5);
+    measurement.put("pressure", 1013.25);
+    measurement.put("humidity", 48);
+
+    event = new HashMap<>();
+    event.put("sensorId", "sensor-1");
+    event.put("timestamp", 1650000000L);
+    event.put("latitude", 49.01);
+    event.put("longitude", 8.4);
+    event.put("debug", "abc");
+    event.put("measurement", measurement);
+  }
+
+  @Benchmark
+  public Map<String, Object> copyOnly() {
+    return copy(event);
+  }
+
+  @Benchmark
+  public Map<String, Object> ruleChain() {
+    Map<String, Object> result = copy(event);
+    for (IAdapterPipelineElement element : ruleChain) {
+      result = element.process(result);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Map<String, Object> compiled() {
+    return compiled.process(copy(event));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> copy(Map<String, Object> map) {
+    Map<String, Object> copy = new HashMap<>(map);
+    copy.replaceAll((key, value) -> value instanceof Map ? copy((Map<String, Object>) value) : value);
+    return copy;
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates events and matching event schemas for the benchmarks. A flat event consists of
+ * fieldCount primitive fields, a nested event distributes the same number of primitive fields
+ * over groups which are nested {@link #NESTING_DEPTH} levels deep.
+ */
+public class BenchmarkEvents {
+
+  public static final String FLAT = "flat";
+  public static final String NESTED = "nested";
+
+  static final String SELECTOR_PREFIX = "s0";
+
+  private static final int FIELDS_PER_GROUP = 5;
+  private static final int NESTING_DEPTH = 4;
+
+  private final Map<String, Object> event;
+  private final EventSchema eventSchema;
+  private final String lastFieldSelector;
+  private String firstFieldSelector;
+
+  public BenchmarkEvents(String shape, int fieldCount) {
+    this.event = new LinkedHashMap<>();
+    List<EventProperty> properties = new ArrayList<>();
+    if (FLAT.equals(shape)) {
+      this.lastFieldSelector = addFields(event, properties, 0, fieldCount, SELECTOR_PREFIX);
+    } else if (NESTED.equals(shape)) {
+      String selector = null;
+      for (int group = 0; group * FIELDS_PER_GROUP < fieldCount; group++) {
+        int first = group * FIELDS_PER_GROUP;
+        int last = Math.min(fieldCount, first + FIELDS_PER_GROUP);
+        selector = addGroup(event, properties, "group_" + group, first, last, NESTING_DEPTH,
+                SELECTOR_PREFIX);
+      }
+      this.lastFieldSelector = selector;
+    } else {
+      throw new IllegalArgumentException("Unknown event shape " + shape);
+    }
+    this.eventSchema = new EventSchema(properties);
+  }
+
+  public Map<String, Object> getEvent() {
+    return event;
+  }
+
+  public EventSchema getEventSchema() {
+    return eventSchema;
+  }
+
+  /**
+   * Returns the selector of the first field of the event, which is always a double value.
+   */
+  public String getFirstFieldSelector() {
+    return firstFieldSelector;
+  }
+
+  /**
+   * Returns the selector of the last field of the event, which is the most deeply nested one for
+   * nested events.
+   */
+  public String getLastFieldSelector() {
+    return lastFieldSelector;
+  }
+
+  public SourceInfo makeSourceInfo() {
+    return new SourceInfo("benchmark", SELECTOR_PREFIX);
+  }
+
+  public SchemaInfo makeSchemaInfo() {
+    return new SchemaInfo(eventSchema, new ArrayList<>());
+  }
+
+  public EventLayout makeEventLayout() {
+    return new EventLayout(makeSourceInfo(), makeSchemaInfo());
+  }
+
+  private String addGroup(Map<String, Object> parent,
+                          List<EventProperty> parentProperties,
+                          String name,
+                          int first,
+                          int last,
+                          int depth,
+                          String prefix) {
+    Map<String, Object> nested = new LinkedHashMap<>();
+    List<EventProperty> nestedProperties = new ArrayList<>();
+    String selector = makeSelector(prefix, name);
+    String lastSelector;
+    if (depth == 1) {
+      lastSelector = addFields(nested, nestedProperties, first, last, selector);
+    } else {
+      lastSelector = addGroup(nested, nestedProperties, "level_" + (NESTING_DEPTH - depth + 1), first, last, depth - 1,
+              selector);
+    }
+    parent.put(name, nested);
+    parentProperties.add(new EventPropertyNested(name, nestedProperties));
+    return lastSelector;
+  }
+
+  private String addFields(Map<String, Object> fields,
+                           List<EventProperty> properties,
+                           int first,
+                           int last,
+                           String prefix) {
+    String selector = null;
+    for (int i = first; i < last; i++) {
+      String name = "field_" + i;
+      switch (i % 4) {
+        case 0:
+          fields.put(name, 20.5 + i);
+          properties.add(primitive(XSD._double.toString(), name));
+          break;
+        case 1:
+          fields.put(name, 1650000000000L + i);
+          properties.add(primitive(XSD._long.toString(), name));
+          break;
+        case 2:
+          fields.put(name, "sensor-" + i);
+          properties.add(primitive(XSD._string.toString(), name));
+          break;
+        default:
+          fields.put(name, i % 3 == 0);
+          properties.add(primitive(XSD._boolean.toString(), name));
+      }
+      selector = makeSelector(prefix, name);
+      if (i == 0) {
+        firstFieldSelector = selector;
+      }
+    }
+    return selector;
+  }
+
+  private EventPropertyPrimitive primitive(String runtimeType, String runtimeName) {
+    return new EventPropertyPrimitive(runtimeType, runtimeName, "", Collections.emptyList());
+  }
+
+  private String makeSelector(String prefix, String name) {
+    return prefix + PropertySelectorConstants.PROPERTY_DELIMITER + name;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.fst.FstDataFormatDefinition;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.apache.streampipes.dataformat.smile.SmileDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding and encoding of events with the data formats supported by the standalone
+ * wrapper, both through the intermediate map and directly into and from an {@link Event}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataFormatBenchmark {
+
+  @Param({"json", "cbor", "fst", "smile"})
+  private String format;
+
+  @Param({BenchmarkEvents.FLAT, BenchmarkEvents.NESTED})
+  private String shape;
+
+  @Param({"10", "50", "200"})
+  private int fieldCount;
+
+  private SpDataFormatDefinition dataFormatDefinition;
+  private EventLayout eventLayout;
+  private Map<String, Object> map;
+  private Event event;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() throws SpRuntimeException {
+    BenchmarkEvents events = new BenchmarkEvents(shape, fieldCount);
+    dataFormatDefinition = makeDataFormatDefinition(format);
+    eventLayout = events.makeEventLayout();
+    map = events.getEvent();
+    event = eventLayout.makeEvent(map);
+    bytes = dataFormatDefinition.fromMap(map);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() throws SpRuntimeException {
+    return dataFormatDefinition.toMap(bytes);
+  }
+
+  @Benchmark
+  public byte[] fromMap() throws SpRuntimeException {
+    return dataFormatDefinition.fromMap(map);
+  }
+
+  @Benchmark
+  public Event toEvent() throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(bytes, eventLayout);
+  }
+
+  @Benchmark
+  public byte[] fromEvent() throws SpRuntimeException {
+    return dataFormatDefinition.fromEvent(event);
+  }
+
+  static SpDataFormatDefinition makeDataFormatDefinition(String format) {
+    switch (format) {
+      case "json":
+        return new JsonDataFormatDefinition();
+      case "cbor":
+        return new CborDataFormatDefinition();
+      case "fst":
+        return new FstDataFormatDefinition();
+      case "smile":
+        return new SmileDataFormatDefinition();
+      default:
+        throw new IllegalArgumentException("Unknown data format " + format);
+    }
+  }
+}
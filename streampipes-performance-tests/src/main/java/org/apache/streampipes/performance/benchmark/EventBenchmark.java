@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of events from decoded maps, field access by selector and the conversion
+ * of events back into maps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+
+  @Param({BenchmarkEvents.FLAT, BenchmarkEvents.NESTED})
+  private String shape;
+
+  @Param({"10", "50", "200"})
+  private int fieldCount;
+
+  private Map<String, Object> map;
+  private SourceInfo sourceInfo;
+  private SchemaInfo schemaInfo;
+  private EventLayout eventLayout;
+  private Event event;
+  private Event eventWithoutLayout;
+  private String lastFieldSelector;
+
+  @Setup
+  public void setup() {
+    BenchmarkEvents events = new BenchmarkEvents(shape, fieldCount);
+    map = events.getEvent();
+    sourceInfo = events.makeSourceInfo();
+    schemaInfo = events.makeSchemaInfo();
+    eventLayout = events.makeEventLayout();
+    event = EventFactory.fromMap(map, eventLayout);
+    eventWithoutLayout = EventFactory.fromMap(map, sourceInfo, schemaInfo);
+    lastFieldSelector = events.getLastFieldSelector();
+  }
+
+  @Benchmark
+  public Event fromMap() {
+    return EventFactory.fromMap(map, sourceInfo, schemaInfo);
+  }
+
+  @Benchmark
+  public Event fromMapWithLayout() {
+    return EventFactory.fromMap(map, eventLayout);
+  }
+
+  @Benchmark
+  public AbstractField getFieldBySelector() {
+    return eventWithoutLayout.getFieldBySelector(lastFieldSelector);
+  }
+
+  @Benchmark
+  public AbstractField getFieldBySelectorWithLayout() {
+    return event.getFieldBySelector(lastFieldSelector);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return new EventConverter(event).toMap();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the typed accessors of {@link PrimitiveField} with the previous implementation, which
+ * converted every value to a string and parsed it again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveFieldBenchmark {
+
+  private PrimitiveField doubleField;
+  private PrimitiveField longField;
+  private PrimitiveField integerField;
+
+  @Setup
+  public void setup() {
+    doubleField = new PrimitiveField("temperature", "temperature", 23.456);
+    longField = new PrimitiveField("timestamp", "timestamp", 1650000000000L);
+    integerField = new PrimitiveField("count", "count", 42);
+  }
+
+  @Benchmark
+  public double doubleFromString() {
+    return Double.parseDouble(String.valueOf(doubleField.getRawValue()));
+  }
+
+  @Benchmark
+  public double doubleTyped() {
+    return doubleField.doubleValue();
+  }
+
+  @Benchmark
+  public long longFromString() {
+    return Long.parseLong(String.valueOf(longField.getRawValue()));
+  }
+
+  @Benchmark
+  public long longTyped() {
+    return longField.longValue();
+  }
+
+  @Benchmark
+  public int intFromString() {
+    return Integer.parseInt(String.valueOf(integerField.getRawValue()));
+  }
+
+  @Benchmark
+  public int intTyped() {
+    return integerField.intValue();
+  }
+
+  @Benchmark
+  public double doubleFromIntegerTyped() {
+    return integerField.doubleValue();
+  }
+}
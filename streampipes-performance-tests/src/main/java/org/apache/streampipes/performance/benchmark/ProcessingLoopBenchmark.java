@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.performance.benchmark;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.dataformat.cbor.CborDataFormatFactory;
+import org.apache.streampipes.dataformat.fst.FstDataFormatFactory;
+import org.apache.streampipes.dataformat.json.JsonDataFormatFactory;
+import org.apache.streampipes.dataformat.smile.SmileDataFormatFactory;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.vocabulary.MessageFormat;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the complete path of an event through a standalone pipeline element: the input
+ * collector receives the raw bytes as they arrive from the broker, the event is decoded and
+ * handed to a processor, which reads and adds a field, and the result is encoded and published
+ * by the output collector. The broker is replaced by a stub protocol, so only the time spent in
+ * the wrapper is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessingLoopBenchmark {
+
+  private static final String INPUT_TOPIC = "benchmark.input";
+  private static final String OUTPUT_TOPIC = "benchmark.output";
+
+  static {
+    SpProtocolManager.INSTANCE.register(new StubProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new JsonDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new CborDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new FstDataFormatFactory());
+    SpDataFormatManager.INSTANCE.register(new SmileDataFormatFactory());
+  }
+
+  @Param({"json", "cbor", "fst", "smile"})
+  private String format;
+
+  @Param({BenchmarkEvents.FLAT, BenchmarkEvents.NESTED})
+  private String shape;
+
+  @Param({"10", "50", "200"})
+  private int fieldCount;
+
+  private StandaloneSpInputCollector<?> inputCollector;
+  private StandaloneSpOutputCollector<?> outputCollector;
+  private byte[] rawEvent;
+
+  @Setup
+  public void setup() throws SpRuntimeException {
+    BenchmarkEvents events = new BenchmarkEvents(shape, fieldCount);
+    TransportFormat transportFormat = makeTransportFormat(format);
+
+    inputCollector = ProtocolManager.acquireInputCollector(makeProtocol(INPUT_TOPIC),
+            transportFormat, false);
+    outputCollector = ProtocolManager.acquireOutputCollector(makeProtocol(OUTPUT_TOPIC),
+            transportFormat);
+    outputCollector.connect();
+
+    inputCollector.registerConsumer("benchmark", new Processor(events.makeEventLayout(),
+            events.getFirstFieldSelector(), outputCollector));
+    rawEvent = DataFormatBenchmark.makeDataFormatDefinition(format).fromMap(events.getEvent());
+  }
+
+  @TearDown
+  public void tearDown() throws SpRuntimeException {
+    inputCollector.unregisterConsumer("benchmark");
+    ProtocolManager.releaseInputCollector(inputCollector);
+    ProtocolManager.releaseOutputCollector(outputCollector);
+  }
+
+  @Benchmark
+  public long processEvent() {
+    inputCollector.onEvent(rawEvent);
+    return StubProducer.publishedBytes;
+  }
+
+  private KafkaTransportProtocol makeProtocol(String topic) {
+    return new KafkaTransportProtocol("localhost", 9092, topic);
+  }
+
+  private TransportFormat makeTransportFormat(String format) {
+    switch (format) {
+      case "json":
+        return new TransportFormat(MessageFormat.Json);
+      case "cbor":
+        return new TransportFormat(MessageFormat.Cbor);
+      case "fst":
+        return new TransportFormat(MessageFormat.Fst);
+      case "smile":
+        return new TransportFormat(MessageFormat.Smile);
+      default:
+        throw new IllegalArgumentException("Unknown data format " + format);
+    }
+  }
+
+  private static class Processor implements RawDataProcessor {
+
+    private final EventLayout eventLayout;
+    private final String selector;
+    private final StandaloneSpOutputCollector<?> outputCollector;
+
+    Processor(EventLayout eventLayout, String selector, StandaloneSpOutputCollector<?> outputCollector) {
+      this.eventLayout = eventLayout;
+      this.selector = selector;
+      this.outputCollector = outputCollector;
+    }
+
+    @Override
+    public void process(Map<String, Object> rawEvent, String sourceInfo) {
+      process(eventLayout.makeEvent(rawEvent));
+    }
+
+    @Override
+    public void process(byte[] rawEvent,
+                        SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) throws SpRuntimeException {
+      process(dataFormatDefinition.toEvent(rawEvent, eventLayout));
+    }
+
+    private void process(Event event) {
+      double value = event.getFieldBySelector(selector).getAsPrimitive().doubleValue();
+      event.addField("result", value * 2);
+      outputCollector.collect(event);
+    }
+  }
+
+  /**
+   * Replaces the Kafka protocol with a consumer which is fed by the benchmark and a producer
+   * which only counts the published bytes.
+   */
+  private static class StubProtocolFactory extends SpProtocolDefinitionFactory<KafkaTransportProtocol> {
+
+    @Override
+    public TransportProtocol getTransportProtocol() {
+      return new KafkaTransportProtocol();
+    }
+
+    @Override
+    public String getTransportProtocolClass() {
+      return KafkaTransportProtocol.class.getCanonicalName();
+    }
+
+    @Override
+    public SpProtocolDefinition<KafkaTransportProtocol> createInstance() {
+      StubConsumer consumer = new StubConsumer();
+      StubProducer producer = new StubProducer();
+      return new SpProtocolDefinition<KafkaTransportProtocol>() {
+        @Override
+        public EventConsumer<KafkaTransportProtocol> getConsumer() {
+          return consumer;
+        }
+
+        @Override
+        public EventProducer<KafkaTransportProtocol> getProducer() {
+          return producer;
+        }
+      };
+    }
+  }
+
+  private static class StubConsumer implements EventConsumer<KafkaTransportProtocol> {
+
+    private boolean connected;
+
+    @Override
+    public void connect(KafkaTransportProtocol protocolSettings,
+                        InternalEventProcessor<byte[]> eventProcessor) {
+      connected = true;
+    }
+
+    @Override
+    public void disconnect() {
+      connected = false;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return connected;
+    }
+  }
+
+  private static class StubProducer implements EventProducer<KafkaTransportProtocol> {
+
+    private static long publishedBytes;
+
+    private boolean connected;
+
+    @Override
+    public void connect(KafkaTransportProtocol protocolSettings) {
+      connected = true;
+    }
+
+    @Override
+    public void publish(byte[] event) {
+      publishedBytes += event.length;
+    }
+
+    @Override
+    public void disconnect() {
+      connected = false;
+    }
+
+    @Override
+    public boolean isConnected() {
+      return connected;
+    }
+  }
+}
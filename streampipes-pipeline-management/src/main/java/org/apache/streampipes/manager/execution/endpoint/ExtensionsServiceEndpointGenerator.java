@@ -54,7 +54,7 @@ public class ExtensionsServiceEndpointGenerator {
     return selectService();
   }
 
-  private List<String> getServiceEndpoints() {
+  public List<String> getServiceEndpoints() {
     return SpServiceDiscovery.getServiceDiscovery().getServiceEndpoints(DefaultSpServiceGroups.EXT, true,
             Collections.singletonList(this.spServiceUrlProvider.getServiceTag(appId).asString()));
   }
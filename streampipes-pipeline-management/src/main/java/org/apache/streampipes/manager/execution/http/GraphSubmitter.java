@@ -18,9 +18,12 @@
 
 package org.apache.streampipes.manager.execution.http;
 
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.constants.InstanceIdExtractor;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 import org.slf4j.Logger;
@@ -28,15 +31,33 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Invokes and detaches the elements of a pipeline. Elements are submitted in topology order - sinks first,
+ * then processors, then data sets - while all elements of the same stage are submitted concurrently.
+ * Setting SP_PIPELINE_SUBMISSION_PARALLELISM to 1 submits all elements sequentially.
+ */
 public class GraphSubmitter {
 
+  private static final int DEFAULT_PARALLELISM = 8;
+
+  private static final int PARALLELISM = Envs.SP_PIPELINE_SUBMISSION_PARALLELISM.exists()
+          ? Math.max(1, Envs.SP_PIPELINE_SUBMISSION_PARALLELISM.getValueAsInt()) : DEFAULT_PARALLELISM;
+
+  private static final ExecutorService submissionExecutor = makeSubmissionExecutor();
+
   private List<InvocableStreamPipesEntity> graphs;
   private List<SpDataSet> dataSets;
 
   private String pipelineId;
   private String pipelineName;
+  private final ElementRequests requests;
 
   private final static Logger LOG = LoggerFactory.getLogger(GraphSubmitter.class);
 
@@ -44,10 +65,23 @@ public class GraphSubmitter {
                         String pipelineName,
                         List<InvocableStreamPipesEntity> graphs,
                         List<SpDataSet> dataSets) {
+    this(pipelineId, pipelineName, graphs, dataSets, new HttpElementRequests(pipelineId));
+  }
+
+  GraphSubmitter(String pipelineId,
+                 String pipelineName,
+                 List<InvocableStreamPipesEntity> graphs,
+                 List<SpDataSet> dataSets,
+                 ElementRequests requests) {
     this.graphs = graphs != null ? graphs : new ArrayList<>();
     this.pipelineId = pipelineId;
     this.pipelineName = pipelineName;
     this.dataSets = dataSets != null ? dataSets : new ArrayList<>();
+    this.requests = requests;
+  }
+
+  public static int getParallelism() {
+    return PARALLELISM;
   }
 
   public PipelineOperationStatus invokeGraphs() {
@@ -55,48 +89,38 @@ public class GraphSubmitter {
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
+    String authToken = makeAuthToken();
+    List<Runnable> rollbackActions = new ArrayList<>();
 
-    graphs.forEach(g -> status.addPipelineElementStatus(performInvocation(g)));
-    if (status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess)) {
-      dataSets.forEach(dataSet ->
-              status.addPipelineElementStatus
-                      (performInvocation(dataSet)));
-    }
-    status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
+    boolean success = invokeStage(getSinks(), authToken, status, rollbackActions)
+            && invokeStage(getProcessors(), authToken, status, rollbackActions)
+            && invokeStage(dataSets, authToken, status, rollbackActions);
+
+    status.setSuccess(success);
 
     if (status.isSuccess()) {
       status.setTitle("Pipeline " + pipelineName + " successfully started");
     } else {
       LOG.info("Could not start pipeline, initializing rollback...");
-      rollbackInvokedPipelineElements(status);
+      submitAll(rollbackActions, action -> {
+        action.run();
+        return null;
+      });
       status.setTitle("Could not start pipeline " + pipelineName + ".");
     }
     return status;
   }
 
-  private void rollbackInvokedPipelineElements(PipelineOperationStatus status) {
-    for (PipelineElementStatus s : status.getElementStatus()) {
-      if (s.isSuccess()) {
-        Optional<InvocableStreamPipesEntity> graph = findGraph(s.getElementId());
-        graph.ifPresent(g -> {
-          LOG.info("Rolling back element " + g.getElementId());
-          performDetach(g);
-        });
-      }
-    }
-  }
-
-  private Optional<InvocableStreamPipesEntity> findGraph(String elementId) {
-    return graphs.stream().filter(g -> g.getBelongsTo().equals(elementId)).findFirst();
-  }
-
   public PipelineOperationStatus detachGraphs() {
     PipelineOperationStatus status = new PipelineOperationStatus();
     status.setPipelineId(pipelineId);
     status.setPipelineName(pipelineName);
 
-    graphs.forEach(g -> status.addPipelineElementStatus(performDetach(g)));
-    dataSets.forEach(dataSet -> status.addPipelineElementStatus(performDetach(dataSet)));
+    String authToken = makeAuthToken();
+
+    submitAll(dataSets, ds -> requests.detach(ds, authToken)).forEach(status::addPipelineElementStatus);
+    submitAll(getProcessors(), g -> requests.detach(g, authToken)).forEach(status::addPipelineElementStatus);
+    submitAll(getSinks(), g -> requests.detach(g, authToken)).forEach(status::addPipelineElementStatus);
     status.setSuccess(status.getElementStatus().stream().allMatch(PipelineElementStatus::isSuccess));
 
     if (status.isSuccess()) {
@@ -108,23 +132,103 @@ public class GraphSubmitter {
     return status;
   }
 
-  private PipelineElementStatus performInvocation(InvocableStreamPipesEntity entity) {
-    String endpointUrl = entity.getSelectedEndpointUrl();
-    return new HttpRequestBuilder(entity, endpointUrl, this.pipelineId).invoke();
+  private boolean invokeStage(List<? extends NamedStreamPipesEntity> elements,
+                              String authToken,
+                              PipelineOperationStatus status,
+                              List<Runnable> rollbackActions) {
+    List<PipelineElementStatus> stageStatus = submitAll(elements, e -> requests.invoke(e, authToken));
+    for (int i = 0; i < elements.size(); i++) {
+      NamedStreamPipesEntity element = elements.get(i);
+      PipelineElementStatus elementStatus = stageStatus.get(i);
+      if (elementStatus.isSuccess()) {
+        rollbackActions.add(() -> {
+          LOG.info("Rolling back element " + elementStatus.getElementId());
+          requests.detach(element, authToken);
+        });
+      }
+      status.addPipelineElementStatus(elementStatus);
+    }
+    return stageStatus.stream().allMatch(PipelineElementStatus::isSuccess);
   }
 
-  private PipelineElementStatus performInvocation(SpDataSet dataset) {
-    String endpointUrl = dataset.getSelectedEndpointUrl();
-    return new HttpRequestBuilder(dataset, endpointUrl, this.pipelineId).invoke();
+  private <T, R> List<R> submitAll(List<? extends T> elements, Function<T, R> task) {
+    if (PARALLELISM == 1 || elements.size() <= 1) {
+      return elements.stream().map(task).collect(Collectors.toList());
+    } else {
+      List<CompletableFuture<R>> futures = elements
+              .stream()
+              .map(e -> CompletableFuture.supplyAsync(() -> task.apply(e), submissionExecutor))
+              .collect(Collectors.toList());
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+  }
+
+  private List<InvocableStreamPipesEntity> getSinks() {
+    return graphs.stream().filter(g -> g instanceof DataSinkInvocation).collect(Collectors.toList());
+  }
+
+  private List<InvocableStreamPipesEntity> getProcessors() {
+    return graphs.stream().filter(g -> !(g instanceof DataSinkInvocation)).collect(Collectors.toList());
+  }
+
+  private String makeAuthToken() {
+    try {
+      return HttpRequestBuilder.makeAuthToken(this.pipelineId);
+    } catch (RuntimeException e) {
+      // each request resolves the token again and reports the failure as element status
+      LOG.warn("Could not create token for pipeline {}", pipelineId, e);
+      return null;
+    }
+  }
+
+
+  private static ExecutorService makeSubmissionExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(PARALLELISM, r -> {
+      Thread thread = new Thread(r, "pipeline-submission-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
-  private PipelineElementStatus performDetach(InvocableStreamPipesEntity entity) {
-    String endpointUrl = entity.getSelectedEndpointUrl() + "/" + InstanceIdExtractor.extractId(entity.getElementId());
-    return new HttpRequestBuilder(entity, endpointUrl, this.pipelineId).detach();
+  /**
+   * Sends the requests which invoke and detach a single pipeline element or data set.
+   */
+  interface ElementRequests {
+
+    PipelineElementStatus invoke(NamedStreamPipesEntity element, String authToken);
+
+    PipelineElementStatus detach(NamedStreamPipesEntity element, String authToken);
   }
 
-  private PipelineElementStatus performDetach(SpDataSet dataset) {
-    String endpointUrl = dataset.getSelectedEndpointUrl() + "/" + dataset.getCorrespondingAdapterId() + "/" + dataset.getDatasetInvocationId();
-    return new HttpRequestBuilder(dataset, endpointUrl, this.pipelineId).detach();
+  private static class HttpElementRequests implements ElementRequests {
+
+    private final String pipelineId;
+
+    HttpElementRequests(String pipelineId) {
+      this.pipelineId = pipelineId;
+    }
+
+    @Override
+    public PipelineElementStatus invoke(NamedStreamPipesEntity element, String authToken) {
+      String endpointUrl = element instanceof SpDataSet
+              ? ((SpDataSet) element).getSelectedEndpointUrl()
+              : ((InvocableStreamPipesEntity) element).getSelectedEndpointUrl();
+      return new HttpRequestBuilder(element, endpointUrl, pipelineId, authToken).invoke();
+    }
+
+    @Override
+    public PipelineElementStatus detach(NamedStreamPipesEntity element, String authToken) {
+      String endpointUrl;
+      if (element instanceof SpDataSet) {
+        SpDataSet dataset = (SpDataSet) element;
+        endpointUrl = dataset.getSelectedEndpointUrl() + "/" + dataset.getCorrespondingAdapterId()
+                + "/" + dataset.getDatasetInvocationId();
+      } else {
+        InvocableStreamPipesEntity entity = (InvocableStreamPipesEntity) element;
+        endpointUrl = entity.getSelectedEndpointUrl() + "/" + InstanceIdExtractor.extractId(entity.getElementId());
+      }
+      return new HttpRequestBuilder(element, endpointUrl, pipelineId, authToken).detach();
+    }
   }
 }
@@ -41,6 +41,7 @@ public class HttpRequestBuilder {
   private final NamedStreamPipesEntity payload;
   private final String endpointUrl;
   private String pipelineId;
+  private String authToken;
 
   private final static Logger LOG = LoggerFactory.getLogger(HttpRequestBuilder.class);
 
@@ -52,16 +53,23 @@ public class HttpRequestBuilder {
     this.pipelineId = pipelineId;
   }
 
+  public HttpRequestBuilder(NamedStreamPipesEntity payload,
+                            String endpointUrl,
+                            String pipelineId,
+                            String authToken) {
+    this(payload, endpointUrl, pipelineId);
+    this.authToken = authToken;
+  }
+
   public PipelineElementStatus invoke() {
     LOG.info("Invoking element: " + endpointUrl);
     try {
       String jsonDocument = toJson();
-      Response httpResp =
+      Response httpResp = PipelineElementHttpClient.getExecutor().execute(
               Request.Post(endpointUrl)
                       .addHeader("Authorization", getAuthToken())
                       .bodyString(jsonDocument, ContentType.APPLICATION_JSON)
-                      .connectTimeout(10000)
-                      .execute();
+                      .connectTimeout(10000));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error("Could not perform invocation request", e);
@@ -71,9 +79,10 @@ public class HttpRequestBuilder {
 
   public PipelineElementStatus detach() {
     try {
-      Response httpResp = Request.Delete(endpointUrl)
-              .addHeader("Authorization", getAuthToken())
-              .connectTimeout(10000).execute();
+      Response httpResp = PipelineElementHttpClient.getExecutor().execute(
+              Request.Delete(endpointUrl)
+                      .addHeader("Authorization", getAuthToken())
+                      .connectTimeout(10000));
       return handleResponse(httpResp);
     } catch (Exception e) {
       LOG.error("Could not stop pipeline {}", endpointUrl, e);
@@ -98,14 +107,22 @@ public class HttpRequestBuilder {
   }
 
   private String getAuthToken() {
+    return this.authToken != null ? this.authToken : makeAuthToken(this.pipelineId);
+  }
+
+  /**
+   * Creates the token used to authenticate invocation requests, either for the currently authenticated
+   * user or, if no user is authenticated, for the owner of the pipeline.
+   */
+  public static String makeAuthToken(String pipelineId) {
     if (SecurityContextHolder.getContext().getAuthentication() != null) {
       Authentication auth = SecurityContextHolder.getContext().getAuthentication();
       return "Bearer " + new JwtTokenProvider().createToken(auth);
     } else {
-      if (this.pipelineId != null) {
+      if (pipelineId != null) {
         String ownerSid = new SpResourceManager()
                 .managePermissions()
-                .findForObjectId(this.pipelineId)
+                .findForObjectId(pipelineId)
                 .stream()
                 .findFirst()
                 .map(Permission::getOwnerSid).orElseThrow(() -> new IllegalArgumentException("Could not find owner for pipeline " + pipelineId));
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Starts several pipelines concurrently, e.g., to restore all pipelines after a restart of the backend.
+ * The pipelines are started with the security context of the calling thread.
+ */
+public class PipelineBatchStarter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineBatchStarter.class);
+
+  private final List<Pipeline> pipelines;
+  private final Function<Pipeline, PipelineOperationStatus> starter;
+
+  public PipelineBatchStarter(List<Pipeline> pipelines) {
+    this(pipelines, pipeline -> new PipelineExecutor(pipeline, true, false).startPipeline());
+  }
+
+  PipelineBatchStarter(List<Pipeline> pipelines, Function<Pipeline, PipelineOperationStatus> starter) {
+    this.pipelines = pipelines;
+    this.starter = starter;
+  }
+
+  /**
+   * Creates a starter for those of the given pipelines which are not running.
+   */
+  public static PipelineBatchStarter forStoppedPipelines(List<Pipeline> pipelines) {
+    return new PipelineBatchStarter(pipelines
+            .stream()
+            .filter(p -> !p.isRunning())
+            .collect(Collectors.toList()));
+  }
+
+  public List<Pipeline> getPipelines() {
+    return pipelines;
+  }
+
+  /**
+   * Returns the status of each start operation, in the order of the given pipelines.
+   */
+  public List<PipelineOperationStatus> startPipelines() {
+    if (pipelines.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    ExecutorService executorService =
+            Executors.newFixedThreadPool(Math.min(pipelines.size(), GraphSubmitter.getParallelism()));
+    try {
+      List<CompletableFuture<PipelineOperationStatus>> futures = pipelines
+              .stream()
+              .map(p -> CompletableFuture.supplyAsync(() -> startPipeline(p, securityContext), executorService))
+              .collect(Collectors.toList());
+
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  private PipelineOperationStatus startPipeline(Pipeline pipeline, SecurityContext securityContext) {
+    SecurityContextHolder.setContext(securityContext);
+    try {
+      return starter.apply(pipeline);
+    } catch (RuntimeException e) {
+      LOG.error("Could not start pipeline {}", pipeline.getName(), e);
+      PipelineOperationStatus status = new PipelineOperationStatus();
+      status.setPipelineId(pipeline.getPipelineId());
+      status.setPipelineName(pipeline.getName());
+      status.setTitle("Could not start pipeline " + pipeline.getName() + ".");
+      status.setSuccess(false);
+      return status;
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared HTTP client used to invoke and detach pipeline elements. Connections to extensions services are
+ * pooled and kept alive between requests instead of opening a new connection per pipeline element.
+ */
+public class PipelineElementHttpClient {
+
+  private static final int MAX_CONNECTIONS = 64;
+  private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+  private static final long MAX_IDLE_TIME_SECONDS = 60;
+
+  private static final Executor executor = makeExecutor();
+
+  public static Executor getExecutor() {
+    return executor;
+  }
+
+  private static Executor makeExecutor() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+    connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+    return Executor.newInstance(HttpClients
+            .custom()
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(MAX_IDLE_TIME_SECONDS, TimeUnit.SECONDS)
+            .build());
+  }
+}
@@ -18,18 +18,24 @@
 
 package org.apache.streampipes.manager.matching;
 
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.config.backend.SpProtocol;
+import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointGenerator;
 import org.apache.streampipes.manager.util.TopicGenerator;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class ProtocolSelector extends GroundingSelector {
@@ -49,6 +55,8 @@ public class ProtocolSelector extends GroundingSelector {
             return ((SpDataStream) source)
                     .getEventGrounding()
                     .getTransportProtocol();
+        } else if (isInJvmTransportEnabled() && supportsProtocol(InJvmTransportProtocol.class) && isColocated()) {
+            return inJvmTopic();
         } else {
             for(SpProtocol prioritizedProtocol: prioritizedProtocols) {
                 if (prioritizedProtocol.getProtocolClass().equals(KafkaTransportProtocol.class.getCanonicalName()) &&
@@ -67,6 +75,43 @@ public class ProtocolSelector extends GroundingSelector {
         return kafkaTopic();
     }
 
+    private TransportProtocol inJvmTopic() {
+        return new InJvmTransportProtocol(outputTopic);
+    }
+
+    /**
+     * Events exchanged in-JVM cannot be previewed and are not covered by pipeline monitoring, which
+     * both read from the broker. The in-JVM transport is therefore only selected if enabled with
+     * SP_IN_JVM_TRANSPORT_ENABLED.
+     */
+    private boolean isInJvmTransportEnabled() {
+        return Envs.SP_IN_JVM_TRANSPORT_ENABLED.exists() && Envs.SP_IN_JVM_TRANSPORT_ENABLED.getValueAsBoolean();
+    }
+
+    /**
+     * Checks whether all connected elements are provided by the same extensions service instance.
+     * Services which are scaled to multiple instances are never considered co-located, since the
+     * elements might be invoked on different instances. Endpoints are looked up once per app id.
+     */
+    private boolean isColocated() {
+        Map<String, List<String>> endpointsByElementType = new HashMap<>();
+        Set<String> serviceEndpoints = new HashSet<>();
+        for (InvocableStreamPipesEntity element : buildInvocables()) {
+            try {
+                List<String> endpoints = endpointsByElementType.computeIfAbsent(
+                        element.getClass().getSimpleName() + ":" + element.getAppId(),
+                        key -> new ExtensionsServiceEndpointGenerator(element).getServiceEndpoints());
+                if (endpoints.size() != 1) {
+                    return false;
+                }
+                serviceEndpoints.add(endpoints.get(0));
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+        return serviceEndpoints.size() == 1;
+    }
+
     private TransportProtocol mqttTopic() {
         return new MqttTransportProtocol(BackendConfig.INSTANCE.getMqttHost(),
                 BackendConfig.INSTANCE.getMqttPort(),
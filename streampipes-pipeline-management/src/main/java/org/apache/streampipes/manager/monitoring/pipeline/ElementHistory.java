@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringSample;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Rolling history of the throughput and lag of a single pipeline element. The throughput of a sample is
+ * derived from the message count of the previous one, so the first message count does not add a sample.
+ */
+class ElementHistory {
+
+  private final int historySize;
+  private final Deque<PipelineElementMonitoringSample> samples = new ArrayDeque<>();
+  private long lastMessageCount = -1;
+  private long lastTimestamp;
+
+  ElementHistory(int historySize) {
+    this.historySize = historySize;
+  }
+
+  void add(long timestamp, long messageCount, long lag) {
+    if (lastMessageCount >= 0 && timestamp > lastTimestamp) {
+      double throughput = Math.max(0, messageCount - lastMessageCount) * 1000.0 / (timestamp - lastTimestamp);
+      samples.addLast(new PipelineElementMonitoringSample(timestamp, throughput, lag));
+      if (samples.size() > historySize) {
+        samples.removeFirst();
+      }
+    }
+    lastMessageCount = messageCount;
+    lastTimestamp = timestamp;
+  }
+
+  List<PipelineElementMonitoringSample> getSamples() {
+    return new ArrayList<>(samples);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.KafkaAdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.config.backend.BackendConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads topic and consumer group offsets with a single, long-lived Kafka admin client. All lookups take
+ * complete sets of topics, partitions or groups so that they can be sent to the broker as one batch.
+ * Topics, partitions and groups whose lookup fails, e.g., because a topic has not been created yet, are
+ * left out of the result instead of failing the whole batch.
+ */
+public class KafkaOffsetReader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KafkaOffsetReader.class);
+
+  private static final long REQUEST_TIMEOUT_SECONDS = 10;
+
+  private AdminClient adminClient;
+
+  public Map<TopicPartition, Long> latestOffsets(Set<String> topics)
+          throws InterruptedException, TimeoutException {
+    if (topics.isEmpty()) {
+      return new HashMap<>();
+    }
+    Map<String, TopicDescription> descriptions = awaitEach(getAdminClient().describeTopics(topics).values());
+    Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+    descriptions.forEach((topic, description) -> description
+            .partitions()
+            .forEach(p -> request.put(new TopicPartition(topic, p.partition()), OffsetSpec.latest())));
+
+    return listOffsets(request);
+  }
+
+  /**
+   * Returns the offsets of the first messages at or after the given timestamp, or -1 for partitions
+   * which have not received any message since.
+   */
+  public Map<TopicPartition, Long> offsetsAt(Collection<TopicPartition> partitions, long timestamp)
+          throws InterruptedException, TimeoutException {
+    return listOffsets(partitions
+            .stream()
+            .collect(Collectors.toMap(Function.identity(), p -> OffsetSpec.forTimestamp(timestamp))));
+  }
+
+  /**
+   * Returns the committed offsets of each consumer group, summed over all partitions.
+   */
+  public Map<String, Long> consumerGroupOffsets(Set<String> groupIds)
+          throws InterruptedException, TimeoutException {
+    Map<String, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> requests = new HashMap<>();
+    groupIds.forEach(groupId -> requests.put(groupId,
+            getAdminClient().listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata()));
+
+    Map<String, Long> offsets = new HashMap<>();
+    awaitEach(requests).forEach((groupId, groupOffsets) -> offsets.put(groupId, groupOffsets
+            .values()
+            .stream()
+            .filter(o -> o != null)
+            .mapToLong(OffsetAndMetadata::offset)
+            .sum()));
+    return offsets;
+  }
+
+  public synchronized void reset() {
+    if (adminClient != null) {
+      adminClient.close();
+      adminClient = null;
+    }
+  }
+
+  private Map<TopicPartition, Long> listOffsets(Map<TopicPartition, OffsetSpec> request)
+          throws InterruptedException, TimeoutException {
+    if (request.isEmpty()) {
+      return new HashMap<>();
+    }
+    ListOffsetsResult listOffsetsResult = getAdminClient().listOffsets(request);
+    Map<TopicPartition, KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo>> futures = new HashMap<>();
+    request.keySet().forEach(partition -> futures.put(partition, listOffsetsResult.partitionResult(partition)));
+    Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> result = awaitEach(futures);
+
+    Map<TopicPartition, Long> offsets = new HashMap<>();
+    result.forEach((partition, info) -> offsets.put(partition, info.offset()));
+    return offsets;
+  }
+
+  /**
+   * Returns the results of all futures that completed successfully. A timeout still fails the whole
+   * batch, as it hints at an unavailable broker rather than at a single missing topic.
+   */
+  private <K, T> Map<K, T> awaitEach(Map<K, KafkaFuture<T>> futures) throws InterruptedException, TimeoutException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(REQUEST_TIMEOUT_SECONDS);
+    Map<K, T> results = new HashMap<>();
+    for (Map.Entry<K, KafkaFuture<T>> future : futures.entrySet()) {
+      try {
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        results.put(future.getKey(), future.getValue().get(remaining, TimeUnit.NANOSECONDS));
+      } catch (ExecutionException e) {
+        LOG.debug("Skipping {} in offset lookup: {}", future.getKey(), e.getCause().getMessage());
+      }
+    }
+    return results;
+  }
+
+  private synchronized AdminClient getAdminClient() {
+    if (adminClient == null) {
+      adminClient = KafkaAdminClient.create(makeProperties());
+    }
+    return adminClient;
+  }
+
+  private Properties makeProperties() {
+    Properties props = new Properties();
+
+    props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
+    props.put(AdminClientConfig.CLIENT_ID_CONFIG, "streampipes-pipeline-monitoring-" + UUID.randomUUID());
+
+    return props;
+  }
+
+  private String getBrokerUrl() {
+    String env = System.getenv("SP_DEBUG");
+    if (env != null) {
+      env = env.replaceAll(" ", "");
+    }
+    if ("true".equals(env)) {
+      return "localhost:9094";
+    } else {
+      return BackendConfig.INSTANCE.getKafkaUrl();
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import org.apache.kafka.common.TopicPartition;
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.monitoring.PipelineMonitoringInfo;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.storage.api.IPipelineStorage;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Samples the Kafka offsets of all monitored pipelines in the background and serves monitoring requests
+ * from the latest in-memory snapshot. A pipeline is monitored as long as its monitoring info has been
+ * requested within the last minutes; all monitored pipelines are sampled together with one shared admin
+ * client on a fixed cadence, and a rolling history of throughput and lag is kept for every pipeline element.
+ */
+public enum PipelineMonitoringService {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineMonitoringService.class);
+
+  private static final long DEFAULT_INTERVAL_SECONDS = 5;
+  private static final long WATCH_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  private static final int HISTORY_SIZE = 120;
+
+  private final KafkaOffsetReader offsetReader = new KafkaOffsetReader();
+
+  private final Map<String, Long> watchedPipelines = new ConcurrentHashMap<>();
+  private final Map<String, PipelineMonitoringInfo> snapshot = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, ElementHistory>> histories = new HashMap<>();
+  private Map<String, Long> startOffsetCache = new HashMap<>();
+
+  private final Object schedulerLock = new Object();
+  private ScheduledExecutorService scheduler;
+  private final AtomicBoolean immediateSampleRequested = new AtomicBoolean();
+
+  /**
+   * Returns the latest snapshot of the pipeline. A pipeline which is not monitored yet is sampled in
+   * the background and an empty info is returned until its first sample is available.
+   */
+  public PipelineMonitoringInfo getMonitoringInfo(String pipelineId) {
+    watchedPipelines.put(pipelineId, System.currentTimeMillis());
+    ScheduledExecutorService scheduler = ensureStarted();
+
+    PipelineMonitoringInfo info = snapshot.get(pipelineId);
+    if (info == null) {
+      if (immediateSampleRequested.compareAndSet(false, true)) {
+        scheduler.execute(() -> {
+          immediateSampleRequested.set(false);
+          sampleSafely();
+        });
+      }
+      return emptyInfo(pipelineId);
+    }
+    return info;
+  }
+
+  private ScheduledExecutorService ensureStarted() {
+    synchronized (schedulerLock) {
+      if (scheduler == null) {
+        long interval = Envs.SP_PIPELINE_MONITORING_INTERVAL_SECONDS.exists()
+                ? Envs.SP_PIPELINE_MONITORING_INTERVAL_SECONDS.getValueAsInt() : DEFAULT_INTERVAL_SECONDS;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+          Thread thread = new Thread(r, "pipeline-monitoring");
+          thread.setDaemon(true);
+          return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sampleSafely, interval, interval, TimeUnit.SECONDS);
+      }
+      return scheduler;
+    }
+  }
+
+  private void sampleSafely() {
+    try {
+      sample();
+    } catch (RuntimeException e) {
+      LOG.error("Could not sample pipeline monitoring info", e);
+    }
+  }
+
+  private synchronized void sample() {
+    long now = System.currentTimeMillis();
+    watchedPipelines.entrySet().removeIf(e -> now - e.getValue() > WATCH_TIMEOUT_MILLIS);
+    snapshot.keySet().retainAll(watchedPipelines.keySet());
+    histories.keySet().retainAll(watchedPipelines.keySet());
+
+    List<Pipeline> pipelines = watchedPipelines
+            .keySet()
+            .stream()
+            .map(pipelineId -> getPipelineStorage().getPipeline(pipelineId))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+    if (pipelines.isEmpty()) {
+      return;
+    }
+
+    Set<String> topics = new HashSet<>();
+    Set<String> groupIds = new HashSet<>();
+    pipelines.forEach(pipeline -> {
+      topics.addAll(TopicInfoCollector.getTopics(pipeline));
+      groupIds.addAll(TopicInfoCollector.getConsumerGroupIds(pipeline));
+    });
+
+    try {
+      Map<TopicPartition, Long> latestPartitionOffsets = offsetReader.latestOffsets(topics);
+      Map<String, Long> latestTopicOffsets = sumByTopic(latestPartitionOffsets);
+      Map<String, Long> consumerGroupOffsets = offsetReader.consumerGroupOffsets(groupIds);
+      Map<String, Long> currentStartOffsets = new HashMap<>();
+
+      for (Pipeline pipeline : pipelines) {
+        Map<String, Long> startOffsets = getStartOffsets(pipeline, latestPartitionOffsets, currentStartOffsets);
+        List<PipelineElementMonitoringInfo> elementInfos =
+                new TopicInfoCollector(pipeline, latestTopicOffsets, startOffsets, consumerGroupOffsets)
+                        .makeMonitoringInfo();
+        addHistory(pipeline.getPipelineId(), elementInfos, now);
+        snapshot.put(pipeline.getPipelineId(), makeInfo(pipeline, elementInfos));
+      }
+      this.startOffsetCache = currentStartOffsets;
+    } catch (TimeoutException e) {
+      LOG.warn("Could not fetch offsets from Kafka, recreating admin client", e);
+      offsetReader.reset();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Offsets at pipeline start do not change while the pipeline is running and are only requested once
+   * per topic and start time.
+   */
+  private Map<String, Long> getStartOffsets(Pipeline pipeline,
+                                            Map<TopicPartition, Long> latestPartitionOffsets,
+                                            Map<String, Long> currentStartOffsets)
+          throws InterruptedException, TimeoutException {
+    Map<String, Long> startOffsets = new HashMap<>();
+    List<TopicPartition> missingPartitions = new ArrayList<>();
+
+    for (String topic : TopicInfoCollector.getTopics(pipeline)) {
+      Long cachedOffset = startOffsetCache.get(startOffsetKey(topic, pipeline.getStartedAt()));
+      if (cachedOffset != null) {
+        startOffsets.put(topic, cachedOffset);
+      } else {
+        latestPartitionOffsets
+                .keySet()
+                .stream()
+                .filter(p -> p.topic().equals(topic))
+                .forEach(missingPartitions::add);
+      }
+    }
+
+    if (!missingPartitions.isEmpty()) {
+      Map<TopicPartition, Long> offsets = offsetReader.offsetsAt(missingPartitions, pipeline.getStartedAt());
+      // partitions without messages since the pipeline start are still at their latest offset
+      offsets.replaceAll((partition, offset) -> offset >= 0 ? offset : latestPartitionOffsets.get(partition));
+      startOffsets.putAll(sumByTopic(offsets));
+    }
+
+    startOffsets.forEach((topic, offset) ->
+            currentStartOffsets.put(startOffsetKey(topic, pipeline.getStartedAt()), offset));
+    return startOffsets;
+  }
+
+  private void addHistory(String pipelineId, List<PipelineElementMonitoringInfo> elementInfos, long timestamp) {
+    Map<String, ElementHistory> pipelineHistory = histories.computeIfAbsent(pipelineId, id -> new HashMap<>());
+    pipelineHistory.keySet().retainAll(elementInfos
+            .stream()
+            .map(PipelineElementMonitoringInfo::getPipelineElementId)
+            .collect(Collectors.toSet()));
+
+    elementInfos.forEach(info -> {
+      ElementHistory history = pipelineHistory.computeIfAbsent(info.getPipelineElementId(), id -> new ElementHistory(HISTORY_SIZE));
+      history.add(timestamp, getMessageCount(info), getLag(info));
+      info.setHistory(history.getSamples());
+    });
+  }
+
+  static long getMessageCount(PipelineElementMonitoringInfo info) {
+    if (info.getProducedMessagesInfo() != null) {
+      return info.getProducedMessagesInfo().getTotalProducedMessages();
+    } else {
+      return info.getConsumedMessagesInfos()
+              .stream()
+              .mapToLong(ConsumedMessagesInfo::getConsumedMessagesSincePipelineStart)
+              .sum();
+    }
+  }
+
+  static long getLag(PipelineElementMonitoringInfo info) {
+    return info.getConsumedMessagesInfos()
+            .stream()
+            .mapToLong(ConsumedMessagesInfo::getLag)
+            .sum();
+  }
+
+  private Map<String, Long> sumByTopic(Map<TopicPartition, Long> partitionOffsets) {
+    return partitionOffsets
+            .entrySet()
+            .stream()
+            .collect(Collectors.groupingBy(e -> e.getKey().topic(), Collectors.summingLong(Map.Entry::getValue)));
+  }
+
+  private String startOffsetKey(String topic, long startedAt) {
+    return topic + "@" + startedAt;
+  }
+
+  private PipelineMonitoringInfo makeInfo(Pipeline pipeline, List<PipelineElementMonitoringInfo> elementInfos) {
+    PipelineMonitoringInfo monitoringInfo = new PipelineMonitoringInfo();
+    monitoringInfo.setCreatedAt(pipeline.getCreatedAt());
+    monitoringInfo.setStartedAt(pipeline.getStartedAt());
+    monitoringInfo.setPipelineId(pipeline.getPipelineId());
+    monitoringInfo.setPipelineElementMonitoringInfo(elementInfos);
+    return monitoringInfo;
+  }
+
+  private PipelineMonitoringInfo emptyInfo(String pipelineId) {
+    PipelineMonitoringInfo monitoringInfo = new PipelineMonitoringInfo();
+    monitoringInfo.setPipelineId(pipelineId);
+    monitoringInfo.setPipelineElementMonitoringInfo(new ArrayList<>());
+    return monitoringInfo;
+  }
+
+  private IPipelineStorage getPipelineStorage() {
+    return StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI();
+  }
+}
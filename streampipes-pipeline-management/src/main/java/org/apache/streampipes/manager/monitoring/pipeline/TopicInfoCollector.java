@@ -15,37 +15,34 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.manager.monitoring.pipeline;
 
-import org.apache.kafka.clients.admin.*;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
-import org.apache.kafka.common.TopicPartition;
-import org.apache.streampipes.config.backend.BackendConfig;
 import org.apache.streampipes.model.SpDataStream;
-import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
-import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
 import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
 import org.apache.streampipes.model.monitoring.ProducedMessagesInfo;
 import org.apache.streampipes.model.pipeline.Pipeline;
-import org.apache.streampipes.sdk.helpers.Tuple2;
-import org.apache.streampipes.storage.management.StorageDispatcher;
-
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Builds the monitoring info of all elements of a pipeline from previously sampled topic and consumer
+ * group offsets.
+ */
 public class TopicInfoCollector {
 
-
   private final Pipeline pipeline;
-  private final AdminClient kafkaAdminClient;
 
   private final Map<String, Long> latestTopicOffsets;
   private final Map<String, Long> topicOffsetAtPipelineStart;
@@ -53,67 +50,53 @@ public class TopicInfoCollector {
 
   private final List<PipelineElementMonitoringInfo> monitoringInfo;
 
-  public TopicInfoCollector(Pipeline pipeline) {
+  public TopicInfoCollector(Pipeline pipeline,
+                            Map<String, Long> latestTopicOffsets,
+                            Map<String, Long> topicOffsetAtPipelineStart,
+                            Map<String, Long> currentConsumerGroupOffsets) {
     this.pipeline = pipeline;
-    this.kafkaAdminClient = kafkaAdminClient();
-    this.latestTopicOffsets = new HashMap<>();
-    this.topicOffsetAtPipelineStart = new HashMap<>();
-    this.currentConsumerGroupOffsets = new HashMap<>();
+    this.latestTopicOffsets = latestTopicOffsets;
+    this.topicOffsetAtPipelineStart = topicOffsetAtPipelineStart;
+    this.currentConsumerGroupOffsets = currentConsumerGroupOffsets;
     this.monitoringInfo = new ArrayList<>();
   }
 
-  private void makeTopicInfo() {
-    long currentTime = Instant.now().minus (1, ChronoUnit.SECONDS).toEpochMilli();
-    List<TransportProtocol> affectedProtocols = new ArrayList<>();
-
-    pipeline.getSepas().forEach(processor -> affectedProtocols.addAll(extractProtocols(processor)));
-    pipeline.getActions().forEach(sink -> affectedProtocols.addAll(extractProtocols(sink)));
-
-    affectedProtocols.forEach(protocol -> {
-      if (protocol instanceof KafkaTransportProtocol) {
-        try {
-          Tuple2<String, Long> latestTopicOffsets = makeTopicOffsetInfo((KafkaTransportProtocol) protocol, OffsetSpec.forTimestamp(currentTime));
-          Tuple2<String, Long> topicOffsetAtPipelineStart = makeTopicOffsetInfo((KafkaTransportProtocol) protocol, OffsetSpec.forTimestamp(pipeline.getStartedAt()));
-          Tuple2<String, Long> currentConsumerGroupOffsets = makeTopicInfo((KafkaTransportProtocol) protocol);
-
-          this.latestTopicOffsets.put(latestTopicOffsets.a, latestTopicOffsets.b);
-          this.topicOffsetAtPipelineStart.put(topicOffsetAtPipelineStart.a, topicOffsetAtPipelineStart.b);
-          this.currentConsumerGroupOffsets.put(currentConsumerGroupOffsets.a, currentConsumerGroupOffsets.b);
+  public static Set<String> getTopics(Pipeline pipeline) {
+    Set<String> topics = new HashSet<>();
+    pipeline.getStreams().forEach(stream -> kafkaProtocol(stream).ifPresent(p -> topics.add(getTopic(p))));
+    pipeline.getSepas().forEach(processor -> kafkaProtocol(processor.getOutputStream()).ifPresent(p -> topics.add(getTopic(p))));
+    getInputProtocols(pipeline).forEach(p -> topics.add(getTopic(p)));
+    return topics;
+  }
 
-        } catch (ExecutionException | InterruptedException e) {
-          e.printStackTrace();
-        }
-      }
-    });
+  public static Set<String> getConsumerGroupIds(Pipeline pipeline) {
+    Set<String> groupIds = new HashSet<>();
+    getInputProtocols(pipeline)
+            .filter(p -> p.getGroupId() != null)
+            .forEach(p -> groupIds.add(p.getGroupId()));
+    return groupIds;
   }
 
   public List<PipelineElementMonitoringInfo> makeMonitoringInfo() {
-    this.makeTopicInfo();
-    // TODO filter for KafkaGrounding
     this.pipeline.getStreams().forEach(stream -> this.monitoringInfo.add(makeStreamMonitoringInfo(stream)));
     this.pipeline.getSepas().forEach(processor -> this.monitoringInfo.add(makeProcessorMonitoringInfo(processor)));
     this.pipeline.getActions().forEach(sink -> this.monitoringInfo.add(makeSinkMonitoringInfo(sink)));
 
-    this.kafkaAdminClient.close();
     return this.monitoringInfo;
   }
 
   private PipelineElementMonitoringInfo makeStreamMonitoringInfo(SpDataStream stream) {
     PipelineElementMonitoringInfo info = prepare(stream.getElementId(), stream.getName(), false, true);
-    KafkaTransportProtocol protocol = (KafkaTransportProtocol) stream.getEventGrounding().getTransportProtocol();
-    info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement(protocol));
+    kafkaProtocol(stream).ifPresent(protocol -> info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement(protocol)));
 
     return info;
   }
 
   private PipelineElementMonitoringInfo makeProcessorMonitoringInfo(DataProcessorInvocation processor) {
     PipelineElementMonitoringInfo info = prepare(processor.getElementId(), processor.getName(), true, true);
-    KafkaTransportProtocol outputProtocol = (KafkaTransportProtocol) processor.getOutputStream().getEventGrounding().getTransportProtocol();
-    ProducedMessagesInfo outputTopicInfo = makeOutputTopicInfoForPipelineElement(outputProtocol);
-    List<ConsumedMessagesInfo> inputTopicInfo = makeInputTopicInfoForPipelineElement(processor.getInputStreams());
+    kafkaProtocol(processor.getOutputStream()).ifPresent(protocol -> info.setProducedMessagesInfo(makeOutputTopicInfoForPipelineElement(protocol)));
+    info.setConsumedMessagesInfos(makeInputTopicInfoForPipelineElement(processor.getInputStreams()));
 
-    info.setProducedMessagesInfo(outputTopicInfo);
-    info.setConsumedMessagesInfos(inputTopicInfo);
     return info;
   }
 
@@ -125,12 +108,12 @@ public class TopicInfoCollector {
 
   private List<ConsumedMessagesInfo> makeInputTopicInfoForPipelineElement(List<SpDataStream> inputStreams) {
     List<ConsumedMessagesInfo> infos = new ArrayList<>();
-    inputStreams.stream().map(is -> is.getEventGrounding().getTransportProtocol()).forEach(protocol -> {
-      String topic = getTopic((KafkaTransportProtocol) protocol);
-      String groupId = ((KafkaTransportProtocol) protocol).getGroupId();
+    inputStreams.stream().map(TopicInfoCollector::kafkaProtocol).forEach(kafkaProtocol -> kafkaProtocol.ifPresent(protocol -> {
+      String topic = getTopic(protocol);
+      String groupId = protocol.getGroupId();
       ConsumedMessagesInfo info = new ConsumedMessagesInfo(topic, groupId);
-      long consumedMessagesSincePipelineStart = (getCurrentConsumerGroupOffset(groupId) - topicOffsetAtPipelineStart.get(topic));
-      long totalMessagesSincePipelineStart = (latestTopicOffsets.get(topic) - topicOffsetAtPipelineStart.get(topic));
+      long consumedMessagesSincePipelineStart = (getCurrentConsumerGroupOffset(groupId) - getTopicOffsetAtPipelineStart(topic));
+      long totalMessagesSincePipelineStart = (getLatestTopicOffset(topic) - getTopicOffsetAtPipelineStart(topic));
       long lag = Math.max(0, totalMessagesSincePipelineStart - consumedMessagesSincePipelineStart);
 
       info.setTotalMessagesSincePipelineStart(totalMessagesSincePipelineStart);
@@ -138,29 +121,55 @@ public class TopicInfoCollector {
       info.setLag(lag);
 
       infos.add(info);
-    });
+    }));
 
     return infos;
   }
 
   private long getCurrentConsumerGroupOffset(String groupId) {
-    return currentConsumerGroupOffsets.get(groupId);
+    return groupId != null ? currentConsumerGroupOffsets.getOrDefault(groupId, 0L) : 0L;
+  }
+
+  private long getLatestTopicOffset(String topic) {
+    return latestTopicOffsets.getOrDefault(topic, 0L);
+  }
+
+  private long getTopicOffsetAtPipelineStart(String topic) {
+    return topicOffsetAtPipelineStart.getOrDefault(topic, 0L);
   }
 
   private ProducedMessagesInfo makeOutputTopicInfoForPipelineElement(KafkaTransportProtocol protocol) {
     String topic = getTopic(protocol);
     ProducedMessagesInfo info = new ProducedMessagesInfo(topic);
 
-    info.setTotalProducedMessages(this.latestTopicOffsets.get(topic));
-    info.setTotalProducedMessagesSincePipelineStart(info.getTotalProducedMessages() - this.topicOffsetAtPipelineStart.get(topic));
+    info.setTotalProducedMessages(getLatestTopicOffset(topic));
+    info.setTotalProducedMessagesSincePipelineStart(info.getTotalProducedMessages() - getTopicOffsetAtPipelineStart(topic));
 
     return info;
   }
 
-  private String getTopic(KafkaTransportProtocol protocol) {
+  private static String getTopic(KafkaTransportProtocol protocol) {
     return protocol.getTopicDefinition().getActualTopicName();
   }
 
+  private static Stream<KafkaTransportProtocol> getInputProtocols(Pipeline pipeline) {
+    return Stream.concat(pipeline.getSepas().stream(), pipeline.getActions().stream())
+            .flatMap(element -> element.getInputStreams().stream())
+            .map(TopicInfoCollector::kafkaProtocol)
+            .filter(Optional::isPresent)
+            .map(Optional::get);
+  }
+
+  private static Optional<KafkaTransportProtocol> kafkaProtocol(SpDataStream stream) {
+    if (stream == null || stream.getEventGrounding() == null) {
+      return Optional.empty();
+    }
+    TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
+    return protocol instanceof KafkaTransportProtocol
+            ? Optional.of((KafkaTransportProtocol) protocol)
+            : Optional.empty();
+  }
+
   private PipelineElementMonitoringInfo prepare(String elementId, String name, boolean inputTopics, boolean outputTopics) {
     PipelineElementMonitoringInfo info = new PipelineElementMonitoringInfo();
     info.setPipelineElementName(name);
@@ -169,65 +178,4 @@ public class TopicInfoCollector {
     info.setProducedMessageInfoExists(outputTopics);
     return info;
   }
-
-  private AdminClient kafkaAdminClient() {
-    return KafkaAdminClient.create(makeProperties());
-  }
-
-  private Properties makeProperties() {
-    Properties props = new Properties();
-
-    props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
-    props.put(AdminClientConfig.CLIENT_ID_CONFIG, UUID.randomUUID().toString());
-
-    return props;
-  }
-
-  private String getBrokerUrl() {
-    String env = System.getenv("SP_DEBUG");
-    if (env != null) {
-      env = env.replaceAll(" ", "");
-    }
-    if ("true".equals(env)) {
-      return "localhost:9094";
-    } else {
-      return BackendConfig.INSTANCE.getKafkaUrl();
-    }
-  }
-
-  private Tuple2<String, Long> makeTopicOffsetInfo(KafkaTransportProtocol protocol, OffsetSpec offsetSpec) throws ExecutionException, InterruptedException {
-    Map<TopicPartition, OffsetAndMetadata> partitions = kafkaAdminClient.listConsumerGroupOffsets(protocol.getGroupId()).partitionsToOffsetAndMetadata().get();
-    Map<TopicPartition, OffsetSpec> desiredOffsets = new HashMap<>();
-    partitions.forEach((key, value) -> desiredOffsets.put(key, offsetSpec));
-    ListOffsetsResult offsetsResult = kafkaAdminClient.listOffsets(desiredOffsets);
-    Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> resultInfo = offsetsResult.all().get();
-    Long offset = resultInfo
-            .values()
-            .stream()
-            .map(ListOffsetsResult.ListOffsetsResultInfo::offset)
-            .reduce(0L, Long::sum);
-
-    return new Tuple2<>(protocol.getTopicDefinition().getActualTopicName(), offset);
-  }
-
-  private Tuple2<String, Long> makeTopicInfo(KafkaTransportProtocol protocol) throws ExecutionException, InterruptedException {
-    Long offset = kafkaAdminClient.listConsumerGroupOffsets(protocol.getGroupId())
-            .partitionsToOffsetAndMetadata()
-            .get()
-            .values()
-            .stream()
-            .map(OffsetAndMetadata::offset)
-            .reduce(0L, Long::sum);
-
-    return new Tuple2<>(protocol.getGroupId(), offset);
-  }
-
-  public List<TransportProtocol> extractProtocols(InvocableStreamPipesEntity pipelineElement) {
-    return pipelineElement
-            .getInputStreams()
-            .stream()
-            .map(stream -> stream.getEventGrounding().getTransportProtocol())
-            .collect(Collectors.toList());
-  }
-
 }
@@ -22,12 +22,14 @@ import org.apache.streampipes.commons.exceptions.NoSuitableSepasAvailableExcepti
 import org.apache.streampipes.commons.exceptions.SepaParseException;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.manager.endpoint.EndpointItemFetcher;
+import org.apache.streampipes.manager.execution.http.PipelineBatchStarter;
 import org.apache.streampipes.manager.execution.http.PipelineExecutor;
 import org.apache.streampipes.manager.execution.http.PipelineStorageService;
 import org.apache.streampipes.manager.matching.DataSetGroundingSelector;
 import org.apache.streampipes.manager.matching.PipelineVerificationHandlerV2;
 import org.apache.streampipes.manager.recommender.ElementRecommender;
 import org.apache.streampipes.manager.remote.ContainerProvidedOptionsHandler;
+import org.apache.streampipes.manager.runtime.LiveDataListener;
 import org.apache.streampipes.manager.runtime.PipelineElementRuntimeInfoFetcher;
 import org.apache.streampipes.manager.template.PipelineTemplateGenerator;
 import org.apache.streampipes.manager.template.PipelineTemplateInvocationGenerator;
@@ -106,6 +108,19 @@ public class Operations {
     return new PipelineExecutor(pipeline, storeStatus, false).startPipeline();
   }
 
+  public static List<PipelineOperationStatus> startPipelines(List<Pipeline> pipelines) {
+    return new PipelineBatchStarter(pipelines).startPipelines();
+  }
+
+  public static List<PipelineOperationStatus> startAllPipelines() {
+    List<Pipeline> pipelines = StorageDispatcher.INSTANCE
+            .getNoSqlStore()
+            .getPipelineStorageAPI()
+            .getAllPipelines();
+
+    return PipelineBatchStarter.forStoppedPipelines(pipelines).startPipelines();
+  }
+
   public static PipelineOperationStatus stopPipeline(
           Pipeline pipeline, boolean forceStop) {
     return stopPipeline(pipeline, true, forceStop);
@@ -146,6 +161,11 @@ public class Operations {
     return PipelineElementRuntimeInfoFetcher.INSTANCE.getCurrentData(spDataStream);
   }
 
+  public static void subscribeRuntimeInfo(SpDataStream spDataStream,
+                                          LiveDataListener listener) throws SpRuntimeException {
+    PipelineElementRuntimeInfoFetcher.INSTANCE.addListener(spDataStream, listener);
+  }
+
   public static List<PipelineTemplateDescription> getAllPipelineTemplates() {
     return new PipelineTemplateGenerator().getAllPipelineTemplates();
   }
@@ -24,6 +24,7 @@ import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpoi
 import org.apache.streampipes.manager.execution.http.HttpRequestBuilder;
 import org.apache.streampipes.manager.matching.PipelineVerificationHandlerV2;
 import org.apache.streampipes.manager.operations.Operations;
+import org.apache.streampipes.manager.runtime.LiveDataListener;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
@@ -63,6 +64,17 @@ public class PipelinePreview {
 
   public String getPipelineElementPreview(String previewId,
                                           String pipelineElementDomId) throws IllegalArgumentException {
+    return Operations.getRuntimeInfo(getPreviewStream(previewId, pipelineElementDomId));
+  }
+
+  public void subscribePipelineElementPreview(String previewId,
+                                              String pipelineElementDomId,
+                                              LiveDataListener listener) throws IllegalArgumentException {
+    Operations.subscribeRuntimeInfo(getPreviewStream(previewId, pipelineElementDomId), listener);
+  }
+
+  private SpDataStream getPreviewStream(String previewId,
+                                        String pipelineElementDomId) throws IllegalArgumentException {
     Optional<NamedStreamPipesEntity> graphOpt = ActivePipelinePreviews
             .INSTANCE
             .getInvocationGraphForPipelineELement(previewId, pipelineElementDomId);
@@ -70,9 +82,9 @@ public class PipelinePreview {
     if (graphOpt.isPresent()) {
       NamedStreamPipesEntity graph = graphOpt.get();
       if (graph instanceof DataProcessorInvocation) {
-        return Operations.getRuntimeInfo(((DataProcessorInvocation) graph).getOutputStream());
+        return ((DataProcessorInvocation) graph).getOutputStream();
       } else if (graph instanceof SpDataStream) {
-        return Operations.getRuntimeInfo((SpDataStream) graph);
+        return (SpDataStream) graph;
       } else {
         throw new IllegalArgumentException("Requested pipeline element is not a data processor");
       }
@@ -20,25 +20,17 @@ package org.apache.streampipes.manager.recommender;
 
 import org.apache.streampipes.commons.exceptions.NoSuitableSepasAvailableException;
 import org.apache.streampipes.manager.matching.PipelineVerificationHandlerV2;
-import org.apache.streampipes.manager.matching.v2.StreamMatch;
 import org.apache.streampipes.model.SpDataStream;
-import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
-import org.apache.streampipes.model.graph.DataProcessorDescription;
-import org.apache.streampipes.model.graph.DataSinkDescription;
 import org.apache.streampipes.model.message.PipelineModificationMessage;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineElementRecommendation;
 import org.apache.streampipes.model.pipeline.PipelineElementRecommendationMessage;
 import org.apache.streampipes.model.pipeline.PipelineModification;
-import org.apache.streampipes.resource.management.SpResourceManager;
 import org.apache.streampipes.storage.api.INoSqlStorage;
-import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
 import org.apache.streampipes.storage.management.StorageDispatcher;
-import org.apache.streampipes.storage.management.StorageManager;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -63,7 +55,7 @@ public class ElementRecommender {
     try {
       rootNodeId = getRootNodeId(elementsProvider);
       Optional<SpDataStream> outputStream = getOutputStream(elementsProvider);
-      outputStream.ifPresent(spDataStream -> validate(spDataStream, getAll()));
+      outputStream.ifPresent(this::validate);
     } catch (Exception e) {
       e.printStackTrace();
       return recommendationMessage;
@@ -89,9 +81,7 @@ public class ElementRecommender {
   private List<PipelineElementRecommendation> filterOldElements(List<PipelineElementRecommendation> recommendedElements) {
     return recommendedElements
             .stream()
-            .filter(r -> getAll()
-                    .stream()
-                    .anyMatch(a -> a.getElementId().equals(r.getElementId())))
+            .filter(r -> getIndex().getElement(r.getElementId()).isPresent())
             .collect(Collectors.toList());
   }
 
@@ -119,64 +109,26 @@ public class ElementRecommender {
     return filter(elementId).getDescription();
   }
 
-  private NamedStreamPipesEntity filter(String elementId) {
-    List<ConsumableStreamPipesEntity> allElements = getAll();
-    return allElements
-            .stream()
-            .filter(a -> a.getElementId().equals(elementId))
-            .findFirst()
-            .get();
+  private RecommendationIndex.IndexedElement filter(String elementId) {
+    return getIndex().getElement(elementId).get();
   }
 
   private Float getWeight(Integer count, Integer allConnectionsCount) {
     return ((float) (count)) / allConnectionsCount;
   }
 
-  private void validate(SpDataStream offer, List<ConsumableStreamPipesEntity> entities) {
-    for (ConsumableStreamPipesEntity sepa : entities) {
-      SpDataStream requirement = sepa.getSpDataStreams().get(0);
-      requirement.setEventGrounding(sepa.getSupportedGrounding());
-      boolean matches = new StreamMatch().match(offer, requirement, new ArrayList<>());
-      if (matches) {
-        addPossibleElements(sepa);
-      }
-    }
-  }
-
-  private void addPossibleElements(NamedStreamPipesEntity sepa) {
-    recommendationMessage.addPossibleElement(new PipelineElementRecommendation(sepa.getElementId(), sepa.getName(), sepa.getDescription()));
-  }
-
-  private List<ConsumableStreamPipesEntity> getAllDataProcessors() {
-    List<String> userObjects = new SpResourceManager().manageDataProcessors().findAllIdsOnly();
-    return getTripleStore()
-            .getAllDataProcessors()
-            .stream()
-            .filter(e -> userObjects.stream().anyMatch(u -> u.equals(e.getElementId())))
-            .map(DataProcessorDescription::new)
-            .collect(Collectors.toList());
-  }
-
-
-  private List<ConsumableStreamPipesEntity> getAllDataSinks() {
-    List<String> userObjects = new SpResourceManager().manageDataSinks().findAllIdsOnly();
-    return getTripleStore()
-            .getAllDataSinks()
-            .stream()
-            .filter(e -> userObjects.stream().anyMatch(u -> u.equals(e.getElementId())))
-            .map(DataSinkDescription::new)
-            .collect(Collectors.toList());
+  private void validate(SpDataStream offer) {
+    getIndex()
+            .findMatchingElements(offer)
+            .forEach(this::addPossibleElements);
   }
 
-  private List<ConsumableStreamPipesEntity> getAll() {
-    List<ConsumableStreamPipesEntity> allElements = new ArrayList<>();
-    allElements.addAll(getAllDataProcessors());
-    allElements.addAll(getAllDataSinks());
-    return allElements;
+  private void addPossibleElements(RecommendationIndex.IndexedElement element) {
+    recommendationMessage.addPossibleElement(new PipelineElementRecommendation(element.getElementId(), element.getName(), element.getDescription()));
   }
 
-  private IPipelineElementDescriptionStorage getTripleStore() {
-    return StorageManager.INSTANCE.getPipelineElementStorage();
+  private RecommendationIndex getIndex() {
+    return RecommendationIndex.INSTANCE;
   }
 
   private INoSqlStorage getNoSqlStorage() {
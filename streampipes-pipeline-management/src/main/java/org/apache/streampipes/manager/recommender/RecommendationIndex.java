@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.recommender;
+
+import org.apache.streampipes.manager.matching.v2.StreamMatch;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
+import org.apache.streampipes.model.util.Cloner;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionListener;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorage;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
+import org.apache.streampipes.storage.management.StorageManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Precomputed index of all installed data processors and sinks used to answer recommendation requests
+ * without reading descriptions from the storage. Elements are grouped by their {@link RequirementSignature},
+ * so that only elements of groups whose signature is satisfied by the offered stream need to be matched.
+ * The index is built on first use and follows the changes of the stored data processors and sinks, so that
+ * elements installed, updated or uninstalled by other backend instances are picked up as well.
+ */
+public enum RecommendationIndex implements IPipelineElementDescriptionListener {
+
+  INSTANCE;
+
+  private volatile Snapshot snapshot;
+  private boolean listening;
+
+  public void index(ConsumableStreamPipesEntity element) {
+    synchronized (this) {
+      Map<String, IndexedElement> elements = new LinkedHashMap<>(getSnapshot().elements);
+      toIndexedElement(element).ifPresent(e -> elements.put(e.getElementId(), e));
+      this.snapshot = new Snapshot(elements);
+    }
+  }
+
+  public void remove(String elementId) {
+    synchronized (this) {
+      if (getSnapshot().elements.containsKey(elementId)) {
+        Map<String, IndexedElement> elements = new LinkedHashMap<>(getSnapshot().elements);
+        elements.remove(elementId);
+        this.snapshot = new Snapshot(elements);
+      }
+    }
+  }
+
+  public void rebuild() {
+    synchronized (this) {
+      this.snapshot = loadSnapshot();
+    }
+  }
+
+  @Override
+  public void onElementChanged(String elementId) {
+    IPipelineElementDescriptionStorage storage = StorageManager.INSTANCE.getPipelineElementStorage();
+    if (storage.existsDataProcessor(elementId)) {
+      index(storage.getDataProcessorById(elementId));
+    } else if (storage.existsDataSink(elementId)) {
+      index(storage.getDataSinkById(elementId));
+    } else {
+      remove(elementId);
+    }
+  }
+
+  @Override
+  public void onElementsReloaded() {
+    rebuild();
+  }
+
+  List<IndexedElement> findMatchingElements(SpDataStream offer) {
+    RequirementSignature.OfferKeys offerKeys = RequirementSignature.OfferKeys.from(offer);
+    List<IndexedElement> matchingElements = new ArrayList<>();
+
+    getSnapshot().elementsBySignature.forEach((signature, elements) -> {
+      if (offerKeys == null || signature.isSatisfiedBy(offerKeys)) {
+        elements
+                .stream()
+                .filter(e -> new StreamMatch().match(offer, e.getRequirement(), new ArrayList<>()))
+                .forEach(matchingElements::add);
+      }
+    });
+
+    return matchingElements;
+  }
+
+  Optional<IndexedElement> getElement(String elementId) {
+    return Optional.ofNullable(getSnapshot().elements.get(elementId));
+  }
+
+  private Snapshot getSnapshot() {
+    Snapshot current = this.snapshot;
+    if (current == null) {
+      synchronized (this) {
+        if (this.snapshot == null) {
+          this.snapshot = loadSnapshot();
+        }
+        current = this.snapshot;
+      }
+    }
+    return current;
+  }
+
+  private Snapshot loadSnapshot() {
+    IPipelineElementDescriptionStorageCache storage = StorageManager.INSTANCE.getPipelineElementStorage();
+    if (!listening) {
+      storage.addInvocableElementListener(this);
+      listening = true;
+    }
+    List<ConsumableStreamPipesEntity> allElements = new ArrayList<>();
+    allElements.addAll(storage.getAllDataProcessors());
+    allElements.addAll(storage.getAllDataSinks());
+
+    Map<String, IndexedElement> elements = new LinkedHashMap<>();
+    allElements.forEach(element -> toIndexedElement(element).ifPresent(e -> elements.put(e.getElementId(), e)));
+    return new Snapshot(elements);
+  }
+
+  private Optional<IndexedElement> toIndexedElement(ConsumableStreamPipesEntity element) {
+    if (element.getElementId() == null
+            || element.getSpDataStreams() == null
+            || element.getSpDataStreams().isEmpty()) {
+      return Optional.empty();
+    }
+    SpDataStream requirement = new Cloner().mapSequence(element.getSpDataStreams().get(0));
+    requirement.setEventGrounding(element.getSupportedGrounding());
+    return Optional.of(new IndexedElement(element.getElementId(), element.getName(),
+            element.getDescription(), requirement));
+  }
+
+  private static class Snapshot {
+
+    private final Map<String, IndexedElement> elements;
+    private final Map<RequirementSignature, List<IndexedElement>> elementsBySignature;
+
+    Snapshot(Map<String, IndexedElement> elements) {
+      this.elements = Collections.unmodifiableMap(elements);
+      this.elementsBySignature = new LinkedHashMap<>();
+      elements.values().forEach(e -> elementsBySignature
+              .computeIfAbsent(e.getSignature(), s -> new ArrayList<>())
+              .add(e));
+    }
+  }
+
+  static class IndexedElement {
+
+    private final String elementId;
+    private final String name;
+    private final String description;
+    private final SpDataStream requirement;
+    private final RequirementSignature signature;
+
+    IndexedElement(String elementId, String name, String description, SpDataStream requirement) {
+      this.elementId = elementId;
+      this.name = name;
+      this.description = description;
+      this.requirement = requirement;
+      this.signature = RequirementSignature.from(requirement);
+    }
+
+    public String getElementId() {
+      return elementId;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public SpDataStream getRequirement() {
+      return requirement;
+    }
+
+    public RequirementSignature getSignature() {
+      return signature;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.recommender;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Condensed form of the stream requirement of a pipeline element, consisting of the property types,
+ * runtime types and domain properties which must be present in a connected stream and the transport
+ * protocols the element supports.
+ * The signature only contains necessary conditions of the full {@link org.apache.streampipes.manager.matching.v2.StreamMatch},
+ * so elements whose signature is not satisfied by an offer can be skipped without running the matcher.
+ */
+class RequirementSignature {
+
+  private static final String PROPERTY_TYPE_PREFIX = "type:";
+  private static final String RUNTIME_TYPE_PREFIX = "runtime:";
+  private static final String DOMAIN_PROPERTY_PREFIX = "domain:";
+
+  private static final List<String> NUMBER_TYPES = Arrays.asList(XSD._integer.toString(),
+          XSD._long.toString(), XSD._double.toString(), XSD._float.toString());
+
+  private final Set<String> requiredKeys;
+
+  // null if the supported protocols are unknown and cannot be used to narrow down candidates
+  private final Set<String> supportedProtocols;
+
+  private RequirementSignature(Set<String> requiredKeys, Set<String> supportedProtocols) {
+    this.requiredKeys = requiredKeys;
+    this.supportedProtocols = supportedProtocols;
+  }
+
+  public static RequirementSignature from(SpDataStream requirement) {
+    Set<String> requiredKeys = new HashSet<>();
+    EventSchema schema = requirement.getEventSchema();
+    if (schema != null && schema.getEventProperties() != null) {
+      schema.getEventProperties()
+              .stream()
+              .filter(p -> !isAnyProperty(p))
+              .forEach(p -> addRequiredKeys(p, requiredKeys));
+    }
+    return new RequirementSignature(requiredKeys, protocols(requirement.getEventGrounding()));
+  }
+
+  /**
+   * Returns true if an offered stream with the given keys and protocols may match this requirement.
+   */
+  public boolean isSatisfiedBy(OfferKeys offer) {
+    return offer.keys.containsAll(requiredKeys)
+            && (supportedProtocols == null
+            || offer.protocols == null
+            || supportedProtocols.stream().anyMatch(offer.protocols::contains));
+  }
+
+  private static void addRequiredKeys(EventProperty property, Set<String> keys) {
+    keys.add(PROPERTY_TYPE_PREFIX + property.getClass().getCanonicalName());
+    if (property instanceof EventPropertyPrimitive) {
+      String runtimeType = ((EventPropertyPrimitive) property).getRuntimeType();
+      if (runtimeType != null) {
+        keys.add(RUNTIME_TYPE_PREFIX + runtimeType);
+      }
+      if (property.getDomainProperties() != null) {
+        property.getDomainProperties().forEach(dp -> keys.add(DOMAIN_PROPERTY_PREFIX + dp.toString()));
+      }
+    }
+  }
+
+  private static boolean isAnyProperty(EventProperty property) {
+    return property instanceof EventPropertyPrimitive &&
+            property.getDomainProperties() == null &&
+            ((EventPropertyPrimitive) property).getMeasurementUnit() == null &&
+            ((EventPropertyPrimitive) property).getRuntimeType() == null;
+  }
+
+  private static Set<String> protocols(EventGrounding grounding) {
+    if (grounding == null || grounding.getTransportProtocols() == null
+            || grounding.getTransportProtocols().stream().anyMatch(Objects::isNull)) {
+      return null;
+    }
+    return grounding.getTransportProtocols()
+            .stream()
+            .map(TransportProtocol::getClass)
+            .map(Class::getCanonicalName)
+            .collect(Collectors.toSet());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RequirementSignature that = (RequirementSignature) o;
+    return requiredKeys.equals(that.requiredKeys) && Objects.equals(supportedProtocols, that.supportedProtocols);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(requiredKeys, supportedProtocols);
+  }
+
+  /**
+   * The keys provided by an offered stream, computed once per recommendation request.
+   */
+  static class OfferKeys {
+
+    private final Set<String> keys;
+    private final Set<String> protocols;
+
+    private OfferKeys(Set<String> keys, Set<String> protocols) {
+      this.keys = keys;
+      this.protocols = protocols;
+    }
+
+    /**
+     * Returns null if the offer does not carry a schema, in which case every element is a candidate.
+     */
+    public static OfferKeys from(SpDataStream offer) {
+      EventSchema schema = offer.getEventSchema();
+      if (schema == null || schema.getEventProperties() == null) {
+        return null;
+      }
+      Set<String> keys = new HashSet<>();
+      schema.getEventProperties().forEach(p -> addOfferedKeys(p, keys));
+      return new OfferKeys(keys, protocols(offer.getEventGrounding()));
+    }
+
+    private static void addOfferedKeys(EventProperty property, Set<String> keys) {
+      keys.add(PROPERTY_TYPE_PREFIX + property.getClass().getCanonicalName());
+      if (property instanceof EventPropertyPrimitive) {
+        String runtimeType = ((EventPropertyPrimitive) property).getRuntimeType();
+        if (runtimeType != null) {
+          keys.add(RUNTIME_TYPE_PREFIX + runtimeType);
+          if (NUMBER_TYPES.contains(runtimeType)) {
+            keys.add(RUNTIME_TYPE_PREFIX + SO.Number);
+          }
+        }
+        List<URI> domainProperties = property.getDomainProperties() != null
+                ? property.getDomainProperties() : Collections.emptyList();
+        domainProperties.forEach(dp -> keys.add(DOMAIN_PROPERTY_PREFIX + dp.toString()));
+      }
+    }
+  }
+}
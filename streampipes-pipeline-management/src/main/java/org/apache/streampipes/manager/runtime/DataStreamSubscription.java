@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.runtime;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A single consumer of a data stream which is shared by all clients watching the stream. The last events are kept
+ * as received from the broker and are only decoded when they are requested.
+ */
+class DataStreamSubscription {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataStreamSubscription.class);
+
+  private final SpDataFormatConverter converter;
+  private final int bufferSize;
+
+  private final Deque<byte[]> recentEvents;
+  private final List<LiveDataListener> listeners;
+
+  private EventConsumer<?> consumer;
+  private long eventCount;
+  private long decodedEventCount = -1;
+  private String latestDecodedEvent;
+  private long pushedEventCount;
+  private long lastPush;
+  private volatile long lastAccess;
+
+  DataStreamSubscription(SpDataFormatConverter converter,
+                         int bufferSize) {
+    this.converter = converter;
+    this.bufferSize = bufferSize;
+    this.recentEvents = new ArrayDeque<>(bufferSize);
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.lastAccess = System.currentTimeMillis();
+  }
+
+  void setConsumer(EventConsumer<?> consumer) {
+    this.consumer = consumer;
+  }
+
+  synchronized void onEvent(byte[] event) {
+    if (recentEvents.size() == bufferSize) {
+      recentEvents.removeFirst();
+    }
+    recentEvents.addLast(event);
+    eventCount++;
+    notifyAll();
+  }
+
+  synchronized Optional<String> awaitLatest(long timeoutMillis) throws InterruptedException {
+    touch();
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    long remaining = timeoutMillis;
+    while (recentEvents.isEmpty() && remaining > 0) {
+      wait(remaining);
+      remaining = deadline - System.currentTimeMillis();
+    }
+    return Optional.ofNullable(decodeLatest());
+  }
+
+  void addListener(LiveDataListener listener) {
+    touch();
+    getRecentEvents().forEach(listener::onEvent);
+    listeners.add(listener);
+  }
+
+  /**
+   * Sends the latest event to all listeners if a new event arrived since the last push, so that each event is
+   * decoded at most once regardless of the number of listeners and the event rate.
+   */
+  void push(long heartbeatIntervalMillis) {
+    String event = null;
+    synchronized (this) {
+      if (pushedEventCount != eventCount) {
+        event = decodeLatest();
+        pushedEventCount = eventCount;
+      }
+    }
+
+    long now = System.currentTimeMillis();
+    if (event != null) {
+      String latest = event;
+      listeners.forEach(l -> l.onEvent(latest));
+      lastPush = now;
+    } else if (now - lastPush >= heartbeatIntervalMillis) {
+      listeners.forEach(LiveDataListener::onHeartbeat);
+      lastPush = now;
+    }
+
+    if (listeners.removeIf(LiveDataListener::isClosed)) {
+      touch();
+    }
+  }
+
+  boolean isIdle(long idleTimeoutMillis) {
+    return listeners.isEmpty() && System.currentTimeMillis() - lastAccess > idleTimeoutMillis;
+  }
+
+  void close() {
+    try {
+      if (consumer != null) {
+        consumer.disconnect();
+      }
+    } catch (SpRuntimeException e) {
+      LOG.warn("Could not disconnect live preview consumer", e);
+    }
+  }
+
+  private void touch() {
+    this.lastAccess = System.currentTimeMillis();
+  }
+
+  private synchronized List<String> getRecentEvents() {
+    List<String> events = new ArrayList<>();
+    recentEvents.forEach(event -> decode(event).ifPresent(events::add));
+    return events;
+  }
+
+  private String decodeLatest() {
+    if (decodedEventCount != eventCount && !recentEvents.isEmpty()) {
+      latestDecodedEvent = decode(recentEvents.peekLast()).orElse(latestDecodedEvent);
+      decodedEventCount = eventCount;
+    }
+    return latestDecodedEvent;
+  }
+
+  private Optional<String> decode(byte[] event) {
+    try {
+      return Optional.of(converter.convert(event));
+    } catch (SpRuntimeException e) {
+      LOG.debug("Could not decode live preview event", e);
+      return Optional.empty();
+    }
+  }
+}
@@ -15,179 +15,203 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.manager.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.messaging.jms.ActiveMQConsumer;
 import org.apache.streampipes.messaging.kafka.SpKafkaConsumer;
 import org.apache.streampipes.messaging.mqtt.MqttConsumer;
 import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides live events of data streams for previews. Clients watching the same topic share one consumer, which is
+ * kept open as long as listeners are attached and closed once the topic has not been requested for a while.
+ * Consumers connect outside of the lock of the subscriptions, so only clients of the same topic wait for a
+ * slow broker.
+ */
 public enum PipelineElementRuntimeInfoFetcher {
   INSTANCE;
 
-  Logger logger = LoggerFactory.getLogger(PipelineElementRuntimeInfoFetcher.class);
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineElementRuntimeInfoFetcher.class);
+
+  private static final long FIRST_EVENT_TIMEOUT_MS = 6000;
+  private static final long PUSH_INTERVAL_MS = 1000;
+  private static final long HEARTBEAT_INTERVAL_MS = 15000;
+  private static final long IDLE_TIMEOUT_MS = 60000;
+  private static final int RECENT_EVENTS_SIZE = 10;
 
-  private final int FETCH_INTERVAL_MS = 300;
-  private final Map<String, SpDataFormatConverter> converterMap;
+  private final Map<String, CompletableFuture<DataStreamSubscription>> subscriptions;
 
   PipelineElementRuntimeInfoFetcher() {
-    this.converterMap = new HashMap<>();
+    this.subscriptions = new HashMap<>();
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "live-preview");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::pushAndExpire, PUSH_INTERVAL_MS, PUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
   }
 
   public String getCurrentData(SpDataStream spDataStream) throws SpRuntimeException {
-
-    if (spDataStream.getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol) {
-      return getLatestEventFromKafka(spDataStream);
-    }
-    else if (spDataStream.getEventGrounding().getTransportProtocol() instanceof JmsTransportProtocol){
-      return getLatestEventFromJms(spDataStream);
-    } else {
-      return getLatestEventFromMqtt(spDataStream);
+    DataStreamSubscription subscription = getSubscription(spDataStream);
+    try {
+      return subscription.awaitLatest(FIRST_EVENT_TIMEOUT_MS).orElse(null);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
     }
   }
 
-  private TransportFormat getTransportFormat(SpDataStream spDataStream) {
-    return spDataStream.getEventGrounding().getTransportFormats().get(0);
+  public void addListener(SpDataStream spDataStream,
+                          LiveDataListener listener) throws SpRuntimeException {
+    getSubscription(spDataStream).addListener(listener);
   }
 
-  private String getOutputTopic(SpDataStream spDataStream) {
-    return spDataStream
-            .getEventGrounding()
-            .getTransportProtocol()
-            .getTopicDefinition()
-            .getActualTopicName();
-  }
-
-  private String getLatestEventFromJms(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String jmsTopic = getOutputTopic(spDataStream);
-    JmsTransportProtocol protocol = (JmsTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
-
-    // Change jms config when running in development mode
-    if ("true".equals(System.getenv("SP_DEBUG"))) {
-      protocol.setBrokerHostname("localhost");
-    }
-    if (!converterMap.containsKey(jmsTopic)) {
-      this.converterMap.put(jmsTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
-    }
-
-    ActiveMQConsumer consumer = new ActiveMQConsumer();
-    consumer.connect((JmsTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol(), new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(jmsTopic).convert(event);
-          consumer.disconnect();
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
+  private void pushAndExpire() {
+    try {
+      List<DataStreamSubscription> activeSubscriptions = new ArrayList<>();
+      synchronized (subscriptions) {
+        subscriptions.values().stream()
+                .map(this::getIfConnected)
+                .filter(Objects::nonNull)
+                .forEach(activeSubscriptions::add);
       }
-    });
-
-    while (result[0] == null) {
-      try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-      } catch (InterruptedException e) {
-        e.printStackTrace();
+      activeSubscriptions.forEach(s -> s.push(HEARTBEAT_INTERVAL_MS));
+
+      synchronized (subscriptions) {
+        subscriptions.entrySet().removeIf(e -> {
+          DataStreamSubscription subscription = getIfConnected(e.getValue());
+          if (subscription != null && subscription.isIdle(IDLE_TIMEOUT_MS)) {
+            LOG.info("Closing idle live preview subscription {}", e.getKey());
+            subscription.close();
+            return true;
+          }
+          return false;
+        });
       }
+    } catch (RuntimeException e) {
+      LOG.error("Could not push live preview events", e);
     }
-
-    return result[0];
   }
 
-  private String getLatestEventFromMqtt(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String mqttTopic = getOutputTopic(spDataStream);
-    MqttTransportProtocol protocol = (MqttTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
-
-    // Change mqtt config when running in development mode
-    if ("true".equals(System.getenv("SP_DEBUG"))) {
-      protocol.setBrokerHostname("localhost");
-    }
-
-    if (!converterMap.containsKey(mqttTopic)){
-      this.converterMap.put(mqttTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
+  private DataStreamSubscription getSubscription(SpDataStream spDataStream) throws SpRuntimeException {
+    TransportProtocol protocol = spDataStream.getEventGrounding().getTransportProtocol();
+    if (protocol instanceof InJvmTransportProtocol) {
+      throw new SpRuntimeException("Events exchanged within an extensions service cannot be previewed");
     }
-    MqttConsumer mqttConsumer = new MqttConsumer();
-    mqttConsumer.connect(protocol, new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(mqttTopic).convert(event);
-          mqttConsumer.disconnect();
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
+    applyDevelopmentConfig(protocol);
+
+    String key = makeKey(protocol);
+    CompletableFuture<DataStreamSubscription> future;
+    boolean connect = false;
+    synchronized (subscriptions) {
+      future = subscriptions.get(key);
+      if (future == null) {
+        future = new CompletableFuture<>();
+        subscriptions.put(key, future);
+        connect = true;
       }
-    });
+    }
 
-    while (result[0] == null) {
+    if (connect) {
       try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-      } catch (InterruptedException e) {
-        e.printStackTrace();
+        future.complete(makeSubscription(protocol, getTransportFormat(spDataStream)));
+      } catch (RuntimeException e) {
+        synchronized (subscriptions) {
+          subscriptions.remove(key, future);
+        }
+        future.completeExceptionally(e);
+        throw e;
       }
     }
 
-    return result[0];
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof SpRuntimeException
+              ? (SpRuntimeException) e.getCause()
+              : new SpRuntimeException(e.getCause());
+    }
   }
 
-  private String getLatestEventFromKafka(SpDataStream spDataStream) throws SpRuntimeException {
-    final String[] result = {null};
-    String kafkaTopic = getOutputTopic(spDataStream);
-    KafkaTransportProtocol protocol = (KafkaTransportProtocol) spDataStream.getEventGrounding().getTransportProtocol();
-
-    // Change kafka config when running in development mode
-    if ("true".equals(System.getenv("SP_DEBUG"))) {
-      protocol.setBrokerHostname("localhost");
-      protocol.setKafkaPort(9094);
-    }
+  private DataStreamSubscription getIfConnected(CompletableFuture<DataStreamSubscription> future) {
+    return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+  }
 
-    if (!converterMap.containsKey(kafkaTopic)) {
-      this.converterMap.put(kafkaTopic,
-              new SpDataFormatConverterGenerator(getTransportFormat(spDataStream)).makeConverter());
+  private DataStreamSubscription makeSubscription(TransportProtocol protocol,
+                                                  TransportFormat transportFormat) throws SpRuntimeException {
+    DataStreamSubscription subscription = new DataStreamSubscription(
+            new SpDataFormatConverterGenerator(transportFormat).makeConverter(), RECENT_EVENTS_SIZE);
+
+    if (protocol instanceof KafkaTransportProtocol) {
+      SpKafkaConsumer consumer = new SpKafkaConsumer();
+      consumer.connect((KafkaTransportProtocol) protocol, subscription::onEvent);
+      subscription.setConsumer(consumer);
+    } else if (protocol instanceof JmsTransportProtocol) {
+      ActiveMQConsumer consumer = new ActiveMQConsumer();
+      consumer.connect((JmsTransportProtocol) protocol, subscription::onEvent);
+      subscription.setConsumer(consumer);
+    } else if (protocol instanceof MqttTransportProtocol) {
+      MqttConsumer consumer = new MqttConsumer();
+      consumer.connect((MqttTransportProtocol) protocol, subscription::onEvent);
+      subscription.setConsumer(consumer);
+    } else {
+      throw new SpRuntimeException("Unsupported transport protocol: " + protocol.getClass().getSimpleName());
     }
 
-    SpKafkaConsumer kafkaConsumer = new SpKafkaConsumer(protocol, kafkaTopic, new InternalEventProcessor<byte[]>() {
-      @Override
-      public void onEvent(byte[] event) {
-        try {
-          result[0] = converterMap.get(kafkaTopic).convert(event);
-        } catch (SpRuntimeException e) {
-          e.printStackTrace();
-        }
-      }
-    });
-
-    Thread t = new Thread(kafkaConsumer);
-    t.start();
+    return subscription;
+  }
 
-    long timeout = 0;
-    while (result[0] == null && timeout < 6000) {
-      try {
-        Thread.sleep(FETCH_INTERVAL_MS);
-        timeout = timeout + 300;
-      } catch (InterruptedException e) {
-        e.printStackTrace();
+  // Change broker config when running in development mode
+  private void applyDevelopmentConfig(TransportProtocol protocol) {
+    if ("true".equals(System.getenv("SP_DEBUG"))) {
+      protocol.setBrokerHostname("localhost");
+      if (protocol instanceof KafkaTransportProtocol) {
+        ((KafkaTransportProtocol) protocol).setKafkaPort(9094);
       }
     }
+  }
 
-    kafkaConsumer.disconnect();
+  private String makeKey(TransportProtocol protocol) {
+    return protocol.getClass().getSimpleName()
+            + "://" + protocol.getBrokerHostname()
+            + ":" + getPort(protocol)
+            + "/" + protocol.getTopicDefinition().getActualTopicName();
+  }
 
-    return result[0];
+  private int getPort(TransportProtocol protocol) {
+    if (protocol instanceof KafkaTransportProtocol) {
+      return ((KafkaTransportProtocol) protocol).getKafkaPort();
+    } else if (protocol instanceof JmsTransportProtocol) {
+      return ((JmsTransportProtocol) protocol).getPort();
+    } else if (protocol instanceof MqttTransportProtocol) {
+      return ((MqttTransportProtocol) protocol).getPort();
+    } else {
+      return -1;
+    }
   }
 
+  private TransportFormat getTransportFormat(SpDataStream spDataStream) {
+    return spDataStream.getEventGrounding().getTransportFormats().get(0);
+  }
 }
@@ -21,14 +21,14 @@ package org.apache.streampipes.manager.util;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TemporaryGraphStorage {
 
-  public static Map<String, List<InvocableStreamPipesEntity>> graphStorage = new HashMap<>();
+  public static Map<String, List<InvocableStreamPipesEntity>> graphStorage = new ConcurrentHashMap<>();
 
-  public static Map<String, List<SpDataSet>> datasetStorage = new HashMap<>();
+  public static Map<String, List<SpDataSet>> datasetStorage = new ConcurrentHashMap<>();
 
 }
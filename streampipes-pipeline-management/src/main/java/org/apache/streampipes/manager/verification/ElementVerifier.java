@@ -21,10 +21,12 @@ package org.apache.streampipes.manager.verification;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.streampipes.commons.exceptions.NoServiceEndpointsAvailableException;
 import org.apache.streampipes.commons.exceptions.SepaParseException;
+import org.apache.streampipes.manager.recommender.RecommendationIndex;
 import org.apache.streampipes.manager.verification.messages.VerificationError;
 import org.apache.streampipes.manager.verification.messages.VerificationResult;
 import org.apache.streampipes.manager.verification.structure.GeneralVerifier;
 import org.apache.streampipes.manager.verification.structure.Verifier;
+import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.client.user.Permission;
 import org.apache.streampipes.model.client.user.PermissionBuilder;
@@ -95,6 +97,7 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
     if (isVerifiedSuccessfully()) {
       StorageState state = store();
       if (state == StorageState.STORED) {
+        updateRecommendationIndex();
         createAndStorePermission(principalSid, publicElement);
         try {
           storeAssets();
@@ -122,6 +125,7 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
     verify();
     if (isVerifiedSuccessfully()) {
       update();
+      updateRecommendationIndex();
       try {
         updateAssets();
       } catch (IOException | NoServiceEndpointsAvailableException e) {
@@ -138,6 +142,12 @@ public abstract class ElementVerifier<T extends NamedStreamPipesEntity> {
 
   protected abstract void updateAssets() throws IOException, NoServiceEndpointsAvailableException;
 
+  private void updateRecommendationIndex() {
+    if (elementDescription instanceof ConsumableStreamPipesEntity) {
+      RecommendationIndex.INSTANCE.index((ConsumableStreamPipesEntity) elementDescription);
+    }
+  }
+
   private Message errorMessage() {
     return new ErrorMessage(elementDescription.getName(), collectNotifications());
   }
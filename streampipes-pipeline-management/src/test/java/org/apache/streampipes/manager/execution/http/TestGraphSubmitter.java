@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import junit.framework.TestCase;
+import org.apache.streampipes.model.SpDataSet;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.pipeline.PipelineElementStatus;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TestGraphSubmitter extends TestCase {
+
+  @Test
+  public void testStagesAreInvokedInTopologyOrder() {
+    RecordingRequests requests = new RecordingRequests();
+    PipelineOperationStatus status = submitter(requests).invokeGraphs();
+
+    assertTrue(status.isSuccess());
+    assertEquals(5, requests.invoked.size());
+    assertEquals(set("sink1", "sink2"), new HashSet<>(requests.invoked.subList(0, 2)));
+    assertEquals(set("processor1", "processor2"), new HashSet<>(requests.invoked.subList(2, 4)));
+    assertEquals("dataset", requests.invoked.get(4));
+    assertTrue(requests.detached.isEmpty());
+  }
+
+  @Test
+  public void testLaterStagesAreSkippedAfterFailedStage() {
+    RecordingRequests requests = new RecordingRequests("processor2");
+    PipelineOperationStatus status = submitter(requests).invokeGraphs();
+
+    assertFalse(status.isSuccess());
+    assertFalse(requests.invoked.contains("dataset"));
+    assertEquals(4, status.getElementStatus().size());
+  }
+
+  @Test
+  public void testOnlyStartedElementsAreRolledBack() {
+    RecordingRequests requests = new RecordingRequests("processor2");
+    submitter(requests).invokeGraphs();
+
+    assertEquals(set("sink1", "sink2", "processor1"), new HashSet<>(requests.detached));
+    assertEquals(3, requests.detached.size());
+  }
+
+  @Test
+  public void testNothingIsRolledBackAfterFailedFirstStage() {
+    RecordingRequests requests = new RecordingRequests("sink1", "sink2");
+    PipelineOperationStatus status = submitter(requests).invokeGraphs();
+
+    assertFalse(status.isSuccess());
+    assertEquals(2, requests.invoked.size());
+    assertTrue(requests.detached.isEmpty());
+  }
+
+  @Test
+  public void testStagesAreDetachedInReverseOrder() {
+    RecordingRequests requests = new RecordingRequests();
+    PipelineOperationStatus status = submitter(requests).detachGraphs();
+
+    assertTrue(status.isSuccess());
+    assertEquals("dataset", requests.detached.get(0));
+    assertEquals(set("processor1", "processor2"), new HashSet<>(requests.detached.subList(1, 3)));
+    assertEquals(set("sink1", "sink2"), new HashSet<>(requests.detached.subList(3, 5)));
+  }
+
+  private GraphSubmitter submitter(RecordingRequests requests) {
+    List<InvocableStreamPipesEntity> graphs = Arrays.asList(
+            processor("processor1"), sink("sink1"), processor("processor2"), sink("sink2"));
+    List<SpDataSet> dataSets = Collections.singletonList(named(new SpDataSet(), "dataset"));
+    return new GraphSubmitter(null, "pipeline", graphs, dataSets, requests);
+  }
+
+  private DataProcessorInvocation processor(String name) {
+    return named(new DataProcessorInvocation(), name);
+  }
+
+  private DataSinkInvocation sink(String name) {
+    return named(new DataSinkInvocation(), name);
+  }
+
+  private <T extends NamedStreamPipesEntity> T named(T element, String name) {
+    element.setElementId(name);
+    element.setName(name);
+    return element;
+  }
+
+  private Set<String> set(String... names) {
+    return new HashSet<>(Arrays.asList(names));
+  }
+
+  private static class RecordingRequests implements GraphSubmitter.ElementRequests {
+
+    private final Set<String> failingElements;
+    private final List<String> invoked = new CopyOnWriteArrayList<>();
+    private final List<String> detached = new CopyOnWriteArrayList<>();
+
+    RecordingRequests(String... failingElements) {
+      this.failingElements = new HashSet<>(Arrays.asList(failingElements));
+    }
+
+    @Override
+    public PipelineElementStatus invoke(NamedStreamPipesEntity element, String authToken) {
+      invoked.add(element.getName());
+      boolean success = !failingElements.contains(element.getName());
+      return new PipelineElementStatus(element.getElementId(), element.getName(), success, "");
+    }
+
+    @Override
+    public PipelineElementStatus detach(NamedStreamPipesEntity element, String authToken) {
+      detached.add(element.getName());
+      return new PipelineElementStatus(element.getElementId(), element.getName(), true, "");
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import junit.framework.TestCase;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class TestPipelineBatchStarter extends TestCase {
+
+  @Test
+  public void testStatusIsReturnedInOrderOfPipelines() {
+    List<Pipeline> pipelines = Arrays.asList(pipeline("a", false), pipeline("b", false), pipeline("c", false));
+
+    List<PipelineOperationStatus> status = new PipelineBatchStarter(pipelines, p -> status(p, true)).startPipelines();
+
+    assertEquals(Arrays.asList("a", "b", "c"), pipelineIds(status));
+  }
+
+  @Test
+  public void testFailedStartDoesNotAffectOtherPipelines() {
+    List<Pipeline> pipelines = Arrays.asList(pipeline("a", false), pipeline("b", false));
+
+    List<PipelineOperationStatus> status = new PipelineBatchStarter(pipelines, p -> {
+      if ("a".equals(p.getPipelineId())) {
+        throw new IllegalStateException("not reachable");
+      }
+      return status(p, true);
+    }).startPipelines();
+
+    assertEquals(Arrays.asList("a", "b"), pipelineIds(status));
+    assertFalse(status.get(0).isSuccess());
+    assertTrue(status.get(1).isSuccess());
+  }
+
+  @Test
+  public void testPipelinesAreStartedWithSecurityContextOfCaller() {
+    Authentication authentication = new TestingAuthenticationToken("user", "secret");
+    Map<String, Authentication> usedAuthentication = new ConcurrentHashMap<>();
+    List<Pipeline> pipelines = Arrays.asList(pipeline("a", false), pipeline("b", false));
+
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+    try {
+      new PipelineBatchStarter(pipelines, p -> {
+        usedAuthentication.put(p.getPipelineId(), SecurityContextHolder.getContext().getAuthentication());
+        return status(p, true);
+      }).startPipelines();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+
+    assertSame(authentication, usedAuthentication.get("a"));
+    assertSame(authentication, usedAuthentication.get("b"));
+  }
+
+  @Test
+  public void testOnlyStoppedPipelinesAreStarted() {
+    List<Pipeline> pipelines = Arrays.asList(pipeline("a", true), pipeline("b", false), pipeline("c", true));
+
+    List<Pipeline> started = PipelineBatchStarter.forStoppedPipelines(pipelines).getPipelines();
+
+    assertEquals(1, started.size());
+    assertEquals("b", started.get(0).getPipelineId());
+  }
+
+  private Pipeline pipeline(String id, boolean running) {
+    Pipeline pipeline = new Pipeline();
+    pipeline.setPipelineId(id);
+    pipeline.setName(id);
+    pipeline.setRunning(running);
+    return pipeline;
+  }
+
+  private PipelineOperationStatus status(Pipeline pipeline, boolean success) {
+    PipelineOperationStatus status = new PipelineOperationStatus();
+    status.setPipelineId(pipeline.getPipelineId());
+    status.setSuccess(success);
+    return status;
+  }
+
+  private List<String> pipelineIds(List<PipelineOperationStatus> status) {
+    return status.stream().map(PipelineOperationStatus::getPipelineId).collect(Collectors.toList());
+  }
+}
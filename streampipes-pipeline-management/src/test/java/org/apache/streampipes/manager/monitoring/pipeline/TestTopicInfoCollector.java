@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.monitoring.pipeline;
+
+import junit.framework.TestCase;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.monitoring.ConsumedMessagesInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringInfo;
+import org.apache.streampipes.model.monitoring.PipelineElementMonitoringSample;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class TestTopicInfoCollector extends TestCase {
+
+  private static final String SOURCE_TOPIC = "source-topic";
+  private static final String PROCESSOR_TOPIC = "processor-topic";
+
+  @Test
+  public void testTopicsAndGroupsOfPipeline() {
+    Pipeline pipeline = makePipeline();
+
+    assertEquals(new HashSet<>(Arrays.asList(SOURCE_TOPIC, PROCESSOR_TOPIC)), TopicInfoCollector.getTopics(pipeline));
+    assertEquals(new HashSet<>(Arrays.asList("processor-group", "sink-group")),
+            TopicInfoCollector.getConsumerGroupIds(pipeline));
+  }
+
+  @Test
+  public void testProducedAndConsumedMessagesSincePipelineStart() {
+    List<PipelineElementMonitoringInfo> infos = collect(offsets(150, 80), offsets(50, 0), groupOffsets(130, 60));
+
+    assertEquals(150, infos.get(0).getProducedMessagesInfo().getTotalProducedMessages());
+    assertEquals(100, infos.get(0).getProducedMessagesInfo().getTotalProducedMessagesSincePipelineStart());
+
+    ConsumedMessagesInfo processorInput = infos.get(1).getConsumedMessagesInfos().get(0);
+    assertEquals(100, processorInput.getTotalMessagesSincePipelineStart());
+    assertEquals(80, processorInput.getConsumedMessagesSincePipelineStart());
+    assertEquals(20, processorInput.getLag());
+    assertEquals(80, infos.get(1).getProducedMessagesInfo().getTotalProducedMessagesSincePipelineStart());
+
+    ConsumedMessagesInfo sinkInput = infos.get(2).getConsumedMessagesInfos().get(0);
+    assertEquals(80, sinkInput.getTotalMessagesSincePipelineStart());
+    assertEquals(60, sinkInput.getConsumedMessagesSincePipelineStart());
+    assertEquals(20, sinkInput.getLag());
+  }
+
+  @Test
+  public void testLagIsNeverNegative() {
+    List<PipelineElementMonitoringInfo> infos = collect(offsets(150, 80), offsets(50, 0), groupOffsets(170, 80));
+
+    assertEquals(0, infos.get(1).getConsumedMessagesInfos().get(0).getLag());
+    assertEquals(0, infos.get(2).getConsumedMessagesInfos().get(0).getLag());
+  }
+
+  @Test
+  public void testMissingOffsetsCountAsZero() {
+    Map<String, Long> latestOffsets = new HashMap<>();
+    latestOffsets.put(SOURCE_TOPIC, 150L);
+    List<PipelineElementMonitoringInfo> infos =
+            collect(latestOffsets, Collections.emptyMap(), Collections.emptyMap());
+
+    assertEquals(150, infos.get(1).getConsumedMessagesInfos().get(0).getLag());
+    assertEquals(0, infos.get(1).getProducedMessagesInfo().getTotalProducedMessages());
+    assertEquals(0, infos.get(2).getConsumedMessagesInfos().get(0).getLag());
+  }
+
+  @Test
+  public void testThroughputBetweenSamples() {
+    ElementHistory streamHistory = new ElementHistory(10);
+    ElementHistory sinkHistory = new ElementHistory(10);
+
+    List<PipelineElementMonitoringInfo> first = collect(offsets(150, 80), offsets(50, 0), groupOffsets(130, 60));
+    streamHistory.add(10000, PipelineMonitoringService.getMessageCount(first.get(0)), 0);
+    sinkHistory.add(10000, PipelineMonitoringService.getMessageCount(first.get(2)),
+            PipelineMonitoringService.getLag(first.get(2)));
+    assertTrue(streamHistory.getSamples().isEmpty());
+
+    List<PipelineElementMonitoringInfo> second = collect(offsets(200, 100), offsets(50, 0), groupOffsets(180, 95));
+    streamHistory.add(15000, PipelineMonitoringService.getMessageCount(second.get(0)), 0);
+    sinkHistory.add(15000, PipelineMonitoringService.getMessageCount(second.get(2)),
+            PipelineMonitoringService.getLag(second.get(2)));
+
+    assertEquals(10.0, streamHistory.getSamples().get(0).getThroughput(), 0.001);
+    PipelineElementMonitoringSample sinkSample = sinkHistory.getSamples().get(0);
+    assertEquals(7.0, sinkSample.getThroughput(), 0.001);
+    assertEquals(5, sinkSample.getLag());
+  }
+
+  @Test
+  public void testHistoryKeepsLatestSamples() {
+    ElementHistory history = new ElementHistory(2);
+    for (int i = 0; i < 5; i++) {
+      history.add(i * 1000, i * 10, 0);
+    }
+
+    assertEquals(2, history.getSamples().size());
+    assertEquals(4000, history.getSamples().get(1).getTimestamp());
+  }
+
+  private List<PipelineElementMonitoringInfo> collect(Map<String, Long> latestOffsets,
+                                                      Map<String, Long> startOffsets,
+                                                      Map<String, Long> groupOffsets) {
+    return new TopicInfoCollector(makePipeline(), latestOffsets, startOffsets, groupOffsets).makeMonitoringInfo();
+  }
+
+  private Map<String, Long> offsets(long sourceOffset, long processorOffset) {
+    Map<String, Long> offsets = new HashMap<>();
+    offsets.put(SOURCE_TOPIC, sourceOffset);
+    offsets.put(PROCESSOR_TOPIC, processorOffset);
+    return offsets;
+  }
+
+  private Map<String, Long> groupOffsets(long processorGroupOffset, long sinkGroupOffset) {
+    Map<String, Long> offsets = new HashMap<>();
+    offsets.put("processor-group", processorGroupOffset);
+    offsets.put("sink-group", sinkGroupOffset);
+    return offsets;
+  }
+
+  private Pipeline makePipeline() {
+    DataProcessorInvocation processor = new DataProcessorInvocation();
+    processor.setElementId("processor");
+    processor.setInputStreams(Collections.singletonList(stream(SOURCE_TOPIC, "processor-group")));
+    processor.setOutputStream(stream(PROCESSOR_TOPIC, null));
+
+    DataSinkInvocation sink = new DataSinkInvocation();
+    sink.setElementId("sink");
+    sink.setInputStreams(Collections.singletonList(stream(PROCESSOR_TOPIC, "sink-group")));
+
+    Pipeline pipeline = new Pipeline();
+    pipeline.setStreams(Collections.singletonList(stream(SOURCE_TOPIC, null)));
+    pipeline.setSepas(Collections.singletonList(processor));
+    pipeline.setActions(Collections.singletonList(sink));
+    return pipeline;
+  }
+
+  private SpDataStream stream(String topic, String groupId) {
+    KafkaTransportProtocol protocol = new KafkaTransportProtocol("localhost", 9092, topic);
+    protocol.setGroupId(groupId);
+    EventGrounding grounding = new EventGrounding();
+    grounding.setTransportProtocol(protocol);
+    SpDataStream stream = new SpDataStream();
+    stream.setEventGrounding(grounding);
+    return stream;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.recommender;
+
+import junit.framework.TestCase;
+import org.apache.streampipes.manager.matching.v2.StreamMatch;
+import org.apache.streampipes.manager.matching.v2.TestUtils;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.sdk.helpers.EpProperties;
+import org.apache.streampipes.sdk.helpers.EpRequirements;
+import org.apache.streampipes.sdk.helpers.Labels;
+import org.apache.streampipes.vocabulary.Geo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestRequirementSignature extends TestCase {
+
+  @Test
+  public void testNumberRequirementSatisfiedByInteger() {
+    SpDataStream offer = stream(EpProperties.integerEp(Labels.empty(), "count", Geo.lat));
+    SpDataStream requirement = stream(EpRequirements.numberReq());
+
+    assertSatisfied(offer, requirement, true);
+  }
+
+  @Test
+  public void testDomainPropertyRequirement() {
+    SpDataStream offer = stream(EpProperties.doubleEp(Labels.empty(), "latitude", Geo.lat));
+
+    assertSatisfied(offer, stream(EpRequirements.domainPropertyReq(Geo.lat)), true);
+    assertSatisfied(offer, stream(EpRequirements.domainPropertyReq(Geo.lng)), false);
+  }
+
+  @Test
+  public void testDatatypeRequirement() {
+    SpDataStream offer = stream(EpProperties.integerEp(Labels.empty(), "count", Geo.lat));
+
+    assertSatisfied(offer, stream(EpRequirements.stringReq()), false);
+  }
+
+  @Test
+  public void testAnyPropertyRequirement() {
+    SpDataStream offer = stream(EpProperties.stringEp(Labels.empty(), "name", Geo.lat));
+
+    assertSatisfied(offer, stream(EpRequirements.anyProperty()), true);
+  }
+
+  @Test
+  public void testProtocolRequirement() {
+    SpDataStream offer = stream(EpProperties.integerEp(Labels.empty(), "count", Geo.lat));
+    offer.setEventGrounding(grounding(TestUtils.kafkaProtocol()));
+
+    SpDataStream kafkaRequirement = stream(EpRequirements.integerReq());
+    kafkaRequirement.setEventGrounding(grounding(TestUtils.kafkaProtocol()));
+    SpDataStream jmsRequirement = stream(EpRequirements.integerReq());
+    jmsRequirement.setEventGrounding(grounding(TestUtils.jmsProtocol()));
+
+    assertSatisfied(offer, kafkaRequirement, true);
+    assertSatisfied(offer, jmsRequirement, false);
+  }
+
+  @Test
+  public void testEqualRequirementsShareSignature() {
+    assertEquals(RequirementSignature.from(stream(EpRequirements.numberReq())),
+            RequirementSignature.from(stream(EpRequirements.numberReq())));
+  }
+
+  private void assertSatisfied(SpDataStream offer, SpDataStream requirement, boolean expected) {
+    boolean satisfied = RequirementSignature.from(requirement)
+            .isSatisfiedBy(RequirementSignature.OfferKeys.from(offer));
+    assertEquals(expected, satisfied);
+    if (!satisfied) {
+      assertFalse(new StreamMatch().match(offer, requirement, new ArrayList<>()));
+    }
+  }
+
+  private SpDataStream stream(EventProperty... properties) {
+    SpDataStream stream = new SpDataStream();
+    stream.setEventSchema(new EventSchema(Arrays.asList(properties)));
+    return stream;
+  }
+
+  private EventGrounding grounding(TransportProtocol protocol) {
+    EventGrounding grounding = new EventGrounding();
+    grounding.setTransportProtocols(Collections.singletonList(protocol));
+    grounding.setTransportFormats(Collections.singletonList(TestUtils.jsonFormat()));
+    return grounding;
+  }
+}
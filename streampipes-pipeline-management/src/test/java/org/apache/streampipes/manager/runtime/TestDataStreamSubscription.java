@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.runtime;
+
+import junit.framework.TestCase;
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestDataStreamSubscription extends TestCase {
+
+  @Test
+  public void testLatestEventIsReturnedWithoutWaiting() throws InterruptedException {
+    DataStreamSubscription subscription = subscription(3);
+    subscription.onEvent(event(1));
+    subscription.onEvent(event(2));
+
+    assertEquals("{\"value\":2}", subscription.awaitLatest(0).orElse(null));
+  }
+
+  @Test
+  public void testAwaitLatestTimesOutWithoutEvents() throws InterruptedException {
+    assertFalse(subscription(3).awaitLatest(10).isPresent());
+  }
+
+  @Test
+  public void testNewListenerReceivesBufferedEvents() {
+    DataStreamSubscription subscription = subscription(2);
+    subscription.onEvent(event(1));
+    subscription.onEvent(event(2));
+    subscription.onEvent(event(3));
+
+    RecordingListener listener = new RecordingListener();
+    subscription.addListener(listener);
+
+    assertEquals(2, listener.events.size());
+    assertEquals("{\"value\":2}", listener.events.get(0));
+    assertEquals("{\"value\":3}", listener.events.get(1));
+  }
+
+  @Test
+  public void testOnlyNewEventsArePushed() {
+    DataStreamSubscription subscription = subscription(3);
+    RecordingListener listener = new RecordingListener();
+    subscription.addListener(listener);
+
+    subscription.onEvent(event(1));
+    subscription.onEvent(event(2));
+    subscription.push(Long.MAX_VALUE);
+    subscription.push(Long.MAX_VALUE);
+
+    assertEquals(1, listener.events.size());
+    assertEquals("{\"value\":2}", listener.events.get(0));
+  }
+
+  @Test
+  public void testClosedListenersAreRemoved() {
+    DataStreamSubscription subscription = subscription(3);
+    RecordingListener listener = new RecordingListener();
+    subscription.addListener(listener);
+    assertFalse(subscription.isIdle(-1));
+
+    listener.closed = true;
+    subscription.push(Long.MAX_VALUE);
+
+    assertTrue(subscription.isIdle(-1));
+  }
+
+  private DataStreamSubscription subscription(int bufferSize) {
+    return new DataStreamSubscription(new SpDataFormatConverter(new JsonDataFormatDefinition()), bufferSize);
+  }
+
+  private byte[] event(int value) {
+    return ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static class RecordingListener implements LiveDataListener {
+
+    private final List<String> events = new ArrayList<>();
+    private boolean closed;
+
+    @Override
+    public void onEvent(String event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onHeartbeat() {
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+  }
+}
@@ -200,6 +200,9 @@ public class DataLakeResourceV4 extends AbstractRestResource {
             if (format == null) {
                 format = "csv";
             }
+            if (!dataLakeManagement.isSupportedExportFormat(format)) {
+                return badRequest("Unsupported format " + format + ", expected csv or json");
+            }
             String outputFormat = format;
             StreamingOutput streamingOutput = output -> dataLakeManagement.getDataAsStream(sanitizedParams, outputFormat, output);
 
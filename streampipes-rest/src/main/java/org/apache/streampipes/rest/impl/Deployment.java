@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.rest.impl;
 
+import org.apache.streampipes.manager.recommender.RecommendationIndex;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.client.deployment.DeploymentConfiguration;
 import org.apache.streampipes.model.client.deployment.ElementType;
@@ -112,9 +113,11 @@ public class Deployment extends AbstractRestResource {
             DataProcessorDescription sepa = GsonSerializer.getGsonWithIds().fromJson(model, DataProcessorDescription.class);
             success = StorageManager.INSTANCE.getPipelineElementStorage().deleteDataProcessor(sepa.getElementId());
             StorageManager.INSTANCE.getPipelineElementStorage().storeDataProcessor(sepa);
+            RecommendationIndex.INSTANCE.index(sepa);
         } else {
             DataSinkDescription sec = new DataSinkDescription(GsonSerializer.getGsonWithIds().fromJson(model, DataSinkDescription.class));
             success = StorageManager.INSTANCE.getPipelineElementStorage().update(sec);
+            RecommendationIndex.INSTANCE.index(sec);
         }
 
         if (success) return ok(Notifications.success("Element description updated."));
@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.rest.impl;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.manager.preview.PipelinePreview;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.preview.PipelinePreviewModel;
@@ -24,8 +25,11 @@ import org.apache.streampipes.rest.core.base.impl.AbstractRestResource;
 import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
 @Path("/v2/pipeline-element-preview")
 public class PipelineElementPreview extends AbstractRestResource {
@@ -55,6 +59,21 @@ public class PipelineElementPreview extends AbstractRestResource {
     }
   }
 
+  @GET
+  @Path("{previewId}/{pipelineElementDomId}/stream")
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  public void streamPipelinePreviewResult(@PathParam("previewId") String previewId,
+                                          @PathParam("pipelineElementDomId") String pipelineElementDomId,
+                                          @Context SseEventSink eventSink,
+                                          @Context Sse sse) {
+    try {
+      new PipelinePreview().subscribePipelineElementPreview(previewId, pipelineElementDomId,
+              new SseLiveDataListener(eventSink, sse));
+    } catch (IllegalArgumentException | SpRuntimeException e) {
+      eventSink.close();
+    }
+  }
+
   @DELETE
   @Path("{previewId}")
   @Produces(MediaType.APPLICATION_JSON)
@@ -28,8 +28,11 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
 
 @Path("/v2/pipeline-element/runtime")
 public class PipelineElementRuntimeInfo extends AbstractRestResource {
@@ -46,4 +49,19 @@ public class PipelineElementRuntimeInfo extends AbstractRestResource {
       return statusMessage(Notifications.error("Could not get runtime data"));
     }
   }
+
+  @POST
+  @Path("/stream")
+  @JacksonSerialized
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @Consumes(MediaType.APPLICATION_JSON)
+  public void streamRuntimeInfo(SpDataStream spDataStream,
+                                @Context SseEventSink eventSink,
+                                @Context Sse sse) {
+    try {
+      Operations.subscribeRuntimeInfo(spDataStream, new SseLiveDataListener(eventSink, sse));
+    } catch (SpRuntimeException e) {
+      eventSink.close();
+    }
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.rest.impl;
+
+import org.apache.streampipes.manager.runtime.LiveDataListener;
+
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+class SseLiveDataListener implements LiveDataListener {
+
+  private final SseEventSink eventSink;
+  private final Sse sse;
+
+  SseLiveDataListener(SseEventSink eventSink,
+                      Sse sse) {
+    this.eventSink = eventSink;
+    this.sse = sse;
+  }
+
+  @Override
+  public void onEvent(String event) {
+    send(sse.newEvent(event));
+  }
+
+  @Override
+  public void onHeartbeat() {
+    send(sse.newEventBuilder().comment("heartbeat").build());
+  }
+
+  @Override
+  public boolean isClosed() {
+    return eventSink.isClosed();
+  }
+
+  private void send(OutboundSseEvent event) {
+    try {
+      eventSink.send(event).whenComplete((result, error) -> {
+        if (error != null) {
+          eventSink.close();
+        }
+      });
+    } catch (IllegalStateException e) {
+      eventSink.close();
+    }
+  }
+}
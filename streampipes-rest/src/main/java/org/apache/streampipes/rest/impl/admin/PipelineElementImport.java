@@ -24,6 +24,7 @@ import org.apache.streampipes.manager.assets.AssetManager;
 import org.apache.streampipes.manager.endpoint.EndpointItemParser;
 import org.apache.streampipes.manager.execution.endpoint.ExtensionsServiceEndpointGenerator;
 import org.apache.streampipes.manager.operations.Operations;
+import org.apache.streampipes.manager.recommender.RecommendationIndex;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.message.Message;
 import org.apache.streampipes.model.message.Notification;
@@ -81,12 +82,14 @@ public class PipelineElementImport extends AbstractAuthGuardedRestResource {
       if (requestor.existsDataProcessor(elementId)) {
         appId = requestor.getDataProcessorById(elementId).getAppId();
         getSpResourceManager().manageDataProcessors().delete(elementId);
+        RecommendationIndex.INSTANCE.remove(elementId);
       } else if (requestor.existsDataStream(elementId)) {
         appId = requestor.getDataStreamById(elementId).getAppId();
        getSpResourceManager().manageDataStreams().delete(elementId);
       } else if (requestor.existsDataSink(elementId)) {
         appId = requestor.getDataSinkById(elementId).getAppId();
         getSpResourceManager().manageDataSinks().delete(elementId);
+        RecommendationIndex.INSTANCE.remove(elementId);
       } else {
         return constructErrorMessage(new Notification(NotificationType.STORAGE_ERROR.title(),
                 NotificationType.STORAGE_ERROR.description()));
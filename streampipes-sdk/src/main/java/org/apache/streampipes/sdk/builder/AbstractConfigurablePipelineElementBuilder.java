@@ -467,6 +467,24 @@ public abstract class AbstractConfigurablePipelineElementBuilder<BU extends
     return me();
   }
 
+  /**
+   * Defines a number-based configuration parameter of type long provided by pipeline developers at pipeline
+   * authoring time and initializes the parameter with a default value. Use this for values exceeding the
+   * integer range, e.g., timestamps in milliseconds.
+   * @param label The {@link org.apache.streampipes.sdk.helpers.Label} that describes why this parameter is needed in a
+   *              user-friendly manner.
+   * @param defaultValue The default long value.
+   * @return this
+   */
+  public BU requiredLongParameter(Label label,
+                                  Long defaultValue) {
+    FreeTextStaticProperty fsp = prepareFreeTextStaticProperty(label,
+            XSD._long.toString());
+    fsp.setValue(String.valueOf(defaultValue));
+    this.staticProperties.add(fsp);
+    return me();
+  }
+
   /**
    * @deprecated Use {@link #requiredFloatParameter(Label)} instead.
    * @param internalId
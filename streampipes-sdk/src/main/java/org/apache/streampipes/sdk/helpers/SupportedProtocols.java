@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.sdk.helpers;
 
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
@@ -51,4 +52,13 @@ public class SupportedProtocols {
     return new MqttTransportProtocol();
   }
 
+  /**
+   * Defines that a pipeline element (data processor or data sink) supports receiving events from other pipeline
+   * elements running in the same extensions service without a message broker.
+   * @return The {@link org.apache.streampipes.model.grounding.InJvmTransportProtocol}.
+   */
+  public static InJvmTransportProtocol inJvm() {
+    return new InJvmTransportProtocol();
+  }
+
 }
@@ -24,4 +24,9 @@ public interface IPipelineElementDescriptionStorageCache extends IPipelineElemen
   void refreshDataSinkCache();
 
   void refreshDataSourceCache();
+
+  /**
+   * Registers a listener which is notified about changes of data processors and data sinks.
+   */
+  void addInvocableElementListener(IPipelineElementDescriptionListener listener);
 }
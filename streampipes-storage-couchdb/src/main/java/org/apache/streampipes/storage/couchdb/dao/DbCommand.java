@@ -35,10 +35,6 @@ public abstract class DbCommand<T, S> {
 
 
   public T execute() {
-    CouchDbClient couchDbClient = couchDbClientSupplier.get();
-    T result = executeCommand(couchDbClient);
-    couchDbClient.shutdown();
-
-    return result;
+    return executeCommand(couchDbClientSupplier.get());
   }
 }
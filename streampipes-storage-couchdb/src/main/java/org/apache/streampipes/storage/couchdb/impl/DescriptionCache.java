@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.storage.couchdb.impl;
+
+import com.google.gson.Gson;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionListener;
+import org.lightcouch.Changes;
+import org.lightcouch.ChangesResult;
+import org.lightcouch.CouchDbClient;
+import org.lightcouch.NoDocumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of a pipeline element description database. The cache is loaded on first access and kept
+ * up to date by following the CouchDB _changes feed of the database, so lookups neither hit the database
+ * nor deserialize the (often large) description documents again. Cached elements are never handed out
+ * directly; callers always receive a copy which they are free to modify.
+ */
+class DescriptionCache<T extends NamedStreamPipesEntity> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DescriptionCache.class);
+
+  private static final long HEARTBEAT_MILLIS = 30000;
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+  private static final String DESIGN_DOCUMENT_PREFIX = "_design/";
+
+  private final String name;
+  private final Supplier<CouchDbClient> couchDbClientSupplier;
+  private final Class<T> clazz;
+  private final UnaryOperator<T> copyFunction;
+
+  // replaced as a whole on (re)load, so that readers never see a partially loaded cache
+  private volatile Map<String, T> elements = Collections.emptyMap();
+  private final List<IPipelineElementDescriptionListener> listeners = new CopyOnWriteArrayList<>();
+  private volatile boolean loaded = false;
+  private volatile String lastSeq;
+  private Thread changesFeed;
+
+  DescriptionCache(String name,
+                   Supplier<CouchDbClient> couchDbClientSupplier,
+                   Class<T> clazz,
+                   UnaryOperator<T> copyFunction) {
+    this.name = name;
+    this.couchDbClientSupplier = couchDbClientSupplier;
+    this.clazz = clazz;
+    this.copyFunction = copyFunction;
+  }
+
+  public List<T> getAll() {
+    ensureLoaded();
+    return elements
+            .values()
+            .stream()
+            .map(copyFunction)
+            .collect(Collectors.toList());
+  }
+
+  public T get(String elementId) {
+    if (elementId == null) {
+      return null;
+    }
+    ensureLoaded();
+    T element = elements.get(elementId);
+    return element != null ? copyFunction.apply(element) : null;
+  }
+
+  public boolean contains(String elementId) {
+    if (elementId == null) {
+      return false;
+    }
+    ensureLoaded();
+    return elements.containsKey(elementId);
+  }
+
+  public Optional<T> findFirst(Predicate<T> filter) {
+    ensureLoaded();
+    return elements
+            .values()
+            .stream()
+            .filter(filter)
+            .findFirst()
+            .map(copyFunction);
+  }
+
+  /**
+   * Re-reads a single element after it has been written, so that subsequent reads of the same instance
+   * see the change without waiting for the changes feed.
+   */
+  public void reload(String elementId) {
+    if (loaded && elementId != null) {
+      synchronized (this) {
+        try {
+          elements.put(elementId, couchDbClientSupplier.get().find(clazz, elementId));
+        } catch (NoDocumentException e) {
+          elements.remove(elementId);
+        }
+      }
+      notifyListeners(l -> l.onElementChanged(elementId));
+    }
+  }
+
+  public void remove(String elementId) {
+    if (elementId != null) {
+      synchronized (this) {
+        elements.remove(elementId);
+      }
+      notifyListeners(l -> l.onElementChanged(elementId));
+    }
+  }
+
+  /**
+   * Reads all elements again. Readers keep using the previous elements until the new ones are loaded.
+   */
+  public void refresh() {
+    synchronized (this) {
+      load();
+    }
+    notifyListeners(IPipelineElementDescriptionListener::onElementsReloaded);
+  }
+
+  /**
+   * Listeners are notified outside of the lock of the cache and may read from it.
+   */
+  public void addListener(IPipelineElementDescriptionListener listener) {
+    listeners.add(listener);
+  }
+
+  private void notifyListeners(Consumer<IPipelineElementDescriptionListener> notification) {
+    for (IPipelineElementDescriptionListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        LOG.warn("Listener of database {} failed", name, e);
+      }
+    }
+  }
+
+  private void ensureLoaded() {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          load();
+        }
+      }
+    }
+  }
+
+  private void load() {
+    CouchDbClient couchDbClient = couchDbClientSupplier.get();
+    // remember the sequence before reading the documents, changes in between are replayed by the feed
+    String updateSeq = couchDbClient.context().info().getUpdateSeq();
+    List<T> allElements = couchDbClient
+            .view("_all_docs")
+            .includeDocs(true)
+            .query(clazz);
+
+    Map<String, T> loadedElements = new ConcurrentHashMap<>();
+    allElements
+            .stream()
+            .filter(element -> element.getElementId() != null)
+            .forEach(element -> loadedElements.put(element.getElementId(), element));
+    elements = loadedElements;
+    lastSeq = updateSeq;
+    loaded = true;
+    startChangesFeed();
+  }
+
+  private void startChangesFeed() {
+    if (changesFeed == null) {
+      changesFeed = new Thread(this::followChanges, "couchdb-changes-" + name);
+      changesFeed.setDaemon(true);
+      changesFeed.start();
+    }
+  }
+
+  private void followChanges() {
+    while (!Thread.currentThread().isInterrupted()) {
+      Changes changes = null;
+      try {
+        CouchDbClient couchDbClient = couchDbClientSupplier.get();
+        Gson gson = couchDbClient.getGson();
+        changes = couchDbClient
+                .changes()
+                .includeDocs(true)
+                .since(lastSeq)
+                .heartBeat(HEARTBEAT_MILLIS)
+                .continuousChanges();
+
+        while (changes.hasNext()) {
+          String changedId = applyChange(changes.next(), gson);
+          if (changedId != null) {
+            notifyListeners(l -> l.onElementChanged(changedId));
+          }
+        }
+      } catch (Exception e) {
+        LOG.warn("Changes feed of database {} failed, reconnecting", name, e);
+      } finally {
+        if (changes != null) {
+          changes.stop();
+        }
+      }
+
+      try {
+        Thread.sleep(RECONNECT_DELAY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  // synchronized with load, so that a change arriving while loading is applied to the new elements
+  // returns the id of the changed element, if any
+  synchronized String applyChange(ChangesResult.Row row, Gson gson) {
+    String id = row.getId();
+    String changedId = null;
+    if (!id.startsWith(DESIGN_DOCUMENT_PREFIX)) {
+      if (row.isDeleted()) {
+        elements.remove(id);
+        changedId = id;
+      } else if (row.getDoc() != null) {
+        elements.put(id, gson.fromJson(row.getDoc(), clazz));
+        changedId = id;
+      }
+    }
+    lastSeq = row.getSeq();
+    return changedId;
+  }
+}
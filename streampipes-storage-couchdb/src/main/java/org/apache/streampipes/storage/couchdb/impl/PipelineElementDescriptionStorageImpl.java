@@ -22,10 +22,13 @@ import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataSinkDescription;
 import org.apache.streampipes.model.staticproperty.StaticProperty;
+import org.apache.streampipes.model.util.Cloner;
 import org.apache.streampipes.storage.api.IDataProcessorStorage;
 import org.apache.streampipes.storage.api.IDataSinkStorage;
 import org.apache.streampipes.storage.api.IDataStreamStorage;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionListener;
 import org.apache.streampipes.storage.api.IPipelineElementDescriptionStorageCache;
+import org.apache.streampipes.storage.couchdb.utils.Utils;
 
 import java.net.URI;
 import java.util.List;
@@ -33,6 +36,18 @@ import java.util.NoSuchElementException;
 
 public class PipelineElementDescriptionStorageImpl implements IPipelineElementDescriptionStorageCache {
 
+  private static final DescriptionCache<DataProcessorDescription> processorCache =
+          new DescriptionCache<>("data-processor", Utils::getCouchDbDataProcessorDescriptionClient,
+                  DataProcessorDescription.class, DataProcessorDescription::new);
+
+  private static final DescriptionCache<SpDataStream> streamCache =
+          new DescriptionCache<>("data-stream", Utils::getCouchDbDataStreamDescriptionClient,
+                  SpDataStream.class, stream -> new Cloner().mapSequence(stream));
+
+  private static final DescriptionCache<DataSinkDescription> sinkCache =
+          new DescriptionCache<>("data-sink", Utils::getCouchDbDataSinkDescriptionClient,
+                  DataSinkDescription.class, DataSinkDescription::new);
+
   private IDataProcessorStorage dataProcessorStorage;
   private IDataStreamStorage dataStreamStorage;
   private IDataSinkStorage dataSinkStorage;
@@ -52,6 +67,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataStream(SpDataStream stream) {
     this.dataStreamStorage.createElement(stream);
+    streamCache.reload(stream.getElementId());
     return true;
   }
 
@@ -63,6 +79,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataProcessor(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.createElement(processorDescription);
+    processorCache.reload(processorDescription.getElementId());
     return true;
   }
 
@@ -79,17 +96,19 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public SpDataStream getDataStreamByAppId(String appId) {
-    return this.dataStreamStorage.getDataStreamByAppId(appId);
+    return streamCache
+            .findFirst(s -> appId.equals(s.getAppId()))
+            .orElseThrow(IllegalArgumentException::new);
   }
 
   @Override
   public SpDataStream getDataStreamById(String rdfId) {
-    return this.dataStreamStorage.getElementById(rdfId);
+    return streamCache.get(rdfId);
   }
 
   @Override
   public DataProcessorDescription getDataProcessorById(String rdfId) {
-    return new DataProcessorStorageImpl().getElementById(rdfId);
+    return processorCache.get(rdfId);
   }
 
   @Override
@@ -99,12 +118,14 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public DataProcessorDescription getDataProcessorByAppId(String appId) {
-    return this.dataProcessorStorage.getDataProcessorByAppId(appId);
+    return processorCache
+            .findFirst(p -> appId.equals(p.getAppId()))
+            .orElseThrow(NoSuchElementException::new);
   }
 
   @Override
   public DataSinkDescription getDataSinkById(String rdfId) {
-    return this.dataSinkStorage.getElementById(rdfId);
+    return sinkCache.get(rdfId);
   }
 
   @Override
@@ -114,22 +135,25 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public DataSinkDescription getDataSinkByAppId(String appId) {
-    return this.dataSinkStorage.getDataSinkByAppId(appId);
+    return sinkCache
+            .findFirst(s -> appId.equals(s.getAppId()))
+            .orElseThrow(IllegalArgumentException::new);
   }
 
   @Override
   public List<SpDataStream> getAllDataStreams() {
-    return this.dataStreamStorage.getAll();
+    return streamCache.getAll();
   }
 
   @Override
   public List<DataProcessorDescription> getAllDataProcessors() {
-    return this.dataProcessorStorage.getAll();
+    return processorCache.getAll();
   }
 
   @Override
   public boolean deleteDataStream(SpDataStream sep) {
     this.dataStreamStorage.deleteElement(sep);
+    streamCache.remove(sep.getElementId());
     return true;
   }
 
@@ -141,6 +165,7 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean deleteDataProcessor(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.deleteElement(processorDescription);
+    processorCache.remove(processorDescription.getElementId());
     return true;
   }
 
@@ -151,75 +176,69 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public boolean exists(SpDataStream stream) {
-    return getEventStreamById(stream.getElementId()) != null;
+    return streamCache.contains(stream.getElementId());
   }
 
   @Override
   public boolean exists(DataProcessorDescription processorDescription) {
-    return getDataProcessorById(processorDescription.getElementId()) != null;
+    return processorCache.contains(processorDescription.getElementId());
   }
 
   @Override
   public boolean existsDataProcessorByAppId(String appId) {
-    try {
-      getDataProcessorByAppId(appId);
-      return true;
-    } catch (NoSuchElementException e) {
-      return false;
-    }
+    return processorCache.findFirst(p -> appId.equals(p.getAppId())).isPresent();
   }
 
   @Override
   public boolean existsDataSinkByAppId(String appId) {
-    try {
-      getDataSinkByAppId(appId);
-      return true;
-    } catch (NoSuchElementException e) {
-      return false;
-    }
+    return sinkCache.findFirst(s -> appId.equals(s.getAppId())).isPresent();
   }
 
   @Override
   public boolean existsDataProcessor(String elementId) {
-    return getDataProcessorById(elementId) != null;
+    return processorCache.contains(elementId);
   }
 
   @Override
   public boolean existsDataStream(String elementId) {
-    return getDataStreamById(elementId) != null;
+    return streamCache.contains(elementId);
   }
 
   @Override
   public boolean existsDataSink(String elementId) {
-    return getDataSinkById(elementId) != null;
+    return sinkCache.contains(elementId);
   }
 
   @Override
   public boolean update(SpDataStream stream) {
     this.dataStreamStorage.updateElement(stream);
+    streamCache.reload(stream.getElementId());
     return true;
   }
 
   @Override
   public boolean update(DataProcessorDescription processorDescription) {
     this.dataProcessorStorage.updateElement(processorDescription);
+    processorCache.reload(processorDescription.getElementId());
     return true;
   }
 
   @Override
   public boolean exists(DataSinkDescription sec) {
-    return getDataSinkById(sec.getElementId()) != null;
+    return sinkCache.contains(sec.getElementId());
   }
 
   @Override
   public boolean update(DataSinkDescription sec) {
     this.dataSinkStorage.updateElement(sec);
+    sinkCache.reload(sec.getElementId());
     return true;
   }
 
   @Override
   public boolean deleteDataSink(DataSinkDescription sec) {
     this.dataSinkStorage.deleteElement(sec);
+    sinkCache.remove(sec.getElementId());
     return true;
   }
 
@@ -231,12 +250,13 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
   @Override
   public boolean storeDataSink(DataSinkDescription sec) {
     this.dataSinkStorage.createElement(sec);
+    sinkCache.reload(sec.getElementId());
     return true;
   }
 
   @Override
   public List<DataSinkDescription> getAllDataSinks() {
-    return this.dataSinkStorage.getAll();
+    return sinkCache.getAll();
   }
 
   @Override
@@ -247,21 +267,27 @@ public class PipelineElementDescriptionStorageImpl implements IPipelineElementDe
 
   @Override
   public SpDataStream getEventStreamById(String rdfId) {
-    return dataStreamStorage.getElementById(rdfId);
+    return streamCache.get(rdfId);
   }
 
   @Override
   public void refreshDataProcessorCache() {
-    // TODO no longer needed
+    processorCache.refresh();
   }
 
   @Override
   public void refreshDataSinkCache() {
-    // TODO no longer needed
+    sinkCache.refresh();
   }
 
   @Override
   public void refreshDataSourceCache() {
-    // TODO no longer needed
+    streamCache.refresh();
+  }
+
+  @Override
+  public void addInvocableElementListener(IPipelineElementDescriptionListener listener) {
+    processorCache.addListener(listener);
+    sinkCache.addListener(listener);
   }
 }
@@ -99,17 +99,14 @@ public class PipelineStorageImpl extends AbstractDao<Pipeline> implements IPipel
   public void storeVirtualSensor(String username, VirtualSensor virtualSensor) {
     CouchDbClient couchDbClient = couchDbClientSupplier.get();
     couchDbClient.save(virtualSensor);
-    couchDbClient.shutdown();
   }
 
   @Override
   public List<VirtualSensor> getVirtualSensors(String username) {
     CouchDbClient couchDbClient = couchDbClientSupplier.get();
-    List<VirtualSensor> virtualSensors = couchDbClient.view("_all_docs")
+    return couchDbClient.view("_all_docs")
             .includeDocs(true)
             .query(VirtualSensor.class);
-    couchDbClient.shutdown();
-    return virtualSensors;
   }
 
 }
@@ -51,8 +51,6 @@ public class VisualizationStorageImpl extends AbstractDao<RunningVisualization>
     public void storeVisualization(RunningVisualization visualization) {
         CouchDbClient couchDbClient = couchDbClientSupplier.get();
         couchDbClient.save(visualization);
-        couchDbClient.shutdown();
-
     }
 
     @Override
@@ -66,7 +64,6 @@ public class VisualizationStorageImpl extends AbstractDao<RunningVisualization>
                         couchDbClient.remove(viz);
                 }
             }
-            couchDbClient.shutdown();
         } catch (NoDocumentException e) {
             e.printStackTrace();
         }
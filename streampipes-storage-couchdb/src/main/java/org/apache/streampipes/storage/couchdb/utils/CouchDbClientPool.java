@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.storage.couchdb.utils;
+
+import com.google.gson.GsonBuilder;
+import org.apache.streampipes.commons.constants.Envs;
+import org.lightcouch.CouchDbProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one long-lived {@link SharedCouchDbClient} per database and serializer, each backed by a pooled
+ * connection manager with a bounded number of connections. When the configured CouchDB location changes,
+ * the clients of the previous location are released.
+ */
+public class CouchDbClientPool {
+
+  private static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+  private static final Map<String, SharedCouchDbClient> clients = new ConcurrentHashMap<>();
+
+  private static volatile String currentLocation;
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(CouchDbClientPool::shutdownAll, "couchdb-client-pool-shutdown"));
+  }
+
+  public static SharedCouchDbClient getClient(String dbname,
+                                              String serializerName,
+                                              Supplier<GsonBuilder> gsonBuilder) {
+    CouchDbConfig config = CouchDbConfig.INSTANCE;
+    String location = config.getProtocol() + "://" + config.getHost() + ":" + config.getPort();
+
+    return getClient(location, dbname, serializerName, () -> {
+      SharedCouchDbClient client = new SharedCouchDbClient(props(config, dbname));
+      if (gsonBuilder != null) {
+        client.setGsonBuilder(gsonBuilder.get());
+      }
+      return client;
+    });
+  }
+
+  static SharedCouchDbClient getClient(String location,
+                                       String dbname,
+                                       String serializerName,
+                                       Supplier<SharedCouchDbClient> clientFactory) {
+    if (!location.equals(currentLocation)) {
+      releaseStaleClients(location);
+    }
+    String key = location + "/" + dbname + "#" + serializerName;
+
+    return clients.computeIfAbsent(key, k -> clientFactory.get());
+  }
+
+  public static void shutdownAll() {
+    clients.values().forEach(SharedCouchDbClient::release);
+    clients.clear();
+  }
+
+  private static synchronized void releaseStaleClients(String location) {
+    if (!location.equals(currentLocation)) {
+      String prefix = location + "/";
+      clients.entrySet().removeIf(entry -> {
+        if (!entry.getKey().startsWith(prefix)) {
+          entry.getValue().release();
+          return true;
+        }
+        return false;
+      });
+      currentLocation = location;
+    }
+  }
+
+  private static CouchDbProperties props(CouchDbConfig config, String dbname) {
+    CouchDbProperties properties = new CouchDbProperties(dbname, true, config.getProtocol(),
+            config.getHost(), config.getPort(), null, null);
+    properties.setMaxConnections(getMaxConnections());
+    return properties;
+  }
+
+  private static int getMaxConnections() {
+    return Envs.SP_COUCHDB_MAX_CONNECTIONS.exists()
+            ? Envs.SP_COUCHDB_MAX_CONNECTIONS.getValueAsInt() : DEFAULT_MAX_CONNECTIONS;
+  }
+}
@@ -20,7 +20,6 @@ package org.apache.streampipes.storage.couchdb.utils;
 
 import org.apache.streampipes.serializers.json.GsonSerializer;
 import org.lightcouch.CouchDbClient;
-import org.lightcouch.CouchDbProperties;
 
 public class Utils {
 
@@ -102,8 +101,7 @@ public class Utils {
 
   //TODO: Remove??
   public static CouchDbClient getCouchDbRdfEndpointClient() {
-    CouchDbClient dbClient = new CouchDbClient(props("rdfendpoint"));
-    return dbClient;
+    return getCouchDbStandardSerializerClient("rdfendpoint");
   }
 
   public static CouchDbClient getCouchDbDataExplorerDashboardClient() {
@@ -159,33 +157,22 @@ public class Utils {
   }
 
   private static CouchDbClient getCouchDbGsonClient(String dbname) {
-    CouchDbClient dbClient = new CouchDbClient(props(dbname));
-    dbClient.setGsonBuilder(GsonSerializer.getGsonBuilder());
-    return dbClient;
+    return CouchDbClientPool.getClient(dbname, "gson", GsonSerializer::getGsonBuilder);
   }
 
   private static CouchDbClient getCouchDbPrincipalClient(String dbname) {
-    CouchDbClient dbClient = new CouchDbClient(props(dbname));
-    dbClient.setGsonBuilder(GsonSerializer.getPrincipalGsonBuilder());
-    return dbClient;
+    return CouchDbClientPool.getClient(dbname, "principal", GsonSerializer::getPrincipalGsonBuilder);
   }
 
   private static CouchDbClient getCouchDbAdapterClient(String dbname) {
-    CouchDbClient dbClient = new CouchDbClient(props(dbname));
-    dbClient.setGsonBuilder(GsonSerializer.getAdapterGsonBuilder());
-    return dbClient;
+    return CouchDbClientPool.getClient(dbname, "adapter", GsonSerializer::getAdapterGsonBuilder);
   }
 
   private static CouchDbClient getCouchDbStandardSerializerClient(String dbname) {
-    return new CouchDbClient(props(dbname));
+    return CouchDbClientPool.getClient(dbname, "standard", null);
   }
 
   public static CouchDbClient getCoucbDbClient(String table) {
-    return new CouchDbClient(props(table));
-  }
-
-  private static CouchDbProperties props(String dbname) {
-    return new CouchDbProperties(dbname, true, CouchDbConfig.INSTANCE.getProtocol(),
-            CouchDbConfig.INSTANCE.getHost(), CouchDbConfig.INSTANCE.getPort(), null, null);
+    return getCouchDbStandardSerializerClient(table);
   }
 }
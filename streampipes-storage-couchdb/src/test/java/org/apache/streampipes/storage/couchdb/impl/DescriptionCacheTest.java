@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.storage.couchdb.impl;
+
+import com.google.gson.Gson;
+import org.apache.streampipes.model.graph.DataProcessorDescription;
+import org.apache.streampipes.storage.api.IPipelineElementDescriptionListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.lightcouch.ChangesResult;
+import org.lightcouch.CouchDbClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DescriptionCacheTest {
+
+  private final Gson gson = new Gson();
+  private final CouchDbClient couchDbClient = mock(CouchDbClient.class, RETURNS_DEEP_STUBS);
+  private final IPipelineElementDescriptionListener listener = mock(IPipelineElementDescriptionListener.class);
+
+  private DescriptionCache<DataProcessorDescription> cache;
+
+  @Before
+  public void setUp() {
+    when(couchDbClient.context().info().getUpdateSeq()).thenReturn("1");
+    storedElements(element("a", "A"), element("b", "B"));
+
+    cache = new DescriptionCache<>("data-processor", () -> couchDbClient,
+            DataProcessorDescription.class, DataProcessorDescription::new);
+    cache.addListener(listener);
+  }
+
+  @Test
+  public void refreshReplacesAllElements() {
+    assertEquals(ids("a", "b"), cachedIds());
+
+    storedElements(element("b", "B2"), element("c", "C"));
+    cache.refresh();
+
+    assertEquals(ids("b", "c"), cachedIds());
+    assertEquals("B2", cache.get("b").getName());
+    verify(listener).onElementsReloaded();
+  }
+
+  @Test
+  public void changeUpdatesElement() {
+    cache.getAll();
+
+    String changedId = cache.applyChange(row("2", "a", false, element("a", "A2")), gson);
+
+    assertEquals("a", changedId);
+    assertEquals("A2", cache.get("a").getName());
+  }
+
+  @Test
+  public void changeAddsNewElement() {
+    cache.getAll();
+
+    cache.applyChange(row("2", "c", false, element("c", "C")), gson);
+
+    assertEquals(ids("a", "b", "c"), cachedIds());
+  }
+
+  @Test
+  public void deletionRemovesElement() {
+    cache.getAll();
+
+    String changedId = cache.applyChange(row("2", "a", true, null), gson);
+
+    assertEquals("a", changedId);
+    assertFalse(cache.contains("a"));
+    assertNull(cache.get("a"));
+  }
+
+  @Test
+  public void designDocumentsAreIgnored() {
+    cache.getAll();
+
+    String changedId = cache.applyChange(row("2", "_design/views", false, element("_design/views", "V")), gson);
+
+    assertNull(changedId);
+    assertEquals(ids("a", "b"), cachedIds());
+  }
+
+  @Test
+  public void readersReceiveCopies() {
+    cache.get("a").setName("modified");
+
+    assertEquals("A", cache.get("a").getName());
+  }
+
+  private void storedElements(DataProcessorDescription... elements) {
+    when(couchDbClient.view("_all_docs").includeDocs(true).query(DataProcessorDescription.class))
+            .thenReturn(Arrays.asList(elements));
+  }
+
+  private Set<String> cachedIds() {
+    return cache.getAll().stream().map(DataProcessorDescription::getElementId).collect(Collectors.toSet());
+  }
+
+  private Set<String> ids(String... ids) {
+    return Arrays.stream(ids).collect(Collectors.toSet());
+  }
+
+  private DataProcessorDescription element(String id, String name) {
+    DataProcessorDescription element = new DataProcessorDescription();
+    element.setElementId(id);
+    element.setName(name);
+    return element;
+  }
+
+  private ChangesResult.Row row(String seq, String id, boolean deleted, DataProcessorDescription doc) {
+    String json = "{\"seq\":\"" + seq + "\",\"id\":\"" + id + "\",\"deleted\":" + deleted
+            + (doc != null ? ",\"doc\":" + gson.toJson(doc) : "") + "}";
+    return gson.fromJson(json, ChangesResult.Row.class);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.storage.couchdb.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CouchDbClientPoolTest {
+
+  private static final String LOCATION = "http://couchdb:5984";
+  private static final String OTHER_LOCATION = "http://couchdb-new:5984";
+
+  @After
+  public void releaseClients() {
+    CouchDbClientPool.shutdownAll();
+  }
+
+  @Test
+  public void clientIsSharedPerDatabaseAndSerializer() {
+    SharedCouchDbClient client = CouchDbClientPool.getClient(LOCATION, "pipeline", "json", this::newClient);
+
+    assertSame(client, CouchDbClientPool.getClient(LOCATION, "pipeline", "json", this::newClient));
+    assertNotSame(client, CouchDbClientPool.getClient(LOCATION, "pipeline", "jsonld", this::newClient));
+    assertNotSame(client, CouchDbClientPool.getClient(LOCATION, "user", "json", this::newClient));
+  }
+
+  @Test
+  public void clientsOfPreviousLocationAreReleased() {
+    SharedCouchDbClient pipelineClient = CouchDbClientPool.getClient(LOCATION, "pipeline", "json", this::newClient);
+    SharedCouchDbClient userClient = CouchDbClientPool.getClient(LOCATION, "user", "json", this::newClient);
+
+    SharedCouchDbClient newClient = CouchDbClientPool.getClient(OTHER_LOCATION, "pipeline", "json", this::newClient);
+
+    verify(pipelineClient).release();
+    verify(userClient).release();
+    verify(newClient, never()).release();
+    assertNotSame(pipelineClient, newClient);
+  }
+
+  @Test
+  public void clientsOfCurrentLocationAreKept() {
+    SharedCouchDbClient client = CouchDbClientPool.getClient(LOCATION, "pipeline", "json", this::newClient);
+
+    CouchDbClientPool.getClient(LOCATION, "user", "json", this::newClient);
+
+    verify(client, never()).release();
+  }
+
+  @Test
+  public void sharedClientIgnoresShutdownOfCallers() {
+    SharedCouchDbClient client = mock(SharedCouchDbClient.class, CALLS_REAL_METHODS);
+
+    client.shutdown();
+    client.close();
+
+    verify(client, never()).release();
+  }
+
+  private SharedCouchDbClient newClient() {
+    return mock(SharedCouchDbClient.class);
+  }
+}
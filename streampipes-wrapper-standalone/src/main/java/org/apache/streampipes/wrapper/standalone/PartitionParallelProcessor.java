@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+
+import java.util.function.Supplier;
+
+/**
+ * Declares that the events of a data processor can be processed partition by partition, i.e., the processor keeps
+ * no state which depends on events of other partitions, as is the case for filters or per-event transformations.
+ * With SP_STANDALONE_PARALLELISM > 1, such processors run as several engine replicas, each receiving a fixed subset
+ * of the partitions of the input topics. Processors which aggregate, count or correlate events must not implement
+ * this interface.
+ */
+public interface PartitionParallelProcessor<B extends EventProcessorBindingParams> {
+
+  /**
+   * @return a supplier which creates a new, independent engine instance on every call.
+   */
+  Supplier<EventProcessor<B>> getReplicaSupplier();
+}
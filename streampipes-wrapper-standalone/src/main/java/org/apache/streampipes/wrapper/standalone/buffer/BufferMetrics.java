@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.buffer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class BufferMetrics implements BufferMetricsMBean {
+
+  private final EventRingBuffer<?> buffer;
+  private final BackpressurePolicy policy;
+  private final LongAdder processedEvents = new LongAdder();
+  private final LongAdder droppedEvents = new LongAdder();
+
+  public BufferMetrics(EventRingBuffer<?> buffer, BackpressurePolicy policy) {
+    this.buffer = buffer;
+    this.policy = policy;
+  }
+
+  public void processed(int count) {
+    processedEvents.add(count);
+  }
+
+  public void dropped() {
+    droppedEvents.increment();
+  }
+
+  @Override
+  public int getCapacity() {
+    return buffer.capacity();
+  }
+
+  @Override
+  public int getDepth() {
+    return buffer.size();
+  }
+
+  @Override
+  public long getProcessedEvents() {
+    return processedEvents.sum();
+  }
+
+  @Override
+  public long getDroppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  @Override
+  public String getBackpressurePolicy() {
+    return policy.name();
+  }
+}
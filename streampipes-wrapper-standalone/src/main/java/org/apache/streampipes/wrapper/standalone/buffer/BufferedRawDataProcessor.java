@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.buffer;
+
+import org.apache.streampipes.commons.metrics.MetricsRegistry;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples the broker consumer thread from event processing. Incoming events are placed in a
+ * bounded buffer and handed to the wrapped processor by a dedicated worker thread, which drains
+ * consecutive events of the same source as one batch.
+ */
+public class BufferedRawDataProcessor implements RawDataProcessor, Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BufferedRawDataProcessor.class);
+
+  private static final String METRICS_TYPE = "StandaloneEventBuffer";
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static final long STOP_TIMEOUT_MILLIS = 10000;
+
+  private final String instanceId;
+  private final RawDataProcessor delegate;
+  private final EventRingBuffer<BufferedEvent> buffer;
+  private final BackpressurePolicy policy;
+  private final BufferMetrics metrics;
+  private final Thread worker;
+
+  private volatile boolean running;
+  private volatile boolean idle;
+
+  public BufferedRawDataProcessor(String instanceId,
+                                  RawDataProcessor delegate,
+                                  int bufferSize,
+                                  BackpressurePolicy policy) {
+    this.instanceId = instanceId;
+    this.delegate = delegate;
+    this.buffer = new EventRingBuffer<>(bufferSize);
+    this.policy = policy;
+    this.metrics = new BufferMetrics(buffer, policy);
+    this.worker = new Thread(this, "sp-buffer-" + instanceId);
+    this.worker.setDaemon(true);
+  }
+
+  public void start() {
+    this.running = true;
+    this.worker.start();
+    MetricsRegistry.register(METRICS_TYPE, instanceId, metrics);
+  }
+
+  public void stop() {
+    this.running = false;
+    LockSupport.unpark(worker);
+    try {
+      worker.join(STOP_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      LOG.warn("Buffer of {} was not drained within {} ms", instanceId, STOP_TIMEOUT_MILLIS);
+    }
+    MetricsRegistry.unregister(METRICS_TYPE, instanceId);
+  }
+
+  public BufferMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    enqueue(new BufferedEvent(rawEvent, null, null, sourceInfo));
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    enqueue(new BufferedEvent(null, rawEvent, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    for (byte[] rawEvent : rawEvents) {
+      enqueue(new BufferedEvent(null, rawEvent, dataFormatDefinition, sourceInfo));
+    }
+  }
+
+  @Override
+  public void run() {
+    while (running || !buffer.isEmpty()) {
+      BufferedEvent event = buffer.poll();
+      if (event != null) {
+        dispatch(event);
+      } else {
+        idle = true;
+        if (running && buffer.isEmpty()) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        idle = false;
+      }
+    }
+  }
+
+  private void enqueue(BufferedEvent event) {
+    if (!buffer.offer(event)) {
+      switch (policy) {
+        case DROP_NEWEST:
+          metrics.dropped();
+          return;
+        case DROP_OLDEST:
+          while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+              metrics.dropped();
+            }
+          }
+          break;
+        default:
+          while (!buffer.offer(event)) {
+            if (!running) {
+              metrics.dropped();
+              return;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+          }
+      }
+    }
+    if (idle) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  private void dispatch(BufferedEvent first) {
+    BufferedEvent next = first;
+    while (next != null) {
+      BufferedEvent head = next;
+      next = null;
+      if (head.rawEvent != null) {
+        processMap(head);
+        return;
+      }
+      List<byte[]> batch = new ArrayList<>();
+      batch.add(head.payload);
+      while (batch.size() < MAX_BATCH_SIZE) {
+        BufferedEvent candidate = buffer.poll();
+        if (candidate == null) {
+          break;
+        } else if (head.sameSource(candidate)) {
+          batch.add(candidate.payload);
+        } else {
+          next = candidate;
+          break;
+        }
+      }
+      processBatch(head, batch);
+    }
+  }
+
+  private void processMap(BufferedEvent event) {
+    try {
+      delegate.process(event.rawEvent, event.sourceInfo);
+    } catch (RuntimeException e) {
+      LOG.error("Could not process event of {}", event.sourceInfo, e);
+    }
+    metrics.processed(1);
+  }
+
+  private void processBatch(BufferedEvent head, List<byte[]> batch) {
+    try {
+      delegate.process(batch, head.dataFormatDefinition, head.sourceInfo);
+    } catch (RuntimeException e) {
+      LOG.error("Could not process events of {}", head.sourceInfo, e);
+    }
+    metrics.processed(batch.size());
+  }
+
+  private static final class BufferedEvent {
+
+    private final Map<String, Object> rawEvent;
+    private final byte[] payload;
+    private final SpDataFormatDefinition dataFormatDefinition;
+    private final String sourceInfo;
+
+    private BufferedEvent(Map<String, Object> rawEvent,
+                          byte[] payload,
+                          SpDataFormatDefinition dataFormatDefinition,
+                          String sourceInfo) {
+      this.rawEvent = rawEvent;
+      this.payload = payload;
+      this.dataFormatDefinition = dataFormatDefinition;
+      this.sourceInfo = sourceInfo;
+    }
+
+    private boolean sameSource(BufferedEvent other) {
+      return other.rawEvent == null
+              && other.dataFormatDefinition == dataFormatDefinition
+              && other.sourceInfo.equals(sourceInfo);
+    }
+  }
+}
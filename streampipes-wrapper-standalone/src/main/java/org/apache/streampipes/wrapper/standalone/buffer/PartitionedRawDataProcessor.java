@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.buffer;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes the events of each topic partition to a fixed engine replica, each running on its own
+ * worker thread. Events of the same partition are therefore processed in order by the same
+ * replica. Events which do not originate from a partitioned topic go to the first replica.
+ */
+public class PartitionedRawDataProcessor implements RawDataProcessor {
+
+  private final List<BufferedRawDataProcessor> replicas;
+
+  public PartitionedRawDataProcessor(List<BufferedRawDataProcessor> replicas) {
+    this.replicas = replicas;
+  }
+
+  public void start() {
+    replicas.forEach(BufferedRawDataProcessor::start);
+  }
+
+  public void stop() {
+    replicas.forEach(BufferedRawDataProcessor::stop);
+  }
+
+  @Override
+  public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    replicas.get(0).process(rawEvent, sourceInfo);
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    replicas.get(0).process(rawEvent, dataFormatDefinition, sourceInfo);
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    replicas.get(0).process(rawEvents, dataFormatDefinition, sourceInfo);
+  }
+
+  @Override
+  public void process(int partition,
+                      List<byte[]> rawEvents,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    replicas.get(partition % replicas.size()).process(rawEvents, dataFormatDefinition, sourceInfo);
+  }
+}
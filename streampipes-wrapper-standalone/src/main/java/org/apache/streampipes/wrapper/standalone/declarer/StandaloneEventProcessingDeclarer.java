@@ -25,9 +25,13 @@ import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
 import org.apache.streampipes.wrapper.declarer.EventProcessorDeclarer;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import org.apache.streampipes.wrapper.standalone.ConfiguredEventProcessor;
+import org.apache.streampipes.wrapper.standalone.PartitionParallelProcessor;
 import org.apache.streampipes.wrapper.standalone.runtime.StandaloneEventProcessorRuntime;
 
+import java.util.function.Supplier;
+
 public abstract class StandaloneEventProcessingDeclarer<B extends
         EventProcessorBindingParams> extends EventProcessorDeclarer<B, StandaloneEventProcessorRuntime<B>> {
 
@@ -44,6 +48,13 @@ public abstract class StandaloneEventProcessingDeclarer<B extends
             (configuredEngine.getBindingParams(), false, configExtractor, streamPipesClient);
 
     return new StandaloneEventProcessorRuntime<>(configuredEngine.getEngineSupplier(),
-            runtimeParams);
+            replicaSupplier(), runtimeParams);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Supplier<EventProcessor<B>> replicaSupplier() {
+    return this instanceof PartitionParallelProcessor
+            ? ((PartitionParallelProcessor<B>) this).getReplicaSupplier()
+            : null;
   }
 }
@@ -25,9 +25,13 @@ import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
 import org.apache.streampipes.wrapper.declarer.EventProcessorDeclarer;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import org.apache.streampipes.wrapper.standalone.ConfiguredEventProcessor;
+import org.apache.streampipes.wrapper.standalone.PartitionParallelProcessor;
 import org.apache.streampipes.wrapper.standalone.runtime.StandaloneEventProcessorRuntime;
 
+import java.util.function.Supplier;
+
 public abstract class StandaloneEventProcessorDeclarerSingleton<B extends EventProcessorBindingParams>
         extends EventProcessorDeclarer<B, StandaloneEventProcessorRuntime<B>> {
 
@@ -42,8 +46,15 @@ public abstract class StandaloneEventProcessorDeclarerSingleton<B extends EventP
             (configuredEngine.getBindingParams(), true, configExtractor, streamPipesClient);
 
     return new StandaloneEventProcessorRuntime<>(configuredEngine.getEngineSupplier(),
-            runtimeParams);
+            replicaSupplier(), runtimeParams);
   }
 
   public abstract ConfiguredEventProcessor<B> onInvocation(DataProcessorInvocation graph, ProcessingElementParameterExtractor extractor);
+
+  @SuppressWarnings("unchecked")
+  private Supplier<EventProcessor<B>> replicaSupplier() {
+    return this instanceof PartitionParallelProcessor
+            ? ((PartitionParallelProcessor<B>) this).getReplicaSupplier()
+            : null;
+  }
 }
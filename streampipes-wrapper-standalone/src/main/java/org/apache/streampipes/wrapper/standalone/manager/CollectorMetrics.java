@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.manager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class CollectorMetrics implements CollectorMetricsMBean {
+
+  private final IntSupplier inputCollectors;
+  private final IntSupplier outputCollectors;
+
+  private final LongAdder connects = new LongAdder();
+  private final LongAdder connectNanos = new LongAdder();
+  private final AtomicLong maxConnectNanos = new AtomicLong();
+
+  private final LongAdder disconnects = new LongAdder();
+  private final LongAdder disconnectNanos = new LongAdder();
+  private final AtomicLong maxDisconnectNanos = new AtomicLong();
+
+  public CollectorMetrics(IntSupplier inputCollectors, IntSupplier outputCollectors) {
+    this.inputCollectors = inputCollectors;
+    this.outputCollectors = outputCollectors;
+  }
+
+  public void connected(long nanos) {
+    connects.increment();
+    connectNanos.add(nanos);
+    maxConnectNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  public void disconnected(long nanos) {
+    disconnects.increment();
+    disconnectNanos.add(nanos);
+    maxDisconnectNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  @Override
+  public int getInputCollectors() {
+    return inputCollectors.getAsInt();
+  }
+
+  @Override
+  public int getOutputCollectors() {
+    return outputCollectors.getAsInt();
+  }
+
+  @Override
+  public long getConnects() {
+    return connects.sum();
+  }
+
+  @Override
+  public long getDisconnects() {
+    return disconnects.sum();
+  }
+
+  @Override
+  public double getAverageConnectMillis() {
+    return average(connectNanos.sum(), connects.sum());
+  }
+
+  @Override
+  public double getMaxConnectMillis() {
+    return toMillis(maxConnectNanos.get());
+  }
+
+  @Override
+  public double getAverageDisconnectMillis() {
+    return average(disconnectNanos.sum(), disconnects.sum());
+  }
+
+  @Override
+  public double getMaxDisconnectMillis() {
+    return toMillis(maxDisconnectNanos.get());
+  }
+
+  private double average(long nanos, long count) {
+    return count == 0 ? 0 : toMillis(nanos) / count;
+  }
+
+  private double toMillis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -18,84 +18,162 @@
 
 package org.apache.streampipes.wrapper.standalone.manager;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.commons.metrics.MetricsRegistry;
+import org.apache.streampipes.model.grounding.JmsTransportProtocol;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Shares input and output collectors between the pipeline element instances of an extensions
+ * service. Collectors are identified by their protocol, broker, topic and format. Each element
+ * instance acquires the collectors it uses once and releases them when it is detached. A collector
+ * is disconnected as soon as the last instance has released it.
+ */
 public class ProtocolManager {
 
-  public static Map<String, StandaloneSpInputCollector> consumers = new HashMap<>();
-  public static Map<String, StandaloneSpOutputCollector> producers = new HashMap<>();
-
   private static final Logger LOG = LoggerFactory.getLogger(ProtocolManager.class);
 
-  // TODO currently only the topic name is used as an identifier for a consumer/producer. Should
-  // be changed by some hashCode implementation in streampipes-model, but this requires changes
-  // in empire serializers
+  private static final Map<String, Registration<StandaloneSpInputCollector>> consumers = new ConcurrentHashMap<>();
+  private static final Map<String, Registration<StandaloneSpOutputCollector>> producers = new ConcurrentHashMap<>();
 
-  public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector(T protocol,
-                                                                                            TransportFormat format,
-                                                                                            Boolean singletonEngine) throws SpRuntimeException {
+  private static final CollectorMetrics metrics = new CollectorMetrics(consumers::size, producers::size);
 
-    if (consumers.containsKey(topicName(protocol))) {
-      return consumers.get(topicName(protocol));
-    } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, format, singletonEngine));
-      LOG.info("Adding new consumer to consumer map (size=" + consumers.size() + "): " + topicName(protocol));
-      return consumers.get(topicName(protocol));
-    }
+  static {
+    MetricsRegistry.register("ProtocolManager", "collectors", metrics);
+  }
 
+  public static <T extends TransportProtocol> StandaloneSpInputCollector acquireInputCollector(T protocol,
+                                                                                               TransportFormat format,
+                                                                                               Boolean singletonEngine) throws SpRuntimeException {
+    String key = collectorKey(protocol, format) + "|" + singletonEngine;
+    StandaloneSpInputCollector collector = acquire(consumers, key, () ->
+            new StandaloneSpInputCollector<>(protocol, format, singletonEngine));
+    LOG.info("Acquired consumer (size={}): {}", consumers.size(), key);
+    return collector;
   }
 
-  public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(T protocol,
-                                                                                              TransportFormat format) throws SpRuntimeException {
+  public static <T extends TransportProtocol> StandaloneSpOutputCollector acquireOutputCollector(T protocol,
+                                                                                                 TransportFormat format) throws SpRuntimeException {
+    String key = collectorKey(protocol, format);
+    StandaloneSpOutputCollector collector = acquire(producers, key, () ->
+            new StandaloneSpOutputCollector<>(protocol, format));
+    LOG.info("Acquired producer (size={}): {}", producers.size(), key);
+    return collector;
+  }
 
-    if (producers.containsKey(topicName(protocol))) {
-      return producers.get(topicName(protocol));
-    } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, format));
-      LOG.info("Adding new producer to producer map (size=" + producers.size() + "): " + topicName
-              (protocol));
-      return producers.get(topicName(protocol));
-    }
+  public static void releaseInputCollector(StandaloneSpInputCollector collector) throws SpRuntimeException {
+    release(consumers, collector);
+  }
 
+  public static void releaseOutputCollector(StandaloneSpOutputCollector collector) throws SpRuntimeException {
+    release(producers, collector);
   }
 
-  private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(T protocol,
-                                                                                                TransportFormat format,
-                                                                                                Boolean singletonEngine) throws SpRuntimeException {
-    return new StandaloneSpInputCollector<>(protocol, format, singletonEngine);
+  public static CollectorMetrics getMetrics() {
+    return metrics;
   }
 
-  public static <T extends TransportProtocol> StandaloneSpOutputCollector<T> makeOutputCollector(T protocol,
-                                                                                                 TransportFormat format) throws SpRuntimeException {
-    return new StandaloneSpOutputCollector<>(protocol, format);
+  private static <C extends StandaloneSpCollector> C acquire(Map<String, Registration<C>> registry,
+                                                             String key,
+                                                             CollectorSupplier<C> supplier) throws SpRuntimeException {
+    while (true) {
+      Registration<C> registration = registry.get(key);
+      if (registration == null) {
+        Registration<C> created = new Registration<>(key, supplier.get());
+        registration = registry.putIfAbsent(key, created);
+        if (registration == null) {
+          return created.collector;
+        }
+      }
+      if (registration.retain()) {
+        return registration.collector;
+      }
+      // the registration has just been released by its last user, so wait until it is removed
+      registry.remove(key, registration);
+    }
   }
 
-  private static String topicName(TransportProtocol protocol) {
-    return protocol.getTopicDefinition().getActualTopicName();
+  private static <C extends StandaloneSpCollector> void release(Map<String, Registration<C>> registry,
+                                                                C collector) throws SpRuntimeException {
+    for (Registration<C> registration : registry.values()) {
+      if (registration.collector == collector) {
+        if (registration.release()) {
+          registry.remove(registration.key, registration);
+          long start = System.nanoTime();
+          collector.disconnect();
+          metrics.disconnected(System.nanoTime() - start);
+          LOG.info("Removed collector (consumers={}, producers={}): {}", consumers.size(),
+                  producers.size(), registration.key);
+        }
+        return;
+      }
+    }
+    LOG.warn("Released a collector which is not registered");
   }
 
-  public static <T extends TransportProtocol> void removeInputCollector(T protocol) throws
-          SpRuntimeException {
-    consumers.remove(topicName(protocol));
-    LOG.info("Removing consumer from consumer map (size=" + consumers.size() + "): " + topicName
-            (protocol));
+  private static String collectorKey(TransportProtocol protocol, TransportFormat format) {
+    return protocol.getClass().getSimpleName()
+            + "|" + protocol.getBrokerHostname()
+            + "|" + port(protocol)
+            + "|" + protocol.getTopicDefinition().getActualTopicName()
+            + "|" + format.getRdfType();
+  }
+
+  private static Integer port(TransportProtocol protocol) {
+    if (protocol instanceof KafkaTransportProtocol) {
+      return ((KafkaTransportProtocol) protocol).getKafkaPort();
+    } else if (protocol instanceof JmsTransportProtocol) {
+      return ((JmsTransportProtocol) protocol).getPort();
+    } else if (protocol instanceof MqttTransportProtocol) {
+      return ((MqttTransportProtocol) protocol).getPort();
+    } else {
+      return null;
+    }
   }
 
-  public static <T extends TransportProtocol> void removeOutputCollector(T protocol) throws
-          SpRuntimeException {
-    producers.remove(topicName(protocol));
-    LOG.info("Removing producer from producer map (size=" + producers.size() + "): " + topicName
-            (protocol));
+  private interface CollectorSupplier<C> {
+    C get() throws SpRuntimeException;
   }
 
+  private static final class Registration<C> {
 
+    private final String key;
+    private final C collector;
+    private int references = 1;
+
+    private Registration(String key, C collector) {
+      this.key = key;
+      this.collector = collector;
+    }
+
+    /**
+     * @return false if the collector has already been released by its last user.
+     */
+    private synchronized boolean retain() {
+      if (references == 0) {
+        return false;
+      }
+      references++;
+      return true;
+    }
+
+    /**
+     * @return true if this was the last reference to the collector.
+     */
+    private synchronized boolean release() {
+      references--;
+      return references == 0;
+    }
+  }
 }
@@ -19,18 +19,26 @@
 package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
 
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, RawDataProcessor>
         implements
         InternalEventProcessor<byte[]>, SpInputCollector {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpInputCollector.class);
+
   private final Boolean singletonEngine;
 
   public StandaloneSpInputCollector(T protocol, TransportFormat format,
@@ -48,28 +56,86 @@ public class StandaloneSpInputCollector<T extends TransportProtocol> extends
     }
   }
 
+  @Override
+  public void onEvents(List<byte[]> events) {
+    if (singletonEngine) {
+      send(consumers.get(consumers.keySet().toArray()[0]), events);
+    } else {
+      consumers.forEach((key, value) -> send(value, events));
+    }
+  }
+
+  @Override
+  public void onEvents(int partition, List<byte[]> events) {
+    if (singletonEngine) {
+      send(consumers.get(consumers.keySet().toArray()[0]), partition, events);
+    } else {
+      consumers.forEach((key, value) -> send(value, partition, events));
+    }
+  }
+
+  @Override
+  public void onDecodedEvents(List<Map<String, Object>> events,
+                              SpDataFormatDefinition producerDataFormat) {
+    if (singletonEngine) {
+      sendDecoded(consumers.get(consumers.keySet().toArray()[0]), events);
+    } else {
+      consumers.forEach((key, value) -> sendDecoded(value, events));
+    }
+  }
+
+  private void sendDecoded(RawDataProcessor rawDataProcessor, List<Map<String, Object>> events) {
+    for (Map<String, Object> event : events) {
+      try {
+        rawDataProcessor.process(event, topic);
+      } catch (SpRuntimeException e) {
+        LOG.error("Could not process event of topic {}", topic, e);
+      }
+    }
+  }
+
+  // failed events of a batch do not stop the remaining events, see RawDataProcessor
+  private void send(RawDataProcessor rawDataProcessor, int partition, List<byte[]> events) {
+    try {
+      rawDataProcessor.process(partition, events, dataFormatDefinition, topic);
+    } catch (SpRuntimeException e) {
+      logBatchFailure(events, e);
+    }
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, List<byte[]> events) {
+    try {
+      rawDataProcessor.process(events, dataFormatDefinition, topic);
+    } catch (SpRuntimeException e) {
+      logBatchFailure(events, e);
+    }
+  }
+
   private void send(RawDataProcessor rawDataProcessor, byte[] event) {
     try {
-      rawDataProcessor.process(dataFormatDefinition.toMap(event), topic);
+      rawDataProcessor.process(event, dataFormatDefinition, topic);
     } catch (SpRuntimeException e) {
-      e.printStackTrace();
+      LOG.error("Could not process event of topic {}", topic, e);
     }
   }
 
+  private void logBatchFailure(List<byte[]> events, SpRuntimeException e) {
+    LOG.error("Could not process all of {} events of topic {}", events.size(), topic, e);
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void connect() throws SpRuntimeException {
     if (!protocolDefinition.getConsumer().isConnected()) {
+      long start = System.nanoTime();
       protocolDefinition.getConsumer().connect(transportProtocol,this);
+      ProtocolManager.getMetrics().connected(System.nanoTime() - start);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
+  public synchronized void disconnect() throws SpRuntimeException {
     if (protocolDefinition.getConsumer().isConnected()) {
-      if (consumers.size() == 0) {
-        protocolDefinition.getConsumer().disconnect();
-        ProtocolManager.removeInputCollector(transportProtocol);
-      }
+      protocolDefinition.getConsumer().disconnect();
     }
   }
 }
@@ -21,47 +21,79 @@ package org.apache.streampipes.wrapper.standalone.routing;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InJvmTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
         StandaloneSpCollector<T, InternalEventProcessor<Map<String,
                 Object>>> implements SpOutputCollector {
 
   private final EventProducer<T> producer;
+  private final boolean inJvmTransport;
+  private volatile Set<String> partitionKeys = Collections.emptySet();
 
   public StandaloneSpOutputCollector(T protocol, TransportFormat format) throws SpRuntimeException {
    super(protocol, format);
    this.producer = protocolDefinition.getProducer();
+   this.inJvmTransport = protocol instanceof InJvmTransportProtocol;
+  }
+
+  /**
+   * Publishes events keyed by the values of the given top-level fields, so that events with the
+   * same values always end up in the same partition of the output topic.
+   */
+  public void setPartitionKeys(Set<String> partitionKeys) {
+    this.partitionKeys = new HashSet<>(partitionKeys);
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      producer.publish(dataFormatDefinition.fromMap(outEvent));
+      if (inJvmTransport) {
+        producer.publish(new EventConverter(event).toMap(), dataFormatDefinition);
+      } else if (partitionKeys.isEmpty()) {
+        producer.publish(dataFormatDefinition.fromEvent(event));
+      } else {
+        producer.publish(makePartitionKey(event), dataFormatDefinition.fromEvent(event));
+      }
     } catch (SpRuntimeException e) {
       e.printStackTrace();
     }
   }
 
+  private String makePartitionKey(Event event) {
+    StringBuilder key = new StringBuilder();
+    for (AbstractField<?> field : event.getFields().values()) {
+      if (field.isPrimitive() && partitionKeys.contains(field.getFieldNameOut())) {
+        key.append(field.getRawValue()).append('|');
+      }
+    }
+    return key.length() == 0 ? null : key.toString();
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void connect() throws SpRuntimeException {
     if (!protocolDefinition.getProducer().isConnected()) {
+      long start = System.nanoTime();
       protocolDefinition.getProducer().connect(transportProtocol);
+      ProtocolManager.getMetrics().connected(System.nanoTime() - start);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
+  public synchronized void disconnect() throws SpRuntimeException {
     if (protocolDefinition.getProducer().isConnected()) {
       protocolDefinition.getProducer().disconnect();
-      ProtocolManager.removeOutputCollector(transportProtocol);
     }
   }
 
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+class EngineReplicas {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EngineReplicas.class);
+
+  /**
+   * Creates the engines of a data processor. Additional replicas are only created for processors which provide a
+   * replica supplier, and only if the supplier actually returns new instances.
+   */
+  static <P> List<P> create(P engine,
+                            Supplier<P> replicaSupplier,
+                            int parallelism,
+                            String appId) {
+    List<P> replicas = new ArrayList<>();
+    replicas.add(engine);
+    if (replicaSupplier == null) {
+      return replicas;
+    }
+
+    Set<P> created = Collections.newSetFromMap(new IdentityHashMap<>());
+    created.add(engine);
+    for (int i = 1; i < parallelism; i++) {
+      P replica = replicaSupplier.get();
+      if (replica == null || !created.add(replica)) {
+        LOG.warn("Replica supplier of {} does not return new instances, processing events single-threaded", appId);
+        return Collections.singletonList(engine);
+      }
+      replicas.add(replica);
+    }
+    return replicas;
+  }
+}
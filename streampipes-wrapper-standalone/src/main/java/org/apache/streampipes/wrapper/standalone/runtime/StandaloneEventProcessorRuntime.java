@@ -18,48 +18,92 @@
 
 package org.apache.streampipes.wrapper.standalone.runtime;
 
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.PropertyScope;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.buffer.BufferedRawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.buffer.PartitionedRawDataProcessor;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingParams> extends
         StandalonePipelineElementRuntime<B, DataProcessorInvocation,
                 EventProcessorRuntimeParams<B>, EventProcessorRuntimeContext, EventProcessor<B>> {
 
+  private final List<EventProcessor<B>> replicas;
+
+  private volatile StandaloneSpOutputCollector outputCollector;
+
+  public StandaloneEventProcessorRuntime(Supplier<EventProcessor<B>> supplier,
+                                         EventProcessorRuntimeParams<B> params) {
+    this(supplier, null, params);
+  }
+
+  /**
+   * @param replicaSupplier creates additional engines for processors which declare to be a
+   *                        {@link org.apache.streampipes.wrapper.standalone.PartitionParallelProcessor}, null otherwise
+   */
   public StandaloneEventProcessorRuntime(Supplier<EventProcessor<B>> supplier,
+                                         Supplier<EventProcessor<B>> replicaSupplier,
                                          EventProcessorRuntimeParams<B> params) {
     super(supplier, params);
+    this.replicas = EngineReplicas.create(engine, replicaSupplier, parallelism(),
+            params.getBindingParams().getGraph().getAppId());
   }
 
+  public StandaloneSpOutputCollector getOutputCollector() throws SpRuntimeException {
+    StandaloneSpOutputCollector collector = outputCollector;
+    return collector != null ? collector : acquireOutputCollector();
+  }
 
-  public SpOutputCollector getOutputCollector() throws SpRuntimeException {
-    return ProtocolManager.findOutputCollector(
-            params
-                    .getBindingParams()
-                    .getGraph()
-                    .getOutputStream()
-                    .getEventGrounding()
-                    .getTransportProtocol(),
-            params.getBindingParams()
-                    .getGraph()
-                    .getOutputStream()
-                    .getEventGrounding()
-                    .getTransportFormats()
-                    .get(0));
+  private synchronized StandaloneSpOutputCollector acquireOutputCollector() throws SpRuntimeException {
+    if (outputCollector == null) {
+      this.outputCollector = ProtocolManager.acquireOutputCollector(
+              params
+                      .getBindingParams()
+                      .getGraph()
+                      .getOutputStream()
+                      .getEventGrounding()
+                      .getTransportProtocol(),
+              params.getBindingParams()
+                      .getGraph()
+                      .getOutputStream()
+                      .getEventGrounding()
+                      .getTransportFormats()
+                      .get(0));
+    }
+    return outputCollector;
+  }
+
+  private synchronized void releaseOutputCollector() throws SpRuntimeException {
+    if (outputCollector != null) {
+      StandaloneSpOutputCollector released = outputCollector;
+      this.outputCollector = null;
+      ProtocolManager.releaseOutputCollector(released);
+    }
   }
 
   @Override
   public void discardRuntime() throws SpRuntimeException {
     getInputCollectors().forEach(is -> is.unregisterConsumer(instanceId));
+    unbindRawDataProcessor();
     discardEngine();
     postDiscard();
   }
@@ -69,13 +113,77 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
     getEngine().onEvent(params.makeEvent(rawEvent, sourceInfo), getOutputCollector());
   }
 
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    getEngine().onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo),
+            getOutputCollector());
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    getEngine().onEventBatch(makeEvents(rawEvents, dataFormatDefinition, sourceInfo),
+            getOutputCollector());
+  }
+
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    bindRawDataProcessor();
+    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, rawDataProcessor));
+    bindPartitionKeys();
     prepareRuntime();
   }
 
+  /**
+   * For partition-parallel processors and SP_STANDALONE_PARALLELISM > 1, each engine replica runs
+   * on its own worker thread and receives the events of a fixed subset of the input topic partitions.
+   */
+  @Override
+  protected RawDataProcessor bindRawDataProcessor() throws SpRuntimeException {
+    if (replicas.size() == 1) {
+      return super.bindRawDataProcessor();
+    }
+    List<BufferedRawDataProcessor> bufferedReplicas = new ArrayList<>();
+    for (int i = 0; i < replicas.size(); i++) {
+      bufferedReplicas.add(makeBufferedProcessor(instanceId + "-" + i,
+              new ReplicaProcessor(replicas.get(i), getOutputCollector())));
+    }
+    PartitionedRawDataProcessor partitionedProcessor = new PartitionedRawDataProcessor(bufferedReplicas);
+    partitionedProcessor.start();
+    this.rawDataProcessor = partitionedProcessor;
+    return rawDataProcessor;
+  }
+
+  private void bindPartitionKeys() throws SpRuntimeException {
+    if (Envs.SP_KAFKA_PARTITIONS.exists() && Envs.SP_KAFKA_PARTITIONS.getValueAsInt() > 1) {
+      Set<String> dimensionProperties = params.getBindingParams()
+              .getGraph()
+              .getOutputStream()
+              .getEventSchema()
+              .getEventProperties()
+              .stream()
+              .filter(ep -> PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope()))
+              .map(EventProperty::getRuntimeName)
+              .collect(Collectors.toSet());
+      getOutputCollector().setPartitionKeys(dimensionProperties);
+    }
+  }
+
+  private int parallelism() {
+    return Envs.SP_STANDALONE_PARALLELISM.exists() ? Math.max(1, Envs.SP_STANDALONE_PARALLELISM.getValueAsInt()) : 1;
+  }
+
+  @Override
+  public void discardEngine() throws SpRuntimeException {
+    for (EventProcessor<B> replica : replicas) {
+      replica.onDetach();
+    }
+  }
+
   @Override
   public void prepareRuntime() throws SpRuntimeException {
     for (SpInputCollector spInputCollector : getInputCollectors()) {
@@ -87,16 +195,47 @@ public class StandaloneEventProcessorRuntime<B extends EventProcessorBindingPara
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for (SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
+    try {
+      releaseInputCollectors();
+    } finally {
+      releaseOutputCollector();
     }
-
-    getOutputCollector().disconnect();
   }
 
   @Override
   public void bindEngine() throws SpRuntimeException {
-    engine.onInvocation(params.getBindingParams(), getOutputCollector(), params.getRuntimeContext());
+    for (EventProcessor<B> replica : replicas) {
+      replica.onInvocation(params.getBindingParams(), getOutputCollector(), params.getRuntimeContext());
+    }
   }
 
+  private class ReplicaProcessor implements RawDataProcessor {
+
+    private final EventProcessor<B> replica;
+    private final SpOutputCollector outputCollector;
+
+    ReplicaProcessor(EventProcessor<B> replica, SpOutputCollector outputCollector) {
+      this.replica = replica;
+      this.outputCollector = outputCollector;
+    }
+
+    @Override
+    public void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException {
+      replica.onEvent(params.makeEvent(rawEvent, sourceInfo), outputCollector);
+    }
+
+    @Override
+    public void process(byte[] rawEvent,
+                        SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) throws SpRuntimeException {
+      replica.onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo), outputCollector);
+    }
+
+    @Override
+    public void process(List<byte[]> rawEvents,
+                        SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) throws SpRuntimeException {
+      replica.onEventBatch(makeEvents(rawEvents, dataFormatDefinition, sourceInfo), outputCollector);
+    }
+  }
 }
@@ -19,6 +19,7 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
@@ -26,6 +27,7 @@ import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -41,6 +43,7 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
   @Override
   public void discardRuntime() throws SpRuntimeException {
     getInputCollectors().forEach(is -> is.unregisterConsumer(instanceId));
+    unbindRawDataProcessor();
     discardEngine();
     postDiscard();
   }
@@ -50,10 +53,25 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
     engine.onEvent(params.makeEvent(rawEvent, sourceInfo));
   }
 
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    engine.onEvent(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+  }
+
+  @Override
+  public void process(List<byte[]> rawEvents,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) throws SpRuntimeException {
+    engine.onEventBatch(makeEvents(rawEvents, dataFormatDefinition, sourceInfo));
+  }
+
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    bindRawDataProcessor();
+    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, rawDataProcessor));
     prepareRuntime();
   }
 
@@ -66,9 +84,7 @@ public class StandaloneEventSinkRuntime<B extends EventSinkBindingParams> extend
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for(SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
-    }
+    releaseInputCollectors();
   }
 
   @Override
@@ -17,9 +17,12 @@
  */
 package org.apache.streampipes.wrapper.standalone.runtime;
 
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
@@ -27,7 +30,13 @@ import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.runtime.PipelineElement;
 import org.apache.streampipes.wrapper.runtime.PipelineElementRuntime;
+import org.apache.streampipes.wrapper.standalone.buffer.BackpressurePolicy;
+import org.apache.streampipes.wrapper.standalone.buffer.BufferedRawDataProcessor;
+import org.apache.streampipes.wrapper.standalone.buffer.PartitionedRawDataProcessor;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,9 +49,17 @@ public abstract class StandalonePipelineElementRuntime<B extends BindingParams<I
         P extends PipelineElement<B, I>>
         extends PipelineElementRuntime implements RawDataProcessor {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandalonePipelineElementRuntime.class);
+
+  private static final int DEFAULT_BUFFER_SIZE = 1024;
+
   protected RP params;
   protected final P engine;
 
+  protected RawDataProcessor rawDataProcessor;
+
+  private List<SpInputCollector> inputCollectors;
+
   public StandalonePipelineElementRuntime(Supplier<P> supplier, RP runtimeParams) {
     super();
     this.engine = supplier.get();
@@ -57,17 +74,91 @@ public abstract class StandalonePipelineElementRuntime<B extends BindingParams<I
     engine.onDetach();
   }
 
-  public List<SpInputCollector> getInputCollectors() throws SpRuntimeException {
-    List<SpInputCollector> inputCollectors = new ArrayList<>();
-    for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
-      inputCollectors.add(ProtocolManager.findInputCollector(is.getEventGrounding()
-                      .getTransportProtocol(), is.getEventGrounding().getTransportFormats().get(0),
-              params.isSingletonEngine()));
+  /**
+   * Returns the input collectors of this element, which are acquired from the
+   * {@link ProtocolManager} on first access and held until {@link #releaseInputCollectors()}.
+   */
+  public synchronized List<SpInputCollector> getInputCollectors() throws SpRuntimeException {
+    if (inputCollectors == null) {
+      List<SpInputCollector> acquired = new ArrayList<>();
+      try {
+        for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
+          acquired.add(ProtocolManager.acquireInputCollector(is.getEventGrounding()
+                          .getTransportProtocol(), is.getEventGrounding().getTransportFormats().get(0),
+                  params.isSingletonEngine()));
+        }
+      } catch (SpRuntimeException e) {
+        release(acquired);
+        throw e;
+      }
+      this.inputCollectors = acquired;
     }
     return inputCollectors;
   }
 
+  protected synchronized void releaseInputCollectors() throws SpRuntimeException {
+    if (inputCollectors != null) {
+      List<SpInputCollector> released = inputCollectors;
+      this.inputCollectors = null;
+      release(released);
+    }
+  }
+
+  private void release(List<SpInputCollector> collectors) throws SpRuntimeException {
+    for (SpInputCollector collector : collectors) {
+      ProtocolManager.releaseInputCollector((StandaloneSpInputCollector) collector);
+    }
+  }
+
   public abstract void bindEngine() throws SpRuntimeException;
 
+  /**
+   * Returns the processor to register at the input collectors. If SP_STANDALONE_BUFFER_SIZE is
+   * set, events are handed over to a dedicated worker thread through a bounded buffer.
+   */
+  protected RawDataProcessor bindRawDataProcessor() throws SpRuntimeException {
+    if (bufferSize() > 0) {
+      BufferedRawDataProcessor bufferedProcessor = makeBufferedProcessor(instanceId, this);
+      bufferedProcessor.start();
+      this.rawDataProcessor = bufferedProcessor;
+    } else {
+      this.rawDataProcessor = this;
+    }
+    return rawDataProcessor;
+  }
+
+  protected BufferedRawDataProcessor makeBufferedProcessor(String bufferId, RawDataProcessor delegate) {
+    int bufferSize = bufferSize() > 0 ? bufferSize() : DEFAULT_BUFFER_SIZE;
+    return new BufferedRawDataProcessor(bufferId, delegate, bufferSize,
+            BackpressurePolicy.from(Envs.SP_STANDALONE_BACKPRESSURE_POLICY.getValueOrDefault("BLOCK")));
+  }
+
+  private int bufferSize() {
+    return Envs.SP_STANDALONE_BUFFER_SIZE.exists() ? Envs.SP_STANDALONE_BUFFER_SIZE.getValueAsInt() : 0;
+  }
+
+  protected void unbindRawDataProcessor() {
+    if (rawDataProcessor instanceof BufferedRawDataProcessor) {
+      ((BufferedRawDataProcessor) rawDataProcessor).stop();
+    } else if (rawDataProcessor instanceof PartitionedRawDataProcessor) {
+      ((PartitionedRawDataProcessor) rawDataProcessor).stop();
+    }
+    this.rawDataProcessor = null;
+  }
+
+  protected List<Event> makeEvents(List<byte[]> rawEvents,
+                                   SpDataFormatDefinition dataFormatDefinition,
+                                   String sourceInfo) {
+    List<Event> events = new ArrayList<>(rawEvents.size());
+    for (byte[] rawEvent : rawEvents) {
+      try {
+        events.add(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+      } catch (SpRuntimeException e) {
+        LOG.warn("Skipping event of {} which could not be decoded", sourceInfo, e);
+      }
+    }
+    return events;
+  }
+
 
 }
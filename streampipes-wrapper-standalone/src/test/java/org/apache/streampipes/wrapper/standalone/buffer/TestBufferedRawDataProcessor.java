@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestBufferedRawDataProcessor {
+
+  private static final int BUFFER_SIZE = 4;
+
+  @Test
+  public void testBlockingPolicyWaitsForFreeCapacity() throws InterruptedException {
+    BlockingDelegate delegate = new BlockingDelegate();
+    BufferedRawDataProcessor processor = startProcessor("block", delegate, BackpressurePolicy.BLOCK);
+    fillBuffer(processor, delegate);
+
+    Thread producer = new Thread(() -> processor.process(new byte[0], null, "source"));
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+
+    delegate.release.countDown();
+    producer.join(5000);
+    assertFalse(producer.isAlive());
+
+    processor.stop();
+    assertEquals(BUFFER_SIZE + 2, delegate.processed.get());
+    assertEquals(0, processor.getMetrics().getDroppedEvents());
+  }
+
+  @Test
+  public void testDropNewestPolicyDiscardsIncomingEvents() throws InterruptedException {
+    BlockingDelegate delegate = new BlockingDelegate();
+    BufferedRawDataProcessor processor = startProcessor("drop-newest", delegate, BackpressurePolicy.DROP_NEWEST);
+    fillBuffer(processor, delegate);
+
+    processor.process(new byte[0], null, "source");
+    assertEquals(1, processor.getMetrics().getDroppedEvents());
+
+    delegate.release.countDown();
+    processor.stop();
+    assertEquals(BUFFER_SIZE + 1, delegate.processed.get());
+  }
+
+  @Test
+  public void testStopDrainsBufferedEvents() throws InterruptedException {
+    BlockingDelegate delegate = new BlockingDelegate();
+    BufferedRawDataProcessor processor = startProcessor("drain", delegate, BackpressurePolicy.BLOCK);
+    fillBuffer(processor, delegate);
+
+    new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      delegate.release.countDown();
+    }).start();
+    processor.stop();
+
+    assertEquals(BUFFER_SIZE + 1, delegate.processed.get());
+    assertEquals(BUFFER_SIZE + 1, processor.getMetrics().getProcessedEvents());
+  }
+
+  private BufferedRawDataProcessor startProcessor(String instanceId,
+                                                  RawDataProcessor delegate,
+                                                  BackpressurePolicy policy) {
+    BufferedRawDataProcessor processor = new BufferedRawDataProcessor("test-" + instanceId, delegate,
+            BUFFER_SIZE, policy);
+    processor.start();
+    return processor;
+  }
+
+  /**
+   * Blocks the worker in the first event and fills the buffer up to its capacity.
+   */
+  private void fillBuffer(BufferedRawDataProcessor processor,
+                          BlockingDelegate delegate) throws InterruptedException {
+    processor.process(new byte[0], null, "first");
+    assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < BUFFER_SIZE; i++) {
+      processor.process(new byte[0], null, "source");
+    }
+  }
+
+  private static class BlockingDelegate implements RawDataProcessor {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger processed = new AtomicInteger();
+
+    @Override
+    public void process(Map<String, Object> rawEvent, String sourceInfo) {
+      processed.incrementAndGet();
+    }
+
+    @Override
+    public void process(List<byte[]> rawEvents,
+                        SpDataFormatDefinition dataFormatDefinition,
+                        String sourceInfo) {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processed.addAndGet(rawEvents.size());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestEventRingBuffer {
+
+  @Test
+  public void testCapacityIsRoundedUpToPowerOfTwo() {
+    assertEquals(1, new EventRingBuffer<Integer>(1).capacity());
+    assertEquals(8, new EventRingBuffer<Integer>(5).capacity());
+    assertEquals(8, new EventRingBuffer<Integer>(8).capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveCapacityIsRejected() {
+    new EventRingBuffer<Integer>(0);
+  }
+
+  @Test
+  public void testFullBufferRejectsOffers() {
+    EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(buffer.offer(i));
+    }
+    assertFalse(buffer.offer(4));
+    assertEquals(4, buffer.size());
+
+    assertEquals(Integer.valueOf(0), buffer.poll());
+    assertTrue(buffer.offer(4));
+  }
+
+  @Test
+  public void testWraparoundKeepsFifoOrder() {
+    EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+    List<Integer> polled = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(buffer.offer(i));
+      if (i % 3 == 2) {
+        polled.add(buffer.poll());
+        polled.add(buffer.poll());
+        polled.add(buffer.poll());
+      }
+    }
+    Integer item;
+    while ((item = buffer.poll()) != null) {
+      polled.add(item);
+    }
+
+    assertEquals(100, polled.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(Integer.valueOf(i), polled.get(i));
+    }
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.poll());
+  }
+
+  @Test
+  public void testConcurrentProducersAndConsumers() throws InterruptedException {
+    int producers = 4;
+    int itemsPerProducer = 20000;
+    EventRingBuffer<Integer> buffer = new EventRingBuffer<>(64);
+    Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+    AtomicInteger consumedCount = new AtomicInteger();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      int offset = p * itemsPerProducer;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < itemsPerProducer; i++) {
+          while (!buffer.offer(offset + i)) {
+            Thread.yield();
+          }
+        }
+      }));
+    }
+    for (int c = 0; c < 2; c++) {
+      threads.add(new Thread(() -> {
+        while (consumedCount.get() < producers * itemsPerProducer) {
+          Integer item = buffer.poll();
+          if (item != null) {
+            consumed.add(item);
+            consumedCount.incrementAndGet();
+          } else {
+            Thread.yield();
+          }
+        }
+      }));
+    }
+
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join(30000);
+    }
+
+    assertEquals(producers * itemsPerProducer, consumedCount.get());
+    assertEquals(producers * itemsPerProducer, consumed.size());
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.JmsTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestProtocolManager {
+
+  private static final String FORMAT_URI = "http://test/protocol-manager/format";
+  private static final TransportFormat FORMAT = new TransportFormat(FORMAT_URI);
+
+  @BeforeClass
+  public static void registerProtocolAndFormat() {
+    SpProtocolManager.INSTANCE.register(new CountingProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new NoopFormatFactory());
+  }
+
+  @Test
+  public void testInputCollectorIsSharedAndDisconnectedOnLastRelease() {
+    StandaloneSpInputCollector first = ProtocolManager.acquireInputCollector(protocol("shared-in"), FORMAT, false);
+    first.connect();
+    StandaloneSpInputCollector second = ProtocolManager.acquireInputCollector(protocol("shared-in"), FORMAT, false);
+    second.connect();
+
+    assertSame(first, second);
+    CountingConsumer consumer = CountingProtocolDefinition.consumerOf("shared-in");
+    assertEquals(1, consumer.connects);
+
+    ProtocolManager.releaseInputCollector(first);
+    assertTrue(consumer.isConnected());
+    assertEquals(0, consumer.disconnects);
+
+    ProtocolManager.releaseInputCollector(second);
+    assertFalse(consumer.isConnected());
+    assertEquals(1, consumer.disconnects);
+  }
+
+  @Test
+  public void testOutputCollectorIsSharedAndDisconnectedOnLastRelease() {
+    StandaloneSpOutputCollector first = ProtocolManager.acquireOutputCollector(protocol("shared-out"), FORMAT);
+    first.connect();
+    StandaloneSpOutputCollector second = ProtocolManager.acquireOutputCollector(protocol("shared-out"), FORMAT);
+
+    assertSame(first, second);
+    CountingProducer producer = CountingProtocolDefinition.producerOf("shared-out");
+
+    ProtocolManager.releaseOutputCollector(second);
+    assertTrue(producer.isConnected());
+
+    ProtocolManager.releaseOutputCollector(first);
+    assertFalse(producer.isConnected());
+    assertEquals(1, producer.disconnects);
+  }
+
+  @Test
+  public void testCollectorsAreKeyedByTopicAndSingletonEngine() {
+    StandaloneSpInputCollector topicA = ProtocolManager.acquireInputCollector(protocol("key-a"), FORMAT, false);
+    StandaloneSpInputCollector topicB = ProtocolManager.acquireInputCollector(protocol("key-b"), FORMAT, false);
+    StandaloneSpInputCollector singleton = ProtocolManager.acquireInputCollector(protocol("key-a"), FORMAT, true);
+
+    assertNotSame(topicA, topicB);
+    assertNotSame(topicA, singleton);
+
+    ProtocolManager.releaseInputCollector(topicA);
+    ProtocolManager.releaseInputCollector(topicB);
+    ProtocolManager.releaseInputCollector(singleton);
+  }
+
+  @Test
+  public void testAcquireAfterLastReleaseCreatesNewCollector() {
+    StandaloneSpInputCollector released = ProtocolManager.acquireInputCollector(protocol("recreate"), FORMAT, false);
+    ProtocolManager.releaseInputCollector(released);
+
+    StandaloneSpInputCollector recreated = ProtocolManager.acquireInputCollector(protocol("recreate"), FORMAT, false);
+    assertNotSame(released, recreated);
+    ProtocolManager.releaseInputCollector(recreated);
+  }
+
+  @Test
+  public void testUnknownCollectorReleaseIsIgnored() {
+    StandaloneSpInputCollector registered = ProtocolManager.acquireInputCollector(protocol("unknown"), FORMAT, false);
+    registered.connect();
+    StandaloneSpInputCollector unregistered = new StandaloneSpInputCollector<>(protocol("unknown"), FORMAT, false);
+
+    ProtocolManager.releaseInputCollector(unregistered);
+    assertTrue(CountingProtocolDefinition.consumerOf("unknown").isConnected());
+
+    ProtocolManager.releaseInputCollector(registered);
+    assertFalse(CountingProtocolDefinition.consumerOf("unknown").isConnected());
+  }
+
+  @Test
+  public void testConcurrentAcquireAndReleaseDisconnectsOnce() throws Exception {
+    int threads = 8;
+    int rounds = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    StandaloneSpInputCollector held = ProtocolManager.acquireInputCollector(protocol("concurrent"), FORMAT, false);
+    held.connect();
+
+    for (int i = 0; i < threads; i++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int round = 0; round < rounds; round++) {
+          StandaloneSpInputCollector collector = ProtocolManager.acquireInputCollector(protocol("concurrent"),
+                  FORMAT, false);
+          assertSame(held, collector);
+          ProtocolManager.releaseInputCollector(collector);
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    CountingConsumer consumer = CountingProtocolDefinition.consumerOf("concurrent");
+    assertEquals(0, consumer.disconnects);
+    ProtocolManager.releaseInputCollector(held);
+    assertEquals(1, consumer.disconnects);
+  }
+
+  private static JmsTransportProtocol protocol(String topic) {
+    return new JmsTransportProtocol("localhost", 61616, topic);
+  }
+
+  private static String topic(TransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private static class CountingProtocolFactory extends SpProtocolDefinitionFactory<JmsTransportProtocol> {
+
+    @Override
+    public TransportProtocol getTransportProtocol() {
+      return new JmsTransportProtocol();
+    }
+
+    @Override
+    public String getTransportProtocolClass() {
+      return JmsTransportProtocol.class.getCanonicalName();
+    }
+
+    @Override
+    public SpProtocolDefinition<JmsTransportProtocol> createInstance() {
+      return new CountingProtocolDefinition();
+    }
+  }
+
+  private static class CountingProtocolDefinition implements SpProtocolDefinition<JmsTransportProtocol> {
+
+    private static final Map<String, CountingConsumer> consumers = new ConcurrentHashMap<>();
+    private static final Map<String, CountingProducer> producers = new ConcurrentHashMap<>();
+
+    private final CountingConsumer consumer = new CountingConsumer();
+    private final CountingProducer producer = new CountingProducer();
+
+    @Override
+    public EventConsumer<JmsTransportProtocol> getConsumer() {
+      return consumer;
+    }
+
+    @Override
+    public EventProducer<JmsTransportProtocol> getProducer() {
+      return producer;
+    }
+
+    static CountingConsumer consumerOf(String topic) {
+      return consumers.get(topic);
+    }
+
+    static CountingProducer producerOf(String topic) {
+      return producers.get(topic);
+    }
+  }
+
+  private static class CountingConsumer implements EventConsumer<JmsTransportProtocol> {
+
+    private volatile boolean connected;
+    private int connects;
+    private int disconnects;
+
+    @Override
+    public synchronized void connect(JmsTransportProtocol protocolSettings,
+                                     InternalEventProcessor<byte[]> eventProcessor) {
+      CountingProtocolDefinition.consumers.put(topic(protocolSettings), this);
+      connected = true;
+      connects++;
+    }
+
+    @Override
+    public synchronized void disconnect() {
+      connected = false;
+      disconnects++;
+    }
+
+    @Override
+    public Boolean isConnected() {
+      return connected;
+    }
+  }
+
+  private static class CountingProducer implements EventProducer<JmsTransportProtocol> {
+
+    private volatile boolean connected;
+    private int disconnects;
+
+    @Override
+    public void connect(JmsTransportProtocol protocolSettings) {
+      CountingProtocolDefinition.producers.put(topic(protocolSettings), this);
+      connected = true;
+    }
+
+    @Override
+    public void publish(byte[] event) {
+    }
+
+    @Override
+    public synchronized void disconnect() {
+      connected = false;
+      disconnects++;
+    }
+
+    @Override
+    public boolean isConnected() {
+      return connected;
+    }
+  }
+
+  private static class NoopFormatFactory extends SpDataFormatFactory {
+
+    @Override
+    public String getTransportFormatRdfUri() {
+      return FORMAT_URI;
+    }
+
+    @Override
+    public SpDataFormatDefinition createInstance() {
+      return new SpDataFormatDefinition() {
+        @Override
+        public Map<String, Object> toMap(byte[] event) {
+          return Collections.emptyMap();
+        }
+
+        @Override
+        public byte[] fromMap(Map<String, Object> event) {
+          return new byte[0];
+        }
+      };
+    }
+  }
+}
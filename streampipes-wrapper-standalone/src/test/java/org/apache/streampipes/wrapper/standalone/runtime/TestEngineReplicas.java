@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class TestEngineReplicas {
+
+  @Test
+  public void testProcessorsWithoutReplicaSupplierAreNotReplicated() {
+    Object engine = new Object();
+    List<Object> replicas = EngineReplicas.create(engine, null, 4, "test");
+
+    assertEquals(1, replicas.size());
+    assertSame(engine, replicas.get(0));
+  }
+
+  @Test
+  public void testReplicaSupplierCreatesOneEnginePerReplica() {
+    Object engine = new Object();
+    List<Object> replicas = EngineReplicas.create(engine, Object::new, 4, "test");
+
+    assertEquals(4, replicas.size());
+    assertSame(engine, replicas.get(0));
+    assertEquals(4, replicas.stream().distinct().count());
+  }
+
+  @Test
+  public void testParallelismOfOneKeepsSingleEngine() {
+    Object engine = new Object();
+    assertEquals(1, EngineReplicas.create(engine, Object::new, 1, "test").size());
+  }
+
+  @Test
+  public void testSharedInstancesAreNotReplicated() {
+    Object engine = new Object();
+    Object shared = new Object();
+
+    assertEquals(1, EngineReplicas.create(engine, () -> engine, 4, "test").size());
+    assertEquals(1, EngineReplicas.create(engine, () -> shared, 4, "test").size());
+  }
+}
@@ -19,10 +19,13 @@
 package org.apache.streampipes.wrapper.params.runtime;
 
 import org.apache.streampipes.client.StreamPipesClient;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.container.config.ConfigExtractor;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
@@ -44,6 +47,7 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
   protected StreamPipesClient streamPipesClient;
 
   private Map<String, Integer> eventInfoMap = new HashMap<>();
+  private transient EventLayout[] eventLayouts;
 
   private Boolean singletonEngine;
 
@@ -72,9 +76,25 @@ public abstract class RuntimeParams<B extends BindingParams<I>, I extends
   }
 
   public Event makeEvent(Map<String, Object> mapEvent, String sourceId) {
-    return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
-            (getIndex(sourceId)));
+    return EventFactory.fromMap(mapEvent, getEventLayout(getIndex(sourceId)));
+  }
+
+  public Event makeEvent(byte[] rawEvent,
+                         SpDataFormatDefinition dataFormatDefinition,
+                         String sourceId) throws SpRuntimeException {
+    return dataFormatDefinition.toEvent(rawEvent, getEventLayout(getIndex(sourceId)));
+  }
 
+  public EventLayout getEventLayout(Integer index) {
+    EventLayout[] layouts = this.eventLayouts;
+    if (layouts == null) {
+      layouts = new EventLayout[bindingParams.getInputStreamParams().size()];
+      this.eventLayouts = layouts;
+    }
+    if (layouts[index] == null) {
+      layouts[index] = new EventLayout(getSourceInfo(index), getSchemaInfo(index));
+    }
+    return layouts[index];
   }
 
   public List<SourceInfo> getSourceInfo() {
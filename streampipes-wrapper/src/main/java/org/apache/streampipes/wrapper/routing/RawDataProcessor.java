@@ -18,10 +18,52 @@
 package org.apache.streampipes.wrapper.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 
+import java.util.List;
 import java.util.Map;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo) throws SpRuntimeException;
+
+  default void process(byte[] rawEvent,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) throws SpRuntimeException {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  /**
+   * Processes each of the events, also if some of them fail. The failure of the first failed event is
+   * thrown afterwards, with the failures of further events added as suppressed exceptions.
+   */
+  default void process(List<byte[]> rawEvents,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) throws SpRuntimeException {
+    SpRuntimeException failure = null;
+    for (byte[] rawEvent : rawEvents) {
+      try {
+        process(rawEvent, dataFormatDefinition, sourceInfo);
+      } catch (SpRuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Processes the events of a single partition of a partitioned topic.
+   */
+  default void process(int partition,
+                       List<byte[]> rawEvents,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) throws SpRuntimeException {
+    process(rawEvents, dataFormatDefinition, sourceInfo);
+  }
 }
@@ -25,6 +25,8 @@ import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 
+import java.util.List;
+
 public interface EventProcessor<B extends EventProcessorBindingParams> extends
         PipelineElement<B, DataProcessorInvocation> {
 
@@ -33,4 +35,27 @@ public interface EventProcessor<B extends EventProcessorBindingParams> extends
 
   void onEvent(Event event, SpOutputCollector collector) throws SpRuntimeException;
 
+  /**
+   * Processes all events a consumer fetched at once. Override this method to amortize work over
+   * a batch; by default, every event is passed to {@link #onEvent(Event, SpOutputCollector)}.
+   */
+  default void onEventBatch(List<Event> events, SpOutputCollector collector)
+          throws SpRuntimeException {
+    SpRuntimeException exception = null;
+    for (Event event : events) {
+      try {
+        onEvent(event, collector);
+      } catch (SpRuntimeException e) {
+        if (exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
 }
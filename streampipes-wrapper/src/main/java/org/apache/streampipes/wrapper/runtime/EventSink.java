@@ -24,6 +24,8 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 
+import java.util.List;
+
 public interface EventSink<B extends EventSinkBindingParams> extends PipelineElement<B,
         DataSinkInvocation> {
 
@@ -32,4 +34,26 @@ public interface EventSink<B extends EventSinkBindingParams> extends PipelineEle
 
   void onEvent(Event event) throws SpRuntimeException;
 
+  /**
+   * Processes all events a consumer fetched at once. Override this method to amortize work over
+   * a batch; by default, every event is passed to {@link #onEvent(Event)}.
+   */
+  default void onEventBatch(List<Event> events) throws SpRuntimeException {
+    SpRuntimeException exception = null;
+    for (Event event : events) {
+      try {
+        onEvent(event);
+      } catch (SpRuntimeException e) {
+        if (exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
 }
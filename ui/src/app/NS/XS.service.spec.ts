@@ -28,6 +28,7 @@ describe('XSService', () => {
   it('should check for numbers', () => {
     expect(service.isNumber(service.XS_DOUBLE)).toBeTrue();
     expect(service.isNumber(service.XS_INTEGER)).toBeTrue();
+    expect(service.isNumber(service.XS_LONG)).toBeTrue();
     expect(service.isNumber(service.XS_NUMBER)).toBeTrue();
     expect(service.isNumber(service.XS_STRING)).toBeFalse();
   });
@@ -23,6 +23,7 @@ export class XsService {
 
   XS_STRING = 'xs:string';
   XS_INTEGER = 'http://www.w3.org/2001/XMLSchema#integer';
+  XS_LONG = 'http://www.w3.org/2001/XMLSchema#long';
   XS_DOUBLE = 'http://www.w3.org/2001/XMLSchema#double';
   XS_BOOLEAN = 'http://www.w3.org/2001/XMLSchema#boolean';
   XS_NUMBER = 'http://www.w3.org/2001/XMLSchema#number';
@@ -32,6 +33,7 @@ export class XsService {
   isNumber(datatype: string): boolean {
     return datatype === this.XS_DOUBLE ||
       datatype === this.XS_INTEGER ||
+      datatype === this.XS_LONG ||
       datatype === this.XS_NUMBER;
   }
 
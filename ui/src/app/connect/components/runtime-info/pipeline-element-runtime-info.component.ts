@@ -19,6 +19,7 @@
 import { Component, Input, OnDestroy, OnInit } from '@angular/core';
 import { EventPropertyUnion, SpDataStream } from '@streampipes/platform-services';
 import { RestService } from '../../services/rest.service';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'pipeline-element-runtime-info',
@@ -33,9 +34,13 @@ export class PipelineElementRuntimeInfoComponent implements OnInit, OnDestroy {
   _pollingActive: boolean;
 
   runtimeData: any;
-  timer: any;
+  liveDataSubscription: Subscription;
+  resubscribeTimer: any;
   runtimeDataError = false;
 
+  // delay before re-opening a closed stream, e.g., after a restart of the backend
+  readonly resubscribeDelayMs = 2000;
+
   constructor(private restService: RestService) {
 
   }
@@ -46,27 +51,43 @@ export class PipelineElementRuntimeInfoComponent implements OnInit, OnDestroy {
 
   checkPollingStart() {
     if (this._pollingActive) {
-      this.getLatestRuntimeInfo();
+      this.subscribeRuntimeInfo();
+    } else {
+      this.unsubscribeRuntimeInfo();
+    }
+  }
+
+  subscribeRuntimeInfo() {
+    if (!this.liveDataSubscription && this.streamDescription) {
+      this.liveDataSubscription = this.restService.getRuntimeInfoStream(this.streamDescription).subscribe(data => {
+        this.runtimeDataError = false;
+        if (!(Object.keys(data).length === 0 && data.constructor === Object)) {
+          this.runtimeData = data;
+        }
+      }, () => this.onStreamClosed(), () => this.onStreamClosed());
     }
   }
 
-  getLatestRuntimeInfo() {
-    this.restService.getRuntimeInfo(this.streamDescription).subscribe(data => {
-     if (data) {
-       this.runtimeDataError = false;
-       if (!(Object.keys(data).length === 0 && data.constructor === Object)) {
-         this.runtimeData = data;
-       }
-
-       if (this._pollingActive) {
-         this.timer = setTimeout(() => {
-           this.getLatestRuntimeInfo();
-         }, 1000);
-       }
-     } else {
-       this.runtimeDataError = true;
-     }
-    });
+  onStreamClosed() {
+    this.runtimeDataError = true;
+    this.liveDataSubscription = undefined;
+    if (this._pollingActive && !this.resubscribeTimer) {
+      this.resubscribeTimer = setTimeout(() => {
+        this.resubscribeTimer = undefined;
+        if (this._pollingActive) {
+          this.subscribeRuntimeInfo();
+        }
+      }, this.resubscribeDelayMs);
+    }
+  }
+
+  unsubscribeRuntimeInfo() {
+    clearTimeout(this.resubscribeTimer);
+    this.resubscribeTimer = undefined;
+    if (this.liveDataSubscription) {
+      this.liveDataSubscription.unsubscribe();
+      this.liveDataSubscription = undefined;
+    }
   }
 
   isPropertyType(property: EventPropertyUnion, type) {
@@ -102,6 +123,5 @@ export class PipelineElementRuntimeInfoComponent implements OnInit, OnDestroy {
 
   ngOnDestroy(): void {
     this.pollingActive = false;
-    clearTimeout(this.timer);
   }
 }
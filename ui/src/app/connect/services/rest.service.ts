@@ -25,6 +25,7 @@ import { map } from 'rxjs/operators';
 import { UnitDescription } from '../model/UnitDescription';
 import { AdapterDescription, FormatDescription, GuessSchema, Message, SpDataStream, PlatformServicesCommons } from '@streampipes/platform-services';
 import { AuthService } from '../../services/auth.service';
+import { LiveDataService } from '../../services/live-data.service';
 
 @Injectable()
 export class RestService {
@@ -32,7 +33,8 @@ export class RestService {
   constructor(
       private http: HttpClient,
       private platformServicesCommons: PlatformServicesCommons,
-      private authService: AuthService) {
+      private authService: AuthService,
+      private liveDataService: LiveDataService) {
   }
 
   get connectPath() {
@@ -76,10 +78,9 @@ export class RestService {
       }));
   }
 
-  getRuntimeInfo(sourceDescription): Observable<any> {
-    return this.http.post(`${this.platformServicesCommons.apiBasePath}/pipeline-element/runtime`, sourceDescription, {
-      headers: { ignoreLoadingBar: '' }
-    });
+  getRuntimeInfoStream(sourceDescription): Observable<any> {
+    return this.liveDataService.stream(
+        `${this.platformServicesCommons.apiBasePath}/pipeline-element/runtime/stream`, sourceDescription);
   }
 
   getFormats(): Observable<FormatDescription[]> {
@@ -18,6 +18,7 @@
 
 import { Component, Input, OnDestroy, OnInit } from '@angular/core';
 import { EditorService } from '../../services/editor.service';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'pipeline-element-preview',
@@ -35,34 +36,25 @@ export class PipelineElementPreviewComponent implements OnInit, OnDestroy {
   runtimeData: ReadonlyMap<string, unknown>;
 
   runtimeDataError = false;
-  timer: any;
+  liveDataSubscription: Subscription;
 
   constructor(private editorService: EditorService) {
 
   }
 
   ngOnInit(): void {
-    this.getLatestRuntimeInfo();
+    this.liveDataSubscription = this.editorService
+        .getPipelinePreviewStream(this.previewId, this.pipelineElementDomId)
+        .subscribe(data => {
+          this.runtimeDataError = false;
+          if (!(Object.keys(data).length === 0 && data.constructor === Object)) {
+            this.runtimeData = data;
+          }
+        }, () => this.runtimeDataError = true, () => this.runtimeDataError = true);
   }
 
   ngOnDestroy(): void {
-  }
-
-  getLatestRuntimeInfo() {
-    this.editorService.getPipelinePreviewResult(this.previewId, this.pipelineElementDomId).subscribe(data => {
-      if (data) {
-        this.runtimeDataError = false;
-        if (!(Object.keys(data).length === 0 && data.constructor === Object)) {
-          this.runtimeData = data;
-        }
-
-        this.timer = setTimeout(() => {
-          this.getLatestRuntimeInfo();
-        }, 1000);
-      } else {
-        this.runtimeDataError = true;
-      }
-    });
+    this.liveDataSubscription.unsubscribe();
   }
 
 }
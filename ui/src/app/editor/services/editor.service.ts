@@ -36,6 +36,7 @@ import { PeCategory, PipelineElementConfig, PipelineElementUnion } from '../mode
 import { DialogService, PanelType } from '@streampipes/shared-ui';
 import { HelpComponent } from '../dialog/help/help.component';
 import { map } from 'rxjs/operators';
+import { LiveDataService } from '../../services/live-data.service';
 
 @Injectable()
 export class EditorService {
@@ -48,7 +49,8 @@ export class EditorService {
 
     constructor(private http: HttpClient,
                 private platformServicesCommons: PlatformServicesCommons,
-                private dialogService: DialogService) {
+                private dialogService: DialogService,
+                private liveDataService: LiveDataService) {
     }
 
     get apiBasePath() {
@@ -169,11 +171,12 @@ export class EditorService {
       return this.http.delete(this.pipelinePreviewBasePath + '/' + previewId);
   }
 
-  getPipelinePreviewResult(previewId: string, pipelineElementDomId: string): Observable<any> {
-      return this.http.get(this.pipelinePreviewBasePath
+  getPipelinePreviewStream(previewId: string, pipelineElementDomId: string): Observable<any> {
+      return this.liveDataService.stream(this.pipelinePreviewBasePath
           + '/'
           + previewId
-          + '/' + pipelineElementDomId, {headers: { ignoreLoadingBar: '' }});
+          + '/' + pipelineElementDomId
+          + '/stream');
   }
 
   get pipelinePreviewBasePath() {
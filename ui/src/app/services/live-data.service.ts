@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+import { Injectable } from '@angular/core';
+import { Observable } from 'rxjs';
+import { AuthService } from './auth.service';
+
+/**
+ * Subscribes to server-sent event streams of the backend. The browser's EventSource does not allow setting the
+ * authorization header, so the stream is read via fetch instead.
+ */
+@Injectable()
+export class LiveDataService {
+
+    constructor(private authService: AuthService) {
+    }
+
+    stream(url: string, body?: any): Observable<any> {
+        return new Observable(observer => {
+            const abortController = new AbortController();
+            const headers: { [key: string]: string } = {
+                'Authorization': 'Bearer ' + this.authService.authToken$.getValue(),
+                'Accept': 'text/event-stream'
+            };
+            if (body) {
+                headers['Content-Type'] = 'application/json';
+            }
+
+            fetch(url, {
+                method: body ? 'POST' : 'GET',
+                headers,
+                body: body ? JSON.stringify(body) : undefined,
+                signal: abortController.signal
+            }).then(response => {
+                if (!response.ok || !response.body) {
+                    throw new Error('Could not open stream ' + url);
+                }
+                const reader = response.body.getReader();
+                const decoder = new TextDecoder();
+                let buffer = '';
+
+                const read = (): Promise<void> => reader.read().then(({done, value}) => {
+                    if (done) {
+                        observer.complete();
+                        return;
+                    }
+                    buffer += decoder.decode(value, {stream: true});
+                    const events = buffer.split(/\r?\n\r?\n/);
+                    buffer = events.pop();
+                    events.forEach(event => {
+                        const data = event
+                            .split(/\r?\n/)
+                            .filter(line => line.startsWith('data:'))
+                            .map(line => line.substring(5).replace(/^ /, ''))
+                            .join('\n');
+                        if (data) {
+                            observer.next(JSON.parse(data));
+                        }
+                    });
+                    return read();
+                });
+                return read();
+            }).catch(error => {
+                if (!abortController.signal.aborted) {
+                    observer.error(error);
+                }
+            });
+
+            return () => abortController.abort();
+        });
+    }
+}
@@ -28,6 +28,7 @@ import { AppConstants } from './app.constants';
 import { JwtTokenStorageService } from './jwt-token-storage.service';
 import { PlatformServicesModule } from '@streampipes/platform-services';
 import { SecurePipe } from "./secure.pipe";
+import { LiveDataService } from './live-data.service';
 
 @NgModule({
     imports: [],
@@ -44,6 +45,7 @@ import { SecurePipe } from "./secure.pipe";
         PropertySelectorService,
         PlatformServicesModule,
         SecurePipe,
+        LiveDataService,
     ],
     exports: [SecurePipe]
 })